@@ -50,6 +50,8 @@ class AssetLoadingTask implements AsyncTask<Void> {
 
 	int ticks = 0;
 	volatile boolean cancel;
+	/** Set when the manager has a profiler. */
+	AssetLoadProfiler.Record record;
 
 	public AssetLoadingTask (AssetManager manager, AssetDescriptor assetDesc, AssetLoader loader, AsyncExecutor threadPool) {
 		this.manager = manager;
@@ -63,22 +65,28 @@ class AssetLoadingTask implements AsyncTask<Void> {
 	@Override
 	public Void call () throws Exception {
 		if (cancel) return null;
-		AsynchronousAssetLoader asyncLoader = (AsynchronousAssetLoader)loader;
-		if (!dependenciesLoaded) {
-			dependencies = asyncLoader.getDependencies(assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
-			if (dependencies != null) {
-				removeDuplicates(dependencies);
-				manager.injectDependencies(assetDesc.fileName, dependencies);
+		long start = record != null ? TimeUtils.nanoTime() : 0;
+		try {
+			AsynchronousAssetLoader asyncLoader = (AsynchronousAssetLoader)loader;
+			if (!dependenciesLoaded) {
+				dependencies = asyncLoader.getDependencies(assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+				if (cancel) return null;
+				if (dependencies != null) {
+					removeDuplicates(dependencies);
+					manager.injectDependencies(assetDesc.fileName, dependencies);
+				} else {
+					// if we have no dependencies, we load the async part of the task immediately.
+					asyncLoader.loadAsync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+					asyncDone = true;
+				}
 			} else {
-				// if we have no dependencies, we load the async part of the task immediately.
 				asyncLoader.loadAsync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
 				asyncDone = true;
 			}
-		} else {
-			asyncLoader.loadAsync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
-			asyncDone = true;
+			return null;
+		} finally {
+			if (record != null) record.asyncTime += TimeUtils.nanoTime() - start;
 		}
-		return null;
 	}
 
 	/** Updates the loading of the asset. In case the asset is loaded with an {@link AsynchronousAssetLoader}, the loaders
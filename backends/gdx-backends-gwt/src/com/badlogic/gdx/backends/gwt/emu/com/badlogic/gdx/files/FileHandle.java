@@ -29,7 +29,11 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 
 import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.utils.ByteBufferPool;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 public class FileHandle {
 	protected File file;
@@ -142,6 +146,48 @@ public class FileHandle {
 		throw new GdxRuntimeException("Stub");
 	}
 
+	/** Reads the file into the buffer, starting at the buffer's position and stopping at its limit or the end of the file. The
+	 * buffer's position is advanced by the number of bytes read.
+	 * @return the number of read bytes */
+	public int readBytes (ByteBuffer buffer) {
+		byte[] bytes = readBytes();
+		int count = Math.min(bytes.length, buffer.remaining());
+		buffer.put(bytes, 0, count);
+		return count;
+	}
+
+	/** Reads the entire file into a buffer obtained from the pool. The returned buffer's position is 0 and its limit is the
+	 * number of bytes read. It should be {@link ByteBufferPool#free(ByteBuffer) freed} to the pool when no longer needed. */
+	public ByteBuffer readBytes (ByteBufferPool pool) {
+		byte[] bytes = readBytes();
+		ByteBuffer buffer = pool.obtain(bytes.length);
+		buffer.put(bytes);
+		buffer.flip();
+		return buffer;
+	}
+
+	/** Reads the file into the buffer using the executor, as {@link #readBytes(ByteBuffer)} does. The buffer is flipped after
+	 * reading and is the result of the returned {@link AsyncResult}. */
+	public AsyncResult<ByteBuffer> readBytesAsync (AsyncExecutor executor, final ByteBuffer buffer) {
+		return executor.submit(new AsyncTask<ByteBuffer>() {
+			public ByteBuffer call () {
+				readBytes(buffer);
+				buffer.flip();
+				return buffer;
+			}
+		});
+	}
+
+	/** Reads the entire file into a buffer obtained from the pool using the executor, as {@link #readBytes(ByteBufferPool)}
+	 * does. */
+	public AsyncResult<ByteBuffer> readBytesAsync (AsyncExecutor executor, final ByteBufferPool pool) {
+		return executor.submit(new AsyncTask<ByteBuffer>() {
+			public ByteBuffer call () {
+				return readBytes(pool);
+			}
+		});
+	}
+
 	/** Attempts to memory map this file in READ_ONLY mode. Android files must not be compressed.
 	 * @throws GdxRuntimeException if this file handle represents a directory, doesn't exist, or could not be read, or memory
 	 *            mapping fails, or is a {@link FileType#Classpath} file. */
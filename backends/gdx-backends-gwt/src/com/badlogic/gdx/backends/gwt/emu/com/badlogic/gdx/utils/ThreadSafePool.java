@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.utils.DefaultPool.PoolSupplier;
+
+/** GWT is single threaded, so this is a plain {@link Pool} that creates objects using a supplier. */
+public class ThreadSafePool<T> extends Pool<T> {
+	public final int threadMax;
+
+	private final PoolSupplier<T> supplier;
+
+	public ThreadSafePool (PoolSupplier<T> supplier) {
+		this(supplier, 16, Integer.MAX_VALUE, 32);
+	}
+
+	public ThreadSafePool (PoolSupplier<T> supplier, int initialCapacity, int max) {
+		this(supplier, initialCapacity, max, 32);
+	}
+
+	public ThreadSafePool (PoolSupplier<T> supplier, int initialCapacity, int max, int threadMax) {
+		super(initialCapacity, max);
+		if (threadMax < 1) throw new IllegalArgumentException("threadMax must be > 0: " + threadMax);
+		this.supplier = supplier;
+		this.threadMax = threadMax;
+	}
+
+	protected T newObject () {
+		if (supplier == null) throw new IllegalStateException("A supplier is required or newObject must be overridden.");
+		return supplier.get();
+	}
+}
@@ -32,6 +32,18 @@ public class AsyncExecutor implements Disposable {
 	public AsyncExecutor (int maxConcurrent, String name) {
 	}
 
+	static public AsyncExecutor newWorkStealing (int parallelism, String name) {
+		return new AsyncExecutor(parallelism, name);
+	}
+
+	static public AsyncExecutor newVirtualThreads (String name) {
+		return new AsyncExecutor(1, name);
+	}
+
+	static public boolean isVirtualThreadsSupported () {
+		return false;
+	}
+
 	/** Submits a {@link Runnable} to be executed asynchronously. If maxConcurrent runnables are already running, the runnable will
 	 * be queued.
 	 * @param task the task to execute asynchronously */
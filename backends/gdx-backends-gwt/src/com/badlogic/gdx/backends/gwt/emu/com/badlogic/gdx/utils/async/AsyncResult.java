@@ -16,13 +16,22 @@
 
 package com.badlogic.gdx.utils.async;
 
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
 /** Returned by {@link AsyncExecutor#submit(AsyncTask)}, allows to poll for the result of the asynch workload.
  * @author badlogic */
 public class AsyncResult<T> {
 	private final T result;
+	private final Throwable error;
 
 	AsyncResult (T result) {
+		this(result, null);
+	}
+
+	private AsyncResult (T result, Throwable error) {
 		this.result = result;
+		this.error = error;
 	}
 
 	/** @return whether the {@link AsyncTask} is done */
@@ -30,8 +39,43 @@ public class AsyncResult<T> {
 		return true;
 	}
 
-	/** @return the result, or null if there was an error, no result, or the task is still running */
+	/** @return the result
+	 * @throws GdxRuntimeException if there was an error */
 	public T get () {
+		if (error != null) throw new GdxRuntimeException(error);
 		return result;
 	}
+
+	/** Calls the continuation immediately. If this result or the continuation fails, the returned result fails with the
+	 * exception. */
+	public <R> AsyncResult<R> then (AsyncExecutor executor, Continuation<? super T, R> continuation) {
+		if (error != null) return new AsyncResult(null, error);
+		try {
+			return new AsyncResult(continuation.call(result));
+		} catch (Throwable t) {
+			return new AsyncResult(null, t);
+		}
+	}
+
+	static public <T> AsyncResult<Array<T>> allOf (AsyncResult<? extends T>... results) {
+		Array<T> values = new Array(true, results.length);
+		for (AsyncResult<? extends T> result : results) {
+			if (result.error != null) return new AsyncResult(null, result.error);
+			values.add(result.result);
+		}
+		return new AsyncResult(values);
+	}
+
+	static public <T> AsyncResult<Array<T>> allOf (Array<? extends AsyncResult<? extends T>> results) {
+		Array<T> values = new Array(true, results.size);
+		for (AsyncResult<? extends T> result : results) {
+			if (result.error != null) return new AsyncResult(null, result.error);
+			values.add(result.result);
+		}
+		return new AsyncResult(values);
+	}
+
+	static public interface Continuation<T, R> {
+		public R call (T value) throws Exception;
+	}
 }
@@ -137,6 +137,12 @@ public final class Field {
 		return null;
 	}
 
+	/** Method handles are not available on GWT, so this has no effect.
+	 * @return false */
+	public boolean optimizeAccess () {
+		return false;
+	}
+
 	/** Returns the value of the field on the supplied object. */
 	public Object get (Object obj) throws ReflectionException {
 		try {
@@ -158,4 +164,44 @@ public final class Field {
 			throw new ReflectionException("Illegal access to field " + getName() + ": " + e.getMessage(), e);
 		}
 	}
+
+	public int getInt (Object obj) throws ReflectionException {
+		return ((Number)get(obj)).intValue();
+	}
+
+	public void setInt (Object obj, int value) throws ReflectionException {
+		set(obj, value);
+	}
+
+	public long getLong (Object obj) throws ReflectionException {
+		return ((Number)get(obj)).longValue();
+	}
+
+	public void setLong (Object obj, long value) throws ReflectionException {
+		set(obj, value);
+	}
+
+	public float getFloat (Object obj) throws ReflectionException {
+		return ((Number)get(obj)).floatValue();
+	}
+
+	public void setFloat (Object obj, float value) throws ReflectionException {
+		set(obj, value);
+	}
+
+	public double getDouble (Object obj) throws ReflectionException {
+		return ((Number)get(obj)).doubleValue();
+	}
+
+	public void setDouble (Object obj, double value) throws ReflectionException {
+		set(obj, value);
+	}
+
+	public boolean getBoolean (Object obj) throws ReflectionException {
+		return ((Boolean)get(obj)).booleanValue();
+	}
+
+	public void setBoolean (Object obj, boolean value) throws ReflectionException {
+		set(obj, value);
+	}
 }
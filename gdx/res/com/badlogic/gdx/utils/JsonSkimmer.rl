@@ -45,26 +45,20 @@ public class JsonSkimmer {
 		parse(data, 0, data.length);
 	}
 
+	/** Parses the JSON from the reader, then closes it. The input is read in chunks into a window that is reused as parsing
+	 * progresses, so only the current name and value need to fit in memory rather than the whole document. The window grows if a
+	 * single name and value does not fit.
+	 * @see #setWindowSize(int) */
 	public void parse (Reader reader) {
-		char[] data = new char[1024];
-		int offset = 0;
 		try {
-			while (true) {
-				int length = reader.read(data, offset, data.length - offset);
-				if (length == -1) break;
-				if (length == 0) {
-					char[] newData = new char[data.length * 2];
-					System.arraycopy(data, 0, newData, 0, data.length);
-					data = newData;
-				} else
-					offset += length;
-			}
-		} catch (IOException ex) {
-			throw new SerializationException("Error reading input.", ex);
+			if (window == null || window.length != windowSize) window = new char[windowSize];
+			this.reader = reader;
+			parse(window, 0, 0);
 		} finally {
+			this.reader = null;
+			if (window != null && window.length != windowSize) window = null;
 			StreamUtils.closeQuietly(reader);
 		}
-		parse(data, 0, offset);
 	}
 
 	public void parse (InputStream input) {
@@ -91,10 +85,17 @@ public class JsonSkimmer {
 		}
 	}
 
+	/** Parses the chars. When called by {@link #parse(Reader)}, the chars are the window and when parsing reaches the end of the
+	 * window, it is refilled from the reader until the reader has no more input. */
 	public void parse (char[] data, int offset, int length) {
+		Reader reader = this.reader;
 		stop = false;
-		int cs, p = offset, pe = length, eof = pe, top = 0;
+		int cs, p = offset, pe = length, eof = reader == null ? pe : -1, top = 0;
 		int[] stack = this.stack;
+		int keep = -1; // Start of the name or value that has not been passed to push or value yet, else -1.
+		windowEnd = pe;
+		ended = reader == null;
+		discardedLines = 0;
 
 		JsonToken nameString = this.nameString, value = this.value, string = value, name = null;
 		nameString.chars = data;
@@ -117,6 +118,7 @@ public class JsonSkimmer {
 				push(name, true);
 				if (stop) return;
 				name = null;
+				keep = -1;
 				fcall object;
 			}
 			action endObject {
@@ -130,6 +132,7 @@ public class JsonSkimmer {
 				push(name, false);
 				if (stop) return;
 				name = null;
+				keep = -1;
 				fcall array;
 			}
 			action endArray {
@@ -140,20 +143,49 @@ public class JsonSkimmer {
 			}
 			action comment {
 				int start = p;
+				if (keep == -1) keep = start;
 				if (data[p++] == '/') {
-					while (p != eof && data[p] != '\n')
+					while (true) {
+						if (p == pe) {
+							if (eof == pe) break;
+							int shift = fill(keep);
+							p -= shift;
+							keep -= shift;
+							start -= shift;
+							data = window;
+							pe = windowEnd;
+							if (ended) eof = pe;
+							continue;
+						}
+						if (data[p] == '\n') break;
 						p++;
+					}
 					p--;
 				} else {
-					while (p + 1 < eof && (data[p] != '*' || data[p + 1] != '/'))
+					while (true) {
+						if (p + 1 >= pe) {
+							if (eof == pe) break;
+							int shift = fill(keep);
+							p -= shift;
+							keep -= shift;
+							start -= shift;
+							data = window;
+							pe = windowEnd;
+							if (ended) eof = pe;
+							continue;
+						}
+						if (data[p] == '*' && data[p + 1] == '/') break;
 						p++;
+					}
 					p++;
 				}
-				if (debug) System.out.println("comment " + new String(data, start - 1, p - start + 2));
+				if (debug) System.out.println("comment /" + new String(data, start, p - start + 1));
+				if (keep == start) keep = -1;
 			}
 			action unquotedName {
 				if (debug) System.out.println("unquotedName");
 				int start = p;
+				if (keep == -1) keep = start;
 				string.start = start;
 				boolean ws = false;
 				outer:
@@ -163,7 +195,16 @@ public class JsonSkimmer {
 						string.unescape = true;
 						break;
 					case '/':
-						if (p + 1 == eof) break;
+						if (p + 1 == pe && eof != pe) {
+							int shift = fill(keep);
+							p -= shift;
+							keep -= shift;
+							start -= shift;
+							data = window;
+							pe = windowEnd;
+							if (ended) eof = pe;
+						}
+						if (p + 1 == pe) break;
 						char c = data[p + 1];
 						if (c == '/' || c == '*') break outer;
 						break;
@@ -178,7 +219,18 @@ public class JsonSkimmer {
 					}
 					if (debug) System.out.println("name char: '" + data[p] + "'");
 					p++;
-					if (p == eof) break;
+					if (p == pe) {
+						if (eof != pe) {
+							int shift = fill(keep);
+							p -= shift;
+							keep -= shift;
+							start -= shift;
+							data = window;
+							pe = windowEnd;
+							if (ended) eof = pe;
+						}
+						if (p == pe) break;
+					}
 				}
 				p--;
 				if (ws) {
@@ -197,6 +249,7 @@ public class JsonSkimmer {
 			action unquotedValue {
 				if (debug) System.out.println("unquotedValue");
 				int start = p;
+				if (keep == -1) keep = start;
 				string.start = start;
 				boolean ws = false;
 				outer:
@@ -206,7 +259,16 @@ public class JsonSkimmer {
 						string.unescape = true;
 						break;
 					case '/':
-						if (p + 1 == eof) break;
+						if (p + 1 == pe && eof != pe) {
+							int shift = fill(keep);
+							p -= shift;
+							keep -= shift;
+							start -= shift;
+							data = window;
+							pe = windowEnd;
+							if (ended) eof = pe;
+						}
+						if (p + 1 == pe) break;
 						char c = data[p + 1];
 						if (c == '/' || c == '*') break outer;
 						break;
@@ -223,7 +285,18 @@ public class JsonSkimmer {
 					}
 					if (debug) System.out.println("value char: '" + data[p] + "'");
 					p++;
-					if (p == eof) break;
+					if (p == pe) {
+						if (eof != pe) {
+							int shift = fill(keep);
+							p -= shift;
+							keep -= shift;
+							start -= shift;
+							data = window;
+							pe = windowEnd;
+							if (ended) eof = pe;
+						}
+						if (p == pe) break;
+					}
 				}
 				p--;
 				if (ws) {
@@ -251,9 +324,21 @@ public class JsonSkimmer {
 			}
 			action quotedString {
 				if (debug) System.out.println("quotedString");
+				int start = p;
+				if (keep == -1) keep = start;
 				string.start = ++p;
 				outer:
 				while (true) {
+					while (p >= pe) {
+						if (eof == pe) throw new SerializationException("Unterminated quoted string.");
+						int shift = fill(keep);
+						p -= shift;
+						keep -= shift;
+						start -= shift;
+						data = window;
+						pe = windowEnd;
+						if (ended) eof = pe;
+					}
 					switch (data[p]) {
 					case '\\':
 						string.unescape = true;
@@ -264,13 +349,13 @@ public class JsonSkimmer {
 					}
 					if (debug) System.out.println("quoted char: '" + data[p] + "'");
 					p++;
-					if (p == eof) break;
 				}
 				string.length = p - string.start;
 			}
 			action startName {
 				name = nameString; // Next element has a name.
 				string = nameString; // Parse next string to nameString.
+				keep = p;
 				if (debug) System.out.println("name start " + p);
 			}
 			action endName {
@@ -286,6 +371,7 @@ public class JsonSkimmer {
 				value.type = TokenType.other;
 				name = null;
 				string = value;
+				keep = -1;
 			}
 
 			comment = ("//" | "/*") @comment;
@@ -302,14 +388,25 @@ public class JsonSkimmer {
 			main := ws* value ws*;
 
 			write init;
-			write exec;
 		}%%
+			while (true) {
+				if (p == pe && eof != pe) {
+					int shift = fill(keep == -1 ? p : keep);
+					p -= shift;
+					if (keep != -1) keep -= shift;
+					data = window;
+					pe = windowEnd;
+					if (ended) eof = pe;
+				}
+				%% write exec;
+				if (p != pe || eof == pe) break;
+			}
 		} catch (RuntimeException ex) {
 			parseRuntimeEx = ex;
 		}
 
 		if (p < pe) {
-			int lineNumber = 1;
+			int lineNumber = 1 + discardedLines;
 			for (int i = 0; i < p; i++)
 				if (data[i] == '\n') lineNumber++;
 			int start = Math.max(0, p - 32);
@@ -322,6 +419,58 @@ public class JsonSkimmer {
 	%% write data;
 
 	protected boolean stop;
+	private int windowSize = 16384, windowEnd, discardedLines;
+	private @Null char[] window;
+	private @Null Reader reader;
+	private boolean ended;
+
+	/** Sets the number of chars read at a time when parsing a {@link Reader}, {@link InputStream}, or {@link FileHandle}. Only
+	 * this many chars are kept in memory, unless a single name and value is larger. Default is 16384. */
+	public void setWindowSize (int windowSize) {
+		if (windowSize < 2) throw new IllegalArgumentException("windowSize must be >= 2: " + windowSize);
+		this.windowSize = windowSize;
+	}
+
+	public int getWindowSize () {
+		return windowSize;
+	}
+
+	/** Moves the window's chars from the specified index to the start of the window, growing it if less than half would be
+	 * free, then reads at least one more char unless the reader has no more input.
+	 * @return The number of chars the retained chars moved. */
+	private int fill (int keep) {
+		char[] window = this.window;
+		for (int i = 0; i < keep; i++)
+			if (window[i] == '\n') discardedLines++;
+		int kept = windowEnd - keep;
+		if (kept > window.length >> 1) {
+			char[] newWindow = new char[window.length << 1];
+			System.arraycopy(window, keep, newWindow, 0, kept);
+			this.window = window = newWindow;
+			nameString.chars = window;
+			value.chars = window;
+		} else
+			System.arraycopy(window, keep, window, 0, kept);
+		nameString.start -= keep;
+		value.start -= keep;
+		try {
+			while (true) {
+				int count = reader.read(window, kept, window.length - kept);
+				if (count == -1) {
+					ended = true;
+					break;
+				}
+				if (count > 0) {
+					kept += count;
+					break;
+				}
+			}
+		} catch (IOException ex) {
+			throw new SerializationException("Error reading input.", ex);
+		}
+		windowEnd = kept;
+		return keep;
+	}
 
 	/** Causes parsing to stop after the current or next object, array, or value. */
 	public void stop () {
@@ -0,0 +1,517 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.assets;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.assets.loaders.AssetLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.Texture.TextureWrap;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.graphics.glutils.FileTextureData;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/** Stores decoded pixmaps, texture atlas data and bitmap font data in a directory so later launches can memory map them with
+ * {@link FileHandle#map()} instead of decoding the source files again. Each cache file has a header with the
+ * {@link #VERSION format version}, the length of the source file and a {@link #stamp(FileHandle) stamp} of the source file.
+ * When any of these don't match, the source file is decoded and the cache file is rewritten.
+ * <p>
+ * Set it with {@link AssetManager#setCache(AssetCache)} or {@link AssetLoader#setCache(AssetCache)}. The directory must be
+ * writable, eg a {@link com.badlogic.gdx.Files.FileType#Local local} directory. Errors reading or writing the cache are
+ * logged and the source file is decoded instead. The cache is not supported on GWT, where assets are always decoded.
+ * <p>
+ * Cache files are written to a temporary file which is then moved, so the same directory can be used by multiple threads as
+ * long as they don't load the same source file at the same time. */
+public class AssetCache {
+	/** Incremented when the cache file format changes, invalidating existing cache files. */
+	static public final int VERSION = 1;
+	static private final int MAGIC = 0x67647863; // "gdxc"
+	static private final int HEADER_SIZE = 24;
+
+	final FileHandle dir;
+	Logger log = new Logger("AssetCache", Application.LOG_NONE);
+
+	public AssetCache (FileHandle dir) {
+		this.dir = dir;
+	}
+
+	public FileHandle getDirectory () {
+		return dir;
+	}
+
+	/** Returns texture data for the file. Pixmaps are decoded from the cache, other formats such as ETC1 and KTX are loaded by
+	 * {@link TextureData.Factory}. */
+	public TextureData textureData (FileHandle file, @Null Format format, boolean useMipMaps) {
+		String name = file.name();
+		if (name.endsWith(".cim") || name.endsWith(".etc1") || name.endsWith(".ktx") || name.endsWith(".zktx"))
+			return TextureData.Factory.loadFromFile(file, format, useMipMaps);
+		return new FileTextureData(file, pixmap(file), format, useMipMaps);
+	}
+
+	/** Returns the pixmap for the image file from the cache, or decodes the image and caches it. */
+	public Pixmap pixmap (FileHandle file) {
+		FileHandle cacheFile = cacheFile("pixmap", file);
+		long stamp = stamp(file);
+		ByteBuffer buffer = read(cacheFile, file, stamp);
+		if (buffer != null) {
+			Pixmap pixmap = null;
+			try {
+				int width = buffer.getInt(), height = buffer.getInt();
+				Format format = Format.valueOf(readString(buffer));
+				pixmap = new Pixmap(width, height, format);
+				ByteBuffer pixels = pixmap.getPixels();
+				if (buffer.remaining() != pixels.capacity()) throw new IllegalStateException("Invalid pixel data length.");
+				pixels.clear();
+				pixels.put(buffer);
+				pixels.clear();
+				return pixmap;
+			} catch (RuntimeException ex) {
+				log.error("Unable to read cache file: " + cacheFile, ex);
+				if (pixmap != null) pixmap.dispose();
+			}
+		}
+		Pixmap pixmap = new Pixmap(file);
+		write(cacheFile, file, stamp, pixmap);
+		return pixmap;
+	}
+
+	/** Returns the texture atlas data for the pack file from the cache, or parses the pack file and caches it. */
+	public TextureAtlasData atlasData (FileHandle packFile, FileHandle imagesDir, boolean flip) {
+		FileHandle cacheFile = cacheFile(flip ? "atlas-flip" : "atlas", packFile);
+		long stamp = stamp(packFile);
+		ByteBuffer buffer = read(cacheFile, packFile, stamp);
+		if (buffer != null) {
+			try {
+				return readAtlas(buffer, imagesDir);
+			} catch (RuntimeException ex) {
+				log.error("Unable to read cache file: " + cacheFile, ex);
+			}
+		}
+		TextureAtlasData data = new TextureAtlasData(packFile, imagesDir, flip);
+		write(cacheFile, packFile, stamp, data);
+		return data;
+	}
+
+	/** Returns the bitmap font data for the font file from the cache, or parses the font file and caches it. */
+	public BitmapFontData fontData (FileHandle fontFile, boolean flip) {
+		FileHandle cacheFile = cacheFile(flip ? "font-flip" : "font", fontFile);
+		long stamp = stamp(fontFile);
+		ByteBuffer buffer = read(cacheFile, fontFile, stamp);
+		if (buffer != null) {
+			try {
+				return readFont(buffer, fontFile);
+			} catch (RuntimeException ex) {
+				log.error("Unable to read cache file: " + cacheFile, ex);
+			}
+		}
+		BitmapFontData data = new BitmapFontData(fontFile, flip);
+		write(cacheFile, fontFile, stamp, data);
+		return data;
+	}
+
+	/** Deletes all cache files. */
+	public void clear () {
+		dir.deleteDirectory();
+	}
+
+	/** Returns a value that changes when the contents of the file change. This is the last modified time of the file or, when
+	 * that is not available (such as for internal files on Android), a hash of the file's bytes. */
+	protected long stamp (FileHandle file) {
+		long lastModified = file.lastModified();
+		if (lastModified != 0) return lastModified;
+		byte[] bytes = file.readBytes();
+		return hash(bytes, bytes.length);
+	}
+
+	private FileHandle cacheFile (String kind, FileHandle file) {
+		String key = file.type() + ":" + file.path();
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0, n = key.length(); i < n; i++)
+			hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+		return dir.child(kind + '-' + Long.toHexString(hash));
+	}
+
+	/** FNV-1a. */
+	static private long hash (byte[] bytes, int length) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < length; i++)
+			hash = (hash ^ (bytes[i] & 0xff)) * 0x100000001b3L;
+		return hash;
+	}
+
+	/** Returns the cache file positioned after its header, or null if it doesn't exist or doesn't match the source file. The
+	 * header is read before the file is mapped, because a stale cache file is replaced and on Windows a mapped file can't be
+	 * replaced until the mapping is garbage collected. */
+	private @Null ByteBuffer read (FileHandle cacheFile, FileHandle file, long stamp) {
+		if (!cacheFile.exists()) return null;
+		DataInputStream input = null;
+		try {
+			input = new DataInputStream(cacheFile.read(HEADER_SIZE));
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) return null;
+			if (input.readLong() != file.length() || input.readLong() != stamp) return null;
+			input.close();
+			input = null;
+			ByteBuffer buffer = cacheFile.map();
+			buffer.order(ByteOrder.BIG_ENDIAN);
+			buffer.position(HEADER_SIZE);
+			return buffer;
+		} catch (Exception ex) {
+			log.error("Unable to read cache file: " + cacheFile, ex);
+			return null;
+		} finally {
+			StreamUtils.closeQuietly(input);
+		}
+	}
+
+	private void write (FileHandle cacheFile, FileHandle file, long stamp, Object value) {
+		FileHandle tempFile = cacheFile.sibling(cacheFile.name() + ".tmp");
+		DataOutputStream output = null;
+		try {
+			output = new DataOutputStream(tempFile.write(false, 32 * 1024));
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeLong(file.length());
+			output.writeLong(stamp);
+			if (value instanceof Pixmap)
+				writePixmap(output, (Pixmap)value);
+			else if (value instanceof TextureAtlasData)
+				writeAtlas(output, (TextureAtlasData)value);
+			else
+				writeFont(output, (BitmapFontData)value);
+			output.close();
+			output = null;
+			tempFile.moveTo(cacheFile);
+		} catch (Exception ex) {
+			log.error("Unable to write cache file: " + cacheFile, ex);
+			tempFile.delete();
+		} finally {
+			StreamUtils.closeQuietly(output);
+		}
+	}
+
+	private void writePixmap (DataOutputStream output, Pixmap pixmap) throws IOException {
+		output.writeInt(pixmap.getWidth());
+		output.writeInt(pixmap.getHeight());
+		writeString(output, pixmap.getFormat().name());
+		ByteBuffer pixels = pixmap.getPixels().duplicate();
+		pixels.clear();
+		byte[] bytes = new byte[Math.min(pixels.remaining(), 16 * 1024)];
+		while (pixels.hasRemaining()) {
+			int count = Math.min(pixels.remaining(), bytes.length);
+			pixels.get(bytes, 0, count);
+			output.write(bytes, 0, count);
+		}
+	}
+
+	private void writeAtlas (DataOutputStream output, TextureAtlasData data) throws IOException {
+		Array<Page> pages = data.getPages();
+		output.writeInt(pages.size);
+		for (Page page : pages) {
+			writeString(output, page.name);
+			output.writeFloat(page.width);
+			output.writeFloat(page.height);
+			output.writeBoolean(page.useMipMaps);
+			writeString(output, page.format.name());
+			writeString(output, page.minFilter.name());
+			writeString(output, page.magFilter.name());
+			writeString(output, page.uWrap.name());
+			writeString(output, page.vWrap.name());
+			output.writeBoolean(page.pma);
+		}
+		Array<Region> regions = data.getRegions();
+		output.writeInt(regions.size);
+		for (Region region : regions) {
+			output.writeInt(pages.indexOf(region.page, true));
+			writeString(output, region.name);
+			output.writeInt(region.left);
+			output.writeInt(region.top);
+			output.writeInt(region.width);
+			output.writeInt(region.height);
+			output.writeFloat(region.offsetX);
+			output.writeFloat(region.offsetY);
+			output.writeInt(region.originalWidth);
+			output.writeInt(region.originalHeight);
+			output.writeInt(region.degrees);
+			output.writeBoolean(region.rotate);
+			output.writeInt(region.index);
+			output.writeBoolean(region.flip);
+			if (region.names == null)
+				output.writeInt(-1);
+			else {
+				output.writeInt(region.names.length);
+				for (int i = 0; i < region.names.length; i++) {
+					writeString(output, region.names[i]);
+					int[] values = region.values[i];
+					output.writeInt(values.length);
+					for (int value : values)
+						output.writeInt(value);
+				}
+			}
+		}
+	}
+
+	private TextureAtlasData readAtlas (ByteBuffer input, FileHandle imagesDir) {
+		TextureAtlasData data = new TextureAtlasData();
+		Array<Page> pages = data.getPages();
+		for (int i = 0, n = input.getInt(); i < n; i++) {
+			Page page = new Page();
+			page.name = readString(input);
+			page.textureFile = imagesDir.child(page.name);
+			page.width = input.getFloat();
+			page.height = input.getFloat();
+			page.useMipMaps = input.get() != 0;
+			page.format = Format.valueOf(readString(input));
+			page.minFilter = TextureFilter.valueOf(readString(input));
+			page.magFilter = TextureFilter.valueOf(readString(input));
+			page.uWrap = TextureWrap.valueOf(readString(input));
+			page.vWrap = TextureWrap.valueOf(readString(input));
+			page.pma = input.get() != 0;
+			pages.add(page);
+		}
+		Array<Region> regions = data.getRegions();
+		for (int i = 0, n = input.getInt(); i < n; i++) {
+			Region region = new Region();
+			region.page = pages.get(input.getInt());
+			region.name = readString(input);
+			region.left = input.getInt();
+			region.top = input.getInt();
+			region.width = input.getInt();
+			region.height = input.getInt();
+			region.offsetX = input.getFloat();
+			region.offsetY = input.getFloat();
+			region.originalWidth = input.getInt();
+			region.originalHeight = input.getInt();
+			region.degrees = input.getInt();
+			region.rotate = input.get() != 0;
+			region.index = input.getInt();
+			region.flip = input.get() != 0;
+			int count = input.getInt();
+			if (count != -1) {
+				region.names = new String[count];
+				region.values = new int[count][];
+				for (int ii = 0; ii < count; ii++) {
+					region.names[ii] = readString(input);
+					int[] values = new int[input.getInt()];
+					for (int iii = 0; iii < values.length; iii++)
+						values[iii] = input.getInt();
+					region.values[ii] = values;
+				}
+			}
+			regions.add(region);
+		}
+		return data;
+	}
+
+	private void writeFont (DataOutputStream output, BitmapFontData data) throws IOException {
+		writeString(output, data.name);
+		output.writeInt(data.imagePaths.length);
+		for (String imagePath : data.imagePaths)
+			writeString(output, imagePath);
+		output.writeBoolean(data.flipped);
+		output.writeFloat(data.padTop);
+		output.writeFloat(data.padRight);
+		output.writeFloat(data.padBottom);
+		output.writeFloat(data.padLeft);
+		output.writeFloat(data.lineHeight);
+		output.writeFloat(data.capHeight);
+		output.writeFloat(data.ascent);
+		output.writeFloat(data.descent);
+		output.writeFloat(data.down);
+		output.writeFloat(data.blankLineScale);
+		output.writeFloat(data.scaleX);
+		output.writeFloat(data.scaleY);
+		output.writeBoolean(data.markupEnabled);
+		output.writeFloat(data.cursorX);
+		output.writeFloat(data.spaceXadvance);
+		output.writeFloat(data.xHeight);
+		writeChars(output, data.breakChars);
+		writeChars(output, data.xChars);
+		writeChars(output, data.capChars);
+
+		int count = 0;
+		for (Glyph[] page : data.glyphs) {
+			if (page == null) continue;
+			for (Glyph glyph : page)
+				if (glyph != null) count++;
+		}
+		output.writeInt(count);
+		for (Glyph[] page : data.glyphs) {
+			if (page == null) continue;
+			for (Glyph glyph : page)
+				if (glyph != null) writeGlyph(output, glyph);
+		}
+		output.writeBoolean(data.missingGlyph != null);
+		if (data.missingGlyph != null) writeGlyph(output, data.missingGlyph);
+	}
+
+	private BitmapFontData readFont (ByteBuffer input, FileHandle fontFile) {
+		BitmapFontData data = new BitmapFontData();
+		data.fontFile = fontFile;
+		data.name = readString(input);
+		data.imagePaths = new String[input.getInt()];
+		for (int i = 0; i < data.imagePaths.length; i++)
+			data.imagePaths[i] = readString(input);
+		data.flipped = input.get() != 0;
+		data.padTop = input.getFloat();
+		data.padRight = input.getFloat();
+		data.padBottom = input.getFloat();
+		data.padLeft = input.getFloat();
+		data.lineHeight = input.getFloat();
+		data.capHeight = input.getFloat();
+		data.ascent = input.getFloat();
+		data.descent = input.getFloat();
+		data.down = input.getFloat();
+		data.blankLineScale = input.getFloat();
+		data.scaleX = input.getFloat();
+		data.scaleY = input.getFloat();
+		data.markupEnabled = input.get() != 0;
+		data.cursorX = input.getFloat();
+		data.spaceXadvance = input.getFloat();
+		data.xHeight = input.getFloat();
+		data.breakChars = readChars(input);
+		data.xChars = readChars(input);
+		data.capChars = readChars(input);
+
+		for (int i = 0, n = input.getInt(); i < n; i++) {
+			Glyph glyph = readGlyph(input);
+			data.setGlyph(glyph.id, glyph);
+		}
+		if (input.get() != 0) data.missingGlyph = readGlyph(input);
+		return data;
+	}
+
+	private void writeGlyph (DataOutputStream output, Glyph glyph) throws IOException {
+		output.writeInt(glyph.id);
+		output.writeInt(glyph.srcX);
+		output.writeInt(glyph.srcY);
+		output.writeInt(glyph.width);
+		output.writeInt(glyph.height);
+		output.writeFloat(glyph.u);
+		output.writeFloat(glyph.v);
+		output.writeFloat(glyph.u2);
+		output.writeFloat(glyph.v2);
+		output.writeInt(glyph.xoffset);
+		output.writeInt(glyph.yoffset);
+		output.writeInt(glyph.xadvance);
+		output.writeBoolean(glyph.fixedWidth);
+		output.writeInt(glyph.page);
+		byte[][] kerning = glyph.kerning;
+		if (kerning == null)
+			output.writeInt(-1);
+		else {
+			output.writeInt(kerning.length);
+			for (byte[] page : kerning) {
+				if (page == null)
+					output.writeInt(-1);
+				else {
+					output.writeInt(page.length);
+					output.write(page);
+				}
+			}
+		}
+	}
+
+	private Glyph readGlyph (ByteBuffer input) {
+		Glyph glyph = new Glyph();
+		glyph.id = input.getInt();
+		glyph.srcX = input.getInt();
+		glyph.srcY = input.getInt();
+		glyph.width = input.getInt();
+		glyph.height = input.getInt();
+		glyph.u = input.getFloat();
+		glyph.v = input.getFloat();
+		glyph.u2 = input.getFloat();
+		glyph.v2 = input.getFloat();
+		glyph.xoffset = input.getInt();
+		glyph.yoffset = input.getInt();
+		glyph.xadvance = input.getInt();
+		glyph.fixedWidth = input.get() != 0;
+		glyph.page = input.getInt();
+		int pages = input.getInt();
+		if (pages != -1) {
+			glyph.kerning = new byte[pages][];
+			for (int i = 0; i < pages; i++) {
+				int length = input.getInt();
+				if (length == -1) continue;
+				byte[] page = new byte[length];
+				input.get(page);
+				glyph.kerning[i] = page;
+			}
+		}
+		return glyph;
+	}
+
+	static private void writeString (DataOutputStream output, @Null String value) throws IOException {
+		if (value == null) {
+			output.writeInt(-1);
+			return;
+		}
+		int length = value.length();
+		output.writeInt(length);
+		for (int i = 0; i < length; i++)
+			output.writeChar(value.charAt(i));
+	}
+
+	static private @Null String readString (ByteBuffer input) {
+		char[] chars = readChars(input);
+		return chars == null ? null : new String(chars);
+	}
+
+	static private void writeChars (DataOutputStream output, @Null char[] value) throws IOException {
+		if (value == null) {
+			output.writeInt(-1);
+			return;
+		}
+		output.writeInt(value.length);
+		for (char c : value)
+			output.writeChar(c);
+	}
+
+	static private @Null char[] readChars (ByteBuffer input) {
+		int length = input.getInt();
+		if (length == -1) return null;
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++)
+			chars[i] = input.getChar();
+		return chars;
+	}
+
+	/** @return the {@link Logger} used to report errors reading or writing cache files. */
+	public Logger getLogger () {
+		return log;
+	}
+
+	public void setLogger (Logger logger) {
+		log = logger;
+	}
+}
@@ -27,6 +27,10 @@ public class AssetDescriptor<T> {
 	public final AssetLoaderParameters params;
 	/** The resolved file. May be null if the fileName has not been resolved yet. */
 	public FileHandle file;
+	/** Queued assets with a higher priority are loaded first. Defaults to {@link AssetLoaderParameters#priority}. */
+	public int priority;
+	/** The nanoTime when the asset was queued, set when the {@link AssetManager} has a profiler. */
+	transient long queuedTime;
 
 	public AssetDescriptor (String fileName, Class<T> assetType) {
 		this(fileName, assetType, null);
@@ -41,6 +45,7 @@ public class AssetDescriptor<T> {
 		this.fileName = fileName;
 		this.type = assetType;
 		this.params = params;
+		if (params != null) priority = params.priority;
 	}
 
 	/** Creates an AssetDescriptor with an already resolved name. */
@@ -49,6 +54,7 @@ public class AssetDescriptor<T> {
 		this.file = file;
 		this.type = assetType;
 		this.params = params;
+		if (params != null) priority = params.priority;
 	}
 
 	@Override
@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.assets;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import com.badlogic.gdx.assets.loaders.AssetLoader;
+import com.badlogic.gdx.graphics.Cubemap;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+
+/** Records how long each asset loaded by an {@link AssetManager} took to load and estimates how much memory it uses. Set it with
+ * {@link AssetManager#setProfiler(AssetLoadProfiler)} before queuing the assets to measure. Times are in nanoseconds. */
+public class AssetLoadProfiler {
+	final Array<Record> records = new Array();
+	final ObjectMap<Class, Record> loaderTotals = new ObjectMap();
+
+	/** Returns a record for each asset loaded since the profiler was set or {@link #clear() cleared}, in the order the assets
+	 * finished loading. Assets that were cancelled or failed to load are not recorded. */
+	public Array<Record> getRecords () {
+		return records;
+	}
+
+	/** Returns the record for the most recent load of the asset, or null. */
+	public @Null Record getRecord (String fileName) {
+		for (int i = records.size - 1; i >= 0; i--) {
+			Record record = records.get(i);
+			if (record.fileName.equals(fileName)) return record;
+		}
+		return null;
+	}
+
+	/** Returns the sums of the records for each loader type. The {@link Record#fileName} and {@link Record#type} of the sums are
+	 * null. */
+	public ObjectMap<Class, Record> getLoaderTotals () {
+		return loaderTotals;
+	}
+
+	public void clear () {
+		records.clear();
+		loaderTotals.clear();
+	}
+
+	/** Returns the estimated number of bytes used by the asset, not including its dependencies, or -1 if unknown. Textures,
+	 * cubemaps, pixmaps and the meshes of models are estimated. Subclasses can override this to estimate other types. */
+	protected long estimateMemory (Object asset) {
+		if (asset instanceof Texture) {
+			Texture texture = (Texture)asset;
+			TextureData data = texture.getTextureData();
+			long bytes = (long)texture.getWidth() * texture.getHeight() * bytesPerPixel(data.getFormat());
+			return data.useMipMaps() ? bytes * 4 / 3 : bytes;
+		}
+		if (asset instanceof Cubemap) {
+			Cubemap cubemap = (Cubemap)asset;
+			return (long)cubemap.getWidth() * cubemap.getHeight() * 4 * 6;
+		}
+		if (asset instanceof Pixmap) return ((Pixmap)asset).getPixels().capacity();
+		if (asset instanceof Model) {
+			long bytes = 0;
+			for (Mesh mesh : ((Model)asset).meshes)
+				bytes += (long)mesh.getNumVertices() * mesh.getVertexSize() + mesh.getNumIndices() * 2;
+			return bytes;
+		}
+		return -1;
+	}
+
+	private int bytesPerPixel (@Null Format format) {
+		if (format == null) return 4;
+		switch (format) {
+		case Alpha:
+		case Intensity:
+			return 1;
+		case LuminanceAlpha:
+		case RGB565:
+		case RGBA4444:
+			return 2;
+		case RGB888:
+			return 3;
+		default:
+			return 4;
+		}
+	}
+
+	/** Creates the record for a task that was added to the task stack. */
+	Record start (AssetLoadingTask task, boolean dependency) {
+		Record record = new Record();
+		record.fileName = task.assetDesc.fileName;
+		record.type = task.assetDesc.type;
+		record.loaderType = task.loader.getClass();
+		record.dependency = dependency;
+		record.count = 1;
+		record.start = task.assetDesc.queuedTime != 0 ? task.assetDesc.queuedTime : TimeUtils.nanoTime();
+		return record;
+	}
+
+	/** Completes the record for a task that finished loading. */
+	void loaded (Record record, Object asset) {
+		record.totalTime = TimeUtils.nanoTime() - record.start;
+		record.memory = estimateMemory(asset);
+		records.add(record);
+
+		Record total = loaderTotals.get(record.loaderType);
+		if (total == null) {
+			total = new Record();
+			total.loaderType = record.loaderType;
+			loaderTotals.put(record.loaderType, total);
+		}
+		total.add(record);
+	}
+
+	/** Returns the records and loader totals as JSON. Times are in milliseconds and memory in bytes. */
+	public String toJson (OutputType outputType) {
+		StringWriter buffer = new StringWriter();
+		try {
+			toJson(buffer, outputType);
+		} catch (IOException ex) {
+			throw new GdxRuntimeException(ex);
+		}
+		return buffer.toString();
+	}
+
+	/** Writes the records and loader totals as JSON. Times are in milliseconds and memory in bytes. */
+	public void toJson (Writer writer, OutputType outputType) throws IOException {
+		JsonWriter json = new JsonWriter(writer);
+		json.setOutputType(outputType);
+		json.object();
+		json.array("assets");
+		for (Record record : records) {
+			json.object();
+			json.set("fileName", record.fileName);
+			json.set("type", ClassReflection.getSimpleName(record.type));
+			record.write(json);
+			json.set("dependency", record.dependency);
+			json.pop();
+		}
+		json.pop();
+		json.array("loaders");
+		for (Record total : loaderTotals.values()) {
+			json.object();
+			total.write(json);
+			json.set("count", total.count);
+			json.pop();
+		}
+		json.pop();
+		json.pop();
+		json.flush();
+	}
+
+	/** The load times and memory estimate for an asset, or the sums for a loader type. */
+	static public class Record {
+		/** Null for the sums of a loader type. */
+		public @Null String fileName;
+		/** Null for the sums of a loader type. */
+		public @Null Class type;
+		/** The class of the {@link AssetLoader} that loaded the asset. */
+		public Class loaderType;
+		/** True if the asset was loaded as a dependency of another asset. */
+		public boolean dependency;
+		/** The number of assets that were summed. */
+		public int count;
+		/** Time waiting in the load queue or behind other dependencies before loading started. */
+		public long queueTime;
+		/** Time waiting for the dependencies of the asset to load. */
+		public long dependencyTime;
+		/** Time spent on executor threads, in the loader's getDependencies and loadAsync methods. */
+		public long asyncTime;
+		/** Time spent on the rendering thread in the loader's load or loadSync methods. */
+		public long syncTime;
+		/** Time from being queued until loading completed. */
+		public long totalTime;
+		/** The estimated number of bytes used by the asset, or -1 if unknown. For sums only the known estimates are added. */
+		public long memory;
+
+		/** The nanoTime when the asset was queued and, when not 0, when it started waiting for dependencies. */
+		long start, dependencyStart;
+
+		void add (Record record) {
+			count += record.count;
+			queueTime += record.queueTime;
+			dependencyTime += record.dependencyTime;
+			asyncTime += record.asyncTime;
+			syncTime += record.syncTime;
+			totalTime += record.totalTime;
+			if (record.memory > 0) memory += record.memory;
+		}
+
+		void write (JsonWriter json) throws IOException {
+			json.set("loader", ClassReflection.getSimpleName(loaderType));
+			json.set("queueMs", queueTime / 1000000f);
+			json.set("dependencyMs", dependencyTime / 1000000f);
+			json.set("asyncMs", asyncTime / 1000000f);
+			json.set("syncMs", syncTime / 1000000f);
+			json.set("totalMs", totalTime / 1000000f);
+			json.set("memory", memory);
+		}
+
+		public String toString () {
+			return (fileName != null ? fileName : ClassReflection.getSimpleName(loaderType)) + ": " + totalTime / 1000000f + "ms";
+		}
+	}
+}
@@ -25,4 +25,7 @@ public class AssetLoaderParameters<T> {
 	}
 
 	public LoadedCallback loadedCallback;
+	/** Queued assets with a higher priority are loaded first. Assets with the same priority are loaded in the order they were
+	 * queued. */
+	public int priority;
 }
@@ -47,6 +47,8 @@ class AssetLoadingTask implements AsyncTask<Void> {
 	volatile Object asset;
 
 	volatile boolean cancel;
+	/** Set when the manager has a profiler. */
+	AssetLoadProfiler.Record record;
 
 	public AssetLoadingTask (AssetManager manager, AssetDescriptor assetDesc, AssetLoader loader, AsyncExecutor threadPool) {
 		this.manager = manager;
@@ -60,22 +62,28 @@ class AssetLoadingTask implements AsyncTask<Void> {
 	@Override
 	public Void call () throws Exception {
 		if (cancel) return null;
-		AsynchronousAssetLoader asyncLoader = (AsynchronousAssetLoader)loader;
-		if (!dependenciesLoaded) {
-			dependencies = asyncLoader.getDependencies(assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
-			if (dependencies != null) {
-				removeDuplicates(dependencies);
-				manager.injectDependencies(assetDesc.fileName, dependencies);
+		long start = record != null ? TimeUtils.nanoTime() : 0;
+		try {
+			AsynchronousAssetLoader asyncLoader = (AsynchronousAssetLoader)loader;
+			if (!dependenciesLoaded) {
+				dependencies = asyncLoader.getDependencies(assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+				if (cancel) return null;
+				if (dependencies != null) {
+					removeDuplicates(dependencies);
+					manager.injectDependencies(assetDesc.fileName, dependencies);
+				} else {
+					// if we have no dependencies, we load the async part of the task immediately.
+					asyncLoader.loadAsync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+					asyncDone = true;
+				}
 			} else {
-				// if we have no dependencies, we load the async part of the task immediately.
 				asyncLoader.loadAsync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
 				asyncDone = true;
 			}
-		} else {
-			asyncLoader.loadAsync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
-			asyncDone = true;
+			return null;
+		} finally {
+			if (record != null) record.asyncTime += TimeUtils.nanoTime() - start;
 		}
-		return null;
 	}
 
 	/** Updates the loading of the asset. In case the asset is loaded with an {@link AsynchronousAssetLoader}, the loaders
@@ -98,13 +106,13 @@ class AssetLoadingTask implements AsyncTask<Void> {
 			dependenciesLoaded = true;
 			dependencies = syncLoader.getDependencies(assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
 			if (dependencies == null) {
-				asset = syncLoader.load(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+				asset = load(syncLoader);
 				return;
 			}
 			removeDuplicates(dependencies);
 			manager.injectDependencies(assetDesc.fileName, dependencies);
 		} else
-			asset = syncLoader.load(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+			asset = load(syncLoader);
 	}
 
 	private void handleAsyncLoader () {
@@ -120,19 +128,37 @@ class AssetLoadingTask implements AsyncTask<Void> {
 				}
 				dependenciesLoaded = true;
 				if (asyncDone)
-					asset = asyncLoader.loadSync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+					asset = loadSync(asyncLoader);
 			}
 		} else if (loadFuture == null && !asyncDone)
 			loadFuture = executor.submit(this);
 		else if (asyncDone)
-			asset = asyncLoader.loadSync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+			asset = loadSync(asyncLoader);
 		else if (loadFuture.isDone()) {
 			try {
 				loadFuture.get();
 			} catch (Exception e) {
 				throw new GdxRuntimeException("Couldn't load asset: " + assetDesc.fileName, e);
 			}
-			asset = asyncLoader.loadSync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+			asset = loadSync(asyncLoader);
+		}
+	}
+
+	private Object load (SynchronousAssetLoader syncLoader) {
+		long start = record != null ? TimeUtils.nanoTime() : 0;
+		try {
+			return syncLoader.load(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+		} finally {
+			if (record != null) record.syncTime += TimeUtils.nanoTime() - start;
+		}
+	}
+
+	private Object loadSync (AsynchronousAssetLoader asyncLoader) {
+		long start = record != null ? TimeUtils.nanoTime() : 0;
+		try {
+			return asyncLoader.loadSync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+		} finally {
+			if (record != null) record.syncTime += TimeUtils.nanoTime() - start;
 		}
 	}
 
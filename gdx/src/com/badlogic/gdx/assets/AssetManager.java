@@ -19,6 +19,7 @@ package com.badlogic.gdx.assets;
 import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.loaders.AssetLoader;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
 import com.badlogic.gdx.assets.loaders.BitmapFontLoader;
 import com.badlogic.gdx.assets.loaders.CubemapLoader;
 import com.badlogic.gdx.assets.loaders.FileHandleResolver;
@@ -34,6 +35,7 @@ import com.badlogic.gdx.assets.loaders.TextureLoader;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Cubemap;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
@@ -75,12 +77,18 @@ public class AssetManager implements Disposable {
 	final ObjectMap<Class, ObjectMap<String, AssetLoader>> loaders = new ObjectMap();
 	final Array<AssetDescriptor> loadQueue = new Array();
 	final AsyncExecutor executor;
+	final int loadingThreads;
 
-	final Array<AssetLoadingTask> tasks = new Array();
+	/** A stack for each asset from the load queue that is loading. The top task of each stack is updated, the others wait for
+	 * their dependencies. */
+	final Array<TaskStack> stacks = new Array();
+	/** An asset whose stack deadlocked with another stack. Only one stack is loaded at a time until it is loaded. */
+	@Null AssetDescriptor serialAsset;
 	AssetErrorListener listener;
+	@Null AssetLoadProfiler profiler;
+	@Null AssetCache cache;
 	int loaded;
 	int toLoad;
-	int peakTasks;
 
 	final FileHandleResolver resolver;
 
@@ -100,7 +108,20 @@ public class AssetManager implements Disposable {
 	 * manually add the loaders you need, including any loaders they might depend on.
 	 * @param defaultLoaders whether to add the default loaders */
 	public AssetManager (FileHandleResolver resolver, boolean defaultLoaders) {
+		this(resolver, defaultLoaders, 1);
+	}
+
+	/** Creates a new AssetManager with optionally all default loaders.
+	 * @param defaultLoaders whether to add the default loaders
+	 * @param loadingThreads the number of threads for the asynchronous parts of loading. When greater than 1, up to this many
+	 *           assets from the load queue are loaded in parallel. Dependencies are still loaded before the assets that need
+	 *           them and {@link AsynchronousAssetLoader#loadSync(AssetManager, String, FileHandle, AssetLoaderParameters)
+	 *           loadSync} is still called from {@link #update()}. Assets whose loader is not {@link AssetLoader#isConcurrent()
+	 *           concurrent} wait for other assets using the same loader. */
+	public AssetManager (FileHandleResolver resolver, boolean defaultLoaders, int loadingThreads) {
+		if (loadingThreads < 1) throw new IllegalArgumentException("loadingThreads must be > 0: " + loadingThreads);
 		this.resolver = resolver;
+		this.loadingThreads = loadingThreads;
 		if (defaultLoaders) {
 			setLoader(BitmapFont.class, new BitmapFontLoader(resolver));
 			setLoader(Music.class, new MusicLoader(resolver));
@@ -120,7 +141,7 @@ public class AssetManager implements Disposable {
 			setLoader(ShaderProgram.class, new ShaderProgramLoader(resolver));
 			setLoader(Cubemap.class, new CubemapLoader(resolver));
 		}
-		executor = new AsyncExecutor(1, "AssetManager");
+		executor = new AsyncExecutor(loadingThreads, "AssetManager");
 	}
 
 	/** Returns the {@link FileHandleResolver} for which this AssetManager was loaded with.
@@ -194,7 +215,8 @@ public class AssetManager implements Disposable {
 
 	/** Returns true if an asset with the specified name is loading, queued to be loaded, or has been loaded. */
 	public synchronized boolean contains (String fileName) {
-		if (tasks.size > 0 && tasks.first().assetDesc.fileName.equals(fileName)) return true;
+		for (int i = 0; i < stacks.size; i++)
+			if (stacks.get(i).first().assetDesc.fileName.equals(fileName)) return true;
 
 		for (int i = 0; i < loadQueue.size; i++)
 			if (loadQueue.get(i).fileName.equals(fileName)) return true;
@@ -204,8 +226,8 @@ public class AssetManager implements Disposable {
 
 	/** Returns true if an asset with the specified name and type is loading, queued to be loaded, or has been loaded. */
 	public synchronized boolean contains (String fileName, Class type) {
-		if (tasks.size > 0) {
-			AssetDescriptor assetDesc = tasks.first().assetDesc;
+		for (int i = 0; i < stacks.size; i++) {
+			AssetDescriptor assetDesc = stacks.get(i).first().assetDesc;
 			if (assetDesc.type == type && assetDesc.fileName.equals(fileName)) return true;
 		}
 
@@ -220,13 +242,12 @@ public class AssetManager implements Disposable {
 	/** Removes the asset and all its dependencies, if they are not used by other assets.
 	 * @param fileName the file name */
 	public synchronized void unload (String fileName) {
-		// check if it's currently processed (and the first element in the stack, thus not a dependency) and cancel if necessary
-		if (tasks.size > 0) {
-			AssetLoadingTask currentTask = tasks.first();
+		// check if it's currently processed (and the first element in a stack, thus not a dependency) and cancel if necessary
+		for (int i = 0; i < stacks.size; i++) {
+			AssetLoadingTask currentTask = stacks.get(i).first();
 			if (currentTask.assetDesc.fileName.equals(fileName)) {
 				log.info("Unload (from tasks): " + fileName);
-				currentTask.cancel = true;
-				currentTask.unload();
+				cancel(stacks.get(i));
 				return;
 			}
 		}
@@ -363,6 +384,15 @@ public class AssetManager implements Disposable {
 	 * @param type the type of the asset.
 	 * @param parameter parameters for the AssetLoader. */
 	public synchronized <T> void load (String fileName, Class<T> type, AssetLoaderParameters<T> parameter) {
+		load(fileName, type, parameter, parameter != null ? parameter.priority : 0);
+	}
+
+	/** Adds the given asset to the loading queue of the AssetManager.
+	 * @param fileName the file name (interpretation depends on {@link AssetLoader})
+	 * @param type the type of the asset.
+	 * @param parameter parameters for the AssetLoader.
+	 * @param priority queued assets with a higher priority are loaded first, see {@link #setPriority(String, int)}. */
+	public synchronized <T> void load (String fileName, Class<T> type, AssetLoaderParameters<T> parameter, int priority) {
 		AssetLoader loader = getLoader(type, fileName);
 		if (loader == null) throw new GdxRuntimeException("No loader for type: " + ClassReflection.getSimpleName(type));
 
@@ -370,7 +400,6 @@ public class AssetManager implements Disposable {
 		if (loadQueue.size == 0) {
 			loaded = 0;
 			toLoad = 0;
-			peakTasks = 0;
 		}
 
 		// check if an asset with the same name but a different type has already been added.
@@ -384,11 +413,14 @@ public class AssetManager implements Disposable {
 		}
 
 		// check task list
-		for (int i = 0; i < tasks.size; i++) {
-			AssetDescriptor desc = tasks.get(i).assetDesc;
-			if (desc.fileName.equals(fileName) && !desc.type.equals(type)) throw new GdxRuntimeException(
-				"Asset with name '" + fileName + "' already in task list, but has different type (expected: "
-					+ ClassReflection.getSimpleName(type) + ", found: " + ClassReflection.getSimpleName(desc.type) + ")");
+		for (int s = 0; s < stacks.size; s++) {
+			TaskStack stack = stacks.get(s);
+			for (int i = 0; i < stack.size; i++) {
+				AssetDescriptor desc = stack.get(i).assetDesc;
+				if (desc.fileName.equals(fileName) && !desc.type.equals(type)) throw new GdxRuntimeException(
+					"Asset with name '" + fileName + "' already in task list, but has different type (expected: "
+						+ ClassReflection.getSimpleName(type) + ", found: " + ClassReflection.getSimpleName(desc.type) + ")");
+			}
 		}
 
 		// check loaded assets
@@ -399,33 +431,95 @@ public class AssetManager implements Disposable {
 
 		toLoad++;
 		AssetDescriptor assetDesc = new AssetDescriptor(fileName, type, parameter);
-		loadQueue.add(assetDesc);
+		assetDesc.priority = priority;
+		if (profiler != null) assetDesc.queuedTime = TimeUtils.nanoTime();
+		enqueue(assetDesc);
 		log.debug("Queued: " + assetDesc);
 	}
 
 	/** Adds the given asset to the loading queue of the AssetManager.
 	 * @param desc the {@link AssetDescriptor} */
 	public synchronized void load (AssetDescriptor desc) {
-		load(desc.fileName, desc.type, desc.params);
+		load(desc.fileName, desc.type, desc.params, desc.priority);
+	}
+
+	/** Adds the asset to the load queue after any assets with the same or a higher priority. */
+	private void enqueue (AssetDescriptor assetDesc) {
+		int index = loadQueue.size;
+		while (index > 0 && loadQueue.get(index - 1).priority < assetDesc.priority)
+			index--;
+		loadQueue.insert(index, assetDesc);
+	}
+
+	/** Changes the priority of an asset that is queued or loading. A queued asset is moved ahead of queued assets with a lower
+	 * priority, so it is started when the next loading thread becomes free. Assets that are loading are not interrupted.
+	 * @return false if the asset is not queued or loading. */
+	public synchronized boolean setPriority (String fileName, int priority) {
+		boolean found = false;
+		for (int i = 0; i < stacks.size; i++) {
+			AssetDescriptor assetDesc = stacks.get(i).first().assetDesc;
+			if (assetDesc.fileName.equals(fileName)) {
+				assetDesc.priority = priority;
+				found = true;
+			}
+		}
+		for (int i = loadQueue.size - 1; i >= 0; i--) {
+			AssetDescriptor assetDesc = loadQueue.get(i);
+			if (!assetDesc.fileName.equals(fileName)) continue;
+			loadQueue.removeIndex(i);
+			assetDesc.priority = priority;
+			if (profiler != null) assetDesc.queuedTime = TimeUtils.nanoTime();
+			enqueue(assetDesc);
+			found = true;
+		}
+		return found;
+	}
+
+	/** Returns true if the asset is not being loaded by a task that has not been cancelled. Asynchronous loaders can check this
+	 * during a long {@link AsynchronousAssetLoader#loadAsync(AssetManager, String, FileHandle, AssetLoaderParameters) loadAsync}
+	 * to stop early when the asset is unloaded before loading completes. */
+	public synchronized boolean isCancelled (String fileName) {
+		for (int s = 0; s < stacks.size; s++) {
+			TaskStack stack = stacks.get(s);
+			for (int i = 0; i < stack.size; i++) {
+				AssetLoadingTask task = stack.get(i);
+				if (!task.cancel && task.assetDesc.fileName.equals(fileName)) return false;
+			}
+		}
+		return true;
 	}
 
 	/** Updates the AssetManager for a single task. Returns if the current task is still being processed or there are no tasks,
-	 * otherwise it finishes the current task and starts the next task.
+	 * otherwise it finishes the current task and starts the next task. When loading in parallel, a single task is updated for
+	 * each asset that is loading.
 	 * @return true if all loading is finished. */
 	public synchronized boolean update () {
 		try {
-			if (tasks.size == 0) {
-				// loop until we have a new task ready to be processed
-				while (loadQueue.size != 0 && tasks.size == 0)
-					nextTask();
-				// have we not found a task? We are done!
-				if (tasks.size == 0) return true;
-			}
-			return updateTask() && loadQueue.size == 0 && tasks.size == 0;
+			// loop until we have new tasks ready to be processed, the queue is ordered by priority
+			int maxStacks = serialAsset != null ? 1 : loadingThreads;
+			while (loadQueue.size != 0 && stacks.size < maxStacks)
+				nextTask();
 		} catch (Throwable t) {
-			handleTaskError(t);
-			return loadQueue.size == 0;
+			handleTaskError(null, t);
+		}
+		// have we not found a task? We are done!
+		if (stacks.size == 0) return true;
+
+		// a completed task may release what blocked stacks wait for, so only check for a deadlock when nothing completed
+		boolean progressed = false;
+		for (int i = 0; i < stacks.size; i++) {
+			TaskStack stack = stacks.get(i);
+			try {
+				if (updateTask(stack)) progressed = true;
+			} catch (Throwable t) {
+				handleTaskError(stack, t);
+				return loadQueue.size == 0 && stacks.size == 0;
+			}
+			if (stack.isEmpty()) stacks.removeIndex(i--);
 		}
+		if (!progressed && stacks.size > 1 && isDeadlocked()) requeue(stacks.peek());
+		if (serialAsset != null && !isQueuedOrLoading(serialAsset)) serialAsset = null;
+		return loadQueue.size == 0 && stacks.size == 0;
 	}
 
 	/** Updates the AssetManager continuously for the specified number of milliseconds, yielding the CPU to the loading thread
@@ -446,7 +540,7 @@ public class AssetManager implements Disposable {
 	/** Returns true when all assets are loaded. Can be called from any thread but note {@link #update()} or related methods must
 	 * be called to process tasks. */
 	public synchronized boolean isFinished () {
-		return loadQueue.size == 0 && tasks.size == 0;
+		return loadQueue.size == 0 && stacks.size == 0;
 	}
 
 	/** Blocks until all assets are loaded. */
@@ -487,16 +581,29 @@ public class AssetManager implements Disposable {
 	}
 
 	synchronized void injectDependencies (String parentAssetFilename, Array<AssetDescriptor> dependendAssetDescs) {
+		// the parent is the top task of its stack, dependencies are pushed on top of it
+		TaskStack stack = null;
+		for (int i = 0; i < stacks.size; i++) {
+			AssetLoadingTask task = stacks.get(i).peek();
+			if (!task.cancel && task.assetDesc.fileName.equals(parentAssetFilename)) {
+				stack = stacks.get(i);
+				break;
+			}
+		}
+		if (stack == null) return; // cancelled or cleared while the dependencies were being loaded
+
+		AssetLoadingTask parent = stack.peek();
 		ObjectSet<String> injected = this.injected;
 		for (AssetDescriptor desc : dependendAssetDescs) {
 			if (injected.contains(desc.fileName)) continue; // Ignore subsequent dependencies if there are duplicates.
 			injected.add(desc.fileName);
-			injectDependency(parentAssetFilename, desc);
+			injectDependency(stack, parentAssetFilename, desc);
 		}
 		injected.clear(32);
+		if (parent.record != null && stack.peek() != parent) parent.record.dependencyStart = TimeUtils.nanoTime();
 	}
 
-	private synchronized void injectDependency (String parentAssetFilename, AssetDescriptor dependendAssetDesc) {
+	private synchronized void injectDependency (TaskStack stack, String parentAssetFilename, AssetDescriptor dependendAssetDesc) {
 		// add the asset as a dependency of the parent asset
 		Array<String> dependencies = assetDependencies.get(parentAssetFilename);
 		if (dependencies == null) {
@@ -515,12 +622,12 @@ public class AssetManager implements Disposable {
 		} else {
 			// else add a new task for the asset.
 			log.info("Loading dependency: " + dependendAssetDesc);
-			addTask(dependendAssetDesc);
+			addTask(stack, dependendAssetDesc);
 		}
 	}
 
-	/** Removes a task from the loadQueue and adds it to the task stack. If the asset is already loaded (which can happen if it was
-	 * a dependency of a previously loaded asset) its reference count will be increased. */
+	/** Removes a task from the loadQueue and adds it to a new task stack. If the asset is already loaded (which can happen if it
+	 * was a dependency of a previously loaded asset) its reference count will be increased. */
 	private void nextTask () {
 		AssetDescriptor assetDesc = loadQueue.removeIndex(0);
 
@@ -537,16 +644,20 @@ public class AssetManager implements Disposable {
 		} else {
 			// else add a new task for the asset.
 			log.info("Loading: " + assetDesc);
-			addTask(assetDesc);
+			TaskStack stack = new TaskStack();
+			addTask(stack, assetDesc);
+			stacks.add(stack);
 		}
 	}
 
 	/** Adds a {@link AssetLoadingTask} to the task stack for the given asset. */
-	private void addTask (AssetDescriptor assetDesc) {
+	private void addTask (TaskStack stack, AssetDescriptor assetDesc) {
 		AssetLoader loader = getLoader(assetDesc.type, assetDesc.fileName);
 		if (loader == null) throw new GdxRuntimeException("No loader for type: " + ClassReflection.getSimpleName(assetDesc.type));
-		tasks.add(new AssetLoadingTask(this, assetDesc, loader, executor));
-		peakTasks++;
+		AssetLoadingTask task = new AssetLoadingTask(this, assetDesc, loader, executor);
+		if (profiler != null) task.record = profiler.start(task, stack.size > 0);
+		stack.add(task);
+		stack.peakTasks++;
 	}
 
 	/** Adds an asset to this AssetManager */
@@ -567,42 +678,131 @@ public class AssetManager implements Disposable {
 
 	/** Updates the current task on the top of the task stack.
 	 * @return true if the asset is loaded or the task was cancelled. */
-	private boolean updateTask () {
-		AssetLoadingTask task = tasks.peek();
+	private boolean updateTask (TaskStack stack) {
+		AssetLoadingTask task = stack.peek();
+		stack.blocked = false;
+
+		AssetLoadProfiler.Record record = task.record;
+		long start = record != null ? TimeUtils.nanoTime() : 0;
+
+		boolean alreadyLoaded = false;
+		if (!task.dependenciesLoaded && task.depsFuture == null) {
+			// the asset may have been loaded by another stack or an earlier task in this stack since the task was added
+			if (isLoaded(task.assetDesc.fileName))
+				alreadyLoaded = true;
+			else if (stacks.size > 1 && !task.cancel && !canStart(stack, task)) {
+				stack.blocked = true;
+				return false;
+			} else if (record != null) record.queueTime = start - record.start;
+		}
+		if (record != null && record.dependencyStart != 0) {
+			record.dependencyTime += start - record.dependencyStart;
+			record.dependencyStart = 0;
+		}
 
 		boolean complete = true;
-		try {
-			complete = task.cancel || task.update();
-		} catch (RuntimeException ex) {
-			task.cancel = true;
-			taskFailed(task.assetDesc, ex);
+		if (!alreadyLoaded) {
+			try {
+				complete = task.cancel || task.update();
+			} catch (RuntimeException ex) {
+				task.cancel = true;
+				taskFailed(task.assetDesc, ex);
+			}
 		}
 
 		// if the task has been cancelled or has finished loading
 		if (complete) {
 			// increase the number of loaded assets and pop the task from the stack
-			if (tasks.size == 1) {
-				loaded++;
-				peakTasks = 0;
-			}
-			tasks.pop();
+			if (stack.size == 1) loaded++;
+			stack.pop();
 
 			if (task.cancel) return true;
 
-			addAsset(task.assetDesc.fileName, task.assetDesc.type, task.asset);
+			if (alreadyLoaded) {
+				log.debug("Already loaded: " + task.assetDesc);
+				Class type = assetTypes.get(task.assetDesc.fileName);
+				assets.get(type).get(task.assetDesc.fileName).refCount++;
+				incrementRefCountedDependencies(task.assetDesc.fileName);
+			} else {
+				addAsset(task.assetDesc.fileName, task.assetDesc.type, task.asset);
+				if (record != null && profiler != null) profiler.loaded(record, task.asset);
+
+				long endTime = TimeUtils.nanoTime();
+				log.debug("Loaded: " + (endTime - task.startTime) / 1000000f + "ms " + task.assetDesc);
+			}
 
 			// otherwise, if a listener was found in the parameter invoke it
 			if (task.assetDesc.params != null && task.assetDesc.params.loadedCallback != null)
 				task.assetDesc.params.loadedCallback.finishedLoading(this, task.assetDesc.fileName, task.assetDesc.type);
 
-			long endTime = TimeUtils.nanoTime();
-			log.debug("Loaded: " + (endTime - task.startTime) / 1000000f + "ms " + task.assetDesc);
-
 			return true;
 		}
 		return false;
 	}
 
+	/** Cancels the tasks in the stack, which are popped by subsequent updates. References to dependencies that were already
+	 * loaded are released. */
+	private void cancel (TaskStack stack) {
+		for (int i = stack.size - 1; i >= 0; i--) {
+			AssetLoadingTask task = stack.get(i);
+			if (task.cancel) continue;
+			task.cancel = true;
+			// a task that has not started owns no loader state, which may belong to another stack loading the same file
+			if (!task.dependenciesLoaded && task.depsFuture == null) continue;
+			task.unload();
+			Array<String> dependencies = assetDependencies.remove(task.assetDesc.fileName);
+			if (dependencies != null) {
+				for (String dependency : dependencies)
+					if (isLoaded(dependency)) unload(dependency);
+			}
+		}
+	}
+
+	/** Returns false if a task in another stack has started loading the same asset, or has started loading with the same loader
+	 * and the loader is not concurrent. */
+	private boolean canStart (TaskStack stack, AssetLoadingTask task) {
+		String fileName = task.assetDesc.fileName;
+		boolean concurrent = task.loader.isConcurrent();
+		for (int s = 0; s < stacks.size; s++) {
+			TaskStack other = stacks.get(s);
+			if (other == stack) continue;
+			for (int i = 0; i < other.size; i++) {
+				AssetLoadingTask otherTask = other.get(i);
+				if (!otherTask.dependenciesLoaded && otherTask.depsFuture == null) continue; // not started
+				if (otherTask.assetDesc.fileName.equals(fileName)) return false;
+				if (otherTask.loader == task.loader && !concurrent) return false;
+			}
+		}
+		return true;
+	}
+
+	/** Returns true if the top task of every stack is waiting for a task in another stack. Started tasks keep their loader
+	 * reserved until they are loaded, so this happens when stacks need each other's non-concurrent loaders for dependencies. */
+	private boolean isDeadlocked () {
+		for (int i = 0; i < stacks.size; i++)
+			if (!stacks.get(i).blocked) return false;
+		return true;
+	}
+
+	/** Cancels a deadlocked stack and queues its asset again, to be loaded after the other stacks without loading in parallel. */
+	private void requeue (TaskStack stack) {
+		AssetDescriptor assetDesc = stack.first().assetDesc;
+		log.info("Deadlock, loading again: " + assetDesc);
+		// None of the tasks are running: the top task has not started and the others wait for their dependencies.
+		cancel(stack);
+		stack.clear();
+		stacks.removeValue(stack, true);
+		loadQueue.insert(0, assetDesc);
+		serialAsset = assetDesc;
+	}
+
+	private boolean isQueuedOrLoading (AssetDescriptor assetDesc) {
+		if (loadQueue.contains(assetDesc, true)) return true;
+		for (int i = 0; i < stacks.size; i++)
+			if (stacks.get(i).first().assetDesc == assetDesc) return true;
+		return false;
+	}
+
 	/** Called when a task throws an exception during loading. The default implementation rethrows the exception. A subclass may
 	 * supress the default implementation when loading assets where loading failure is recoverable. */
 	protected void taskFailed (AssetDescriptor assetDesc, RuntimeException ex) {
@@ -623,13 +823,13 @@ public class AssetManager implements Disposable {
 
 	/** Handles a runtime/loading error in {@link #update()} by optionally invoking the {@link AssetErrorListener}.
 	 * @param t */
-	private void handleTaskError (Throwable t) {
+	private void handleTaskError (@Null TaskStack stack, Throwable t) {
 		log.error("Error loading asset.", t);
 
-		if (tasks.isEmpty()) throw new GdxRuntimeException(t);
+		if (stack == null || stack.isEmpty()) throw new GdxRuntimeException(t);
 
 		// pop the faulty task from the stack
-		AssetLoadingTask task = tasks.pop();
+		AssetLoadingTask task = stack.pop();
 		AssetDescriptor assetDesc = task.assetDesc;
 
 		// remove all dependencies
@@ -639,7 +839,8 @@ public class AssetManager implements Disposable {
 		}
 
 		// clear the rest of the stack
-		tasks.clear();
+		stack.clear();
+		stacks.removeValue(stack, true);
 
 		// inform the listener that something bad happened
 		if (listener != null)
@@ -667,6 +868,7 @@ public class AssetManager implements Disposable {
 		ObjectMap<String, AssetLoader> loaders = this.loaders.get(type);
 		if (loaders == null) this.loaders.put(type, loaders = new ObjectMap<String, AssetLoader>());
 		loaders.put(suffix == null ? "" : suffix, loader);
+		if (cache != null) loader.setCache(cache);
 	}
 
 	/** @return the number of loaded assets */
@@ -676,15 +878,19 @@ public class AssetManager implements Disposable {
 
 	/** @return the number of currently queued assets */
 	public synchronized int getQueuedAssets () {
-		return loadQueue.size + tasks.size;
+		int queued = loadQueue.size;
+		for (int i = 0; i < stacks.size; i++)
+			queued += stacks.get(i).size;
+		return queued;
 	}
 
 	/** @return the progress in percent of completion. */
 	public synchronized float getProgress () {
 		if (toLoad == 0) return 1;
 		float fractionalLoaded = loaded;
-		if (peakTasks > 0) {
-			fractionalLoaded += ((peakTasks - tasks.size) / (float)peakTasks);
+		for (int i = 0; i < stacks.size; i++) {
+			TaskStack stack = stacks.get(i);
+			fractionalLoaded += ((stack.peakTasks - stack.size) / (float)stack.peakTasks);
 		}
 		return Math.min(1, fractionalLoaded / toLoad);
 	}
@@ -737,9 +943,8 @@ public class AssetManager implements Disposable {
 			this.assetDependencies.clear(51);
 			this.loaded = 0;
 			this.toLoad = 0;
-			this.peakTasks = 0;
 			this.loadQueue.clear();
-			this.tasks.clear();
+			this.stacks.clear();
 		}
 	}
 
@@ -752,6 +957,32 @@ public class AssetManager implements Disposable {
 		log = logger;
 	}
 
+	/** @return the profiler recording load times, or null. */
+	public synchronized @Null AssetLoadProfiler getProfiler () {
+		return profiler;
+	}
+
+	/** Sets a profiler to record the load times and estimated memory of assets queued after this call.
+	 * @param profiler May be null to stop profiling. */
+	public synchronized void setProfiler (@Null AssetLoadProfiler profiler) {
+		this.profiler = profiler;
+	}
+
+	/** @return the cache for decoded data, or null. */
+	public synchronized @Null AssetCache getCache () {
+		return cache;
+	}
+
+	/** Sets the cache used by the loaders to store decoded data, so later launches load it without decoding the source files
+	 * again. The cache is set on all current loaders and on loaders set later.
+	 * @param cache May be null to stop caching. */
+	public synchronized void setCache (@Null AssetCache cache) {
+		this.cache = cache;
+		for (ObjectMap<String, AssetLoader> loaders : this.loaders.values())
+			for (AssetLoader loader : loaders.values())
+				loader.setCache(cache);
+	}
+
 	/** Returns the reference count of an asset.
 	 * @param fileName */
 	public synchronized int getReferenceCount (String fileName) {
@@ -814,4 +1045,12 @@ public class AssetManager implements Disposable {
 		Object object;
 		int refCount = 1;
 	}
+
+	/** The tasks for an asset from the load queue and its dependencies. */
+	static class TaskStack extends Array<AssetLoadingTask> {
+		/** The number of tasks added, for progress. */
+		int peakTasks;
+		/** True if the top task could not start in the last update because a task in another stack has its loader or asset. */
+		boolean blocked;
+	}
 }
@@ -16,10 +16,13 @@
 
 package com.badlogic.gdx.assets.loaders;
 
+import com.badlogic.gdx.assets.AssetCache;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Null;
 
 /** Abstract base class for asset loaders.
  * @author mzechner
@@ -29,6 +32,7 @@ import com.badlogic.gdx.utils.Array;
 public abstract class AssetLoader<T, P extends AssetLoaderParameters<T>> {
 	/** {@link FileHandleResolver} used to map from plain asset names to {@link FileHandle} instances **/
 	private FileHandleResolver resolver;
+	private @Null AssetCache cache;
 
 	/** Constructor, sets the {@link FileHandleResolver} to use to resolve the file associated with the asset name.
 	 * @param resolver */
@@ -42,10 +46,30 @@ public abstract class AssetLoader<T, P extends AssetLoaderParameters<T>> {
 		return resolver.resolve(fileName);
 	}
 
+	/** @return the cache for decoded data, or null. */
+	public @Null AssetCache getCache () {
+		return cache;
+	}
+
+	/** Sets the cache used to store decoded data so it is not decoded again on later launches. Loaders that don't decode data
+	 * that can be cached ignore it. {@link AssetManager#setCache(AssetCache)} sets the cache for all of its loaders.
+	 * @param cache May be null. */
+	public void setCache (@Null AssetCache cache) {
+		this.cache = cache;
+	}
+
 	/** Returns the assets this asset requires to be loaded first. This method may be called on a thread other than the GL thread.
 	 * @param fileName name of the asset to load
 	 * @param file the resolved file to load
 	 * @param parameter parameters for loading the asset
 	 * @return other assets that the asset depends on and need to be loaded first or null if there are no dependencies. */
 	public abstract Array<AssetDescriptor> getDependencies (String fileName, FileHandle file, P parameter);
+
+	/** Returns true if this loader can load multiple assets at the same time on different threads. An {@link AssetManager}
+	 * loading in parallel does not start loading an asset with a loader that returns false until it has finished loading any
+	 * other asset with the same loader. The default is false, as loaders commonly keep state in fields from
+	 * {@link #getDependencies(String, FileHandle, AssetLoaderParameters) getDependencies} until the asset is loaded. */
+	public boolean isConcurrent () {
+		return false;
+	}
 }
@@ -16,12 +16,14 @@
 
 package com.badlogic.gdx.assets.loaders;
 
+import com.badlogic.gdx.assets.AssetCache;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
 
 /** {@link AssetLoader} for {@link Pixmap} instances. The Pixmap is loaded asynchronously.
  * @author mzechner */
@@ -30,19 +32,44 @@ public class PixmapLoader extends AsynchronousAssetLoader<Pixmap, PixmapLoader.P
 		super(resolver);
 	}
 
-	Pixmap pixmap;
+	final ObjectMap<String, Pixmap> pixmaps = new ObjectMap();
 
 	@Override
 	public void loadAsync (AssetManager manager, String fileName, FileHandle file, PixmapParameter parameter) {
-		pixmap = null;
-		pixmap = new Pixmap(file);
+		AssetCache cache = getCache();
+		Pixmap pixmap = cache != null ? cache.pixmap(file) : new Pixmap(file);
+		synchronized (pixmaps) {
+			pixmaps.put(fileName, pixmap);
+		}
+		// If the asset was unloaded while decoding, unloadAsync ran before the put and the pixmap must be disposed here.
+		if (manager.isCancelled(fileName)) {
+			synchronized (pixmaps) {
+				if (pixmaps.get(fileName) != pixmap) return; // unloadAsync disposed it
+				pixmaps.remove(fileName);
+			}
+			pixmap.dispose();
+		}
 	}
 
 	@Override
 	public Pixmap loadSync (AssetManager manager, String fileName, FileHandle file, PixmapParameter parameter) {
-		Pixmap pixmap = this.pixmap;
-		this.pixmap = null;
-		return pixmap;
+		synchronized (pixmaps) {
+			return pixmaps.remove(fileName);
+		}
+	}
+
+	@Override
+	public void unloadAsync (AssetManager manager, String fileName, FileHandle file, PixmapParameter parameter) {
+		Pixmap pixmap;
+		synchronized (pixmaps) {
+			pixmap = pixmaps.remove(fileName);
+		}
+		if (pixmap != null) pixmap.dispose();
+	}
+
+	@Override
+	public boolean isConcurrent () {
+		return true;
 	}
 
 	@Override
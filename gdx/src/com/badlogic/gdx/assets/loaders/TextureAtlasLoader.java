@@ -16,6 +16,7 @@
 
 package com.badlogic.gdx.assets.loaders;
 
+import com.badlogic.gdx.assets.AssetCache;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
@@ -54,11 +55,12 @@ public class TextureAtlasLoader extends SynchronousAssetLoader<TextureAtlas, Tex
 	public Array<AssetDescriptor> getDependencies (String fileName, FileHandle atlasFile, TextureAtlasParameter parameter) {
 		FileHandle imgDir = atlasFile.parent();
 
-		if (parameter != null)
-			data = new TextureAtlasData(atlasFile, imgDir, parameter.flip);
-		else {
-			data = new TextureAtlasData(atlasFile, imgDir, false);
-		}
+		boolean flip = parameter != null && parameter.flip;
+		AssetCache cache = getCache();
+		if (cache != null)
+			data = cache.atlasData(atlasFile, imgDir, flip);
+		else
+			data = new TextureAtlasData(atlasFile, imgDir, flip);
 
 		Array<AssetDescriptor> dependencies = new Array();
 		for (Page page : data.getPages()) {
@@ -35,14 +35,20 @@ import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
 
 import com.badlogic.gdx.Files;
 import com.badlogic.gdx.Files.FileType;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.ByteBufferPool;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 /** Represents a file or directory on the filesystem, classpath, Android app storage, or Android assets directory. FileHandles are
  * created via a {@link Files} instance.
@@ -262,6 +268,114 @@ public class FileHandle {
 		return position - offset;
 	}
 
+	/** Reads the file into the buffer, starting at the buffer's position and stopping at its limit or the end of the file. The
+	 * buffer's position is advanced by the number of bytes read. Files on the file system are read with a {@link FileChannel}
+	 * instead of a stream, which avoids copying through an intermediate byte array.
+	 * @return the number of read bytes
+	 * @throws GdxRuntimeException if the file handle represents a directory, doesn't exist, or could not be read. */
+	public int readBytes (ByteBuffer buffer) {
+		int start = buffer.position();
+		if (type == FileType.Classpath || !file().exists()) {
+			InputStream input = read();
+			try {
+				if (buffer.hasArray()) {
+					byte[] bytes = buffer.array();
+					int offset = buffer.arrayOffset();
+					while (buffer.hasRemaining()) {
+						int count = input.read(bytes, offset + buffer.position(), buffer.remaining());
+						if (count <= 0) break;
+						buffer.position(buffer.position() + count);
+					}
+				} else {
+					ReadableByteChannel channel = Channels.newChannel(input);
+					while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+					}
+				}
+			} catch (IOException ex) {
+				throw new GdxRuntimeException("Error reading file: " + this, ex);
+			} finally {
+				StreamUtils.closeQuietly(input);
+			}
+		} else {
+			FileInputStream input = null;
+			try {
+				input = new FileInputStream(file());
+				FileChannel channel = input.getChannel();
+				while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+				}
+			} catch (IOException ex) {
+				if (file().isDirectory())
+					throw new GdxRuntimeException("Cannot open a stream to a directory: " + file + " (" + type + ")", ex);
+				throw new GdxRuntimeException("Error reading file: " + file + " (" + type + ")", ex);
+			} finally {
+				StreamUtils.closeQuietly(input);
+			}
+		}
+		return buffer.position() - start;
+	}
+
+	/** Reads the entire file into a buffer obtained from the pool. The returned buffer's position is 0 and its limit is the
+	 * number of bytes read. It should be {@link ByteBufferPool#free(ByteBuffer) freed} to the pool when no longer needed.
+	 * @throws GdxRuntimeException if the file handle represents a directory, doesn't exist, or could not be read. */
+	public ByteBuffer readBytes (ByteBufferPool pool) {
+		// One more byte than the length is requested to detect when the length is unknown or the file has grown.
+		ByteBuffer buffer = pool.obtain(estimateLength() + 1);
+		readBytes(buffer);
+		if (buffer.hasRemaining()) {
+			buffer.flip();
+			return buffer;
+		}
+		pool.free(buffer);
+
+		InputStream input = read();
+		buffer = pool.obtain(buffer.capacity() * 2);
+		try {
+			ReadableByteChannel channel = Channels.newChannel(input);
+			while (true) {
+				if (!buffer.hasRemaining()) {
+					ByteBuffer larger = pool.obtain(buffer.capacity() * 2);
+					buffer.flip();
+					larger.put(buffer);
+					pool.free(buffer);
+					buffer = larger;
+				}
+				if (channel.read(buffer) == -1) break;
+			}
+		} catch (IOException ex) {
+			pool.free(buffer);
+			throw new GdxRuntimeException("Error reading file: " + this, ex);
+		} finally {
+			StreamUtils.closeQuietly(input);
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	/** Reads the file into the buffer on a thread of the executor, as {@link #readBytes(ByteBuffer)} does. The buffer is flipped
+	 * after reading and is the result of the returned {@link AsyncResult}. The buffer must not be used until the read is done.
+	 * @see AsyncResult#get() */
+	public AsyncResult<ByteBuffer> readBytesAsync (AsyncExecutor executor, final ByteBuffer buffer) {
+		return executor.submit(new AsyncTask<ByteBuffer>() {
+			public ByteBuffer call () {
+				readBytes(buffer);
+				buffer.flip();
+				return buffer;
+			}
+		});
+	}
+
+	/** Reads the entire file into a buffer obtained from the pool on a thread of the executor, as
+	 * {@link #readBytes(ByteBufferPool)} does. The buffer is the result of the returned {@link AsyncResult} and should be
+	 * {@link ByteBufferPool#free(ByteBuffer) freed} to the pool when no longer needed.
+	 * @see AsyncResult#get() */
+	public AsyncResult<ByteBuffer> readBytesAsync (AsyncExecutor executor, final ByteBufferPool pool) {
+		return executor.submit(new AsyncTask<ByteBuffer>() {
+			public ByteBuffer call () {
+				return readBytes(pool);
+			}
+		});
+	}
+
 	/** Attempts to memory map this file in READ_ONLY mode. Android files must not be compressed.
 	 * @throws GdxRuntimeException if this file handle represents a directory, doesn't exist, or could not be read, or memory
 	 *            mapping fails, or is a {@link FileType#Classpath} file. */
@@ -206,6 +206,11 @@ public class Mesh implements Disposable {
 		return this;
 	}
 
+	/** @return the instance data, or null if instanced rendering is not enabled. */
+	public InstanceData getInstanceData () {
+		return instances;
+	}
+
 	public Mesh disableInstancedRendering () {
 		if (isInstanced) {
 			isInstanced = false;
@@ -988,8 +993,10 @@ public class Mesh implements Disposable {
 		Array<Mesh> meshesArray = meshes.get(app);
 		if (meshesArray == null) return;
 		for (int i = 0; i < meshesArray.size; i++) {
-			meshesArray.get(i).vertices.invalidate();
-			meshesArray.get(i).indices.invalidate();
+			Mesh mesh = meshesArray.get(i);
+			mesh.vertices.invalidate();
+			mesh.indices.invalidate();
+			if (mesh.instances != null) mesh.instances.invalidate();
 		}
 	}
 
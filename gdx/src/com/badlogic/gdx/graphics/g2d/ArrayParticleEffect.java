@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+/** A {@link ParticleEffect} that creates {@link ArrayParticleEmitter ArrayParticleEmitters}, both when loading an effect file
+ * and when copying another effect. */
+public class ArrayParticleEffect extends ParticleEffect {
+	public ArrayParticleEffect () {
+	}
+
+	public ArrayParticleEffect (ParticleEffect effect) {
+		super(effect);
+	}
+
+	/** Calls {@link ArrayParticleEmitter#setExecutor(AsyncExecutor, int)} for each emitter. */
+	public void setExecutor (@Null AsyncExecutor executor, int chunkSize) {
+		Array<ParticleEmitter> emitters = getEmitters();
+		for (int i = 0, n = emitters.size; i < n; i++)
+			((ArrayParticleEmitter)emitters.get(i)).setExecutor(executor, chunkSize);
+	}
+
+	protected ParticleEmitter newEmitter (BufferedReader reader) throws IOException {
+		return new ArrayParticleEmitter(reader);
+	}
+
+	protected ParticleEmitter newEmitter (ParticleEmitter emitter) {
+		return new ArrayParticleEmitter(emitter);
+	}
+}
@@ -0,0 +1,672 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** A {@link ParticleEmitter} that stores its particles in primitive arrays rather than as {@link Particle} sprites. Active
+ * particles are kept packed at the start of the arrays and the vertices for all of them are written to a single array, which
+ * is drawn with one {@link Batch#draw(Texture, float[], int, int)} call per texture.
+ * <p>
+ * The timelines of the scaled values are sampled into lookup tables when the emitter restarts, so changes to a timeline take
+ * effect on the next restart. Changes to the low and high values take effect immediately, as with {@link ParticleEmitter}.
+ * <p>
+ * With {@link #setExecutor(AsyncExecutor, int)} the particles of large emitters are updated in parallel chunks. Spawning new
+ * particles always happens on the calling thread.
+ * <p>
+ * The emitter loads and saves the same format as {@link ParticleEmitter}. Use {@link ArrayParticleEffect} to load effect files
+ * with this emitter. {@link #getParticles()} is empty. */
+public class ArrayParticleEmitter extends ParticleEmitter {
+	static private final int LOOKUP_SIZE = 256;
+
+	// Per particle state, valid for [0, activeCount). These have no initializers because the super constructor allocates them.
+	private int[] totalLife, currentLife, frame;
+	private float[] positionX, positionY, scaleX, scaleY, rotation;
+	private float[] xScale, xScaleDiff, yScale, yScaleDiff;
+	private float[] rotationStart, rotationDiff;
+	private float[] velocity, velocityDiff;
+	private float[] angle, angleDiff, angleCos, angleSin;
+	private float[] wind, windDiff, gravity, gravityDiff;
+	private float[] transparency, transparencyDiff;
+	private float[] tint;
+	private float[] vertices;
+
+	private final float[] xScaleTable = new float[LOOKUP_SIZE + 1], yScaleTable = new float[LOOKUP_SIZE + 1];
+	private final float[] rotationTable = new float[LOOKUP_SIZE + 1], velocityTable = new float[LOOKUP_SIZE + 1];
+	private final float[] angleTable = new float[LOOKUP_SIZE + 1], windTable = new float[LOOKUP_SIZE + 1];
+	private final float[] gravityTable = new float[LOOKUP_SIZE + 1], transparencyTable = new float[LOOKUP_SIZE + 1];
+	private final float[] tintTable = new float[(LOOKUP_SIZE + 1) * 3];
+	private boolean tablesValid;
+
+	private @Null AsyncExecutor executor;
+	private int chunkSize;
+	private final Array<UpdateChunk> chunks = new Array();
+	private final Array<AsyncResult<Void>> results = new Array();
+	private BoundingBox bounds;
+
+	public ArrayParticleEmitter () {
+	}
+
+	public ArrayParticleEmitter (BufferedReader reader) throws IOException {
+		super(reader);
+	}
+
+	public ArrayParticleEmitter (ParticleEmitter emitter) {
+		super(emitter);
+		if (emitter instanceof ArrayParticleEmitter) {
+			ArrayParticleEmitter arrayEmitter = (ArrayParticleEmitter)emitter;
+			setExecutor(arrayEmitter.executor, arrayEmitter.chunkSize);
+		}
+	}
+
+	protected ParticleEmitter copy () {
+		return new ArrayParticleEmitter(this);
+	}
+
+	/** Sets the executor used to update the particles in parallel. Particles are updated in chunks of the specified size, with
+	 * the first chunk updated on the calling thread, so emitters with no more than chunkSize active particles are not updated in
+	 * parallel.
+	 * @param executor May be null to update all particles on the calling thread. */
+	public void setExecutor (@Null AsyncExecutor executor, int chunkSize) {
+		if (executor != null && chunkSize < 1) throw new IllegalArgumentException("chunkSize must be > 0: " + chunkSize);
+		this.executor = executor;
+		this.chunkSize = chunkSize;
+	}
+
+	public @Null AsyncExecutor getExecutor () {
+		return executor;
+	}
+
+	public int getChunkSize () {
+		return chunkSize;
+	}
+
+	/** Allocates the arrays instead of {@link Particle} storage. */
+	protected void allocateParticles (int maxParticleCount) {
+		totalLife = new int[maxParticleCount];
+		currentLife = new int[maxParticleCount];
+		frame = new int[maxParticleCount];
+		positionX = new float[maxParticleCount];
+		positionY = new float[maxParticleCount];
+		scaleX = new float[maxParticleCount];
+		scaleY = new float[maxParticleCount];
+		rotation = new float[maxParticleCount];
+		xScale = new float[maxParticleCount];
+		xScaleDiff = new float[maxParticleCount];
+		yScale = new float[maxParticleCount];
+		yScaleDiff = new float[maxParticleCount];
+		rotationStart = new float[maxParticleCount];
+		rotationDiff = new float[maxParticleCount];
+		velocity = new float[maxParticleCount];
+		velocityDiff = new float[maxParticleCount];
+		angle = new float[maxParticleCount];
+		angleDiff = new float[maxParticleCount];
+		angleCos = new float[maxParticleCount];
+		angleSin = new float[maxParticleCount];
+		wind = new float[maxParticleCount];
+		windDiff = new float[maxParticleCount];
+		gravity = new float[maxParticleCount];
+		gravityDiff = new float[maxParticleCount];
+		transparency = new float[maxParticleCount];
+		transparencyDiff = new float[maxParticleCount];
+		tint = new float[maxParticleCount * 3];
+		vertices = new float[maxParticleCount * 20];
+	}
+
+	public void addParticle () {
+		if (activeCount == maxParticleCount) return;
+		if (!tablesValid) updateTables();
+		activateParticle(activeCount);
+		activeCount++;
+	}
+
+	public void addParticles (int count) {
+		count = Math.min(count, maxParticleCount - activeCount);
+		if (count <= 0) return;
+		if (!tablesValid) updateTables();
+		for (int i = 0; i < count; i++) {
+			activateParticle(activeCount);
+			activeCount++;
+		}
+	}
+
+	void restart () {
+		super.restart();
+		updateTables();
+	}
+
+	/** Samples the timelines into the lookup tables. */
+	private void updateTables () {
+		sample(xScaleValue, xScaleTable);
+		sample(yScaleValue, yScaleTable);
+		sample(rotationValue, rotationTable);
+		sample(velocityValue, velocityTable);
+		sample(angleValue, angleTable);
+		sample(windValue, windTable);
+		sample(gravityValue, gravityTable);
+		sample(transparencyValue, transparencyTable);
+		float[] tintTable = this.tintTable;
+		for (int i = 0, ii = 0; i <= LOOKUP_SIZE; i++, ii += 3) {
+			float[] color = tintValue.getColor(i / (float)LOOKUP_SIZE);
+			tintTable[ii] = color[0];
+			tintTable[ii + 1] = color[1];
+			tintTable[ii + 2] = color[2];
+		}
+		tablesValid = true;
+	}
+
+	static private void sample (ScaledNumericValue value, float[] table) {
+		for (int i = 0; i <= LOOKUP_SIZE; i++)
+			table[i] = value.getScale(i / (float)LOOKUP_SIZE);
+	}
+
+	static private float lookup (float[] table, float percent) {
+		float index = percent * LOOKUP_SIZE;
+		int i = (int)index;
+		if (i >= LOOKUP_SIZE) return table[LOOKUP_SIZE];
+		float value = table[i];
+		return value + (table[i + 1] - value) * (index - i);
+	}
+
+	private void activateParticle (int index) {
+		Array<Sprite> sprites = this.sprites;
+		int spriteIndex = spriteMode == SpriteMode.random ? MathUtils.random(sprites.size - 1) : 0;
+		Sprite sprite = sprites.get(spriteIndex);
+		frame[index] = spriteIndex;
+
+		float percent = durationTimer / duration;
+		int updateFlags = this.updateFlags;
+
+		if (lifeValue.independent) generateLifeValues();
+
+		if (lifeOffsetValue.independent) generateLifeOffsetValues();
+
+		currentLife[index] = totalLife[index] = life + (int)(lifeDiff * lifeValue.getScale(percent));
+
+		if (velocityValue.active) {
+			float low = velocityValue.newLowValue(), high = velocityValue.newHighValue();
+			velocity[index] = low;
+			velocityDiff[index] = velocityValue.relative ? high : high - low;
+		} else {
+			velocity[index] = 0;
+			velocityDiff[index] = 0;
+		}
+
+		float angleLow = angleValue.newLowValue(), angleHigh = angleValue.newHighValue();
+		if (!angleValue.relative) angleHigh -= angleLow;
+		float angle = 0;
+		if ((updateFlags & UPDATE_ANGLE) == 0) {
+			angle = angleLow + angleHigh * angleValue.getScale(0);
+			angleLow = angle;
+			angleCos[index] = MathUtils.cosDeg(angle);
+			angleSin[index] = MathUtils.sinDeg(angle);
+		}
+		this.angle[index] = angleLow;
+		angleDiff[index] = angleHigh;
+
+		float spriteWidth = sprite.getWidth();
+		float spriteHeight = sprite.getHeight();
+
+		float xScale = xScaleValue.newLowValue() / spriteWidth;
+		float xScaleDiff = xScaleValue.newHighValue() / spriteWidth;
+		if (!xScaleValue.relative) xScaleDiff -= xScale;
+		this.xScale[index] = xScale;
+		this.xScaleDiff[index] = xScaleDiff;
+		scaleX[index] = xScale + xScaleDiff * xScaleValue.getScale(0);
+		if (yScaleValue.active) {
+			float yScale = yScaleValue.newLowValue() / spriteHeight;
+			float yScaleDiff = yScaleValue.newHighValue() / spriteHeight;
+			if (!yScaleValue.relative) yScaleDiff -= yScale;
+			this.yScale[index] = yScale;
+			this.yScaleDiff[index] = yScaleDiff;
+			scaleY[index] = yScale + yScaleDiff * yScaleValue.getScale(0);
+		} else
+			scaleY[index] = scaleX[index];
+
+		if (rotationValue.active) {
+			float low = rotationValue.newLowValue(), high = rotationValue.newHighValue();
+			if (!rotationValue.relative) high -= low;
+			rotationStart[index] = low;
+			rotationDiff[index] = high;
+			float rotation = low + high * rotationValue.getScale(0);
+			if (aligned) rotation += angle;
+			this.rotation[index] = rotation;
+		} else {
+			rotationStart[index] = 0;
+			rotationDiff[index] = 0;
+			rotation[index] = sprite.getRotation();
+		}
+
+		if (windValue.active) {
+			float low = windValue.newLowValue(), high = windValue.newHighValue();
+			wind[index] = low;
+			windDiff[index] = windValue.relative ? high : high - low;
+		}
+
+		if (gravityValue.active) {
+			float low = gravityValue.newLowValue(), high = gravityValue.newHighValue();
+			gravity[index] = low;
+			gravityDiff[index] = gravityValue.relative ? high : high - low;
+		}
+
+		float[] color = tintValue.getColor(0);
+		int tintIndex = index * 3;
+		tint[tintIndex] = color[0];
+		tint[tintIndex + 1] = color[1];
+		tint[tintIndex + 2] = color[2];
+
+		float transparency = transparencyValue.newLowValue();
+		this.transparency[index] = transparency;
+		transparencyDiff[index] = transparencyValue.newHighValue() - transparency;
+
+		if (spawn(percent) && (updateFlags & UPDATE_ANGLE) == 0) {
+			this.angle[index] = spawnAngle;
+			angleCos[index] = MathUtils.cosDeg(spawnAngle);
+			angleSin[index] = MathUtils.sinDeg(spawnAngle);
+		}
+		positionX[index] = spawnX - spriteWidth * 0.5f;
+		positionY[index] = spawnY - spriteHeight * 0.5f;
+
+		int offsetTime = (int)(lifeOffset + lifeOffsetDiff * lifeOffsetValue.getScale(percent));
+		if (offsetTime > 0) {
+			if (offsetTime >= currentLife[index]) offsetTime = currentLife[index] - 1;
+			if (updateParticle(index, offsetTime / 1000f, offsetTime)) return;
+		}
+		updateVertices(index, color(index, 0));
+	}
+
+	void updateParticles (float delta, int deltaMillis) {
+		int activeCount = this.activeCount;
+		AsyncExecutor executor = this.executor;
+		if (executor == null || activeCount <= chunkSize)
+			updateParticles(0, activeCount, delta, deltaMillis);
+		else {
+			int chunkSize = this.chunkSize;
+			Array<UpdateChunk> chunks = this.chunks;
+			Array<AsyncResult<Void>> results = this.results;
+			for (int start = chunkSize, i = 0; start < activeCount; start += chunkSize, i++) {
+				if (i == chunks.size) chunks.add(new UpdateChunk());
+				UpdateChunk chunk = chunks.get(i);
+				chunk.start = start;
+				chunk.end = Math.min(start + chunkSize, activeCount);
+				chunk.delta = delta;
+				chunk.deltaMillis = deltaMillis;
+				results.add(executor.submit(chunk));
+			}
+			RuntimeException error = null;
+			try {
+				updateParticles(0, chunkSize, delta, deltaMillis);
+			} catch (RuntimeException ex) {
+				error = ex;
+			} finally {
+				// Wait for every chunk even if one failed, so none are still writing particle state after this returns.
+				try {
+					for (int i = 0, n = results.size; i < n; i++) {
+						try {
+							results.get(i).get();
+						} catch (RuntimeException ex) {
+							if (error == null) error = ex;
+						}
+					}
+				} finally {
+					results.clear();
+				}
+			}
+			if (error != null) {
+				// Particles that died before the failure would otherwise still be drawn with stale vertices.
+				removeDeadParticles();
+				throw error;
+			}
+		}
+		removeDeadParticles();
+	}
+
+	void updateParticles (int start, int end, float delta, int deltaMillis) {
+		int[] currentLife = this.currentLife;
+		for (int i = start; i < end; i++)
+			if (!updateParticle(i, delta, deltaMillis)) currentLife[i] = 0;
+	}
+
+	/** Updates a particle and its vertices. May be called from multiple threads, so must only write to the particle's own state.
+	 * @return false if the particle's life has run out. */
+	private boolean updateParticle (int index, float delta, int deltaMillis) {
+		int life = currentLife[index] - deltaMillis;
+		if (life <= 0) return false;
+		currentLife[index] = life;
+
+		float percent = 1 - life / (float)totalLife[index];
+		int updateFlags = this.updateFlags;
+
+		if ((updateFlags & UPDATE_SCALE) != 0) {
+			float scaleX = xScale[index] + xScaleDiff[index] * lookup(xScaleTable, percent);
+			this.scaleX[index] = scaleX;
+			scaleY[index] = yScaleValue.active ? yScale[index] + yScaleDiff[index] * lookup(yScaleTable, percent) : scaleX;
+		}
+
+		if ((updateFlags & UPDATE_VELOCITY) != 0) {
+			float velocity = (this.velocity[index] + velocityDiff[index] * lookup(velocityTable, percent)) * delta;
+
+			float velocityX, velocityY;
+			if ((updateFlags & UPDATE_ANGLE) != 0) {
+				float angle = this.angle[index] + angleDiff[index] * lookup(angleTable, percent);
+				velocityX = velocity * MathUtils.cosDeg(angle);
+				velocityY = velocity * MathUtils.sinDeg(angle);
+				if ((updateFlags & UPDATE_ROTATION) != 0) {
+					float rotation = rotationStart[index] + rotationDiff[index] * lookup(rotationTable, percent);
+					if (aligned) rotation += angle;
+					this.rotation[index] = rotation;
+				}
+			} else {
+				velocityX = velocity * angleCos[index];
+				velocityY = velocity * angleSin[index];
+				if (aligned || (updateFlags & UPDATE_ROTATION) != 0) {
+					float rotation = rotationStart[index] + rotationDiff[index] * lookup(rotationTable, percent);
+					if (aligned) rotation += this.angle[index];
+					this.rotation[index] = rotation;
+				}
+			}
+
+			if ((updateFlags & UPDATE_WIND) != 0)
+				velocityX += (wind[index] + windDiff[index] * lookup(windTable, percent)) * delta;
+
+			if ((updateFlags & UPDATE_GRAVITY) != 0)
+				velocityY += (gravity[index] + gravityDiff[index] * lookup(gravityTable, percent)) * delta;
+
+			positionX[index] += velocityX;
+			positionY[index] += velocityY;
+		} else {
+			if ((updateFlags & UPDATE_ROTATION) != 0)
+				rotation[index] = rotationStart[index] + rotationDiff[index] * lookup(rotationTable, percent);
+		}
+
+		if ((updateFlags & UPDATE_SPRITE) != 0) {
+			Array<Sprite> sprites = this.sprites;
+			int frame = Math.min((int)(percent * sprites.size), sprites.size - 1);
+			if (this.frame[index] != frame) {
+				Sprite previous = sprites.get(this.frame[index]), sprite = sprites.get(frame);
+				positionX[index] += (previous.getWidth() - sprite.getWidth()) * 0.5f;
+				positionY[index] += (previous.getHeight() - sprite.getHeight()) * 0.5f;
+				this.frame[index] = frame;
+			}
+		}
+
+		updateVertices(index, color(index, percent));
+		return true;
+	}
+
+	private float color (int index, float percent) {
+		float r, g, b;
+		if ((updateFlags & UPDATE_TINT) != 0) {
+			float tableIndex = percent * LOOKUP_SIZE;
+			int i = Math.min((int)tableIndex, LOOKUP_SIZE - 1), ii = i * 3;
+			float fraction = Math.min(tableIndex - i, 1);
+			float[] tintTable = this.tintTable;
+			r = tintTable[ii] + (tintTable[ii + 3] - tintTable[ii]) * fraction;
+			g = tintTable[ii + 1] + (tintTable[ii + 4] - tintTable[ii + 1]) * fraction;
+			b = tintTable[ii + 2] + (tintTable[ii + 5] - tintTable[ii + 2]) * fraction;
+		} else {
+			int ii = index * 3;
+			r = tint[ii];
+			g = tint[ii + 1];
+			b = tint[ii + 2];
+		}
+		float a = transparency[index] + transparencyDiff[index] * lookup(transparencyTable, percent);
+		if (premultipliedAlpha) {
+			r *= a;
+			g *= a;
+			b *= a;
+			if (additive) a = 0;
+		}
+		return Color.toFloatBits(MathUtils.clamp(r, 0f, 1f), MathUtils.clamp(g, 0f, 1f), MathUtils.clamp(b, 0f, 1f),
+			MathUtils.clamp(a, 0f, 1f));
+	}
+
+	/** Computes a particle's vertices the same way as {@link Sprite#getVertices()}. */
+	private void updateVertices (int index, float color) {
+		Sprite sprite = sprites.get(frame[index]);
+		float localX = -sprite.getOriginX();
+		float localY = -sprite.getOriginY();
+		float localX2 = localX + sprite.getWidth();
+		float localY2 = localY + sprite.getHeight();
+		float worldOriginX = positionX[index] - localX;
+		float worldOriginY = positionY[index] - localY;
+		float scaleX = this.scaleX[index], scaleY = this.scaleY[index];
+		if (scaleX != 1 || scaleY != 1) {
+			localX *= scaleX;
+			localY *= scaleY;
+			localX2 *= scaleX;
+			localY2 *= scaleY;
+		}
+		float x1, y1, x2, y2, x3, y3, x4, y4;
+		float rotation = this.rotation[index];
+		if (rotation != 0) {
+			float cos = MathUtils.cosDeg(rotation);
+			float sin = MathUtils.sinDeg(rotation);
+			float localXCos = localX * cos;
+			float localXSin = localX * sin;
+			float localYCos = localY * cos;
+			float localYSin = localY * sin;
+			float localX2Cos = localX2 * cos;
+			float localX2Sin = localX2 * sin;
+			float localY2Cos = localY2 * cos;
+			float localY2Sin = localY2 * sin;
+			x1 = localXCos - localYSin + worldOriginX;
+			y1 = localYCos + localXSin + worldOriginY;
+			x2 = localXCos - localY2Sin + worldOriginX;
+			y2 = localY2Cos + localXSin + worldOriginY;
+			x3 = localX2Cos - localY2Sin + worldOriginX;
+			y3 = localY2Cos + localX2Sin + worldOriginY;
+			x4 = x1 + (x3 - x2);
+			y4 = y3 - (y2 - y1);
+		} else {
+			x1 = localX + worldOriginX;
+			y1 = localY + worldOriginY;
+			x3 = localX2 + worldOriginX;
+			y3 = localY2 + worldOriginY;
+			x2 = x1;
+			y2 = y3;
+			x4 = x3;
+			y4 = y1;
+		}
+
+		float u = sprite.getU(), v = sprite.getV(), u2 = sprite.getU2(), v2 = sprite.getV2();
+		if (flipX) {
+			float temp = u;
+			u = u2;
+			u2 = temp;
+		}
+		if (flipY) {
+			float temp = v;
+			v = v2;
+			v2 = temp;
+		}
+
+		float[] vertices = this.vertices;
+		int idx = index * 20;
+		vertices[idx] = x1;
+		vertices[idx + 1] = y1;
+		vertices[idx + 2] = color;
+		vertices[idx + 3] = u;
+		vertices[idx + 4] = v2;
+
+		vertices[idx + 5] = x2;
+		vertices[idx + 6] = y2;
+		vertices[idx + 7] = color;
+		vertices[idx + 8] = u;
+		vertices[idx + 9] = v;
+
+		vertices[idx + 10] = x3;
+		vertices[idx + 11] = y3;
+		vertices[idx + 12] = color;
+		vertices[idx + 13] = u2;
+		vertices[idx + 14] = v;
+
+		vertices[idx + 15] = x4;
+		vertices[idx + 16] = y4;
+		vertices[idx + 17] = color;
+		vertices[idx + 18] = u2;
+		vertices[idx + 19] = v2;
+	}
+
+	/** Moves the last active particles into the slots of dead particles. */
+	private void removeDeadParticles () {
+		int[] currentLife = this.currentLife;
+		int activeCount = this.activeCount;
+		for (int i = 0; i < activeCount;) {
+			if (currentLife[i] > 0) {
+				i++;
+				continue;
+			}
+			activeCount--;
+			if (i != activeCount) move(activeCount, i);
+		}
+		this.activeCount = activeCount;
+	}
+
+	private void move (int from, int to) {
+		totalLife[to] = totalLife[from];
+		currentLife[to] = currentLife[from];
+		frame[to] = frame[from];
+		positionX[to] = positionX[from];
+		positionY[to] = positionY[from];
+		scaleX[to] = scaleX[from];
+		scaleY[to] = scaleY[from];
+		rotation[to] = rotation[from];
+		xScale[to] = xScale[from];
+		xScaleDiff[to] = xScaleDiff[from];
+		yScale[to] = yScale[from];
+		yScaleDiff[to] = yScaleDiff[from];
+		rotationStart[to] = rotationStart[from];
+		rotationDiff[to] = rotationDiff[from];
+		velocity[to] = velocity[from];
+		velocityDiff[to] = velocityDiff[from];
+		angle[to] = angle[from];
+		angleDiff[to] = angleDiff[from];
+		angleCos[to] = angleCos[from];
+		angleSin[to] = angleSin[from];
+		wind[to] = wind[from];
+		windDiff[to] = windDiff[from];
+		gravity[to] = gravity[from];
+		gravityDiff[to] = gravityDiff[from];
+		transparency[to] = transparency[from];
+		transparencyDiff[to] = transparencyDiff[from];
+		System.arraycopy(tint, from * 3, tint, to * 3, 3);
+		System.arraycopy(vertices, from * 20, vertices, to * 20, 20);
+	}
+
+	void drawParticles (Batch batch) {
+		float[] vertices = this.vertices;
+		int[] frame = this.frame;
+		Array<Sprite> sprites = this.sprites;
+		Texture texture = null;
+		int start = 0;
+		for (int i = 0, n = activeCount; i < n; i++) {
+			Texture particleTexture = sprites.get(frame[i]).getTexture();
+			if (particleTexture != texture) {
+				if (i > start) batch.draw(texture, vertices, start * 20, (i - start) * 20);
+				texture = particleTexture;
+				start = i;
+			}
+		}
+		if (activeCount > start) batch.draw(texture, vertices, start * 20, (activeCount - start) * 20);
+	}
+
+	void updateAndDrawParticles (Batch batch, float delta, int deltaMillis) {
+		updateParticles(delta, deltaMillis);
+		drawParticles(batch);
+	}
+
+	public void setPosition (float x, float y) {
+		if (attached) {
+			float xAmount = x - this.x, yAmount = y - this.y;
+			float[] positionX = this.positionX, positionY = this.positionY, vertices = this.vertices;
+			for (int i = 0, n = activeCount; i < n; i++) {
+				positionX[i] += xAmount;
+				positionY[i] += yAmount;
+				for (int ii = i * 20, nn = ii + 20; ii < nn; ii += 5) {
+					vertices[ii] += xAmount;
+					vertices[ii + 1] += yAmount;
+				}
+			}
+		}
+		this.x = x;
+		this.y = y;
+	}
+
+	public void setSprites (Array<Sprite> sprites) {
+		super.setSprites(sprites);
+		if (sprites.size == 0) return;
+		for (int i = 0, n = activeCount; i < n; i++) {
+			switch (spriteMode) {
+			case single:
+				frame[i] = 0;
+				break;
+			case random:
+				frame[i] = MathUtils.random(sprites.size - 1);
+				break;
+			case animated:
+				float percent = 1 - currentLife[i] / (float)totalLife[i];
+				frame[i] = Math.min((int)(percent * sprites.size), sprites.size - 1);
+				break;
+			}
+			updateVertices(i, vertices[i * 20 + 2]);
+		}
+	}
+
+	/** Does nothing, the particle storage is allocated by {@link #setMaxParticleCount(int)}. */
+	public void preAllocateParticles () {
+	}
+
+	public void setFlip (boolean flipX, boolean flipY) {
+		super.setFlip(flipX, flipY);
+		if (vertices == null) return;
+		for (int i = 0, n = activeCount; i < n; i++)
+			updateVertices(i, vertices[i * 20 + 2]);
+	}
+
+	public BoundingBox getBoundingBox () {
+		if (bounds == null) bounds = new BoundingBox();
+		BoundingBox bounds = this.bounds;
+		bounds.inf();
+		float[] vertices = this.vertices;
+		for (int i = 0, n = activeCount * 20; i < n; i += 5)
+			bounds.ext(vertices[i], vertices[i + 1], 0);
+		return bounds;
+	}
+
+	/** Updates a range of particles on an executor thread. */
+	class UpdateChunk implements AsyncTask<Void> {
+		int start, end, deltaMillis;
+		float delta;
+
+		public Void call () {
+			updateParticles(start, end, delta, deltaMillis);
+			return null;
+		}
+	}
+}
@@ -25,6 +25,7 @@ import com.badlogic.gdx.graphics.g2d.GlyphLayout.GlyphRun;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Null;
 import com.badlogic.gdx.utils.NumberUtils;
 import com.badlogic.gdx.utils.Pools;
 
@@ -40,6 +41,9 @@ public class BitmapFontCache {
 	private boolean integer;
 	private final Array<GlyphLayout> layouts = new Array(1);
 	private final Array<GlyphLayout> pooledLayouts = new Array(0);
+	private @Null GlyphLayoutCache layoutCache;
+	private @Null GlyphLayout streamLayout;
+	private @Null float[] streamVertices;
 	private int glyphCount;
 	private float x, y;
 	private final Color color = new Color(1, 1, 1, 1);
@@ -403,6 +407,16 @@ public class BitmapFontCache {
 	}
 
 	private void addGlyph (Glyph glyph, float x, float y, float color) {
+		final int page = glyph.page;
+		int idx = this.idx[page];
+		this.idx[page] += 20;
+
+		if (pageGlyphIndices != null) pageGlyphIndices[page].add(glyphCount++);
+
+		setGlyphVertices(pageVertices[page], idx, glyph, x, y, color);
+	}
+
+	private void setGlyphVertices (float[] vertices, int idx, Glyph glyph, float x, float y, float color) {
 		final float scaleX = font.data.scaleX, scaleY = font.data.scaleY;
 		x += glyph.xoffset * scaleX;
 		y += glyph.yoffset * scaleY;
@@ -417,13 +431,6 @@ public class BitmapFontCache {
 		}
 		final float x2 = x + width, y2 = y + height;
 
-		final int page = glyph.page;
-		int idx = this.idx[page];
-		this.idx[page] += 20;
-
-		if (pageGlyphIndices != null) pageGlyphIndices[page].add(glyphCount++);
-
-		final float[] vertices = pageVertices[page];
 		vertices[idx++] = x;
 		vertices[idx++] = y;
 		vertices[idx++] = color;
@@ -449,6 +456,78 @@ public class BitmapFontCache {
 		vertices[idx] = v;
 	}
 
+	/** Draws text directly to the batch, without clearing or adding to the glyphs in this cache.
+	 * @see #drawText(Batch, CharSequence, float, float, int, int, float, int, boolean, String) */
+	public GlyphLayout drawText (Batch batch, CharSequence str, float x, float y) {
+		return drawText(batch, str, x, y, 0, str.length(), 0, Align.left, false, null);
+	}
+
+	/** Draws text directly to the batch, without clearing or adding to the glyphs in this cache.
+	 * @see #drawText(Batch, CharSequence, float, float, int, int, float, int, boolean, String) */
+	public GlyphLayout drawText (Batch batch, CharSequence str, float x, float y, float targetWidth, int halign, boolean wrap) {
+		return drawText(batch, str, x, y, 0, str.length(), targetWidth, halign, wrap, null);
+	}
+
+	/** Draws text directly to the batch, without clearing or adding to the glyphs in this cache. The glyph geometry is written
+	 * to a small reused buffer and passed to the batch, so after the first few calls no memory is allocated. This is faster than
+	 * {@link #setText(CharSequence, float, float, int, int, float, int, boolean, String) setText} and {@link #draw(Batch)} for
+	 * text that changes every frame, such as timers or counters. The text uses the {@link #getColor() color} of this cache.
+	 * @return The glyph layout for the drawn text, which is reused by the next call (or shared if a
+	 *         {@link #setLayoutCache(GlyphLayoutCache) layout cache} is used) and must not be modified.
+	 * @see #addText(CharSequence, float, float, int, int, float, int, boolean, String) */
+	public GlyphLayout drawText (Batch batch, CharSequence str, float x, float y, int start, int end, float targetWidth,
+		int halign, boolean wrap, @Null String truncate) {
+		GlyphLayout layout;
+		if (layoutCache != null)
+			layout = layoutCache.get(font, str, start, end, color, targetWidth, halign, wrap, truncate);
+		else {
+			layout = streamLayout;
+			if (layout == null) streamLayout = layout = new GlyphLayout();
+			layout.setText(font, str, start, end, color, targetWidth, halign, wrap, truncate);
+		}
+		drawText(batch, layout, x, y);
+		return layout;
+	}
+
+	/** Draws the glyphs of the layout directly to the batch, without clearing or adding to the glyphs in this cache.
+	 * @see #drawText(Batch, CharSequence, float, float, int, int, float, int, boolean, String) */
+	public void drawText (Batch batch, GlyphLayout layout, float x, float y) {
+		int runCount = layout.runs.size;
+		if (runCount == 0) return;
+		y += font.data.ascent;
+
+		float[] vertices = streamVertices;
+		if (vertices == null) streamVertices = vertices = new float[20 * 64];
+		Array<TextureRegion> regions = font.regions;
+		int page = -1, idx = 0;
+
+		IntArray colors = layout.colors;
+		int colorsIndex = 0, nextColorGlyphIndex = 0, glyphIndex = 0;
+		float lastColorFloatBits = 0;
+		for (int i = 0; i < runCount; i++) {
+			GlyphRun run = layout.runs.get(i);
+			Object[] glyphs = run.glyphs.items;
+			float[] xAdvances = run.xAdvances.items;
+			float gx = x + run.x, gy = y + run.y;
+			for (int ii = 0, nn = run.glyphs.size; ii < nn; ii++) {
+				if (glyphIndex++ == nextColorGlyphIndex) {
+					lastColorFloatBits = NumberUtils.intToFloatColor(colors.get(++colorsIndex));
+					nextColorGlyphIndex = ++colorsIndex < colors.size ? colors.get(colorsIndex) : -1;
+				}
+				gx += xAdvances[ii];
+				Glyph glyph = (Glyph)glyphs[ii];
+				if (glyph.page != page || idx == vertices.length) {
+					if (idx > 0) batch.draw(regions.get(page).getTexture(), vertices, 0, idx);
+					page = glyph.page;
+					idx = 0;
+				}
+				setGlyphVertices(vertices, idx, glyph, gx, gy, lastColorFloatBits);
+				idx += 20;
+			}
+		}
+		if (idx > 0) batch.draw(regions.get(page).getTexture(), vertices, 0, idx);
+	}
+
 	/** Clears any cached glyphs and adds glyphs for the specified text.
 	 * @see #addText(CharSequence, float, float, int, int, float, int, boolean, String) */
 	public GlyphLayout setText (CharSequence str, float x, float y) {
@@ -518,9 +597,14 @@ public class BitmapFontCache {
 	 * @return The glyph layout for the cached string (the layout's height is the distance from y to the baseline). */
 	public GlyphLayout addText (CharSequence str, float x, float y, int start, int end, float targetWidth, int halign,
 		boolean wrap, String truncate) {
-		GlyphLayout layout = Pools.obtain(GlyphLayout.class);
-		pooledLayouts.add(layout);
-		layout.setText(font, str, start, end, color, targetWidth, halign, wrap, truncate);
+		GlyphLayout layout;
+		if (layoutCache != null)
+			layout = layoutCache.get(font, str, start, end, color, targetWidth, halign, wrap, truncate);
+		else {
+			layout = Pools.obtain(GlyphLayout.class);
+			pooledLayouts.add(layout);
+			layout.setText(font, str, start, end, color, targetWidth, halign, wrap, truncate);
+		}
 		addText(layout, x, y);
 		return layout;
 	}
@@ -575,4 +659,15 @@ public class BitmapFontCache {
 	public Array<GlyphLayout> getLayouts () {
 		return layouts;
 	}
+
+	/** Sets the cache used by {@link #addText(CharSequence, float, float, int, int, float, int, boolean, String) addText} to
+	 * reuse layouts of text that was laid out before. The returned layouts are then shared and must not be modified.
+	 * @param layoutCache May be null to lay out text each time it is added. */
+	public void setLayoutCache (@Null GlyphLayoutCache layoutCache) {
+		this.layoutCache = layoutCache;
+	}
+
+	public @Null GlyphLayoutCache getLayoutCache () {
+		return layoutCache;
+	}
 }
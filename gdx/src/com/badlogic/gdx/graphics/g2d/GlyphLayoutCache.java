@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Caches {@link GlyphLayout} results for text that is laid out repeatedly, such as damage numbers or names. A layout is found
+ * by its font, the font's scale and markup setting, the text, color, target width, alignment, wrap and truncate string. The least
+ * recently used layout is discarded when the cache is full.
+ * <p>
+ * Layouts returned by the cache are shared and must not be modified. Layouts that are discarded are not reset, so they remain
+ * valid for anything that still references them, eg a {@link BitmapFontCache}.
+ * <p>
+ * A font's glyphs must not be changed while the font's layouts are cached, otherwise {@link #clear()} must be called.
+ * @see BitmapFontCache#setLayoutCache(GlyphLayoutCache)
+ * @see com.badlogic.gdx.scenes.scene2d.ui.Label#setLayoutCache(GlyphLayoutCache) */
+public class GlyphLayoutCache {
+	private final ObjectMap<Entry, Entry> entries;
+	private final Entry lookup = new Entry();
+	private final int maxSize;
+	private @Null Entry head, tail;
+
+	/** Number of layouts found in the cache, ever. Will not be reset unless set manually. **/
+	public int hits;
+
+	/** Number of layouts not found in the cache, ever. Will not be reset unless set manually. **/
+	public int misses;
+
+	/** Number of layouts discarded because the cache was full, ever. Will not be reset unless set manually. **/
+	public int evictions;
+
+	/** @param maxSize The maximum number of layouts to keep. */
+	public GlyphLayoutCache (int maxSize) {
+		if (maxSize < 1) throw new IllegalArgumentException("maxSize must be > 0: " + maxSize);
+		this.maxSize = maxSize;
+		entries = new ObjectMap(maxSize);
+	}
+
+	/** Returns the cached layout for the whole string, the font's current color, and no alignment or wrapping. */
+	public GlyphLayout get (BitmapFont font, CharSequence str) {
+		return get(font, str, 0, str.length(), font.getColor(), 0, Align.left, false, null);
+	}
+
+	/** Returns the cached layout for the whole string and no truncation. */
+	public GlyphLayout get (BitmapFont font, CharSequence str, Color color, float targetWidth, int halign, boolean wrap) {
+		return get(font, str, 0, str.length(), color, targetWidth, halign, wrap, null);
+	}
+
+	/** Returns the layout for the specified text, laying it out only if it is not already cached. The returned layout must not be
+	 * modified.
+	 * @see GlyphLayout#setText(BitmapFont, CharSequence, int, int, Color, float, int, boolean, String) */
+	public GlyphLayout get (BitmapFont font, CharSequence str, int start, int end, Color color, float targetWidth, int halign,
+		boolean wrap, @Null String truncate) {
+		Entry lookup = this.lookup;
+		lookup.set(font, str, start, end, color.toIntBits(), targetWidth, halign, wrap, truncate);
+		Entry entry = entries.get(lookup);
+		lookup.text = null;
+		lookup.font = null;
+		if (entry != null) {
+			hits++;
+			if (entry != head) {
+				unlink(entry);
+				linkFirst(entry);
+			}
+			return entry.layout;
+		}
+		misses++;
+
+		if (entries.size >= maxSize) {
+			Entry last = tail;
+			unlink(last);
+			entries.remove(last);
+			evictions++;
+		}
+
+		entry = new Entry();
+		entry.set(font, str.subSequence(start, end).toString(), 0, end - start, lookup.color, targetWidth, halign, wrap, truncate);
+		entry.layout = new GlyphLayout();
+		entry.layout.setText(font, str, start, end, color, targetWidth, halign, wrap, truncate);
+		entries.put(entry, entry);
+		linkFirst(entry);
+		return entry.layout;
+	}
+
+	/** Discards all cached layouts. */
+	public void clear () {
+		entries.clear();
+		head = null;
+		tail = null;
+	}
+
+	/** Returns the number of cached layouts. */
+	public int getSize () {
+		return entries.size;
+	}
+
+	public int getMaxSize () {
+		return maxSize;
+	}
+
+	private void linkFirst (Entry entry) {
+		entry.prev = null;
+		entry.next = head;
+		if (head != null) head.prev = entry;
+		head = entry;
+		if (tail == null) tail = entry;
+	}
+
+	private void unlink (Entry entry) {
+		if (entry.prev != null)
+			entry.prev.next = entry.next;
+		else
+			head = entry.next;
+		if (entry.next != null)
+			entry.next.prev = entry.prev;
+		else
+			tail = entry.prev;
+		entry.prev = null;
+		entry.next = null;
+	}
+
+	static private class Entry {
+		@Null BitmapFont font;
+		@Null CharSequence text;
+		int start, end;
+		float scaleX, scaleY;
+		boolean markupEnabled;
+		int color;
+		float targetWidth;
+		int halign;
+		boolean wrap;
+		@Null String truncate;
+		int hashCode;
+
+		GlyphLayout layout;
+		@Null Entry prev, next;
+
+		void set (BitmapFont font, CharSequence text, int start, int end, int color, float targetWidth, int halign, boolean wrap,
+			@Null String truncate) {
+			BitmapFontData data = font.getData();
+			this.font = font;
+			this.text = text;
+			this.start = start;
+			this.end = end;
+			scaleX = data.scaleX;
+			scaleY = data.scaleY;
+			markupEnabled = data.markupEnabled;
+			this.color = color;
+			this.targetWidth = targetWidth;
+			this.halign = halign;
+			this.wrap = wrap;
+			this.truncate = truncate;
+
+			int h = font.hashCode();
+			for (int i = start; i < end; i++)
+				h = 31 * h + text.charAt(i);
+			h = 31 * h + Float.floatToIntBits(scaleX);
+			h = 31 * h + Float.floatToIntBits(scaleY);
+			h = 31 * h + color;
+			h = 31 * h + Float.floatToIntBits(targetWidth);
+			h = 31 * h + halign;
+			h = 31 * h + (wrap ? 1 : 0);
+			if (truncate != null) h = 31 * h + truncate.hashCode();
+			hashCode = h;
+		}
+
+		public int hashCode () {
+			return hashCode;
+		}
+
+		public boolean equals (Object object) {
+			if (!(object instanceof Entry)) return false;
+			Entry other = (Entry)object;
+			if (hashCode != other.hashCode || font != other.font || end - start != other.end - other.start || scaleX != other.scaleX
+				|| scaleY != other.scaleY || markupEnabled != other.markupEnabled || color != other.color
+				|| targetWidth != other.targetWidth || halign != other.halign || wrap != other.wrap) return false;
+			if (truncate == null ? other.truncate != null : !truncate.equals(other.truncate)) return false;
+			CharSequence text = this.text, otherText = other.text;
+			for (int i = start, ii = other.start; i < end; i++, ii++)
+				if (text.charAt(i) != otherText.charAt(ii)) return false;
+			return true;
+		}
+	}
+}
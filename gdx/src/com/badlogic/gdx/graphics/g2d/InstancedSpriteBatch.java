@@ -0,0 +1,583 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.InstanceBufferObject;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** A {@link Batch} for GLES 3.0 that draws each sprite as an instance of a single quad. Instead of 4 vertices of 20 bytes each,
+ * a sprite is one 44 byte instance: the position of its first corner, the two axes spanning the quad (which include the size,
+ * scale and rotation), the texture region and the packed color. Instances are streamed into a ring buffer with
+ * {@link InstanceBufferObject#streamInstanceData(int, float[], int, int, boolean)}, so each flush uploads only the sprites it
+ * draws and the GL buffer storage is only orphaned when the ring wraps around.
+ * <p>
+ * Compared to {@link SpriteBatch}, which writes and uploads 20 floats (80 bytes) per sprite, this writes and uploads 11 floats
+ * (44 bytes), about 1.8 times less. A record of position, size, rotation, region and color would still be 10 floats. It also
+ * cannot represent the sheared quads from {@link #draw(TextureRegion, float, float, Affine2)} or arbitrary sprite vertices, so
+ * the two axes are stored instead.
+ * <p>
+ * A shader set with {@link #setShader(ShaderProgram)} must use the same attributes as {@link #createDefaultShader()}:
+ * <code>a_corner</code> for the quad corner (0 or 1 for x and y), <code>a_position</code>, <code>a_axes</code>,
+ * <code>a_region</code> and <code>a_color</code> for the instance.
+ * <p>
+ * {@link #draw(Texture, float[], int, int)} converts the 4 vertices of each sprite to an instance. Only the color of the first
+ * vertex is used and the vertices must form a parallelogram, which is the case for vertices from {@link Sprite}. */
+public class InstancedSpriteBatch implements Batch {
+	/** The number of floats for each sprite instance. */
+	static public final int INSTANCE_SIZE = 11;
+
+	private final Mesh mesh;
+	private final InstanceBufferObject instances;
+	private final int ringSize;
+	private int ringPosition;
+
+	final float[] data;
+	int idx = 0;
+	Texture lastTexture = null;
+	float invTexWidth = 0, invTexHeight = 0;
+
+	boolean drawing = false;
+
+	private final Matrix4 transformMatrix = new Matrix4();
+	private final Matrix4 projectionMatrix = new Matrix4();
+	private final Matrix4 combinedMatrix = new Matrix4();
+
+	private boolean blendingDisabled = false;
+	private int blendSrcFunc = GL20.GL_SRC_ALPHA;
+	private int blendDstFunc = GL20.GL_ONE_MINUS_SRC_ALPHA;
+	private int blendSrcFuncAlpha = GL20.GL_SRC_ALPHA;
+	private int blendDstFuncAlpha = GL20.GL_ONE_MINUS_SRC_ALPHA;
+
+	private final ShaderProgram shader;
+	private ShaderProgram customShader = null;
+	private boolean ownsShader;
+
+	private final Color color = new Color(1, 1, 1, 1);
+	float colorPacked = Color.WHITE_FLOAT_BITS;
+
+	/** Number of render calls since the last {@link #begin()}. **/
+	public int renderCalls = 0;
+
+	/** Number of rendering calls, ever. Will not be reset unless set manually. **/
+	public int totalRenderCalls = 0;
+
+	/** The maximum number of sprites rendered in one batch so far. **/
+	public int maxSpritesInBatch = 0;
+
+	/** Number of bytes of instance data uploaded since the last {@link #begin()}. **/
+	public int bytesUploaded = 0;
+
+	/** Number of bytes of instance data uploaded, ever. Will not be reset unless set manually. **/
+	public long totalBytesUploaded = 0;
+
+	/** Constructs a new InstancedSpriteBatch with a size of 1000 and the default shader.
+	 * @see InstancedSpriteBatch#InstancedSpriteBatch(int, ShaderProgram) */
+	public InstancedSpriteBatch () {
+		this(1000, null);
+	}
+
+	/** Constructs an InstancedSpriteBatch with the default shader.
+	 * @see InstancedSpriteBatch#InstancedSpriteBatch(int, ShaderProgram) */
+	public InstancedSpriteBatch (int size) {
+		this(size, null);
+	}
+
+	/** Constructs a new InstancedSpriteBatch. Sets the projection matrix to an orthographic projection with y-axis point upwards,
+	 * x-axis point to the right and the origin being in the bottom left corner of the screen.
+	 * @param size The max number of sprites in a single batch. The ring buffer holds 3 times this many instances.
+	 * @param defaultShader The default shader to use. This is not owned by the InstancedSpriteBatch and must be disposed
+	 *           separately. */
+	public InstancedSpriteBatch (int size, ShaderProgram defaultShader) {
+		if (Gdx.gl30 == null) throw new GdxRuntimeException("InstancedSpriteBatch requires GLES 3.0.");
+		if (size < 1) throw new IllegalArgumentException("size must be > 0: " + size);
+
+		mesh = new Mesh(true, 4, 6, new VertexAttribute(Usage.Position, 2, "a_corner"));
+		mesh.setVertices(new float[] {0, 0, 0, 1, 1, 1, 1, 0});
+		mesh.setIndices(new short[] {0, 1, 2, 2, 3, 0});
+
+		// The instances are owned by the managed mesh, so they are invalidated with it when the GL context is lost.
+		ringSize = size * 3;
+		mesh.enableInstancedRendering(false, ringSize, new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+			new VertexAttribute(Usage.Generic, 4, "a_axes"), new VertexAttribute(Usage.Generic, 4, "a_region"),
+			new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE));
+		instances = (InstanceBufferObject)mesh.getInstanceData();
+
+		projectionMatrix.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+
+		data = new float[size * INSTANCE_SIZE];
+
+		if (defaultShader == null) {
+			shader = createDefaultShader();
+			ownsShader = true;
+		} else
+			shader = defaultShader;
+	}
+
+	/** Returns a new instance of the default shader used by InstancedSpriteBatch when no shader is specified. */
+	static public ShaderProgram createDefaultShader () {
+		String vertexShader = "attribute vec2 a_corner;\n" //
+			+ "attribute vec2 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" //
+			+ "attribute vec4 a_axes;\n" //
+			+ "attribute vec4 a_region;\n" //
+			+ "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" //
+			+ "uniform mat4 u_projTrans;\n" //
+			+ "varying vec4 v_color;\n" //
+			+ "varying vec2 v_texCoords;\n" //
+			+ "\n" //
+			+ "void main()\n" //
+			+ "{\n" //
+			+ "   v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" //
+			+ "   v_color.a = v_color.a * (255.0/254.0);\n" //
+			+ "   v_texCoords = mix(a_region.xy, a_region.zw, a_corner);\n" //
+			+ "   vec2 position = " + ShaderProgram.POSITION_ATTRIBUTE + " + a_corner.x * a_axes.xy + a_corner.y * a_axes.zw;\n" //
+			+ "   gl_Position =  u_projTrans * vec4(position, 0.0, 1.0);\n" //
+			+ "}\n";
+		String fragmentShader = "#ifdef GL_ES\n" //
+			+ "#define LOWP lowp\n" //
+			+ "precision mediump float;\n" //
+			+ "#else\n" //
+			+ "#define LOWP \n" //
+			+ "#endif\n" //
+			+ "varying LOWP vec4 v_color;\n" //
+			+ "varying vec2 v_texCoords;\n" //
+			+ "uniform sampler2D u_texture;\n" //
+			+ "void main()\n"//
+			+ "{\n" //
+			+ "  gl_FragColor = v_color * texture2D(u_texture, v_texCoords);\n" //
+			+ "}";
+
+		ShaderProgram shader = new ShaderProgram(vertexShader, fragmentShader);
+		if (!shader.isCompiled()) throw new IllegalArgumentException("Error compiling shader: " + shader.getLog());
+		return shader;
+	}
+
+	@Override
+	public void begin () {
+		if (drawing) throw new IllegalStateException("InstancedSpriteBatch.end must be called before begin.");
+		renderCalls = 0;
+		bytesUploaded = 0;
+
+		Gdx.gl.glDepthMask(false);
+		if (customShader != null)
+			customShader.bind();
+		else
+			shader.bind();
+		setupMatrices();
+
+		drawing = true;
+	}
+
+	@Override
+	public void end () {
+		if (!drawing) throw new IllegalStateException("InstancedSpriteBatch.begin must be called before end.");
+		if (idx > 0) flush();
+		lastTexture = null;
+		drawing = false;
+
+		GL20 gl = Gdx.gl;
+		gl.glDepthMask(true);
+		if (isBlendingEnabled()) gl.glDisable(GL20.GL_BLEND);
+	}
+
+	@Override
+	public void setColor (Color tint) {
+		color.set(tint);
+		colorPacked = tint.toFloatBits();
+	}
+
+	@Override
+	public void setColor (float r, float g, float b, float a) {
+		color.set(r, g, b, a);
+		colorPacked = color.toFloatBits();
+	}
+
+	@Override
+	public Color getColor () {
+		return color;
+	}
+
+	@Override
+	public void setPackedColor (float packedColor) {
+		Color.abgr8888ToColor(color, packedColor);
+		this.colorPacked = packedColor;
+	}
+
+	@Override
+	public float getPackedColor () {
+		return colorPacked;
+	}
+
+	/** Adds an instance. The texture coordinates (u, v) are at (x, y) and (u2, v2) are at the opposite corner. u changes along
+	 * the first axis and v along the second axis. */
+	private void add (Texture texture, float x, float y, float axisXX, float axisXY, float axisYX, float axisYY, float u,
+		float v, float u2, float v2, float color) {
+		if (!drawing) throw new IllegalStateException("InstancedSpriteBatch.begin must be called before draw.");
+
+		if (texture != lastTexture)
+			switchTexture(texture);
+		else if (idx == data.length) //
+			flush();
+
+		float[] data = this.data;
+		int idx = this.idx;
+		data[idx] = x;
+		data[idx + 1] = y;
+		data[idx + 2] = axisXX;
+		data[idx + 3] = axisXY;
+		data[idx + 4] = axisYX;
+		data[idx + 5] = axisYY;
+		data[idx + 6] = u;
+		data[idx + 7] = v;
+		data[idx + 8] = u2;
+		data[idx + 9] = v2;
+		data[idx + 10] = color;
+		this.idx = idx + INSTANCE_SIZE;
+	}
+
+	/** Adds an instance for a scaled and rotated quad.
+	 * @param swapAxes If true, u changes along the height of the quad and v along the width. */
+	private void add (Texture texture, float x, float y, float originX, float originY, float width, float height, float scaleX,
+		float scaleY, float rotation, float u, float v, float u2, float v2, boolean swapAxes) {
+		float fx = -originX * scaleX, fy = -originY * scaleY;
+		float axisXX = width * scaleX, axisXY = 0, axisYX = 0, axisYY = height * scaleY;
+		if (rotation != 0) {
+			final float cos = MathUtils.cosDeg(rotation);
+			final float sin = MathUtils.sinDeg(rotation);
+			float rx = cos * fx - sin * fy;
+			fy = sin * fx + cos * fy;
+			fx = rx;
+			axisXY = sin * axisXX;
+			axisXX *= cos;
+			axisYX = -sin * axisYY;
+			axisYY *= cos;
+		}
+		x += originX + fx;
+		y += originY + fy;
+		if (swapAxes)
+			add(texture, x, y, axisYX, axisYY, axisXX, axisXY, u, v, u2, v2, colorPacked);
+		else
+			add(texture, x, y, axisXX, axisXY, axisYX, axisYY, u, v, u2, v2, colorPacked);
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float originX, float originY, float width, float height, float scaleX,
+		float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+		if (texture != lastTexture && drawing) switchTexture(texture);
+
+		float u = srcX * invTexWidth;
+		float v = (srcY + srcHeight) * invTexHeight;
+		float u2 = (srcX + srcWidth) * invTexWidth;
+		float v2 = srcY * invTexHeight;
+
+		if (flipX) {
+			float tmp = u;
+			u = u2;
+			u2 = tmp;
+		}
+
+		if (flipY) {
+			float tmp = v;
+			v = v2;
+			v2 = tmp;
+		}
+
+		add(texture, x, y, originX, originY, width, height, scaleX, scaleY, rotation, u, v, u2, v2, false);
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth,
+		int srcHeight, boolean flipX, boolean flipY) {
+		if (texture != lastTexture && drawing) switchTexture(texture);
+
+		float u = srcX * invTexWidth;
+		float v = (srcY + srcHeight) * invTexHeight;
+		float u2 = (srcX + srcWidth) * invTexWidth;
+		float v2 = srcY * invTexHeight;
+
+		if (flipX) {
+			float tmp = u;
+			u = u2;
+			u2 = tmp;
+		}
+
+		if (flipY) {
+			float tmp = v;
+			v = v2;
+			v2 = tmp;
+		}
+
+		add(texture, x, y, width, 0, 0, height, u, v, u2, v2, colorPacked);
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+		if (texture != lastTexture && drawing) switchTexture(texture);
+
+		final float u = srcX * invTexWidth;
+		final float v = (srcY + srcHeight) * invTexHeight;
+		final float u2 = (srcX + srcWidth) * invTexWidth;
+		final float v2 = srcY * invTexHeight;
+		add(texture, x, y, srcWidth, 0, 0, srcHeight, u, v, u2, v2, colorPacked);
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+		add(texture, x, y, width, 0, 0, height, u, v, u2, v2, colorPacked);
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y) {
+		draw(texture, x, y, texture.getWidth(), texture.getHeight());
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height) {
+		add(texture, x, y, width, 0, 0, height, 0, 1, 1, 0, colorPacked);
+	}
+
+	@Override
+	public void draw (Texture texture, float[] spriteVertices, int offset, int count) {
+		for (int n = offset + count; offset < n; offset += Sprite.SPRITE_SIZE) {
+			float x1 = spriteVertices[offset], y1 = spriteVertices[offset + 1];
+			float x2 = spriteVertices[offset + 5] - x1, y2 = spriteVertices[offset + 6] - y1;
+			float x4 = spriteVertices[offset + 15] - x1, y4 = spriteVertices[offset + 16] - y1;
+			float u1 = spriteVertices[offset + 3], v1 = spriteVertices[offset + 4];
+			float u3 = spriteVertices[offset + 13], v3 = spriteVertices[offset + 14];
+			// The texture's u changes along the first edge unless the region was rotated.
+			if (u1 != spriteVertices[offset + 18])
+				add(texture, x1, y1, x4, y4, x2, y2, u1, v1, u3, v3, spriteVertices[offset + 2]);
+			else
+				add(texture, x1, y1, x2, y2, x4, y4, u1, v1, u3, v3, spriteVertices[offset + 2]);
+		}
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y) {
+		draw(region, x, y, region.getRegionWidth(), region.getRegionHeight());
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float width, float height) {
+		add(region.texture, x, y, width, 0, 0, height, region.u, region.v2, region.u2, region.v, colorPacked);
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+		float scaleX, float scaleY, float rotation) {
+		add(region.texture, x, y, originX, originY, width, height, scaleX, scaleY, rotation, region.u, region.v2, region.u2,
+			region.v, false);
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+		float scaleX, float scaleY, float rotation, boolean clockwise) {
+		// The region is rotated 90 degrees, so u changes along the height of the quad.
+		if (clockwise)
+			add(region.texture, x, y, originX, originY, width, height, scaleX, scaleY, rotation, region.u2, region.v2, region.u,
+				region.v, true);
+		else
+			add(region.texture, x, y, originX, originY, width, height, scaleX, scaleY, rotation, region.u, region.v, region.u2,
+				region.v2, true);
+	}
+
+	@Override
+	public void draw (TextureRegion region, float width, float height, Affine2 transform) {
+		add(region.texture, transform.m02, transform.m12, transform.m00 * width, transform.m10 * width, transform.m01 * height,
+			transform.m11 * height, region.u, region.v2, region.u2, region.v, colorPacked);
+	}
+
+	@Override
+	public void flush () {
+		if (idx == 0) return;
+
+		renderCalls++;
+		totalRenderCalls++;
+		int spritesInBatch = idx / INSTANCE_SIZE;
+		if (spritesInBatch > maxSpritesInBatch) maxSpritesInBatch = spritesInBatch;
+
+		lastTexture.bind();
+
+		boolean orphan = false;
+		if (ringPosition + spritesInBatch > ringSize) {
+			ringPosition = 0;
+			orphan = true;
+		}
+		instances.streamInstanceData(ringPosition, data, 0, idx, orphan);
+		bytesUploaded += idx * 4;
+		totalBytesUploaded += idx * 4;
+
+		if (blendingDisabled) {
+			Gdx.gl.glDisable(GL20.GL_BLEND);
+		} else {
+			Gdx.gl.glEnable(GL20.GL_BLEND);
+			if (blendSrcFunc != -1) Gdx.gl.glBlendFuncSeparate(blendSrcFunc, blendDstFunc, blendSrcFuncAlpha, blendDstFuncAlpha);
+		}
+
+		ShaderProgram shader = customShader != null ? customShader : this.shader;
+		mesh.bind(shader);
+		instances.bind(shader, null, ringPosition);
+		Gdx.gl30.glDrawElementsInstanced(GL20.GL_TRIANGLES, 6, GL20.GL_UNSIGNED_SHORT, 0, spritesInBatch);
+		instances.unbind(shader);
+		mesh.unbind(shader);
+
+		ringPosition += spritesInBatch;
+		idx = 0;
+	}
+
+	@Override
+	public void disableBlending () {
+		if (blendingDisabled) return;
+		flush();
+		blendingDisabled = true;
+	}
+
+	@Override
+	public void enableBlending () {
+		if (!blendingDisabled) return;
+		flush();
+		blendingDisabled = false;
+	}
+
+	@Override
+	public void setBlendFunction (int srcFunc, int dstFunc) {
+		setBlendFunctionSeparate(srcFunc, dstFunc, srcFunc, dstFunc);
+	}
+
+	@Override
+	public void setBlendFunctionSeparate (int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {
+		if (blendSrcFunc == srcFuncColor && blendDstFunc == dstFuncColor && blendSrcFuncAlpha == srcFuncAlpha
+			&& blendDstFuncAlpha == dstFuncAlpha) return;
+		flush();
+		blendSrcFunc = srcFuncColor;
+		blendDstFunc = dstFuncColor;
+		blendSrcFuncAlpha = srcFuncAlpha;
+		blendDstFuncAlpha = dstFuncAlpha;
+	}
+
+	@Override
+	public int getBlendSrcFunc () {
+		return blendSrcFunc;
+	}
+
+	@Override
+	public int getBlendDstFunc () {
+		return blendDstFunc;
+	}
+
+	@Override
+	public int getBlendSrcFuncAlpha () {
+		return blendSrcFuncAlpha;
+	}
+
+	@Override
+	public int getBlendDstFuncAlpha () {
+		return blendDstFuncAlpha;
+	}
+
+	@Override
+	public void dispose () {
+		mesh.dispose();
+		if (ownsShader && shader != null) shader.dispose();
+	}
+
+	@Override
+	public Matrix4 getProjectionMatrix () {
+		return projectionMatrix;
+	}
+
+	@Override
+	public Matrix4 getTransformMatrix () {
+		return transformMatrix;
+	}
+
+	@Override
+	public void setProjectionMatrix (Matrix4 projection) {
+		if (drawing) flush();
+		projectionMatrix.set(projection);
+		if (drawing) setupMatrices();
+	}
+
+	@Override
+	public void setTransformMatrix (Matrix4 transform) {
+		if (drawing) flush();
+		transformMatrix.set(transform);
+		if (drawing) setupMatrices();
+	}
+
+	protected void setupMatrices () {
+		combinedMatrix.set(projectionMatrix).mul(transformMatrix);
+		if (customShader != null) {
+			customShader.setUniformMatrix("u_projTrans", combinedMatrix);
+			customShader.setUniformi("u_texture", 0);
+		} else {
+			shader.setUniformMatrix("u_projTrans", combinedMatrix);
+			shader.setUniformi("u_texture", 0);
+		}
+	}
+
+	protected void switchTexture (Texture texture) {
+		flush();
+		lastTexture = texture;
+		invTexWidth = 1.0f / texture.getWidth();
+		invTexHeight = 1.0f / texture.getHeight();
+	}
+
+	@Override
+	public void setShader (ShaderProgram shader) {
+		if (shader == customShader) // avoid unnecessary flushing in case we are drawing
+			return;
+		if (drawing) {
+			flush();
+		}
+		customShader = shader;
+		if (drawing) {
+			if (customShader != null)
+				customShader.bind();
+			else
+				this.shader.bind();
+			setupMatrices();
+		}
+	}
+
+	@Override
+	public ShaderProgram getShader () {
+		if (customShader == null) {
+			return shader;
+		}
+		return customShader;
+	}
+
+	@Override
+	public boolean isBlendingEnabled () {
+		return !blendingDisabled;
+	}
+
+	public boolean isDrawing () {
+		return drawing;
+	}
+}
@@ -0,0 +1,400 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import java.nio.Buffer;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Mesh.VertexDataType;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Null;
+
+/** A {@link SpriteBatch} that binds multiple textures at once, so drawing with a different texture doesn't flush the batch until
+ * more textures are used than there are texture units. Each vertex has an extra attribute which selects the texture in the
+ * fragment shader.
+ * <p>
+ * If the GPU has fewer than 2 texture units or the shader can't be compiled, or while a custom shader is set with
+ * {@link #setShader(ShaderProgram)}, the batch works like a SpriteBatch and flushes on each texture switch. A custom shader
+ * receives the texture as "u_texture", the same as for SpriteBatch.
+ * <p>
+ * The reasons for flushing are counted since the last {@link #begin()}, see {@link #getFlushCount(FlushReason)}. */
+public class MultiTextureSpriteBatch extends SpriteBatch {
+	static public final String TEXTURE_INDEX_ATTRIBUTE = "a_texIndex";
+
+	private final @Null ShaderProgram multiShader;
+	private final int maxTextures;
+	private final Texture[] textures;
+	private final String[] textureUniforms;
+	private int textureCount;
+	private final float[] expanded;
+	// The vertices index where each texture run starts and the texture slot used for it.
+	private final int[] runStarts, runSlots;
+	private int runCount;
+	private final Matrix4 combinedMatrix = new Matrix4();
+	private final int[] flushCounts = new int[FlushReason.values.length];
+	private @Null FlushReason flushReason;
+
+	/** Constructs a batch with a size of 1000 that uses up to 8 textures at once. */
+	public MultiTextureSpriteBatch () {
+		this(1000, 8);
+	}
+
+	/** @param size The max number of sprites in a single batch. Max of 8191.
+	 * @param maxTextures The max number of textures in a single batch, limited by the number of texture units. */
+	public MultiTextureSpriteBatch (int size, int maxTextures) {
+		this(size, textureUnits(maxTextures), true);
+	}
+
+	private MultiTextureSpriteBatch (int size, int textureUnits, boolean multiTexture) {
+		this(size, textureUnits, multiTexture && textureUnits > 1 ? createMultiTextureShader(textureUnits) : null);
+	}
+
+	private MultiTextureSpriteBatch (int size, int textureUnits, @Null ShaderProgram multiShader) {
+		super(size, multiShader, new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+			new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+			new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"),
+			new VertexAttribute(Usage.Generic, 1, TEXTURE_INDEX_ATTRIBUTE));
+		this.multiShader = multiShader;
+		maxTextures = multiShader != null ? textureUnits : 1;
+		textures = new Texture[maxTextures];
+		textureUniforms = new String[maxTextures];
+		for (int i = 0; i < maxTextures; i++)
+			textureUniforms[i] = "u_textures[" + i + "]";
+		expanded = new float[size * 24];
+		runStarts = new int[size + 1];
+		runSlots = new int[size + 1];
+	}
+
+	/** Returns the number of textures that can be used at once, which is 1 if multiple textures are not supported. */
+	public int getMaxTextures () {
+		return maxTextures;
+	}
+
+	/** Returns true if texture switches don't flush, false if a custom shader is set or multiple textures are not supported. */
+	public boolean isMultiTexture () {
+		return multiShader != null && getShader() == multiShader;
+	}
+
+	/** Returns the number of times the batch was flushed for the reason since the last {@link #begin()}. */
+	public int getFlushCount (FlushReason reason) {
+		return flushCounts[reason.ordinal()];
+	}
+
+	public void begin () {
+		super.begin();
+		for (int i = 0; i < flushCounts.length; i++)
+			flushCounts[i] = 0;
+		textureCount = 0;
+		runCount = 0;
+	}
+
+	public void end () {
+		flushReason = FlushReason.end;
+		super.end();
+		flushReason = null;
+		textureCount = 0;
+		runCount = 0;
+	}
+
+	protected void switchTexture (Texture texture) {
+		if (!isMultiTexture()) {
+			flushReason = FlushReason.textureSwitch;
+			flush();
+			textureCount = 0;
+			runCount = 0;
+			super.switchTexture(texture);
+			addRun(addTexture(texture));
+			return;
+		}
+		if (idx == vertices.length) {
+			flushReason = FlushReason.bufferFull;
+			flush();
+		}
+		int slot = -1;
+		Texture[] textures = this.textures;
+		for (int i = 0, n = textureCount; i < n; i++) {
+			if (textures[i] == texture) {
+				slot = i;
+				break;
+			}
+		}
+		if (slot == -1) {
+			if (textureCount == maxTextures) {
+				flushReason = FlushReason.textureLimit;
+				flush();
+				textureCount = 0;
+				runCount = 0;
+			}
+			slot = addTexture(texture);
+		}
+		lastTexture = texture;
+		invTexWidth = 1.0f / texture.getWidth();
+		invTexHeight = 1.0f / texture.getHeight();
+		addRun(slot);
+	}
+
+	private int addTexture (Texture texture) {
+		textures[textureCount] = texture;
+		return textureCount++;
+	}
+
+	private void addRun (int slot) {
+		// A run that has no vertices yet is replaced, so there are never more runs than sprites.
+		if (runCount > 0 && runStarts[runCount - 1] == idx) runCount--;
+		runStarts[runCount] = idx;
+		runSlots[runCount] = slot;
+		runCount++;
+	}
+
+	public void draw (Texture texture, float[] spriteVertices, int offset, int count) {
+		if (!drawing) throw new IllegalStateException("SpriteBatch.begin must be called before draw.");
+
+		// SpriteBatch expects the batch to be empty after a texture switch, which is not the case here.
+		if (texture != lastTexture) switchTexture(texture);
+		float[] vertices = this.vertices;
+		int verticesLength = vertices.length;
+		while (count > 0) {
+			if (idx == verticesLength) {
+				flushReason = FlushReason.bufferFull;
+				flush();
+			}
+			int copyCount = Math.min(verticesLength - idx, count);
+			System.arraycopy(spriteVertices, offset, vertices, idx, copyCount);
+			idx += copyCount;
+			offset += copyCount;
+			count -= copyCount;
+		}
+	}
+
+	public void flush () {
+		int idx = this.idx;
+		FlushReason reason = flushReason;
+		if (reason == null) reason = idx == vertices.length ? FlushReason.bufferFull : FlushReason.other;
+		flushReason = null;
+		if (idx == 0) return;
+		flushCounts[reason.ordinal()]++;
+
+		renderCalls++;
+		totalRenderCalls++;
+		int spritesInBatch = idx / 20;
+		if (spritesInBatch > maxSpritesInBatch) maxSpritesInBatch = spritesInBatch;
+		int count = spritesInBatch * 6;
+
+		// Add the texture index to each vertex.
+		float[] vertices = this.vertices, expanded = this.expanded;
+		int[] runStarts = this.runStarts, runSlots = this.runSlots;
+		int run = 0, runCount = this.runCount;
+		float slot = 0;
+		int nextRun = 0;
+		for (int s = 0, d = 0; s < idx; s += 5, d += 6) {
+			while (s >= nextRun) {
+				if (run < runCount) {
+					slot = runSlots[run];
+					run++;
+					nextRun = run < runCount ? runStarts[run] : idx;
+				} else
+					nextRun = idx;
+			}
+			expanded[d] = vertices[s];
+			expanded[d + 1] = vertices[s + 1];
+			expanded[d + 2] = vertices[s + 2];
+			expanded[d + 3] = vertices[s + 3];
+			expanded[d + 4] = vertices[s + 4];
+			expanded[d + 5] = slot;
+		}
+
+		if (isMultiTexture()) {
+			for (int i = textureCount - 1; i >= 0; i--)
+				textures[i].bind(i);
+		} else
+			lastTexture.bind();
+		Mesh mesh = this.mesh;
+		mesh.setVertices(expanded, 0, idx / 5 * 6);
+
+		// Only upload indices for the vertex array type
+		if (currentDataType == VertexDataType.VertexArray) {
+			Buffer indicesBuffer = (Buffer)mesh.getIndicesBuffer(true);
+			indicesBuffer.position(0);
+			indicesBuffer.limit(count);
+		}
+
+		if (!isBlendingEnabled()) {
+			Gdx.gl.glDisable(GL20.GL_BLEND);
+		} else {
+			Gdx.gl.glEnable(GL20.GL_BLEND);
+			if (getBlendSrcFunc() != -1) Gdx.gl.glBlendFuncSeparate(getBlendSrcFunc(), getBlendDstFunc(), getBlendSrcFuncAlpha(),
+				getBlendDstFuncAlpha());
+		}
+
+		mesh.render(getShader(), GL20.GL_TRIANGLES, 0, count);
+
+		this.idx = 0;
+		// The current texture stays bound for the vertices drawn next without a texture switch.
+		if (lastTexture != null) {
+			textures[0] = lastTexture;
+			textureCount = 1;
+			runStarts[0] = 0;
+			runSlots[0] = 0;
+			this.runCount = 1;
+		} else {
+			textureCount = 0;
+			this.runCount = 0;
+		}
+	}
+
+	public void disableBlending () {
+		flushReason = FlushReason.blending;
+		super.disableBlending();
+		flushReason = null;
+	}
+
+	public void enableBlending () {
+		flushReason = FlushReason.blending;
+		super.enableBlending();
+		flushReason = null;
+	}
+
+	public void setBlendFunctionSeparate (int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {
+		flushReason = FlushReason.blending;
+		super.setBlendFunctionSeparate(srcFuncColor, dstFuncColor, srcFuncAlpha, dstFuncAlpha);
+		flushReason = null;
+	}
+
+	public void setProjectionMatrix (Matrix4 projection) {
+		flushReason = FlushReason.matrix;
+		super.setProjectionMatrix(projection);
+		flushReason = null;
+	}
+
+	public void setTransformMatrix (Matrix4 transform) {
+		flushReason = FlushReason.matrix;
+		super.setTransformMatrix(transform);
+		flushReason = null;
+	}
+
+	public void setShader (ShaderProgram shader) {
+		flushReason = FlushReason.shader;
+		super.setShader(shader);
+		flushReason = null;
+	}
+
+	protected void setupMatrices () {
+		if (!isMultiTexture()) {
+			super.setupMatrices();
+			return;
+		}
+		combinedMatrix.set(getProjectionMatrix()).mul(getTransformMatrix());
+		multiShader.setUniformMatrix("u_projTrans", combinedMatrix);
+		for (int i = 0; i < maxTextures; i++)
+			multiShader.setUniformi(textureUniforms[i], i);
+	}
+
+	public void dispose () {
+		super.dispose();
+		if (multiShader != null) multiShader.dispose();
+	}
+
+	/** Returns the number of texture units that can be used, at most maxTextures. */
+	static private int textureUnits (int maxTextures) {
+		IntBuffer buffer = BufferUtils.newIntBuffer(16);
+		Gdx.gl.glGetIntegerv(GL20.GL_MAX_TEXTURE_IMAGE_UNITS, buffer);
+		return Math.max(1, Math.min(maxTextures, buffer.get(0)));
+	}
+
+	/** Returns a new shader that samples one of the specified number of textures, selected by the
+	 * {@link #TEXTURE_INDEX_ATTRIBUTE}, or null if it can't be compiled. */
+	static public @Null ShaderProgram createMultiTextureShader (int textures) {
+		String vertexShader = "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" //
+			+ "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" //
+			+ "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" //
+			+ "attribute float " + TEXTURE_INDEX_ATTRIBUTE + ";\n" //
+			+ "uniform mat4 u_projTrans;\n" //
+			+ "varying vec4 v_color;\n" //
+			+ "varying vec2 v_texCoords;\n" //
+			+ "varying float v_texIndex;\n" //
+			+ "\n" //
+			+ "void main()\n" //
+			+ "{\n" //
+			+ "   v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" //
+			+ "   v_color.a = v_color.a * (255.0/254.0);\n" //
+			+ "   v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" //
+			+ "   v_texIndex = " + TEXTURE_INDEX_ATTRIBUTE + ";\n" //
+			+ "   gl_Position =  u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" //
+			+ "}\n";
+		// GLSL ES 1.0 only allows indexing samplers with constants, so the texture is chosen by branching.
+		StringBuilder sample = new StringBuilder();
+		for (int i = 0; i < textures - 1; i++) {
+			sample.append("  if (v_texIndex < ").append(i).append(".5) color = texture2D(u_textures[").append(i)
+				.append("], v_texCoords);\n  else ");
+		}
+		sample.append("color = texture2D(u_textures[").append(textures - 1).append("], v_texCoords);\n");
+		String fragmentShader = "#ifdef GL_ES\n" //
+			+ "#define LOWP lowp\n" //
+			+ "precision mediump float;\n" //
+			+ "#else\n" //
+			+ "#define LOWP \n" //
+			+ "#endif\n" //
+			+ "varying LOWP vec4 v_color;\n" //
+			+ "varying vec2 v_texCoords;\n" //
+			+ "varying float v_texIndex;\n" //
+			+ "uniform sampler2D u_textures[" + textures + "];\n" //
+			+ "void main()\n"//
+			+ "{\n" //
+			+ "  vec4 color;\n" //
+			+ sample //
+			+ "  gl_FragColor = v_color * color;\n" //
+			+ "}";
+
+		ShaderProgram shader = new ShaderProgram(vertexShader, fragmentShader);
+		if (!shader.isCompiled()) {
+			Gdx.app.error("MultiTextureSpriteBatch", "Error compiling shader, using a single texture: " + shader.getLog());
+			shader.dispose();
+			return null;
+		}
+		return shader;
+	}
+
+	/** Why a {@link MultiTextureSpriteBatch} was flushed. */
+	static public enum FlushReason {
+		/** More textures were used than {@link MultiTextureSpriteBatch#getMaxTextures()}. */
+		textureLimit,
+		/** The texture changed while multiple textures are not supported or a custom shader is set. */
+		textureSwitch,
+		/** The batch size was reached. */
+		bufferFull,
+		/** Blending was enabled, disabled or the blend function changed. */
+		blending,
+		/** The projection or transform matrix changed. */
+		matrix,
+		/** The shader changed. */
+		shader,
+		/** {@link MultiTextureSpriteBatch#end()} was called. */
+		end,
+		/** {@link MultiTextureSpriteBatch#flush()} was called directly, eg by a scene2d actor or a subclass. */
+		other;
+
+		static public final FlushReason[] values = values();
+	}
+}
@@ -244,7 +244,7 @@ public class ParticleEffect implements Disposable {
 	}
 
 	protected ParticleEmitter newEmitter (ParticleEmitter emitter) {
-		return new ParticleEmitter(emitter);
+		return emitter.copy();
 	}
 
 	protected Texture loadTexture (FileHandle file) {
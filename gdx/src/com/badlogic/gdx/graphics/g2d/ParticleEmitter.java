@@ -29,69 +29,70 @@ import java.io.Writer;
 import java.util.Arrays;
 
 public class ParticleEmitter {
-	static private final int UPDATE_SCALE = 1 << 0;
-	static private final int UPDATE_ANGLE = 1 << 1;
-	static private final int UPDATE_ROTATION = 1 << 2;
-	static private final int UPDATE_VELOCITY = 1 << 3;
-	static private final int UPDATE_WIND = 1 << 4;
-	static private final int UPDATE_GRAVITY = 1 << 5;
-	static private final int UPDATE_TINT = 1 << 6;
-	static private final int UPDATE_SPRITE = 1 << 7;
-
-	private RangedNumericValue delayValue = new RangedNumericValue();
-	private IndependentScaledNumericValue lifeOffsetValue = new IndependentScaledNumericValue();
-	private RangedNumericValue durationValue = new RangedNumericValue();
-	private IndependentScaledNumericValue lifeValue = new IndependentScaledNumericValue();
-	private ScaledNumericValue emissionValue = new ScaledNumericValue();
-	private ScaledNumericValue xScaleValue = new ScaledNumericValue();
-	private ScaledNumericValue yScaleValue = new ScaledNumericValue();
-	private ScaledNumericValue rotationValue = new ScaledNumericValue();
-	private ScaledNumericValue velocityValue = new ScaledNumericValue();
-	private ScaledNumericValue angleValue = new ScaledNumericValue();
-	private ScaledNumericValue windValue = new ScaledNumericValue();
-	private ScaledNumericValue gravityValue = new ScaledNumericValue();
-	private ScaledNumericValue transparencyValue = new ScaledNumericValue();
-	private GradientColorValue tintValue = new GradientColorValue();
-	private RangedNumericValue xOffsetValue = new ScaledNumericValue();
-	private RangedNumericValue yOffsetValue = new ScaledNumericValue();
-	private ScaledNumericValue spawnWidthValue = new ScaledNumericValue();
-	private ScaledNumericValue spawnHeightValue = new ScaledNumericValue();
-	private SpawnShapeValue spawnShapeValue = new SpawnShapeValue();
+	static final int UPDATE_SCALE = 1 << 0;
+	static final int UPDATE_ANGLE = 1 << 1;
+	static final int UPDATE_ROTATION = 1 << 2;
+	static final int UPDATE_VELOCITY = 1 << 3;
+	static final int UPDATE_WIND = 1 << 4;
+	static final int UPDATE_GRAVITY = 1 << 5;
+	static final int UPDATE_TINT = 1 << 6;
+	static final int UPDATE_SPRITE = 1 << 7;
+
+	RangedNumericValue delayValue = new RangedNumericValue();
+	IndependentScaledNumericValue lifeOffsetValue = new IndependentScaledNumericValue();
+	RangedNumericValue durationValue = new RangedNumericValue();
+	IndependentScaledNumericValue lifeValue = new IndependentScaledNumericValue();
+	ScaledNumericValue emissionValue = new ScaledNumericValue();
+	ScaledNumericValue xScaleValue = new ScaledNumericValue();
+	ScaledNumericValue yScaleValue = new ScaledNumericValue();
+	ScaledNumericValue rotationValue = new ScaledNumericValue();
+	ScaledNumericValue velocityValue = new ScaledNumericValue();
+	ScaledNumericValue angleValue = new ScaledNumericValue();
+	ScaledNumericValue windValue = new ScaledNumericValue();
+	ScaledNumericValue gravityValue = new ScaledNumericValue();
+	ScaledNumericValue transparencyValue = new ScaledNumericValue();
+	GradientColorValue tintValue = new GradientColorValue();
+	RangedNumericValue xOffsetValue = new ScaledNumericValue();
+	RangedNumericValue yOffsetValue = new ScaledNumericValue();
+	ScaledNumericValue spawnWidthValue = new ScaledNumericValue();
+	ScaledNumericValue spawnHeightValue = new ScaledNumericValue();
+	SpawnShapeValue spawnShapeValue = new SpawnShapeValue();
 
 	private RangedNumericValue[] xSizeValues;
 	private RangedNumericValue[] ySizeValues;
 	private RangedNumericValue[] motionValues;
 
 	private float accumulator;
-	private Array<Sprite> sprites;
-	private SpriteMode spriteMode = SpriteMode.single;
-	private Particle[] particles;
-	private int minParticleCount, maxParticleCount = 4;
-	private float x, y;
+	Array<Sprite> sprites;
+	SpriteMode spriteMode = SpriteMode.single;
+	private Particle[] particles = new Particle[0];
+	int minParticleCount, maxParticleCount = 4;
+	float x, y;
 	private String name;
 	private Array<String> imagePaths;
-	private int activeCount;
-	private boolean[] active;
+	int activeCount;
+	private boolean[] active = new boolean[0];
 	private boolean firstUpdate;
-	private boolean flipX, flipY;
-	private int updateFlags;
+	boolean flipX, flipY;
+	int updateFlags;
 	private boolean allowCompletion;
 	private BoundingBox bounds;
 
 	private int emission, emissionDiff, emissionDelta;
-	private int lifeOffset, lifeOffsetDiff;
-	private int life, lifeDiff;
+	int lifeOffset, lifeOffsetDiff;
+	int life, lifeDiff;
 	private float spawnWidth, spawnWidthDiff;
 	private float spawnHeight, spawnHeightDiff;
+	float spawnX, spawnY, spawnAngle;
 	public float duration = 1, durationTimer;
 	private float delay, delayTimer;
 
-	private boolean attached;
+	boolean attached;
 	private boolean continuous;
-	private boolean aligned;
+	boolean aligned;
 	private boolean behind;
-	private boolean additive = true;
-	private boolean premultipliedAlpha = false;
+	boolean additive = true;
+	boolean premultipliedAlpha = false;
 	boolean cleansUpBlendFunction = true;
 
 	public ParticleEmitter () {
@@ -139,6 +140,12 @@ public class ParticleEmitter {
 		setPosition(emitter.getX(), emitter.getY());
 	}
 
+	/** Returns a copy of this emitter, used by {@link ParticleEffect#ParticleEffect(ParticleEffect)}. A subclass can override this
+	 * so copies have the same type. */
+	protected ParticleEmitter copy () {
+		return new ParticleEmitter(this);
+	}
+
 	private void initialize () {
 		sprites = new Array<Sprite>();
 		imagePaths = new Array<String>();
@@ -154,8 +161,15 @@ public class ParticleEmitter {
 
 	public void setMaxParticleCount (int maxParticleCount) {
 		this.maxParticleCount = maxParticleCount;
-		active = new boolean[maxParticleCount];
 		activeCount = 0;
+		allocateParticles(maxParticleCount);
+	}
+
+	/** Allocates the storage for the particles, called by {@link #setMaxParticleCount(int)}. A subclass that stores particles
+	 * differently can override this without calling super, then {@link #getParticles()} is empty and the subclass must override
+	 * the methods that add, update and draw particles. */
+	protected void allocateParticles (int maxParticleCount) {
+		active = new boolean[maxParticleCount];
 		particles = new Particle[maxParticleCount];
 	}
 
@@ -233,6 +247,11 @@ public class ParticleEmitter {
 			}
 		}
 
+		updateParticles(delta, deltaMillis);
+	}
+
+	/** Updates the active particles, deactivating those whose life has run out. */
+	void updateParticles (float delta, int deltaMillis) {
 		boolean[] active = this.active;
 		int activeCount = this.activeCount;
 		Particle[] particles = this.particles;
@@ -253,15 +272,18 @@ public class ParticleEmitter {
 		} else {
 			batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 		}
+		drawParticles(batch);
+
+		if (cleansUpBlendFunction && (additive || premultipliedAlpha))
+			batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+	}
+
+	void drawParticles (Batch batch) {
 		Particle[] particles = this.particles;
 		boolean[] active = this.active;
-
 		for (int i = 0, n = active.length; i < n; i++) {
 			if (active[i]) particles[i].draw(batch);
 		}
-
-		if (cleansUpBlendFunction && (additive || premultipliedAlpha))
-			batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 	}
 
 	/** Updates and draws the particles. This is slightly more efficient than calling {@link #update(float)} and
@@ -283,21 +305,7 @@ public class ParticleEmitter {
 			batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 		}
 
-		Particle[] particles = this.particles;
-		boolean[] active = this.active;
-		int activeCount = this.activeCount;
-		for (int i = 0, n = active.length; i < n; i++) {
-			if (active[i]) {
-				Particle particle = particles[i];
-				if (updateParticle(particle, delta, deltaMillis))
-					particle.draw(batch);
-				else {
-					active[i] = false;
-					activeCount--;
-				}
-			}
-		}
-		this.activeCount = activeCount;
+		updateAndDrawParticles(batch, delta, deltaMillis);
 
 		if (cleansUpBlendFunction && (additive || premultipliedAlpha))
 			batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
@@ -334,6 +342,25 @@ public class ParticleEmitter {
 		if (activeCount < minParticleCount) addParticles(minParticleCount - activeCount);
 	}
 
+	/** Updates the active particles and draws those that are still alive. */
+	void updateAndDrawParticles (Batch batch, float delta, int deltaMillis) {
+		Particle[] particles = this.particles;
+		boolean[] active = this.active;
+		int activeCount = this.activeCount;
+		for (int i = 0, n = active.length; i < n; i++) {
+			if (active[i]) {
+				Particle particle = particles[i];
+				if (updateParticle(particle, delta, deltaMillis))
+					particle.draw(batch);
+				else {
+					active[i] = false;
+					activeCount--;
+				}
+			}
+		}
+		this.activeCount = activeCount;
+	}
+
 	public void start () {
 		firstUpdate = true;
 		allowCompletion = false;
@@ -354,7 +381,7 @@ public class ParticleEmitter {
 		if (start) start();
 	}
 
-	private void restart () {
+	void restart () {
 		delay = delayValue.active ? delayValue.newLowValue() : 0;
 		delayTimer = 0;
 
@@ -393,6 +420,8 @@ public class ParticleEmitter {
 		return new Particle(sprite);
 	}
 
+	/** @return The particles by index, where entries for particles that were never activated are null. Empty if a subclass
+	 *         doesn't store particles as {@link Particle} instances, see {@link #allocateParticles(int)}. */
 	protected Particle[] getParticles () {
 		return particles;
 	}
@@ -491,74 +520,12 @@ public class ParticleEmitter {
 		particle.transparency = transparencyValue.newLowValue();
 		particle.transparencyDiff = transparencyValue.newHighValue() - particle.transparency;
 
-		// Spawn.
-		float x = this.x;
-		if (xOffsetValue.active) x += xOffsetValue.newLowValue();
-		float y = this.y;
-		if (yOffsetValue.active) y += yOffsetValue.newLowValue();
-		switch (spawnShapeValue.shape) {
-		case square: {
-			float width = spawnWidth + (spawnWidthDiff * spawnWidthValue.getScale(percent));
-			float height = spawnHeight + (spawnHeightDiff * spawnHeightValue.getScale(percent));
-			x += MathUtils.random(width) - width * 0.5f;
-			y += MathUtils.random(height) - height * 0.5f;
-			break;
-		}
-		case ellipse: {
-			float width = spawnWidth + (spawnWidthDiff * spawnWidthValue.getScale(percent));
-			float height = spawnHeight + (spawnHeightDiff * spawnHeightValue.getScale(percent));
-			float radiusX = width * 0.5f;
-			float radiusY = height * 0.5f;
-			if (radiusX == 0 || radiusY == 0) break;
-			float scaleY = radiusX / (float)radiusY;
-			if (spawnShapeValue.edges) {
-				float spawnAngle;
-				switch (spawnShapeValue.side) {
-				case top:
-					spawnAngle = -MathUtils.random(179f);
-					break;
-				case bottom:
-					spawnAngle = MathUtils.random(179f);
-					break;
-				default:
-					spawnAngle = MathUtils.random(360f);
-					break;
-				}
-				float cosDeg = MathUtils.cosDeg(spawnAngle);
-				float sinDeg = MathUtils.sinDeg(spawnAngle);
-				x += cosDeg * radiusX;
-				y += sinDeg * radiusX / scaleY;
-				if ((updateFlags & UPDATE_ANGLE) == 0) {
-					particle.angle = spawnAngle;
-					particle.angleCos = cosDeg;
-					particle.angleSin = sinDeg;
-				}
-			} else {
-				float radius2 = radiusX * radiusX;
-				while (true) {
-					float px = MathUtils.random(width) - radiusX;
-					float py = MathUtils.random(width) - radiusX;
-					if (px * px + py * py <= radius2) {
-						x += px;
-						y += py / scaleY;
-						break;
-					}
-				}
-			}
-			break;
-		}
-		case line: {
-			float width = spawnWidth + (spawnWidthDiff * spawnWidthValue.getScale(percent));
-			float height = spawnHeight + (spawnHeightDiff * spawnHeightValue.getScale(percent));
-			if (width != 0) {
-				float lineX = width * MathUtils.random();
-				x += lineX;
-				y += lineX * (height / (float)width);
-			} else
-				y += height * MathUtils.random();
-			break;
-		}
+		if (spawn(percent) && (updateFlags & UPDATE_ANGLE) == 0) {
+			particle.angle = spawnAngle;
+			particle.angleCos = MathUtils.cosDeg(spawnAngle);
+			particle.angleSin = MathUtils.sinDeg(spawnAngle);
 		}
+		float x = spawnX, y = spawnY;
 
 		particle.setBounds(x - spriteWidth * 0.5f, y - spriteHeight * 0.5f, spriteWidth, spriteHeight);
 
@@ -653,13 +620,87 @@ public class ParticleEmitter {
 		return true;
 	}
 
-	private void generateLifeValues () {
+	/** Picks a spawn position for a new particle from the spawn shape, storing it in {@link #spawnX} and {@link #spawnY}.
+	 * @return true if the particle spawned on the edge of an ellipse, in which case {@link #spawnAngle} is the angle it travels
+	 *         at unless the angle value changes over its life. */
+	boolean spawn (float percent) {
+		boolean edgeAngle = false;
+		float x = this.x;
+		if (xOffsetValue.active) x += xOffsetValue.newLowValue();
+		float y = this.y;
+		if (yOffsetValue.active) y += yOffsetValue.newLowValue();
+		switch (spawnShapeValue.shape) {
+		case square: {
+			float width = spawnWidth + (spawnWidthDiff * spawnWidthValue.getScale(percent));
+			float height = spawnHeight + (spawnHeightDiff * spawnHeightValue.getScale(percent));
+			x += MathUtils.random(width) - width * 0.5f;
+			y += MathUtils.random(height) - height * 0.5f;
+			break;
+		}
+		case ellipse: {
+			float width = spawnWidth + (spawnWidthDiff * spawnWidthValue.getScale(percent));
+			float height = spawnHeight + (spawnHeightDiff * spawnHeightValue.getScale(percent));
+			float radiusX = width * 0.5f;
+			float radiusY = height * 0.5f;
+			if (radiusX == 0 || radiusY == 0) break;
+			float scaleY = radiusX / (float)radiusY;
+			if (spawnShapeValue.edges) {
+				float spawnAngle;
+				switch (spawnShapeValue.side) {
+				case top:
+					spawnAngle = -MathUtils.random(179f);
+					break;
+				case bottom:
+					spawnAngle = MathUtils.random(179f);
+					break;
+				default:
+					spawnAngle = MathUtils.random(360f);
+					break;
+				}
+				float cosDeg = MathUtils.cosDeg(spawnAngle);
+				float sinDeg = MathUtils.sinDeg(spawnAngle);
+				x += cosDeg * radiusX;
+				y += sinDeg * radiusX / scaleY;
+				this.spawnAngle = spawnAngle;
+				edgeAngle = true;
+			} else {
+				float radius2 = radiusX * radiusX;
+				while (true) {
+					float px = MathUtils.random(width) - radiusX;
+					float py = MathUtils.random(width) - radiusX;
+					if (px * px + py * py <= radius2) {
+						x += px;
+						y += py / scaleY;
+						break;
+					}
+				}
+			}
+			break;
+		}
+		case line: {
+			float width = spawnWidth + (spawnWidthDiff * spawnWidthValue.getScale(percent));
+			float height = spawnHeight + (spawnHeightDiff * spawnHeightValue.getScale(percent));
+			if (width != 0) {
+				float lineX = width * MathUtils.random();
+				x += lineX;
+				y += lineX * (height / (float)width);
+			} else
+				y += height * MathUtils.random();
+			break;
+		}
+		}
+		spawnX = x;
+		spawnY = y;
+		return edgeAngle;
+	}
+
+	void generateLifeValues () {
 		life = (int)lifeValue.newLowValue();
 		lifeDiff = (int)lifeValue.newHighValue();
 		if (!lifeValue.relative) lifeDiff -= life;
 	}
 
-	private void generateLifeOffsetValues () {
+	void generateLifeOffsetValues () {
 		lifeOffset = lifeOffsetValue.active ? (int)lifeOffsetValue.newLowValue() : 0;
 		lifeOffsetDiff = (int)lifeOffsetValue.newHighValue();
 		if (!lifeOffsetValue.relative) lifeOffsetDiff -= lifeOffset;
@@ -45,9 +45,9 @@ public class SpriteBatch implements Batch {
 	 * with this flag */
 	@Deprecated public static VertexDataType overrideVertexType = null;
 
-	private VertexDataType currentDataType;
+	VertexDataType currentDataType;
 
-	private Mesh mesh;
+	Mesh mesh;
 
 	final float[] vertices;
 	int idx = 0;
@@ -103,6 +103,14 @@ public class SpriteBatch implements Batch {
 	 * @param size The max number of sprites in a single batch. Max of 8191.
 	 * @param defaultShader The default shader to use. This is not owned by the SpriteBatch and must be disposed separately. */
 	public SpriteBatch (int size, ShaderProgram defaultShader) {
+		this(size, defaultShader, new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+			new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+			new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+	}
+
+	/** @param attributes The vertex attributes of the mesh. Subclasses that add attributes must convert {@link #vertices} when
+	 *           flushing. */
+	SpriteBatch (int size, ShaderProgram defaultShader, VertexAttribute... attributes) {
 		// 32767 is max vertex index, so 32767 / 4 vertices per sprite = 8191 sprites max.
 		if (size > 8191) throw new IllegalArgumentException("Can't have more than 8191 sprites per batch: " + size);
 
@@ -114,10 +122,7 @@ public class SpriteBatch implements Batch {
 
 		currentDataType = vertexDataType;
 
-		mesh = new Mesh(currentDataType, false, size * 4, size * 6,
-			new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
-			new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
-			new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+		mesh = new Mesh(currentDataType, false, size * 4, size * 6, attributes);
 
 		projectionMatrix.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
 
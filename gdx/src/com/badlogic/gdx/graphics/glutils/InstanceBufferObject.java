@@ -41,6 +41,7 @@ public class InstanceBufferObject implements InstanceData {
 	private int usage;
 	boolean isDirty = false;
 	boolean isBound = false;
+	boolean isStreamAllocated = false;
 
 	public InstanceBufferObject (boolean isStatic, int numVertices, VertexAttribute... attributes) {
 		this(isStatic, numVertices, new VertexAttributes(attributes));
@@ -78,12 +79,16 @@ public class InstanceBufferObject implements InstanceData {
 	@Deprecated
 	public FloatBuffer getBuffer () {
 		isDirty = true;
+		isStreamAllocated = false;
 		return buffer;
 	}
 
 	@Override
 	public FloatBuffer getBuffer (boolean forWriting) {
-		isDirty |= forWriting;
+		if (forWriting) {
+			isDirty = true;
+			isStreamAllocated = false;
+		}
 		return buffer;
 	}
 
@@ -110,6 +115,8 @@ public class InstanceBufferObject implements InstanceData {
 	}
 
 	private void bufferChanged () {
+		// The whole buffer is uploaded by glBufferData, so the storage must be allocated again before streaming.
+		isStreamAllocated = false;
 		if (isBound) {
 			Gdx.gl20.glBufferData(GL20.GL_ARRAY_BUFFER, byteBuffer.limit(), null, usage);
 			Gdx.gl20.glBufferData(GL20.GL_ARRAY_BUFFER, byteBuffer.limit(), byteBuffer, usage);
@@ -158,6 +165,39 @@ public class InstanceBufferObject implements InstanceData {
 		bufferChanged();
 	}
 
+	/** Uploads instances to part of the GL buffer with glBufferSubData, without uploading the other instances. This allows the
+	 * buffer to be used as a ring buffer: instances are written after the ones drawn previously and drawn by binding with
+	 * {@link #bind(ShaderProgram, int[], int)}. When the end is reached, writing from the start with orphan set reallocates the GL
+	 * storage, so the GPU doesn't need to finish pending draws before the data is overwritten.
+	 * @param targetInstance The index of the first instance to write.
+	 * @param count The number of floats to write.
+	 * @param orphan If true, the GL buffer storage is reallocated before writing. */
+	public void streamInstanceData (int targetInstance, float[] data, int offset, int count, boolean orphan) {
+		final GL20 gl = Gdx.gl20;
+		final int byteOffset = targetInstance * attributes.vertexSize, byteCount = count * 4;
+		if (byteOffset + byteCount > byteBuffer.capacity())
+			throw new GdxRuntimeException("Instance data exceeds the buffer capacity: " + (byteOffset + byteCount));
+
+		final int floatLimit = buffer.limit();
+		((Buffer)buffer).limit(buffer.capacity());
+		((Buffer)buffer).position(byteOffset / 4);
+		buffer.put(data, offset, count);
+		((Buffer)buffer).position(0);
+		((Buffer)buffer).limit(floatLimit);
+
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		if (orphan || !isStreamAllocated) {
+			gl.glBufferData(GL20.GL_ARRAY_BUFFER, byteBuffer.capacity(), null, usage);
+			isStreamAllocated = true;
+		}
+		final int limit = byteBuffer.limit(), pos = byteBuffer.position();
+		((Buffer)byteBuffer).limit(byteOffset + byteCount);
+		((Buffer)byteBuffer).position(byteOffset);
+		gl.glBufferSubData(GL20.GL_ARRAY_BUFFER, byteOffset, byteCount, byteBuffer);
+		((Buffer)byteBuffer).position(pos);
+		((Buffer)byteBuffer).limit(limit);
+	}
+
 	/** @return The GL enum used in the call to {@link GL20#glBufferData(int, int, java.nio.Buffer, int)}, e.g. GL_STATIC_DRAW or
 	 *         GL_DYNAMIC_DRAW */
 	protected int getUsage () {
@@ -181,10 +221,19 @@ public class InstanceBufferObject implements InstanceData {
 
 	@Override
 	public void bind (ShaderProgram shader, int[] locations) {
+		bind(shader, locations, 0);
+	}
+
+	/** Binds this InstanceBufferObject for rendering, starting at the specified instance.
+	 * @param instanceOffset The index of the first instance to draw, see
+	 *           {@link #streamInstanceData(int, float[], int, int, boolean)}. */
+	public void bind (ShaderProgram shader, int[] locations, int instanceOffset) {
 		final GL20 gl = Gdx.gl20;
+		final int byteOffset = instanceOffset * attributes.vertexSize;
 
 		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
-		if (isDirty) {
+		// Streamed instances are already uploaded, uploading the buffer here would discard them.
+		if (isDirty && !isStreamAllocated) {
 			((Buffer)byteBuffer).limit(buffer.limit() * 4);
 			gl.glBufferData(GL20.GL_ARRAY_BUFFER, byteBuffer.limit(), byteBuffer, usage);
 			isDirty = false;
@@ -200,7 +249,7 @@ public class InstanceBufferObject implements InstanceData {
 				shader.enableVertexAttribute(location + unitOffset);
 
 				shader.setVertexAttribute(location + unitOffset, attribute.numComponents, attribute.type, attribute.normalized,
-					attributes.vertexSize, attribute.offset);
+					attributes.vertexSize, attribute.offset + byteOffset);
 				Gdx.gl30.glVertexAttribDivisor(location + unitOffset, 1);
 			}
 
@@ -213,7 +262,7 @@ public class InstanceBufferObject implements InstanceData {
 				shader.enableVertexAttribute(location + unitOffset);
 
 				shader.setVertexAttribute(location + unitOffset, attribute.numComponents, attribute.type, attribute.normalized,
-					attributes.vertexSize, attribute.offset);
+					attributes.vertexSize, attribute.offset + byteOffset);
 				Gdx.gl30.glVertexAttribDivisor(location + unitOffset, 1);
 			}
 		}
@@ -258,6 +307,7 @@ public class InstanceBufferObject implements InstanceData {
 	public void invalidate () {
 		bufferHandle = Gdx.gl20.glGenBuffer();
 		isDirty = true;
+		isStreamAllocated = false;
 	}
 
 	/** Disposes of all resources this InstanceBufferObject uses. */
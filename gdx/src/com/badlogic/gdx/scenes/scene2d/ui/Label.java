@@ -21,6 +21,7 @@ import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.GlyphLayoutCache;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.CharArray;
@@ -48,6 +49,8 @@ public class Label extends Widget implements Styleable<Label.LabelStyle> {
 	private float fontScaleX = 1, fontScaleY = 1;
 	private boolean fontScaleChanged = false;
 	private @Null String ellipsis;
+	private @Null GlyphLayoutCache layoutCache;
+	private @Null GlyphLayout cachedLayout;
 
 	public Label (@Null CharSequence text, Skin skin) {
 		this(text, skin.get(LabelStyle.class));
@@ -157,8 +160,13 @@ public class Label extends Widget implements Styleable<Label.LabelStyle> {
 				width = Math.max(width, style.background.getMinWidth()) - style.background.getLeftWidth()
 					- style.background.getRightWidth();
 			}
-			layout.setText(cache.getFont(), text, Color.WHITE, width, Align.left, true);
-		} else
+			if (layoutCache != null)
+				layout = layoutCache.get(cache.getFont(), text, Color.WHITE, width, Align.left, true);
+			else
+				layout.setText(cache.getFont(), text, Color.WHITE, width, Align.left, true);
+		} else if (layoutCache != null)
+			layout = layoutCache.get(cache.getFont(), text);
+		else
 			layout.setText(cache.getFont(), text);
 		prefWidth = layout.width;
 		prefHeight = layout.height;
@@ -189,11 +197,11 @@ public class Label extends Widget implements Styleable<Label.LabelStyle> {
 			height -= background.getBottomHeight() + background.getTopHeight();
 		}
 
-		GlyphLayout layout = this.layout;
+		GlyphLayout layout;
 		float textWidth, textHeight;
 		if (wrap || text.indexOf("\n") != -1) {
 			// If the text can span multiple lines, determine the text's actual size so it can be aligned within the label.
-			layout.setText(font, text, 0, text.size, Color.WHITE, width, lineAlign, wrap, ellipsis);
+			layout = layoutText(font, width, wrap);
 			textWidth = layout.width;
 			textHeight = layout.height;
 
@@ -219,12 +227,20 @@ public class Label extends Widget implements Styleable<Label.LabelStyle> {
 		}
 		if (!cache.getFont().isFlipped()) y += textHeight;
 
-		layout.setText(font, text, 0, text.size, Color.WHITE, textWidth, lineAlign, wrap, ellipsis);
+		layout = layoutText(font, textWidth, wrap);
 		cache.setText(layout, x, y);
 
 		if (fontScaleChanged) font.getData().setScale(oldScaleX, oldScaleY);
 	}
 
+	private GlyphLayout layoutText (BitmapFont font, float width, boolean wrap) {
+		if (layoutCache != null)
+			return cachedLayout = layoutCache.get(font, text, 0, text.size, Color.WHITE, width, lineAlign, wrap, ellipsis);
+		cachedLayout = null;
+		layout.setText(font, text, 0, text.size, Color.WHITE, width, lineAlign, wrap, ellipsis);
+		return layout;
+	}
+
 	public void draw (Batch batch, float parentAlpha) {
 		validate();
 		Color color = tempColor.set(getColor());
@@ -260,8 +276,23 @@ public class Label extends Widget implements Styleable<Label.LabelStyle> {
 		return height;
 	}
 
+	/** Returns the layout of the text. When a {@link #setLayoutCache(GlyphLayoutCache) layout cache} is used, the layout is
+	 * shared and must not be modified. */
 	public GlyphLayout getGlyphLayout () {
-		return layout;
+		return cachedLayout != null ? cachedLayout : layout;
+	}
+
+	/** Sets the cache used to reuse layouts of text that was laid out before, so labels showing the same text often don't lay it
+	 * out each time. The cache can be shared by many labels.
+	 * @param layoutCache May be null to lay out the text each time it changes. */
+	public void setLayoutCache (@Null GlyphLayoutCache layoutCache) {
+		this.layoutCache = layoutCache;
+		cachedLayout = null;
+		invalidateHierarchy();
+	}
+
+	public @Null GlyphLayoutCache getLayoutCache () {
+		return layoutCache;
 	}
 
 	/** If false, the text will only wrap where it contains newlines (\n). The preferred size of the label will be the text bounds.
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** A pool of byte buffers of varying capacities. Buffers are allocated with a power of two capacity so they can be reused for
+ * requests of similar sizes. This class is thread safe, so buffers can be obtained and freed on different threads. */
+public class ByteBufferPool {
+	/** The maximum number of buffers that will be pooled. */
+	public final int max;
+	/** The highest number of free buffers. Can be reset any time. */
+	public int peak;
+
+	private final boolean direct;
+	private final Array<ByteBuffer> freeBuffers;
+
+	/** Creates a pool of heap buffers with no maximum. */
+	public ByteBufferPool () {
+		this(false, Integer.MAX_VALUE);
+	}
+
+	/** @param direct If true, {@link ByteBuffer#allocateDirect(int) direct} buffers are allocated.
+	 * @param max The maximum number of free buffers to store in this pool. */
+	public ByteBufferPool (boolean direct, int max) {
+		this.direct = direct;
+		this.max = max;
+		freeBuffers = new Array<ByteBuffer>(false, 16, ByteBuffer[]::new);
+	}
+
+	/** Returns the smallest free buffer with at least the specified capacity, or a new buffer. The buffer's position is 0 and its
+	 * limit is the specified capacity. */
+	public synchronized ByteBuffer obtain (int capacity) {
+		ByteBuffer[] buffers = freeBuffers.items;
+		int best = -1;
+		for (int i = 0, n = freeBuffers.size; i < n; i++) {
+			int bufferCapacity = buffers[i].capacity();
+			if (bufferCapacity >= capacity && (best == -1 || bufferCapacity < buffers[best].capacity())) {
+				best = i;
+				if (bufferCapacity == capacity) break;
+			}
+		}
+		ByteBuffer buffer;
+		if (best != -1)
+			buffer = freeBuffers.removeIndex(best);
+		else {
+			int allocate = MathUtils.nextPowerOfTwo(Math.max(capacity, 16));
+			buffer = direct ? ByteBuffer.allocateDirect(allocate) : ByteBuffer.allocate(allocate);
+		}
+		buffer.clear();
+		buffer.limit(capacity);
+		return buffer;
+	}
+
+	/** Puts the buffer in the pool, making it eligible to be returned by {@link #obtain(int)}. If the pool already contains
+	 * {@link #max} free buffers, the buffer is not added.
+	 * <p>
+	 * The pool does not check if a buffer is already freed, so the same buffer must not be freed multiple times. */
+	public synchronized void free (ByteBuffer buffer) {
+		if (buffer == null) throw new IllegalArgumentException("buffer cannot be null.");
+		if (freeBuffers.size < max) {
+			freeBuffers.add(buffer);
+			peak = Math.max(peak, freeBuffers.size);
+		}
+	}
+
+	/** Removes all free buffers. */
+	public synchronized void clear () {
+		freeBuffers.clear();
+	}
+
+	/** The number of buffers available to be obtained. */
+	public synchronized int getFree () {
+		return freeBuffers.size;
+	}
+}
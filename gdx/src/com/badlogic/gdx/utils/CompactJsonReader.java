@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Arrays;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.CompactJsonValue.Tree;
+
+/** Parses JSON into a read-only {@link CompactJsonValue} DOM, which stores the whole tree in a few primitive arrays rather than
+ * a {@link JsonValue} object per value. This uses much less memory and is faster to build for large documents that are only
+ * read after parsing. Names and string values are interned, so repeated keys are stored once. */
+public class CompactJsonReader {
+	private final Builder builder = new Builder();
+
+	/** @return May be null if the JSON is empty. */
+	public @Null CompactJsonValue parse (String json) {
+		builder.parse(json);
+		return builder.finish();
+	}
+
+	/** @return May be null if the JSON is empty. */
+	public @Null CompactJsonValue parse (Reader reader) {
+		builder.parse(reader);
+		return builder.finish();
+	}
+
+	/** @return May be null if the JSON is empty. */
+	public @Null CompactJsonValue parse (InputStream input) {
+		builder.parse(input);
+		return builder.finish();
+	}
+
+	/** @return May be null if the JSON is empty. */
+	public @Null CompactJsonValue parse (FileHandle file) {
+		builder.parse(file);
+		return builder.finish();
+	}
+
+	/** @return May be null if the JSON is empty. */
+	public @Null CompactJsonValue parse (char[] data, int offset, int length) {
+		builder.parse(data, offset, length);
+		return builder.finish();
+	}
+
+	/** Returns a compact copy of the specified value and its descendants. The value's siblings and parent are not copied. */
+	public CompactJsonValue compact (JsonValue value) {
+		builder.add(value, value.name);
+		return builder.finish();
+	}
+
+	/** Receives the parse events from JsonReader and appends them to growable arrays. */
+	static private class Builder extends JsonReader {
+		byte[] types = new byte[64];
+		int[] names = new int[64], parents = new int[64], nexts = new int[64], sizes = new int[64];
+		long[] values = new long[64];
+		int count;
+		final Array<String> strings = new Array<String>(String[]::new);
+		final ObjectIntMap<String> stringIndices = new ObjectIntMap();
+		/** The open arrays and objects and the last child added to each. */
+		final IntArray stack = new IntArray(), lastChild = new IntArray();
+
+		public JsonValue parse (char[] data, int offset, int length) {
+			try {
+				super.parse(data, offset, length);
+			} catch (RuntimeException ex) {
+				reset();
+				throw ex;
+			}
+			if (stack.size != 0) {
+				boolean object = types[stack.peek()] == Tree.OBJECT;
+				reset();
+				throw new SerializationException("Error parsing JSON, unmatched " + (object ? "brace." : "bracket."));
+			}
+			return null;
+		}
+
+		@Null
+		CompactJsonValue finish () {
+			if (count == 0) {
+				reset();
+				return null;
+			}
+			int n = count;
+			Tree tree = new Tree(Arrays.copyOf(types, n), Arrays.copyOf(names, n), Arrays.copyOf(parents, n),
+				Arrays.copyOf(nexts, n), Arrays.copyOf(sizes, n), Arrays.copyOf(values, n), strings.toArray());
+			reset();
+			return new CompactJsonValue(tree, 0);
+		}
+
+		void reset () {
+			count = 0;
+			strings.clear();
+			stringIndices.clear();
+			stack.clear();
+			lastChild.clear();
+			if (types.length > 1024) {
+				types = new byte[64];
+				names = new int[64];
+				parents = new int[64];
+				nexts = new int[64];
+				sizes = new int[64];
+				values = new long[64];
+			}
+		}
+
+		void add (JsonValue value, @Null String name) {
+			switch (value.type()) {
+			case object:
+				startObject(name);
+				break;
+			case array:
+				startArray(name);
+				break;
+			case stringValue:
+				string(name, value.asString());
+				return;
+			case doubleValue:
+				add(Tree.DOUBLE, name, Double.doubleToLongBits(value.asDouble()));
+				return;
+			case longValue:
+				add(Tree.LONG, name, value.asLong());
+				return;
+			case booleanValue:
+				bool(name, value.asBoolean());
+				return;
+			case nullValue:
+				add(Tree.NULL, name, 0);
+				return;
+			}
+			for (JsonValue child = value.child; child != null; child = child.next)
+				add(child, child.name);
+			pop();
+		}
+
+		private int add (byte type, @Null String name, long value) {
+			int i = count++;
+			if (i == types.length) {
+				int capacity = i << 1;
+				types = Arrays.copyOf(types, capacity);
+				names = Arrays.copyOf(names, capacity);
+				parents = Arrays.copyOf(parents, capacity);
+				nexts = Arrays.copyOf(nexts, capacity);
+				sizes = Arrays.copyOf(sizes, capacity);
+				values = Arrays.copyOf(values, capacity);
+			}
+			types[i] = type;
+			names[i] = name == null ? -1 : intern(name);
+			nexts[i] = -1;
+			sizes[i] = 0;
+			values[i] = value;
+			if (stack.size == 0)
+				parents[i] = -1;
+			else {
+				int parent = stack.peek();
+				parents[i] = parent;
+				sizes[parent]++;
+				int last = lastChild.peek();
+				if (last != -1) nexts[last] = i;
+				lastChild.items[lastChild.size - 1] = i;
+			}
+			return i;
+		}
+
+		private int intern (String value) {
+			int index = stringIndices.get(value, -1);
+			if (index == -1) {
+				index = strings.size;
+				strings.add(value);
+				stringIndices.put(value, index);
+			}
+			return index;
+		}
+
+		protected void startObject (@Null String name) {
+			stack.add(add(Tree.OBJECT, name, 0));
+			lastChild.add(-1);
+		}
+
+		protected void startArray (@Null String name) {
+			stack.add(add(Tree.ARRAY, name, 0));
+			lastChild.add(-1);
+		}
+
+		protected void pop () {
+			stack.pop();
+			lastChild.pop();
+		}
+
+		protected void string (@Null String name, @Null String value) {
+			if (value == null)
+				add(Tree.NULL, name, 0);
+			else
+				add(Tree.STRING, name, intern(value));
+		}
+
+		protected void number (@Null String name, double value, String stringValue) {
+			add(Tree.DOUBLE, name, Double.doubleToLongBits(value));
+		}
+
+		protected void number (@Null String name, long value, String stringValue) {
+			add(Tree.LONG, name, value);
+		}
+
+		protected void bool (@Null String name, boolean value) {
+			add(Tree.BOOLEAN, name, value ? 1 : 0);
+		}
+	}
+}
@@ -0,0 +1,659 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+
+/** A read-only JSON value backed by a flat representation of the whole tree, created by {@link CompactJsonReader}. Instead of a
+ * {@link JsonValue} object per value, the tree is stored in parallel primitive arrays in depth first order and names and string
+ * values are interned in a string table, which uses a fraction of the memory for large documents.
+ * <p>
+ * The navigation and conversion methods mirror {@link JsonValue}. Navigating returns a new lightweight view object, which is
+ * equal to other views of the same value. Unlike JsonValue, the original text of numbers is not kept, so {@link #asString()}
+ * for a number returns {@link Long#toString(long)} or {@link Double#toString(double)}. */
+public class CompactJsonValue implements Iterable<CompactJsonValue> {
+	/** The value type for each {@link Tree} type constant, indexed by the constant. */
+	static private final ValueType[] valueTypes = {ValueType.object, ValueType.array, ValueType.stringValue, ValueType.doubleValue,
+		ValueType.longValue, ValueType.booleanValue, ValueType.nullValue};
+
+	final Tree tree;
+	final int index;
+
+	CompactJsonValue (Tree tree, int index) {
+		this.tree = tree;
+		this.index = index;
+	}
+
+	public ValueType type () {
+		return valueTypes[tree.types[index]];
+	}
+
+	public boolean isArray () {
+		return tree.types[index] == Tree.ARRAY;
+	}
+
+	public boolean isObject () {
+		return tree.types[index] == Tree.OBJECT;
+	}
+
+	public boolean isString () {
+		return tree.types[index] == Tree.STRING;
+	}
+
+	/** Returns true if this is a double or long value. */
+	public boolean isNumber () {
+		byte type = tree.types[index];
+		return type == Tree.DOUBLE || type == Tree.LONG;
+	}
+
+	public boolean isDouble () {
+		return tree.types[index] == Tree.DOUBLE;
+	}
+
+	public boolean isLong () {
+		return tree.types[index] == Tree.LONG;
+	}
+
+	public boolean isBoolean () {
+		return tree.types[index] == Tree.BOOLEAN;
+	}
+
+	public boolean isNull () {
+		return tree.types[index] == Tree.NULL;
+	}
+
+	/** Returns true if this is not an array or object. */
+	public boolean isValue () {
+		byte type = tree.types[index];
+		return type != Tree.OBJECT && type != Tree.ARRAY;
+	}
+
+	/** Returns the name for this object value.
+	 * @return May be null. */
+	public @Null String name () {
+		int name = tree.names[index];
+		return name == -1 ? null : tree.strings[name];
+	}
+
+	public boolean nameEquals (String value) {
+		int name = tree.names[index];
+		return name == -1 ? value == null : tree.strings[name].equals(value);
+	}
+
+	public boolean equalsString (String value) {
+		String string = asString();
+		return string == null ? value == null : string.equals(value);
+	}
+
+	/** Returns the number of children of this array or object. */
+	public int size () {
+		return tree.sizes[index];
+	}
+
+	public boolean notEmpty () {
+		return tree.sizes[index] > 0;
+	}
+
+	public boolean isEmpty () {
+		return tree.sizes[index] == 0;
+	}
+
+	/** @return May be null. */
+	public @Null CompactJsonValue parent () {
+		int parent = tree.parents[index];
+		return parent == -1 ? null : new CompactJsonValue(tree, parent);
+	}
+
+	/** Returns the first child for an array or object.
+	 * @return May be null. */
+	public @Null CompactJsonValue child () {
+		// Children are stored directly after their parent.
+		return tree.sizes[index] == 0 ? null : new CompactJsonValue(tree, index + 1);
+	}
+
+	/** Returns the last child for an array or object. This requires walking the children.
+	 * @return May be null. */
+	public @Null CompactJsonValue last () {
+		int i = lastIndex();
+		return i == -1 ? null : new CompactJsonValue(tree, i);
+	}
+
+	/** Returns the next sibling of this value.
+	 * @return May be null. */
+	public @Null CompactJsonValue next () {
+		int next = tree.nexts[index];
+		return next == -1 ? null : new CompactJsonValue(tree, next);
+	}
+
+	/** Returns the previous sibling of this value. This requires walking the siblings.
+	 * @return May be null. */
+	public @Null CompactJsonValue prev () {
+		int parent = tree.parents[index];
+		if (parent == -1 || parent + 1 == index) return null;
+		int[] nexts = tree.nexts;
+		int i = parent + 1;
+		while (nexts[i] != index)
+			i = nexts[i];
+		return new CompactJsonValue(tree, i);
+	}
+
+	/** Returns the child at the specified index. This requires walking the children.
+	 * @return May be null. */
+	public @Null CompactJsonValue get (int index) {
+		int i = childIndex(index);
+		return i == -1 ? null : new CompactJsonValue(tree, i);
+	}
+
+	/** Returns the child with the specified name.
+	 * @return May be null. */
+	public @Null CompactJsonValue get (String name) {
+		int i = childIndex(name);
+		return i == -1 ? null : new CompactJsonValue(tree, i);
+	}
+
+	/** Returns the child with the specified name, ignoring case.
+	 * @return May be null. */
+	public @Null CompactJsonValue getIgnoreCase (String name) {
+		Tree tree = this.tree;
+		if (tree.sizes[index] == 0) return null;
+		for (int i = index + 1; i != -1; i = tree.nexts[i]) {
+			int n = tree.names[i];
+			if (n != -1 && tree.strings[n].equalsIgnoreCase(name)) return new CompactJsonValue(tree, i);
+		}
+		return null;
+	}
+
+	/** Returns true if a child with the specified name exists. */
+	public boolean has (String name) {
+		return childIndex(name) != -1;
+	}
+
+	/** Returns the child at the specified index.
+	 * @throws IllegalArgumentException if the child was not found. */
+	public CompactJsonValue require (int index) {
+		CompactJsonValue current = get(index);
+		if (current == null) throw new IllegalArgumentException("Child not found with index: " + index);
+		return current;
+	}
+
+	/** Returns the child with the specified name.
+	 * @throws IllegalArgumentException if the child was not found. */
+	public CompactJsonValue require (String name) {
+		CompactJsonValue current = get(name);
+		if (current == null) throw new IllegalArgumentException("Child not found with name: " + name);
+		return current;
+	}
+
+	/** Returns true if a child with the specified name exists and has a child. */
+	public boolean hasChild (String name) {
+		int i = childIndex(name);
+		return i != -1 && tree.sizes[i] > 0;
+	}
+
+	/** Finds the child with the specified name and returns its first child.
+	 * @return May be null. */
+	public @Null CompactJsonValue getChild (String name) {
+		int i = childIndex(name);
+		return i == -1 || tree.sizes[i] == 0 ? null : new CompactJsonValue(tree, i + 1);
+	}
+
+	/** Returns this value as a string.
+	 * @return May be null if this value is null.
+	 * @throws IllegalStateException if this is an array or object. */
+	public @Null String asString () {
+		return tree.asString(index);
+	}
+
+	/** @throws IllegalStateException if this is an array or object. */
+	public float asFloat () {
+		return tree.asFloat(index);
+	}
+
+	/** @throws IllegalStateException if this is an array or object. */
+	public double asDouble () {
+		return tree.asDouble(index);
+	}
+
+	/** @throws IllegalStateException if this is an array or object. */
+	public long asLong () {
+		return tree.asLong(index);
+	}
+
+	/** @throws IllegalStateException if this is an array or object. */
+	public int asInt () {
+		return tree.asInt(index);
+	}
+
+	/** @throws IllegalStateException if this is an array or object. */
+	public boolean asBoolean () {
+		return tree.asBoolean(index);
+	}
+
+	/** Returns the children of this value as a newly allocated String array.
+	 * @throws IllegalStateException if this is not an array. */
+	public String[] asStringArray () {
+		checkArray();
+		String[] array = new String[tree.sizes[index]];
+		for (int i = index + 1, ii = 0; ii < array.length; i = tree.nexts[i], ii++)
+			array[ii] = tree.asString(i);
+		return array;
+	}
+
+	/** Returns the children of this value as a newly allocated float array.
+	 * @throws IllegalStateException if this is not an array. */
+	public float[] asFloatArray () {
+		checkArray();
+		float[] array = new float[tree.sizes[index]];
+		for (int i = index + 1, ii = 0; ii < array.length; i = tree.nexts[i], ii++)
+			array[ii] = tree.asFloat(i);
+		return array;
+	}
+
+	/** Returns the children of this value as a newly allocated double array.
+	 * @throws IllegalStateException if this is not an array. */
+	public double[] asDoubleArray () {
+		checkArray();
+		double[] array = new double[tree.sizes[index]];
+		for (int i = index + 1, ii = 0; ii < array.length; i = tree.nexts[i], ii++)
+			array[ii] = tree.asDouble(i);
+		return array;
+	}
+
+	/** Returns the children of this value as a newly allocated long array.
+	 * @throws IllegalStateException if this is not an array. */
+	public long[] asLongArray () {
+		checkArray();
+		long[] array = new long[tree.sizes[index]];
+		for (int i = index + 1, ii = 0; ii < array.length; i = tree.nexts[i], ii++)
+			array[ii] = tree.asLong(i);
+		return array;
+	}
+
+	/** Returns the children of this value as a newly allocated int array.
+	 * @throws IllegalStateException if this is not an array. */
+	public int[] asIntArray () {
+		checkArray();
+		int[] array = new int[tree.sizes[index]];
+		for (int i = index + 1, ii = 0; ii < array.length; i = tree.nexts[i], ii++)
+			array[ii] = tree.asInt(i);
+		return array;
+	}
+
+	/** Returns the children of this value as a newly allocated boolean array.
+	 * @throws IllegalStateException if this is not an array. */
+	public boolean[] asBooleanArray () {
+		checkArray();
+		boolean[] array = new boolean[tree.sizes[index]];
+		for (int i = index + 1, ii = 0; ii < array.length; i = tree.nexts[i], ii++)
+			array[ii] = tree.asBoolean(i);
+		return array;
+	}
+
+	/** Finds the child with the specified name and returns it as a string. Returns defaultValue if not found.
+	 * @param defaultValue May be null. */
+	public String getString (String name, @Null String defaultValue) {
+		int i = valueIndex(name);
+		return i == -1 ? defaultValue : tree.asString(i);
+	}
+
+	/** Finds the child with the specified name and returns it as a float. Returns defaultValue if not found. */
+	public float getFloat (String name, float defaultValue) {
+		int i = valueIndex(name);
+		return i == -1 ? defaultValue : tree.asFloat(i);
+	}
+
+	/** Finds the child with the specified name and returns it as a double. Returns defaultValue if not found. */
+	public double getDouble (String name, double defaultValue) {
+		int i = valueIndex(name);
+		return i == -1 ? defaultValue : tree.asDouble(i);
+	}
+
+	/** Finds the child with the specified name and returns it as a long. Returns defaultValue if not found. */
+	public long getLong (String name, long defaultValue) {
+		int i = valueIndex(name);
+		return i == -1 ? defaultValue : tree.asLong(i);
+	}
+
+	/** Finds the child with the specified name and returns it as an int. Returns defaultValue if not found. */
+	public int getInt (String name, int defaultValue) {
+		int i = valueIndex(name);
+		return i == -1 ? defaultValue : tree.asInt(i);
+	}
+
+	/** Finds the child with the specified name and returns it as a boolean. Returns defaultValue if not found. */
+	public boolean getBoolean (String name, boolean defaultValue) {
+		int i = valueIndex(name);
+		return i == -1 ? defaultValue : tree.asBoolean(i);
+	}
+
+	/** Finds the child with the specified name and returns it as a string.
+	 * @throws IllegalArgumentException if the child was not found. */
+	public String getString (String name) {
+		return tree.asString(requireIndex(name));
+	}
+
+	/** Finds the child with the specified name and returns it as a float.
+	 * @throws IllegalArgumentException if the child was not found. */
+	public float getFloat (String name) {
+		return tree.asFloat(requireIndex(name));
+	}
+
+	/** Finds the child with the specified name and returns it as a double.
+	 * @throws IllegalArgumentException if the child was not found. */
+	public double getDouble (String name) {
+		return tree.asDouble(requireIndex(name));
+	}
+
+	/** Finds the child with the specified name and returns it as a long.
+	 * @throws IllegalArgumentException if the child was not found. */
+	public long getLong (String name) {
+		return tree.asLong(requireIndex(name));
+	}
+
+	/** Finds the child with the specified name and returns it as an int.
+	 * @throws IllegalArgumentException if the child was not found. */
+	public int getInt (String name) {
+		return tree.asInt(requireIndex(name));
+	}
+
+	/** Finds the child with the specified name and returns it as a boolean.
+	 * @throws IllegalArgumentException if the child was not found. */
+	public boolean getBoolean (String name) {
+		return tree.asBoolean(requireIndex(name));
+	}
+
+	/** Finds the child with the specified index and returns it as a string.
+	 * @throws IllegalArgumentException if the child was not found. */
+	public String getString (int index) {
+		return tree.asString(requireIndex(index));
+	}
+
+	/** Finds the child with the specified index and returns it as a float.
+	 * @throws IllegalArgumentException if the child was not found. */
+	public float getFloat (int index) {
+		return tree.asFloat(requireIndex(index));
+	}
+
+	/** Finds the child with the specified index and returns it as a double.
+	 * @throws IllegalArgumentException if the child was not found. */
+	public double getDouble (int index) {
+		return tree.asDouble(requireIndex(index));
+	}
+
+	/** Finds the child with the specified index and returns it as a long.
+	 * @throws IllegalArgumentException if the child was not found. */
+	public long getLong (int index) {
+		return tree.asLong(requireIndex(index));
+	}
+
+	/** Finds the child with the specified index and returns it as an int.
+	 * @throws IllegalArgumentException if the child was not found. */
+	public int getInt (int index) {
+		return tree.asInt(requireIndex(index));
+	}
+
+	/** Finds the child with the specified index and returns it as a boolean.
+	 * @throws IllegalArgumentException if the child was not found. */
+	public boolean getBoolean (int index) {
+		return tree.asBoolean(requireIndex(index));
+	}
+
+	/** Returns a new {@link JsonValue} tree for this value and its descendants. */
+	public JsonValue toJsonValue () {
+		Tree tree = this.tree;
+		JsonValue value;
+		switch (tree.types[index]) {
+		case Tree.OBJECT:
+			value = new JsonValue(ValueType.object);
+			break;
+		case Tree.ARRAY:
+			value = new JsonValue(ValueType.array);
+			break;
+		case Tree.STRING:
+			value = new JsonValue(tree.strings[(int)tree.values[index]]);
+			break;
+		case Tree.DOUBLE:
+			value = new JsonValue(tree.asDouble(index));
+			break;
+		case Tree.LONG:
+			value = new JsonValue(tree.values[index]);
+			break;
+		case Tree.BOOLEAN:
+			value = new JsonValue(tree.values[index] != 0);
+			break;
+		default:
+			value = new JsonValue(ValueType.nullValue);
+		}
+		value.name = name();
+		if (tree.sizes[index] > 0) {
+			for (int i = index + 1; i != -1; i = tree.nexts[i])
+				value.addChild(new CompactJsonValue(tree, i).toJsonValue());
+		}
+		return value;
+	}
+
+	public String toJson (OutputType outputType) {
+		return toJsonValue().toJson(outputType);
+	}
+
+	/** Iterates the children of this array or object. */
+	public Iterator<CompactJsonValue> iterator () {
+		return new Iterator<CompactJsonValue>() {
+			int next = tree.sizes[index] == 0 ? -1 : index + 1;
+
+			public boolean hasNext () {
+				return next != -1;
+			}
+
+			public CompactJsonValue next () {
+				if (next == -1) throw new NoSuchElementException();
+				CompactJsonValue value = new CompactJsonValue(tree, next);
+				next = tree.nexts[next];
+				return value;
+			}
+
+			public void remove () {
+				throw new UnsupportedOperationException("CompactJsonValue is read-only.");
+			}
+		};
+	}
+
+	public int hashCode () {
+		return System.identityHashCode(tree) * 31 + index;
+	}
+
+	public boolean equals (Object object) {
+		if (!(object instanceof CompactJsonValue)) return false;
+		CompactJsonValue other = (CompactJsonValue)object;
+		return other.tree == tree && other.index == index;
+	}
+
+	public String toString () {
+		return toJsonValue().toString();
+	}
+
+	private int childIndex (int index) {
+		Tree tree = this.tree;
+		if (index < 0 || index >= tree.sizes[this.index]) return -1;
+		int i = this.index + 1;
+		for (; index > 0; index--)
+			i = tree.nexts[i];
+		return i;
+	}
+
+	private int childIndex (String name) {
+		Tree tree = this.tree;
+		if (tree.sizes[index] == 0) return -1;
+		for (int i = index + 1; i != -1; i = tree.nexts[i]) {
+			int n = tree.names[i];
+			if (n != -1 && tree.strings[n].equals(name)) return i;
+		}
+		return -1;
+	}
+
+	private int lastIndex () {
+		Tree tree = this.tree;
+		if (tree.sizes[index] == 0) return -1;
+		int i = index + 1;
+		while (tree.nexts[i] != -1)
+			i = tree.nexts[i];
+		return i;
+	}
+
+	/** Returns the index of the named child if it is a non-null value, else -1. */
+	private int valueIndex (String name) {
+		int i = childIndex(name);
+		if (i == -1) return -1;
+		byte type = tree.types[i];
+		return type == Tree.OBJECT || type == Tree.ARRAY || type == Tree.NULL ? -1 : i;
+	}
+
+	private int requireIndex (String name) {
+		int i = childIndex(name);
+		if (i == -1) throw new IllegalArgumentException("Named value not found: " + name);
+		return i;
+	}
+
+	private int requireIndex (int index) {
+		int i = childIndex(index);
+		if (i == -1) throw new IllegalArgumentException("Indexed value not found: " + index);
+		return i;
+	}
+
+	private void checkArray () {
+		if (tree.types[index] != Tree.ARRAY) throw new IllegalStateException("Value is not an array: " + type());
+	}
+
+	/** The values of a JSON document in depth first order. Each value's children directly follow it. */
+	static class Tree {
+		/** Types stored in {@link #types}, mapped to a {@link ValueType} by {@link CompactJsonValue#valueTypes}. */
+		static final byte OBJECT = 0, ARRAY = 1, STRING = 2, DOUBLE = 3, LONG = 4, BOOLEAN = 5, NULL = 6;
+
+		final byte[] types;
+		/** Index into {@link #strings}, or -1. */
+		final int[] names;
+		/** Index of the parent and next sibling, or -1. */
+		final int[] parents, nexts;
+		/** Number of children. */
+		final int[] sizes;
+		/** Long value, double bits, 0 or 1 for booleans, or index into {@link #strings}. */
+		final long[] values;
+		final String[] strings;
+
+		Tree (byte[] types, int[] names, int[] parents, int[] nexts, int[] sizes, long[] values, String[] strings) {
+			this.types = types;
+			this.names = names;
+			this.parents = parents;
+			this.nexts = nexts;
+			this.sizes = sizes;
+			this.values = values;
+			this.strings = strings;
+		}
+
+		@Null
+		String asString (int i) {
+			long value = values[i];
+			switch (types[i]) {
+			case STRING:
+				return strings[(int)value];
+			case DOUBLE:
+				return Double.toString(Double.longBitsToDouble(value));
+			case LONG:
+				return Long.toString(value);
+			case BOOLEAN:
+				return value != 0 ? "true" : "false";
+			case NULL:
+				return null;
+			}
+			throw new IllegalStateException("Value cannot be converted to string: " + valueTypes[types[i]]);
+		}
+
+		float asFloat (int i) {
+			long value = values[i];
+			switch (types[i]) {
+			case STRING:
+				return Float.parseFloat(strings[(int)value]);
+			case DOUBLE:
+				return (float)Double.longBitsToDouble(value);
+			case LONG:
+			case BOOLEAN:
+				return value;
+			}
+			throw new IllegalStateException("Value cannot be converted to float: " + valueTypes[types[i]]);
+		}
+
+		double asDouble (int i) {
+			long value = values[i];
+			switch (types[i]) {
+			case STRING:
+				return Double.parseDouble(strings[(int)value]);
+			case DOUBLE:
+				return Double.longBitsToDouble(value);
+			case LONG:
+			case BOOLEAN:
+				return value;
+			}
+			throw new IllegalStateException("Value cannot be converted to double: " + valueTypes[types[i]]);
+		}
+
+		long asLong (int i) {
+			long value = values[i];
+			switch (types[i]) {
+			case STRING:
+				return Long.parseLong(strings[(int)value]);
+			case DOUBLE:
+				return (long)Double.longBitsToDouble(value);
+			case LONG:
+			case BOOLEAN:
+				return value;
+			}
+			throw new IllegalStateException("Value cannot be converted to long: " + valueTypes[types[i]]);
+		}
+
+		int asInt (int i) {
+			long value = values[i];
+			switch (types[i]) {
+			case STRING:
+				return Integer.parseInt(strings[(int)value]);
+			case DOUBLE:
+				return (int)Double.longBitsToDouble(value);
+			case LONG:
+			case BOOLEAN:
+				return (int)value;
+			}
+			throw new IllegalStateException("Value cannot be converted to int: " + valueTypes[types[i]]);
+		}
+
+		boolean asBoolean (int i) {
+			long value = values[i];
+			switch (types[i]) {
+			case STRING:
+				return strings[(int)value].equalsIgnoreCase("true");
+			case DOUBLE:
+				return Double.longBitsToDouble(value) != 0;
+			case LONG:
+			case BOOLEAN:
+				return value != 0;
+			}
+			throw new IllegalStateException("Value cannot be converted to boolean: " + valueTypes[types[i]]);
+		}
+	}
+}
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** A thread-safe map that splits its entries across a number of {@link ObjectMap} segments, each guarded by its own lock. Threads
+ * that access keys in different segments don't contend, so many threads can read and write at the same time, unlike wrapping a
+ * single ObjectMap in a synchronized block. Each segment uses the same linear probing tables as ObjectMap and no allocation is
+ * done by get, put or remove except when a segment grows its table.
+ * <p>
+ * The segment for a key is chosen from bits of the hashcode that ObjectMap doesn't use to place the key in its table, so each
+ * segment's table is evenly filled. Methods that look at the whole map, such as {@link #size()} or {@link #copyTo(ObjectMap)},
+ * visit the segments one at a time and are not atomic when other threads modify the map.
+ * <p>
+ * Null keys are not allowed. Null values are allowed, but {@link #get(Object)} returns null both for null values and missing
+ * keys. */
+public class ConcurrentObjectMap<K, V> {
+	final ObjectMap<K, V>[] segments;
+	final int segmentMask;
+
+	/** Creates a new map with an initial capacity of 51, a load factor of 0.8 and 16 segments. */
+	public ConcurrentObjectMap () {
+		this(51, 0.8f, 16);
+	}
+
+	/** Creates a new map with a load factor of 0.8 and 16 segments.
+	 * @param initialCapacity The number of items the whole map can hold before a segment is likely to grow. */
+	public ConcurrentObjectMap (int initialCapacity) {
+		this(initialCapacity, 0.8f, 16);
+	}
+
+	/** @param initialCapacity The number of items the whole map can hold before a segment is likely to grow.
+	 * @param concurrencyLevel The number of threads expected to modify the map at the same time. The number of segments is this
+	 *           value rounded up to the next power of two. */
+	public ConcurrentObjectMap (int initialCapacity, float loadFactor, int concurrencyLevel) {
+		if (concurrencyLevel < 1) throw new IllegalArgumentException("concurrencyLevel must be > 0: " + concurrencyLevel);
+		int segmentCount = MathUtils.nextPowerOfTwo(concurrencyLevel);
+		int segmentCapacity = Math.max(1, (initialCapacity + segmentCount - 1) / segmentCount);
+		segments = new ObjectMap[segmentCount];
+		for (int i = 0; i < segmentCount; i++)
+			segments[i] = new ObjectMap(segmentCapacity, loadFactor);
+		segmentMask = segmentCount - 1;
+	}
+
+	/** Returns the segment for the specified key. This mixes the hashcode and uses the low bits, while ObjectMap places keys
+	 * using the high bits of a Fibonacci hash. */
+	ObjectMap<K, V> segment (Object key) {
+		int h = key.hashCode();
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		return segments[h & segmentMask];
+	}
+
+	/** Returns the old value associated with the specified key, or null. */
+	public @Null V put (K key, @Null V value) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		ObjectMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.put(key, value);
+		}
+	}
+
+	/** Puts the value only if the key is not already in the map.
+	 * @return The existing value for the key, or null if the value was put. */
+	public @Null V putIfAbsent (K key, @Null V value) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		ObjectMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			if (segment.containsKey(key)) return segment.get(key);
+			segment.put(key, value);
+			return null;
+		}
+	}
+
+	/** Adds all the entries of the specified map. Each entry is put atomically, but not the map as a whole. */
+	public void putAll (ObjectMap<? extends K, ? extends V> map) {
+		for (ObjectMap.Entry<? extends K, ? extends V> entry : map.entries())
+			put(entry.key, entry.value);
+	}
+
+	/** Returns the value for the specified key, or null if the key is not in the map. */
+	public @Null V get (K key) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		ObjectMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.get(key);
+		}
+	}
+
+	/** Returns the value for the specified key, or the default value if the key is not in the map. */
+	public V get (K key, @Null V defaultValue) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		ObjectMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.get(key, defaultValue);
+		}
+	}
+
+	/** Returns the value for the removed key, or null if the key is not in the map. */
+	public @Null V remove (K key) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		ObjectMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.remove(key);
+		}
+	}
+
+	/** Removes the key only if it is currently mapped to the specified value.
+	 * @param identity If true, == comparison is used for the value, otherwise equals() is used.
+	 * @return true if the entry was removed. */
+	public boolean remove (K key, @Null V value, boolean identity) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		ObjectMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			if (!segment.containsKey(key)) return false;
+			V current = segment.get(key);
+			if (identity ? current != value : current == null ? value != null : !current.equals(value)) return false;
+			segment.remove(key);
+			return true;
+		}
+	}
+
+	/** Replaces the value only if the key is currently mapped to the expected value.
+	 * @param identity If true, == comparison is used for the value, otherwise equals() is used.
+	 * @return true if the value was replaced. */
+	public boolean replace (K key, @Null V expected, @Null V value, boolean identity) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		ObjectMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			if (!segment.containsKey(key)) return false;
+			V current = segment.get(key);
+			if (identity ? current != expected : current == null ? expected != null : !current.equals(expected)) return false;
+			segment.put(key, value);
+			return true;
+		}
+	}
+
+	public boolean containsKey (K key) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		ObjectMap<K, V> segment = segment(key);
+		synchronized (segment) {
+			return segment.containsKey(key);
+		}
+	}
+
+	/** Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may
+	 * be an expensive operation.
+	 * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+	 *           {@link #equals(Object)}. */
+	public boolean containsValue (@Null Object value, boolean identity) {
+		for (ObjectMap<K, V> segment : segments) {
+			synchronized (segment) {
+				if (segment.containsValue(value, identity)) return true;
+			}
+		}
+		return false;
+	}
+
+	/** Returns the number of entries. This is not atomic if the map is modified concurrently. */
+	public int size () {
+		int size = 0;
+		for (ObjectMap<K, V> segment : segments) {
+			synchronized (segment) {
+				size += segment.size;
+			}
+		}
+		return size;
+	}
+
+	/** Returns true if the map has one or more items. */
+	public boolean notEmpty () {
+		for (ObjectMap<K, V> segment : segments) {
+			synchronized (segment) {
+				if (segment.size > 0) return true;
+			}
+		}
+		return false;
+	}
+
+	/** Returns true if the map is empty. */
+	public boolean isEmpty () {
+		return !notEmpty();
+	}
+
+	public void clear () {
+		for (ObjectMap<K, V> segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	/** Clears the map and reduces the size of each segment's backing arrays to hold the specified capacity divided by the number
+	 * of segments, if they are larger. */
+	public void clear (int maximumCapacity) {
+		int segmentCapacity = Math.max(1, maximumCapacity / segments.length);
+		for (ObjectMap<K, V> segment : segments) {
+			synchronized (segment) {
+				segment.clear(segmentCapacity);
+			}
+		}
+	}
+
+	/** Adds the entries of this map to the specified map. Each segment is copied atomically, but not the map as a whole.
+	 * @return The specified map. */
+	public ObjectMap<K, V> copyTo (ObjectMap<K, V> map) {
+		for (ObjectMap<K, V> segment : segments) {
+			synchronized (segment) {
+				map.putAll(segment);
+			}
+		}
+		return map;
+	}
+
+	/** Adds the keys of this map to the specified array. Each segment is copied atomically, but not the map as a whole.
+	 * @return The specified array. */
+	public Array<K> keys (Array<K> array) {
+		for (ObjectMap<K, V> segment : segments) {
+			synchronized (segment) {
+				K[] keyTable = segment.keyTable;
+				for (int i = 0, n = keyTable.length; i < n; i++)
+					if (keyTable[i] != null) array.add(keyTable[i]);
+			}
+		}
+		return array;
+	}
+
+	/** Adds the values of this map to the specified array. Each segment is copied atomically, but not the map as a whole.
+	 * @return The specified array. */
+	public Array<V> values (Array<V> array) {
+		for (ObjectMap<K, V> segment : segments) {
+			synchronized (segment) {
+				K[] keyTable = segment.keyTable;
+				V[] valueTable = segment.valueTable;
+				for (int i = 0, n = keyTable.length; i < n; i++)
+					if (keyTable[i] != null) array.add(valueTable[i]);
+			}
+		}
+		return array;
+	}
+
+	public String toString () {
+		return copyTo(new ObjectMap<K, V>(size())).toString();
+	}
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+/** Counts non-negative long values, such as durations in nanoseconds or byte counts, in buckets with about 6% precision so
+ * percentiles can be computed. Values below 16 are counted exactly. Recording a value is O(1) and doesn't allocate, and the
+ * memory used is fixed regardless of the range or number of values. */
+public class Histogram {
+	static private final int subBits = 4, subCount = 1 << subBits, bucketCount = (64 - subBits) * subCount;
+
+	private final long[] counts = new long[bucketCount];
+	private long count, total, min = Long.MAX_VALUE, max;
+
+	/** @param value Negative values are counted as 0. */
+	public void record (long value) {
+		if (value < 0) value = 0;
+		counts[bucket(value)]++;
+		count++;
+		total += value;
+		if (value < min) min = value;
+		if (value > max) max = value;
+	}
+
+	/** Adds the values counted by the specified histogram to this histogram. */
+	public void add (Histogram histogram) {
+		if (histogram.count == 0) return;
+		long[] counts = this.counts, otherCounts = histogram.counts;
+		for (int i = 0; i < bucketCount; i++)
+			counts[i] += otherCounts[i];
+		count += histogram.count;
+		total += histogram.total;
+		min = Math.min(min, histogram.min);
+		max = Math.max(max, histogram.max);
+	}
+
+	public void reset () {
+		if (count == 0) return;
+		long[] counts = this.counts;
+		for (int i = 0; i < bucketCount; i++)
+			counts[i] = 0;
+		count = 0;
+		total = 0;
+		min = Long.MAX_VALUE;
+		max = 0;
+	}
+
+	/** Returns the number of values recorded. */
+	public long getCount () {
+		return count;
+	}
+
+	/** Returns the sum of the values recorded. */
+	public long getTotal () {
+		return total;
+	}
+
+	/** Returns the smallest value recorded, or 0. */
+	public long getMin () {
+		return count == 0 ? 0 : min;
+	}
+
+	/** Returns the largest value recorded, or 0. */
+	public long getMax () {
+		return max;
+	}
+
+	public double getMean () {
+		return count == 0 ? 0 : total / (double)count;
+	}
+
+	/** Returns the value that the specified percentage of values are less than or equal to, within the bucket precision. For
+	 * example 50 returns the median and 99.9 returns the value only 1 in 1000 values exceed.
+	 * @param percentile 0 to 100. */
+	public long getPercentile (double percentile) {
+		if (count == 0) return 0;
+		if (percentile <= 0) return getMin();
+		long target = Math.max(1, (long)Math.ceil(count * Math.min(percentile, 100) / 100));
+		long[] counts = this.counts;
+		long seen = 0;
+		for (int i = 0; i < bucketCount; i++) {
+			seen += counts[i];
+			if (seen >= target) return Math.max(min, Math.min(max, highestValue(i)));
+		}
+		return max;
+	}
+
+	static int bucket (long value) {
+		if (value < subCount) return (int)value;
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		return ((exponent - subBits + 1) << subBits) + (int)(value >>> (exponent - subBits) & (subCount - 1));
+	}
+
+	/** Returns the largest value counted in the bucket. */
+	static long highestValue (int bucket) {
+		if (bucket < subCount) return bucket;
+		int shift = (bucket >>> subBits) - 1;
+		long lowest = (long)(subCount + (bucket & (subCount - 1))) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
@@ -318,6 +318,10 @@ public class Json {
 			if (ignoreDeprecated && metadata.deprecated) continue;
 			Field field = metadata.field;
 			try {
+				if (metadata.kind != FieldMetadata.OBJECT) {
+					writePrimitive(object, metadata, defaultValues == null ? null : defaultValues[defaultIndex++]);
+					continue;
+				}
 				Object value = field.get(object);
 				if (defaultValues != null) {
 					Object defaultValue = defaultValues[defaultIndex++];
@@ -334,7 +338,7 @@ public class Json {
 
 				if (debug) System.out.println("Writing field: " + field.getName() + " (" + type.getName() + ")");
 				writer.name(field.getName());
-				writeValue(value, field.getType(), metadata.elementType);
+				writeValue(value, metadata.type, metadata.elementType);
 			} catch (ReflectionException ex) {
 				throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
 			} catch (SerializationException ex) {
@@ -348,6 +352,61 @@ public class Json {
 		}
 	}
 
+	/** Writes an int, long, float, double or boolean field without boxing, unless it has the default value. The output is the
+	 * same as {@link #writeValue(Object, Class, Class)}. */
+	private void writePrimitive (Object object, FieldMetadata metadata, @Null Object defaultValue)
+		throws ReflectionException, IOException {
+		Field field = metadata.field;
+		switch (metadata.kind) {
+		case FieldMetadata.INT: {
+			int value = field.getInt(object);
+			if (defaultValue != null && value == (Integer)defaultValue) return;
+			writePrimitiveName(object, field);
+			writer.value(value);
+			break;
+		}
+		case FieldMetadata.LONG: {
+			long value = field.getLong(object);
+			if (defaultValue != null && value == (Long)defaultValue) return;
+			writePrimitiveName(object, field);
+			writer.value(value);
+			break;
+		}
+		case FieldMetadata.FLOAT: {
+			float value = field.getFloat(object);
+			if (defaultValue != null && NumberUtils.floatToIntBits(value) == NumberUtils.floatToIntBits((Float)defaultValue)) return;
+			writePrimitiveName(object, field);
+			long longValue = (long)value;
+			writer.json((double)value == longValue ? Long.toString(longValue) : Float.toString(value));
+			break;
+		}
+		case FieldMetadata.DOUBLE: {
+			double value = field.getDouble(object);
+			if (defaultValue != null && NumberUtils.doubleToLongBits(value) == NumberUtils.doubleToLongBits((Double)defaultValue))
+				return;
+			writePrimitiveName(object, field);
+			long longValue = (long)value;
+			if (writer.getQuoteLongValues())
+				writer.value(Double.toString(value));
+			else
+				writer.json(value == longValue ? Long.toString(longValue) : Double.toString(value));
+			break;
+		}
+		case FieldMetadata.BOOLEAN: {
+			boolean value = field.getBoolean(object);
+			if (defaultValue != null && value == (Boolean)defaultValue) return;
+			writePrimitiveName(object, field);
+			writer.value(value);
+			break;
+		}
+		}
+	}
+
+	private void writePrimitiveName (Object object, Field field) throws IOException {
+		if (debug) System.out.println("Writing field: " + field.getName() + " (" + object.getClass().getName() + ")");
+		writer.name(field.getName());
+	}
+
 	private @Null Object[] getDefaultValues (Class type) {
 		if (!usePrototypes) return null;
 		if (classToDefaultValues.containsKey(type)) return classToDefaultValues.get(type);
@@ -896,7 +955,9 @@ public class Json {
 		Class type = object.getClass();
 		OrderedMap<String, FieldMetadata> fields = getFields(type);
 		for (JsonValue child = jsonMap.child; child != null; child = child.next) {
-			FieldMetadata metadata = fields.get(child.name().replace(" ", "_"));
+			String name = child.name;
+			if (name.indexOf(' ') != -1) name = name.replace(' ', '_');
+			FieldMetadata metadata = fields.get(name);
 			if (metadata == null) {
 				if (child.name.equals(typeName)) continue;
 				if (ignoreUnknownFields || ignoreUnknownField(type, child.name)) {
@@ -913,7 +974,8 @@ public class Json {
 			}
 			Field field = metadata.field;
 			try {
-				field.set(object, readValue(field.getType(), metadata.elementType, child));
+				if (metadata.kind == FieldMetadata.OBJECT || !readPrimitive(object, metadata, child))
+					field.set(object, readValue(metadata.type, metadata.elementType, child));
 			} catch (ReflectionException ex) {
 				throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
 			} catch (SerializationException ex) {
@@ -928,6 +990,37 @@ public class Json {
 		}
 	}
 
+	/** Sets an int, long, float, double or boolean field without boxing, when the JSON value needs no conversion and no
+	 * serializer is registered for the field type.
+	 * @return false if the value must be read using {@link #readValue(Class, Class, JsonValue)}. */
+	private boolean readPrimitive (Object object, FieldMetadata metadata, JsonValue jsonValue) throws ReflectionException {
+		if (classToSerializer.size > 0 && classToSerializer.containsKey(metadata.type)) return false;
+		Field field = metadata.field;
+		switch (metadata.kind) {
+		case FieldMetadata.INT:
+			if (!jsonValue.isNumber()) return false;
+			field.setInt(object, jsonValue.asInt());
+			return true;
+		case FieldMetadata.LONG:
+			if (!jsonValue.isNumber()) return false;
+			field.setLong(object, jsonValue.asLong());
+			return true;
+		case FieldMetadata.FLOAT:
+			if (!jsonValue.isNumber()) return false;
+			field.setFloat(object, jsonValue.asFloat());
+			return true;
+		case FieldMetadata.DOUBLE:
+			if (!jsonValue.isNumber()) return false;
+			field.setDouble(object, jsonValue.asDouble());
+			return true;
+		case FieldMetadata.BOOLEAN:
+			if (!jsonValue.isBoolean()) return false;
+			field.setBoolean(object, jsonValue.asBoolean());
+			return true;
+		}
+		return false;
+	}
+
 	/** Called for each unknown field name encountered by {@link #readFields(Object, JsonValue)} when {@link #ignoreUnknownFields}
 	 * is false to determine whether the unknown field name should be ignored.
 	 * @param type The object type being read.
@@ -1266,12 +1359,31 @@ public class Json {
 	}
 
 	static private class FieldMetadata {
+		static final int OBJECT = 0, INT = 1, LONG = 2, FLOAT = 3, DOUBLE = 4, BOOLEAN = 5;
+
 		final Field field;
+		final Class type;
+		/** The primitive type of the field, read and written without boxing, or {@link #OBJECT}. */
+		final int kind;
 		Class elementType;
 		boolean deprecated;
 
 		public FieldMetadata (Field field) {
 			this.field = field;
+			field.optimizeAccess();
+			type = field.getType();
+			if (type == int.class)
+				kind = INT;
+			else if (type == long.class)
+				kind = LONG;
+			else if (type == float.class)
+				kind = FLOAT;
+			else if (type == double.class)
+				kind = DOUBLE;
+			else if (type == boolean.class)
+				kind = BOOLEAN;
+			else
+				kind = OBJECT;
 			int index = (ClassReflection.isAssignableFrom(ObjectMap.class, field.getType())
 				|| ClassReflection.isAssignableFrom(Map.class, field.getType())) ? 1 : 0;
 			this.elementType = field.getElementType(index);
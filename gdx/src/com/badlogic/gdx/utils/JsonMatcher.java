@@ -168,8 +168,9 @@ public class JsonMatcher extends JsonSkimmer {
 	boolean stoppable = true;
 
 	int depth, captured;
-	char[] chars;
+	boolean parsing;
 	final IntArray path = new IntArray();
+	final CharArray pathChars = new CharArray(); // Names are copied since the parsed chars may be a reused window.
 	Pattern processPattern;
 
 	public JsonMatcher () {
@@ -195,7 +196,7 @@ public class JsonMatcher extends JsonSkimmer {
 	/** Adds a pattern for value extraction. The processor is invoked only for this pattern's matches.
 	 * @return The new pattern's index. */
 	public int addPattern (String pattern, @Null Processor processor) {
-		if (chars != null) throw new IllegalStateException();
+		if (parsing) throw new IllegalStateException();
 		Pattern[] newPatterns = new Pattern[patterns.length + 1];
 		System.arraycopy(patterns, 0, newPatterns, 0, patterns.length);
 		Pattern newPattern;
@@ -214,10 +215,10 @@ public class JsonMatcher extends JsonSkimmer {
 
 	@Override
 	public void parse (char[] data, int offset, int length) {
-		if (chars != null) throw new IllegalStateException();
+		if (parsing) throw new IllegalStateException();
 		parseStart();
 		captureRoot();
-		chars = data;
+		parsing = true;
 		try {
 			super.parse(data, offset, length);
 			for (Pattern pattern : patterns)
@@ -229,8 +230,9 @@ public class JsonMatcher extends JsonSkimmer {
 			patterns = original;
 			depth = 0;
 			captured = 0;
-			chars = null;
+			parsing = false;
 			path.clear();
+			pathChars.clear();
 		}
 	}
 
@@ -257,9 +259,10 @@ public class JsonMatcher extends JsonSkimmer {
 	@Override
 	protected void push (@Null JsonToken name, boolean object) {
 		if (debug) debug(null, "push: " + name + ":" + (object ? "{}" : "[]") + ", depth: " + depth);
-		if (name != null)
-			path.add(name.start, name.length);
-		else
+		if (name != null) {
+			path.add(pathChars.size, name.length);
+			pathChars.addAll(name.chars, name.start, name.length);
+		} else
 			path.add(object ? 0 : 1, 0);
 		if (depth == 0) {
 			for (Pattern pattern : patterns)
@@ -353,6 +356,7 @@ public class JsonMatcher extends JsonSkimmer {
 		}
 		depth = nextDepth;
 		path.size -= 2;
+		if (path.items[path.size + 1] != 0) pathChars.size = path.items[path.size];
 	}
 
 	@Override
@@ -580,7 +584,7 @@ public class JsonMatcher extends JsonSkimmer {
 			if (length == 0)
 				buffer.append(start == 0 ? "{}" : "[]");
 			else
-				buffer.append(chars, start, length);
+				buffer.append(pathChars.items, start, length);
 		}
 		return buffer.toString();
 	}
@@ -592,7 +596,7 @@ public class JsonMatcher extends JsonSkimmer {
 		if (n == 0) return "";
 		int start = path.get(n - 2), length = path.get(n - 1);
 		if (length == 0) return start == 0 ? "{}" : "[]";
-		return new String(chars, start, length);
+		return new String(pathChars.items, start, length);
 	}
 
 	/** Returns the segment of the JSON path up the specified segments from the end, starting at 0, or "" if there aren't enough
@@ -603,7 +607,7 @@ public class JsonMatcher extends JsonSkimmer {
 		if (i < 2) return "";
 		int start = path.get(i - 2), length = path.get(i - 1);
 		if (length == 0) return start == 0 ? "{}" : "[]";
-		return new String(chars, start, length);
+		return new String(pathChars.items, start, length);
 	}
 
 	/** @see PatternParser */
@@ -47,26 +47,20 @@ public class JsonSkimmer {
 		parse(data, 0, data.length);
 	}
 
+	/** Parses the JSON from the reader, then closes it. The input is read in chunks into a window that is reused as parsing
+	 * progresses, so only the current name and value need to fit in memory rather than the whole document. The window grows if a
+	 * single name and value does not fit.
+	 * @see #setWindowSize(int) */
 	public void parse (Reader reader) {
-		char[] data = new char[1024];
-		int offset = 0;
 		try {
-			while (true) {
-				int length = reader.read(data, offset, data.length - offset);
-				if (length == -1) break;
-				if (length == 0) {
-					char[] newData = new char[data.length * 2];
-					System.arraycopy(data, 0, newData, 0, data.length);
-					data = newData;
-				} else
-					offset += length;
-			}
-		} catch (IOException ex) {
-			throw new SerializationException("Error reading input.", ex);
+			if (window == null || window.length != windowSize) window = new char[windowSize];
+			this.reader = reader;
+			parse(window, 0, 0);
 		} finally {
+			this.reader = null;
+			if (window != null && window.length != windowSize) window = null;
 			StreamUtils.closeQuietly(reader);
 		}
-		parse(data, 0, offset);
 	}
 
 	public void parse (InputStream input) {
@@ -93,10 +87,17 @@ public class JsonSkimmer {
 		}
 	}
 
+	/** Parses the chars. When called by {@link #parse(Reader)}, the chars are the window and when parsing reaches the end of the
+	 * window, it is refilled from the reader until the reader has no more input. */
 	public void parse (char[] data, int offset, int length) {
+		Reader reader = this.reader;
 		stop = false;
-		int cs, p = offset, pe = length, eof = pe, top = 0;
+		int cs, p = offset, pe = length, eof = reader == null ? pe : -1, top = 0;
 		int[] stack = this.stack;
+		int keep = -1; // Start of the name or value that has not been passed to push or value yet, else -1.
+		windowEnd = pe;
+		ended = reader == null;
+		discardedLines = 0;
 
 		JsonToken nameString = this.nameString, value = this.value, string = value, name = null;
 		nameString.chars = data;
@@ -108,374 +109,472 @@ public class JsonSkimmer {
 
 		try {
 
-			// line 110 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+			// line 111 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
 			{
 				cs = json_start;
 				top = 0;
 			}
 
-			// line 115 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
-			{
-				int _klen;
-				int _trans = 0;
-				int _acts;
-				int _nacts;
-				int _keys;
-				int _goto_targ = 0;
-
-				_goto:
-				while (true) {
-					switch (_goto_targ) {
-					case 0:
-						if (p == pe) {
-							_goto_targ = 4;
-							continue _goto;
-						}
-						if (cs == 0) {
-							_goto_targ = 5;
-							continue _goto;
-						}
-					case 1:
-						_match:
-						do {
-							_keys = _json_key_offsets[cs];
-							_trans = _json_index_offsets[cs];
-							_klen = _json_single_lengths[cs];
-							if (_klen > 0) {
-								int _lower = _keys;
-								int _mid;
-								int _upper = _keys + _klen - 1;
-								while (true) {
-									if (_upper < _lower) break;
-
-									_mid = _lower + ((_upper - _lower) >> 1);
-									if (data[p] < _json_trans_keys[_mid])
-										_upper = _mid - 1;
-									else if (data[p] > _json_trans_keys[_mid])
-										_lower = _mid + 1;
-									else {
-										_trans += (_mid - _keys);
-										break _match;
+			// line 391 "JsonSkimmer.rl"
+			while (true) {
+				if (p == pe && eof != pe) {
+					int shift = fill(keep == -1 ? p : keep);
+					p -= shift;
+					if (keep != -1) keep -= shift;
+					data = window;
+					pe = windowEnd;
+					if (ended) eof = pe;
+				}
+
+				// line 128 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+				{
+					int _klen;
+					int _trans = 0;
+					int _acts;
+					int _nacts;
+					int _keys;
+					int _goto_targ = 0;
+
+					_goto:
+					while (true) {
+						switch (_goto_targ) {
+						case 0:
+							if (p == pe) {
+								_goto_targ = 4;
+								continue _goto;
+							}
+							if (cs == 0) {
+								_goto_targ = 5;
+								continue _goto;
+							}
+						case 1:
+							_match:
+							do {
+								_keys = _json_key_offsets[cs];
+								_trans = _json_index_offsets[cs];
+								_klen = _json_single_lengths[cs];
+								if (_klen > 0) {
+									int _lower = _keys;
+									int _mid;
+									int _upper = _keys + _klen - 1;
+									while (true) {
+										if (_upper < _lower) break;
+
+										_mid = _lower + ((_upper - _lower) >> 1);
+										if (data[p] < _json_trans_keys[_mid])
+											_upper = _mid - 1;
+										else if (data[p] > _json_trans_keys[_mid])
+											_lower = _mid + 1;
+										else {
+											_trans += (_mid - _keys);
+											break _match;
+										}
 									}
+									_keys += _klen;
+									_trans += _klen;
 								}
-								_keys += _klen;
-								_trans += _klen;
-							}
 
-							_klen = _json_range_lengths[cs];
-							if (_klen > 0) {
-								int _lower = _keys;
-								int _mid;
-								int _upper = _keys + (_klen << 1) - 2;
-								while (true) {
-									if (_upper < _lower) break;
-
-									_mid = _lower + (((_upper - _lower) >> 1) & ~1);
-									if (data[p] < _json_trans_keys[_mid])
-										_upper = _mid - 2;
-									else if (data[p] > _json_trans_keys[_mid + 1])
-										_lower = _mid + 2;
-									else {
-										_trans += ((_mid - _keys) >> 1);
-										break _match;
+								_klen = _json_range_lengths[cs];
+								if (_klen > 0) {
+									int _lower = _keys;
+									int _mid;
+									int _upper = _keys + (_klen << 1) - 2;
+									while (true) {
+										if (_upper < _lower) break;
+
+										_mid = _lower + (((_upper - _lower) >> 1) & ~1);
+										if (data[p] < _json_trans_keys[_mid])
+											_upper = _mid - 2;
+										else if (data[p] > _json_trans_keys[_mid + 1])
+											_lower = _mid + 2;
+										else {
+											_trans += ((_mid - _keys) >> 1);
+											break _match;
+										}
 									}
+									_trans += _klen;
 								}
-								_trans += _klen;
-							}
-						} while (false);
-
-						_trans = _json_indicies[_trans];
-						cs = _json_trans_targs[_trans];
-
-						if (_json_trans_actions[_trans] != 0) {
-							_acts = _json_trans_actions[_trans];
-							_nacts = (int)_json_actions[_acts++];
-							while (_nacts-- > 0) {
-								switch (_json_actions[_acts++]) {
-								case 0:
-								// line 115 "JsonSkimmer.rl"
-								{
-									if (debug) System.out.println("startObject: " + name);
-									push(name, true);
-									if (stop) return;
-									name = null;
+							} while (false);
+
+							_trans = _json_indicies[_trans];
+							cs = _json_trans_targs[_trans];
+
+							if (_json_trans_actions[_trans] != 0) {
+								_acts = _json_trans_actions[_trans];
+								_nacts = (int)_json_actions[_acts++];
+								while (_nacts-- > 0) {
+									switch (_json_actions[_acts++]) {
+									case 0:
+									// line 116 "JsonSkimmer.rl"
 									{
-										if (top == stack.length) stack = this.stack = Arrays.copyOf(stack, stack.length << 1);
+										if (debug) System.out.println("startObject: " + name);
+										push(name, true);
+										if (stop) return;
+										name = null;
+										keep = -1;
 										{
-											stack[top++] = cs;
-											cs = 4;
+											if (top == stack.length) stack = this.stack = Arrays.copyOf(stack, stack.length << 1);
+											{
+												stack[top++] = cs;
+												cs = 4;
+												_goto_targ = 2;
+												if (true) continue _goto;
+											}
+										}
+									}
+										break;
+									case 1:
+									// line 124 "JsonSkimmer.rl"
+									{
+										if (debug) System.out.println("endObject");
+										pop();
+										if (stop) return;
+										{
+											cs = stack[--top];
 											_goto_targ = 2;
 											if (true) continue _goto;
 										}
 									}
-								}
-									break;
-								case 1:
-								// line 122 "JsonSkimmer.rl"
-								{
-									if (debug) System.out.println("endObject");
-									pop();
-									if (stop) return;
+										break;
+									case 2:
+									// line 130 "JsonSkimmer.rl"
 									{
-										cs = stack[--top];
-										_goto_targ = 2;
-										if (true) continue _goto;
+										if (debug) System.out.println("startArray: " + name);
+										push(name, false);
+										if (stop) return;
+										name = null;
+										keep = -1;
+										{
+											if (top == stack.length) stack = this.stack = Arrays.copyOf(stack, stack.length << 1);
+											{
+												stack[top++] = cs;
+												cs = 20;
+												_goto_targ = 2;
+												if (true) continue _goto;
+											}
+										}
 									}
-								}
-									break;
-								case 2:
-								// line 128 "JsonSkimmer.rl"
-								{
-									if (debug) System.out.println("startArray: " + name);
-									push(name, false);
-									if (stop) return;
-									name = null;
+										break;
+									case 3:
+									// line 138 "JsonSkimmer.rl"
 									{
-										if (top == stack.length) stack = this.stack = Arrays.copyOf(stack, stack.length << 1);
+										if (debug) System.out.println("endArray");
+										pop();
+										if (stop) return;
 										{
-											stack[top++] = cs;
-											cs = 20;
+											cs = stack[--top];
 											_goto_targ = 2;
 											if (true) continue _goto;
 										}
 									}
-								}
-									break;
-								case 3:
-								// line 135 "JsonSkimmer.rl"
-								{
-									if (debug) System.out.println("endArray");
-									pop();
-									if (stop) return;
+										break;
+									case 4:
+									// line 144 "JsonSkimmer.rl"
 									{
-										cs = stack[--top];
-										_goto_targ = 2;
-										if (true) continue _goto;
-									}
-								}
-									break;
-								case 4:
-								// line 141 "JsonSkimmer.rl"
-								{
-									int start = p;
-									if (data[p++] == '/') {
-										while (p != eof && data[p] != '\n')
-											p++;
-										p--;
-									} else {
-										while (p + 1 < eof && (data[p] != '*' || data[p + 1] != '/'))
+										int start = p;
+										if (keep == -1) keep = start;
+										if (data[p++] == '/') {
+											while (true) {
+												if (p == pe) {
+													if (eof == pe) break;
+													int shift = fill(keep);
+													p -= shift;
+													keep -= shift;
+													start -= shift;
+													data = window;
+													pe = windowEnd;
+													if (ended) eof = pe;
+													continue;
+												}
+												if (data[p] == '\n') break;
+												p++;
+											}
+											p--;
+										} else {
+											while (true) {
+												if (p + 1 >= pe) {
+													if (eof == pe) break;
+													int shift = fill(keep);
+													p -= shift;
+													keep -= shift;
+													start -= shift;
+													data = window;
+													pe = windowEnd;
+													if (ended) eof = pe;
+													continue;
+												}
+												if (data[p] == '*' && data[p + 1] == '/') break;
+												p++;
+											}
 											p++;
-										p++;
-									}
-									if (debug) System.out.println("comment " + new String(data, start - 1, p - start + 2));
-								}
-									break;
-								case 5:
-								// line 154 "JsonSkimmer.rl"
-								{
-									if (debug) System.out.println("unquotedName");
-									int start = p;
-									string.start = start;
-									boolean ws = false;
-									outer:
-									while (true) {
-										switch (data[p]) {
-										case '\\':
-											string.unescape = true;
-											break;
-										case '/':
-											if (p + 1 == eof) break;
-											char c = data[p + 1];
-											if (c == '/' || c == '*') break outer;
-											break;
-										case ' ':
-										case '\t':
-											ws = true;
-											break;
-										case ':':
-										case '\r':
-										case '\n':
-											break outer;
 										}
-										if (debug) System.out.println("name char: '" + data[p] + "'");
-										p++;
-										if (p == eof) break;
+										if (debug) System.out.println("comment /" + new String(data, start, p - start + 1));
+										if (keep == start) keep = -1;
 									}
-									p--;
-									if (ws) {
+										break;
+									case 5:
+									// line 185 "JsonSkimmer.rl"
+									{
+										if (debug) System.out.println("unquotedName");
+										int start = p;
+										if (keep == -1) keep = start;
+										string.start = start;
+										boolean ws = false;
+										outer:
 										while (true) {
 											switch (data[p]) {
+											case '\\':
+												string.unescape = true;
+												break;
+											case '/':
+												if (p + 1 == pe && eof != pe) {
+													int shift = fill(keep);
+													p -= shift;
+													keep -= shift;
+													start -= shift;
+													data = window;
+													pe = windowEnd;
+													if (ended) eof = pe;
+												}
+												if (p + 1 == pe) break;
+												char c = data[p + 1];
+												if (c == '/' || c == '*') break outer;
+												break;
 											case ' ':
 											case '\t':
-												p--;
-												continue;
+												ws = true;
+												break;
+											case ':':
+											case '\r':
+											case '\n':
+												break outer;
+											}
+											if (debug) System.out.println("name char: '" + data[p] + "'");
+											p++;
+											if (p == pe) {
+												if (eof != pe) {
+													int shift = fill(keep);
+													p -= shift;
+													keep -= shift;
+													start -= shift;
+													data = window;
+													pe = windowEnd;
+													if (ended) eof = pe;
+												}
+												if (p == pe) break;
 											}
-											break;
 										}
-									}
-									string.length = p - start + 1;
-								}
-									break;
-								case 6:
-								// line 197 "JsonSkimmer.rl"
-								{
-									if (debug) System.out.println("unquotedValue");
-									int start = p;
-									string.start = start;
-									boolean ws = false;
-									outer:
-									while (true) {
-										switch (data[p]) {
-										case '\\':
-											string.unescape = true;
-											break;
-										case '/':
-											if (p + 1 == eof) break;
-											char c = data[p + 1];
-											if (c == '/' || c == '*') break outer;
-											break;
-										case ' ':
-										case '\t':
-											ws = true;
-											break;
-										case '\r':
-										case '\n':
-										case '}':
-										case ']':
-										case ',':
-											break outer;
+										p--;
+										if (ws) {
+											while (true) {
+												switch (data[p]) {
+												case ' ':
+												case '\t':
+													p--;
+													continue;
+												}
+												break;
+											}
 										}
-										if (debug) System.out.println("value char: '" + data[p] + "'");
-										p++;
-										if (p == eof) break;
+										string.length = p - start + 1;
 									}
-									p--;
-									if (ws) {
+										break;
+									case 6:
+									// line 249 "JsonSkimmer.rl"
+									{
+										if (debug) System.out.println("unquotedValue");
+										int start = p;
+										if (keep == -1) keep = start;
+										string.start = start;
+										boolean ws = false;
+										outer:
 										while (true) {
 											switch (data[p]) {
+											case '\\':
+												string.unescape = true;
+												break;
+											case '/':
+												if (p + 1 == pe && eof != pe) {
+													int shift = fill(keep);
+													p -= shift;
+													keep -= shift;
+													start -= shift;
+													data = window;
+													pe = windowEnd;
+													if (ended) eof = pe;
+												}
+												if (p + 1 == pe) break;
+												char c = data[p + 1];
+												if (c == '/' || c == '*') break outer;
+												break;
 											case ' ':
 											case '\t':
-												p--;
-												continue;
+												ws = true;
+												break;
+											case '\r':
+											case '\n':
+											case '}':
+											case ']':
+											case ',':
+												break outer;
+											}
+											if (debug) System.out.println("value char: '" + data[p] + "'");
+											p++;
+											if (p == pe) {
+												if (eof != pe) {
+													int shift = fill(keep);
+													p -= shift;
+													keep -= shift;
+													start -= shift;
+													data = window;
+													pe = windowEnd;
+													if (ended) eof = pe;
+												}
+												if (p == pe) break;
 											}
-											break;
+										}
+										p--;
+										if (ws) {
+											while (true) {
+												switch (data[p]) {
+												case ' ':
+												case '\t':
+													p--;
+													continue;
+												}
+												break;
+											}
+										}
+										string.length = p - start + 1;
+										string.type = TokenType.other;
+										if (string.length == 4) {
+											if (data[start] == 't' && data[start + 1] == 'r' && data[start + 2] == 'u'
+												&& data[start + 3] == 'e')
+												string.type = TokenType.trueValue;
+											else if (data[start] == 'n' && data[start + 1] == 'u' && data[start + 2] == 'l'
+												&& data[start + 3] == 'l') string.type = TokenType.nullValue;
+										} else if (string.length == 5) {
+											if (data[start] == 'f' && data[start + 1] == 'a' && data[start + 2] == 'l' && data[start + 3] == 's'
+												&& data[start + 4] == 'e') string.type = TokenType.falseValue;
 										}
 									}
-									string.length = p - start + 1;
-									string.type = TokenType.other;
-									if (string.length == 4) {
-										if (data[start] == 't' && data[start + 1] == 'r' && data[start + 2] == 'u'
-											&& data[start + 3] == 'e')
-											string.type = TokenType.trueValue;
-										else if (data[start] == 'n' && data[start + 1] == 'u' && data[start + 2] == 'l'
-											&& data[start + 3] == 'l') string.type = TokenType.nullValue;
-									} else if (string.length == 5) {
-										if (data[start] == 'f' && data[start + 1] == 'a' && data[start + 2] == 'l' && data[start + 3] == 's'
-											&& data[start + 4] == 'e') string.type = TokenType.falseValue;
-									}
-								}
-									break;
-								case 7:
-								// line 252 "JsonSkimmer.rl"
-								{
-									if (debug) System.out.println("quotedString");
-									string.start = ++p;
-									outer:
-									while (true) {
-										switch (data[p]) {
-										case '\\':
-											string.unescape = true;
+										break;
+									case 7:
+									// line 325 "JsonSkimmer.rl"
+									{
+										if (debug) System.out.println("quotedString");
+										int start = p;
+										if (keep == -1) keep = start;
+										string.start = ++p;
+										outer:
+										while (true) {
+											while (p >= pe) {
+												if (eof == pe) throw new SerializationException("Unterminated quoted string.");
+												int shift = fill(keep);
+												p -= shift;
+												keep -= shift;
+												start -= shift;
+												data = window;
+												pe = windowEnd;
+												if (ended) eof = pe;
+											}
+											switch (data[p]) {
+											case '\\':
+												string.unescape = true;
+												p++;
+												break;
+											case '"':
+												break outer;
+											}
+											if (debug) System.out.println("quoted char: '" + data[p] + "'");
 											p++;
-											break;
-										case '"':
-											break outer;
 										}
-										if (debug) System.out.println("quoted char: '" + data[p] + "'");
-										p++;
-										if (p == eof) break;
+										string.length = p - string.start;
+									}
+										break;
+									case 8:
+									// line 355 "JsonSkimmer.rl"
+									{
+										name = nameString; // Next element has a name.
+										string = nameString; // Parse next string to nameString.
+										keep = p;
+										if (debug) System.out.println("name start " + p);
+									}
+										break;
+									case 9:
+									// line 361 "JsonSkimmer.rl"
+									{
+										if (debug) System.out.println("name: " + p + ", " + name);
+										nameString.unescape = false;
+										string = value;
+									}
+										break;
+									case 10:
+									// line 366 "JsonSkimmer.rl"
+									{
+										if (debug) System.out.println("value: " + name + "=" + value);
+										value(name, value);
+										if (stop) return;
+										value.unescape = false;
+										value.type = TokenType.other;
+										name = null;
+										string = value;
+										keep = -1;
+									}
+										break;
+									// line 505 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
 									}
-									string.length = p - string.start;
-								}
-									break;
-								case 8:
-								// line 271 "JsonSkimmer.rl"
-								{
-									name = nameString; // Next element has a name.
-									string = nameString; // Parse next string to nameString.
-									if (debug) System.out.println("name start " + p);
-								}
-									break;
-								case 9:
-								// line 276 "JsonSkimmer.rl"
-								{
-									if (debug) System.out.println("name: " + p + ", " + name);
-									nameString.unescape = false;
-									string = value;
-								}
-									break;
-								case 10:
-								// line 281 "JsonSkimmer.rl"
-								{
-									if (debug) System.out.println("value: " + name + "=" + value);
-									value(name, value);
-									if (stop) return;
-									value.unescape = false;
-									value.type = TokenType.other;
-									name = null;
-									string = value;
-								}
-									break;
-								// line 407 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
 								}
 							}
-						}
 
-					case 2:
-						if (cs == 0) {
-							_goto_targ = 5;
-							continue _goto;
-						}
-						if (++p != pe) {
-							_goto_targ = 1;
-							continue _goto;
-						}
-					case 4:
-						if (p == eof) {
-							int __acts = _json_eof_actions[cs];
-							int __nacts = (int)_json_actions[__acts++];
-							while (__nacts-- > 0) {
-								switch (_json_actions[__acts++]) {
-								case 10:
-								// line 281 "JsonSkimmer.rl"
-								{
-									if (debug) System.out.println("value: " + name + "=" + value);
-									value(name, value);
-									if (stop) return;
-									value.unescape = false;
-									value.type = TokenType.other;
-									name = null;
-									string = value;
-								}
-									break;
-								// line 440 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+						case 2:
+							if (cs == 0) {
+								_goto_targ = 5;
+								continue _goto;
+							}
+							if (++p != pe) {
+								_goto_targ = 1;
+								continue _goto;
+							}
+						case 4:
+							if (p == eof) {
+								int __acts = _json_eof_actions[cs];
+								int __nacts = (int)_json_actions[__acts++];
+								while (__nacts-- > 0) {
+									switch (_json_actions[__acts++]) {
+									case 10:
+									// line 366 "JsonSkimmer.rl"
+									{
+										if (debug) System.out.println("value: " + name + "=" + value);
+										value(name, value);
+										if (stop) return;
+										value.unescape = false;
+										value.type = TokenType.other;
+										name = null;
+										string = value;
+										keep = -1;
+									}
+										break;
+									// line 539 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+									}
 								}
 							}
-						}
 
-					case 5:
+						case 5:
+						}
+						break;
 					}
-					break;
 				}
-			}
-
-			// line 306 "JsonSkimmer.rl"
 
+				// line 402 "JsonSkimmer.rl"
+				if (p != pe || eof == pe) break;
+			}
 		} catch (RuntimeException ex) {
 			parseRuntimeEx = ex;
 		}
 
 		if (p < pe) {
-			int lineNumber = 1;
+			int lineNumber = 1 + discardedLines;
 			for (int i = 0; i < p; i++)
 				if (data[i] == '\n') lineNumber++;
 			int start = Math.max(0, p - 32);
@@ -485,7 +584,7 @@ public class JsonSkimmer {
 		if (parseRuntimeEx != null) throw new SerializationException("Error parsing JSON: " + new String(data), parseRuntimeEx);
 	}
 
-	// line 466 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
+	// line 567 "../../../../../src/com/badlogic/gdx/utils/JsonSkimmer.java"
 	private static byte[] init__json_actions_0 () {
 		return new byte[] {0, 1, 0, 1, 1, 1, 2, 1, 3, 1, 4, 1, 6, 1, 7, 1, 9, 1, 10, 2, 8, 5, 2, 8, 7, 2, 10, 1, 2, 10, 3};
 	}
@@ -573,9 +672,61 @@ public class JsonSkimmer {
 	static final int json_en_array = 20;
 	static final int json_en_main = 1;
 
-	// line 323 "JsonSkimmer.rl"
+	// line 420 "JsonSkimmer.rl"
 
 	protected boolean stop;
+	private int windowSize = 16384, windowEnd, discardedLines;
+	private @Null char[] window;
+	private @Null Reader reader;
+	private boolean ended;
+
+	/** Sets the number of chars read at a time when parsing a {@link Reader}, {@link InputStream}, or {@link FileHandle}. Only
+	 * this many chars are kept in memory, unless a single name and value is larger. Default is 16384. */
+	public void setWindowSize (int windowSize) {
+		if (windowSize < 2) throw new IllegalArgumentException("windowSize must be >= 2: " + windowSize);
+		this.windowSize = windowSize;
+	}
+
+	public int getWindowSize () {
+		return windowSize;
+	}
+
+	/** Moves the window's chars from the specified index to the start of the window, growing it if less than half would be
+	 * free, then reads at least one more char unless the reader has no more input.
+	 * @return The number of chars the retained chars moved. */
+	private int fill (int keep) {
+		char[] window = this.window;
+		for (int i = 0; i < keep; i++)
+			if (window[i] == '\n') discardedLines++;
+		int kept = windowEnd - keep;
+		if (kept > window.length >> 1) {
+			char[] newWindow = new char[window.length << 1];
+			System.arraycopy(window, keep, newWindow, 0, kept);
+			this.window = window = newWindow;
+			nameString.chars = window;
+			value.chars = window;
+		} else
+			System.arraycopy(window, keep, window, 0, kept);
+		nameString.start -= keep;
+		value.start -= keep;
+		try {
+			while (true) {
+				int count = reader.read(window, kept, window.length - kept);
+				if (count == -1) {
+					ended = true;
+					break;
+				}
+				if (count > 0) {
+					kept += count;
+					break;
+				}
+			}
+		} catch (IOException ex) {
+			throw new SerializationException("Error reading input.", ex);
+		}
+		windowEnd = kept;
+		return keep;
+	}
 
 	/** Causes parsing to stop after the current or next object, array, or value. */
 	public void stop () {
@@ -62,6 +62,10 @@ public class JsonWriter extends Writer {
 		this.quoteLongValues = quoteLongValues;
 	}
 
+	public boolean getQuoteLongValues () {
+		return quoteLongValues;
+	}
+
 	public JsonWriter object () throws IOException {
 		requireCommaOrName();
 		writer.write('{');
@@ -0,0 +1,406 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/** A resizable, ordered or unordered float array stored outside of the Java heap. This has the same API as {@link FloatArray} but
+ * the items are kept in a direct buffer, so very large arrays don't add to the heap the garbage collector has to copy and
+ * compact.
+ * <p>
+ * By default the memory is allocated with {@link BufferUtils#newUnsafeByteBuffer(int)}, which requires the gdx natives to be
+ * loaded, and is released by {@link #dispose()}. The array can't be used after it is disposed. If unsafe is false, the items are
+ * allocated with {@link BufferUtils#newByteBuffer(int)} instead and old buffers are released by the garbage collector.
+ * <p>
+ * The items buffer's position and limit are not used, all access is absolute. */
+public class OffHeapFloatArray implements Disposable {
+	static final int maxCapacity = Integer.MAX_VALUE >> 2;
+
+	/** The items, only valid up to {@link #size}. Changes when the array is resized. */
+	public FloatBuffer items;
+	public int size;
+	public boolean ordered;
+
+	private final boolean unsafe;
+	private ByteBuffer buffer;
+
+	/** Creates an ordered array with a capacity of 16, using unsafe memory. */
+	public OffHeapFloatArray () {
+		this(true, 16, true);
+	}
+
+	/** Creates an ordered array with the specified capacity, using unsafe memory. */
+	public OffHeapFloatArray (int capacity) {
+		this(true, capacity, true);
+	}
+
+	/** @param ordered If false, methods that remove elements may change the order of other elements in the array, which avoids a
+	 *           memory copy.
+	 * @param capacity Any elements added beyond this will cause the backing buffer to be grown.
+	 * @param unsafe If true, memory is allocated with {@link BufferUtils#newUnsafeByteBuffer(int)} and freed by
+	 *           {@link #dispose()}. If false, direct buffers are used and the memory is released by the garbage collector. */
+	public OffHeapFloatArray (boolean ordered, int capacity, boolean unsafe) {
+		this.ordered = ordered;
+		this.unsafe = unsafe;
+		buffer = newBuffer(capacity);
+		items = buffer.asFloatBuffer();
+	}
+
+	/** Creates a new off-heap array containing the elements in the specified array. The capacity is set to the number of
+	 * elements. */
+	public OffHeapFloatArray (FloatArray array, boolean unsafe) {
+		this(array.ordered, array.size, unsafe);
+		addAll(array.items, 0, array.size);
+	}
+
+	private ByteBuffer newBuffer (int capacity) {
+		if (capacity < 0) throw new IllegalArgumentException("capacity must be >= 0: " + capacity);
+		if (capacity > maxCapacity) throw new IllegalArgumentException("capacity is too large: " + capacity);
+		return unsafe ? BufferUtils.newUnsafeByteBuffer(capacity << 2) : BufferUtils.newByteBuffer(capacity << 2);
+	}
+
+	private int capacity () {
+		if (buffer == null) throw new GdxRuntimeException("The array has been disposed.");
+		return items.capacity();
+	}
+
+	public void add (float value) {
+		FloatBuffer items = this.items;
+		if (size == capacity()) items = resize(Math.max(8, (int)(size * 1.75f)));
+		items.put(size++, value);
+	}
+
+	public void add (float value1, float value2) {
+		FloatBuffer items = this.items;
+		if (size + 1 >= capacity()) items = resize(Math.max(8, (int)(size * 1.75f)));
+		items.put(size, value1);
+		items.put(size + 1, value2);
+		size += 2;
+	}
+
+	public void add (float value1, float value2, float value3) {
+		FloatBuffer items = this.items;
+		if (size + 2 >= capacity()) items = resize(Math.max(8, (int)(size * 1.75f)));
+		items.put(size, value1);
+		items.put(size + 1, value2);
+		items.put(size + 2, value3);
+		size += 3;
+	}
+
+	public void add (float value1, float value2, float value3, float value4) {
+		FloatBuffer items = this.items;
+		if (size + 3 >= capacity()) items = resize(Math.max(8, (int)(size * 1.8f))); // 1.75 isn't enough when size=5.
+		items.put(size, value1);
+		items.put(size + 1, value2);
+		items.put(size + 2, value3);
+		items.put(size + 3, value4);
+		size += 4;
+	}
+
+	public void addAll (FloatArray array) {
+		addAll(array.items, 0, array.size);
+	}
+
+	public void addAll (OffHeapFloatArray array) {
+		int length = array.size;
+		FloatBuffer items = ensureCapacity(length), other = array.items;
+		for (int i = 0, s = size; i < length; i++)
+			items.put(s + i, other.get(i));
+		size += length;
+	}
+
+	public void addAll (float... array) {
+		addAll(array, 0, array.length);
+	}
+
+	public void addAll (float[] array, int offset, int length) {
+		FloatBuffer items = ensureCapacity(length);
+		items.position(size);
+		items.put(array, offset, length);
+		items.position(0);
+		size += length;
+	}
+
+	public float get (int index) {
+		if (index >= size) throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
+		return items.get(index);
+	}
+
+	public void set (int index, float value) {
+		if (index >= size) throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
+		items.put(index, value);
+	}
+
+	public void incr (int index, float value) {
+		if (index >= size) throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
+		items.put(index, items.get(index) + value);
+	}
+
+	public void incr (float value) {
+		FloatBuffer items = this.items;
+		for (int i = 0, n = size; i < n; i++)
+			items.put(i, items.get(i) + value);
+	}
+
+	public void mul (int index, float value) {
+		if (index >= size) throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
+		items.put(index, items.get(index) * value);
+	}
+
+	public void mul (float value) {
+		FloatBuffer items = this.items;
+		for (int i = 0, n = size; i < n; i++)
+			items.put(i, items.get(i) * value);
+	}
+
+	public void insert (int index, float value) {
+		if (index > size) throw new IndexOutOfBoundsException("index can't be > size: " + index + " > " + size);
+		FloatBuffer items = this.items;
+		if (size == capacity()) items = resize(Math.max(8, (int)(size * 1.75f)));
+		if (ordered) {
+			for (int i = size; i > index; i--)
+				items.put(i, items.get(i - 1));
+		} else
+			items.put(size, items.get(index));
+		size++;
+		items.put(index, value);
+	}
+
+	public void swap (int first, int second) {
+		if (first >= size) throw new IndexOutOfBoundsException("first can't be >= size: " + first + " >= " + size);
+		if (second >= size) throw new IndexOutOfBoundsException("second can't be >= size: " + second + " >= " + size);
+		FloatBuffer items = this.items;
+		float firstValue = items.get(first);
+		items.put(first, items.get(second));
+		items.put(second, firstValue);
+	}
+
+	public boolean contains (float value) {
+		return lastIndexOf(value) != -1;
+	}
+
+	public int indexOf (float value) {
+		FloatBuffer items = this.items;
+		for (int i = 0, n = size; i < n; i++)
+			if (items.get(i) == value) return i;
+		return -1;
+	}
+
+	public int lastIndexOf (float value) {
+		FloatBuffer items = this.items;
+		for (int i = size - 1; i >= 0; i--)
+			if (items.get(i) == value) return i;
+		return -1;
+	}
+
+	public boolean removeValue (float value) {
+		int index = indexOf(value);
+		if (index == -1) return false;
+		removeIndex(index);
+		return true;
+	}
+
+	/** Removes and returns the item at the specified index. */
+	public float removeIndex (int index) {
+		if (index >= size) throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
+		FloatBuffer items = this.items;
+		float value = items.get(index);
+		size--;
+		if (ordered) {
+			for (int i = index, n = size; i < n; i++)
+				items.put(i, items.get(i + 1));
+		} else
+			items.put(index, items.get(size));
+		return value;
+	}
+
+	/** Removes the items between the specified indices, inclusive. */
+	public void removeRange (int start, int end) {
+		int n = size;
+		if (end >= n) throw new IndexOutOfBoundsException("end can't be >= size: " + end + " >= " + size);
+		if (start > end) throw new IndexOutOfBoundsException("start can't be > end: " + start + " > " + end);
+		FloatBuffer items = this.items;
+		int count = end - start + 1, lastIndex = n - count;
+		int from = ordered ? start + count : Math.max(lastIndex, end + 1);
+		for (int i = from, ii = start; i < n; i++, ii++)
+			items.put(ii, items.get(i));
+		size = n - count;
+	}
+
+	/** Removes and returns the last item. */
+	public float pop () {
+		return items.get(--size);
+	}
+
+	/** Returns the last item. */
+	public float peek () {
+		return items.get(size - 1);
+	}
+
+	/** Returns the first item. */
+	public float first () {
+		if (size == 0) throw new IllegalStateException("Array is empty.");
+		return items.get(0);
+	}
+
+	/** Returns true if the array has one or more items. */
+	public boolean notEmpty () {
+		return size > 0;
+	}
+
+	/** Returns true if the array is empty. */
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	public void clear () {
+		size = 0;
+	}
+
+	/** Reduces the size of the backing buffer to the size of the actual items. This is useful to release memory when many items
+	 * have been removed, or if it is known that more items will not be added.
+	 * @return {@link #items} */
+	public FloatBuffer shrink () {
+		if (capacity() != size) resize(size);
+		return items;
+	}
+
+	/** Increases the size of the backing buffer to accommodate the specified number of additional items. Useful before adding
+	 * many items to avoid multiple backing buffer resizes.
+	 * @return {@link #items} */
+	public FloatBuffer ensureCapacity (int additionalCapacity) {
+		if (additionalCapacity < 0) throw new IllegalArgumentException("additionalCapacity must be >= 0: " + additionalCapacity);
+		int sizeNeeded = size + additionalCapacity;
+		if (sizeNeeded > capacity()) resize(Math.max(Math.max(8, sizeNeeded), (int)Math.min(maxCapacity, size * 1.75)));
+		return items;
+	}
+
+	/** Sets the array size, leaving any values beyond the current size undefined.
+	 * @return {@link #items} */
+	public FloatBuffer setSize (int newSize) {
+		if (newSize < 0) throw new IllegalArgumentException("newSize must be >= 0: " + newSize);
+		if (newSize > capacity()) resize(Math.max(8, newSize));
+		size = newSize;
+		return items;
+	}
+
+	protected FloatBuffer resize (int newSize) {
+		ByteBuffer newBuffer = newBuffer(newSize);
+		FloatBuffer newItems = newBuffer.asFloatBuffer();
+		FloatBuffer items = this.items;
+		items.limit(Math.min(size, newSize));
+		newItems.put(items);
+		newItems.position(0);
+		items.clear();
+		if (unsafe) BufferUtils.disposeUnsafeByteBuffer(buffer);
+		buffer = newBuffer;
+		this.items = newItems;
+		return newItems;
+	}
+
+	public void reverse () {
+		FloatBuffer items = this.items;
+		for (int i = 0, lastIndex = size - 1, n = size / 2; i < n; i++) {
+			int ii = lastIndex - i;
+			float temp = items.get(i);
+			items.put(i, items.get(ii));
+			items.put(ii, temp);
+		}
+	}
+
+	/** Reduces the size of the array to the specified size. If the array is already smaller than the specified size, no action is
+	 * taken. */
+	public void truncate (int newSize) {
+		if (newSize < 0) throw new IllegalArgumentException("newSize must be >= 0: " + newSize);
+		if (size > newSize) size = newSize;
+	}
+
+	public float[] toArray () {
+		float[] array = new float[size];
+		items.get(array, 0, size);
+		items.position(0);
+		return array;
+	}
+
+	/** Returns the number of bytes of off-heap memory used by the backing buffer. */
+	public long getMemoryUsage () {
+		return buffer == null ? 0 : (long)items.capacity() << 2;
+	}
+
+	/** Releases the backing buffer. The array must not be used afterward. */
+	public void dispose () {
+		if (buffer == null) return;
+		if (unsafe) BufferUtils.disposeUnsafeByteBuffer(buffer);
+		buffer = null;
+		items = null;
+		size = 0;
+	}
+
+	public int hashCode () {
+		if (!ordered) return super.hashCode();
+		FloatBuffer items = this.items;
+		int h = 1;
+		for (int i = 0, n = size; i < n; i++)
+			h = h * 31 + NumberUtils.floatToRawIntBits(items.get(i));
+		return h;
+	}
+
+	/** Returns false if either array is unordered. */
+	public boolean equals (Object object) {
+		if (object == this) return true;
+		if (!ordered) return false;
+		if (!(object instanceof OffHeapFloatArray)) return false;
+		OffHeapFloatArray array = (OffHeapFloatArray)object;
+		if (!array.ordered) return false;
+		int n = size;
+		if (n != array.size) return false;
+		FloatBuffer items1 = this.items, items2 = array.items;
+		for (int i = 0; i < n; i++)
+			if (items1.get(i) != items2.get(i)) return false;
+		return true;
+	}
+
+	/** Returns false if either array is unordered. */
+	public boolean equals (Object object, float epsilon) {
+		if (object == this) return true;
+		if (!(object instanceof OffHeapFloatArray)) return false;
+		OffHeapFloatArray array = (OffHeapFloatArray)object;
+		int n = size;
+		if (n != array.size) return false;
+		if (!ordered) return false;
+		if (!array.ordered) return false;
+		FloatBuffer items1 = this.items, items2 = array.items;
+		for (int i = 0; i < n; i++)
+			if (Math.abs(items1.get(i) - items2.get(i)) > epsilon) return false;
+		return true;
+	}
+
+	public String toString () {
+		if (size == 0) return "[]";
+		FloatBuffer items = this.items;
+		StringBuilder buffer = new StringBuilder(32);
+		buffer.append('[');
+		buffer.append(items.get(0));
+		for (int i = 1; i < size; i++) {
+			buffer.append(", ");
+			buffer.append(items.get(i));
+		}
+		buffer.append(']');
+		return buffer.toString();
+	}
+}
@@ -0,0 +1,687 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.badlogic.gdx.utils.ObjectSet.tableSize;
+
+/** An unordered map where the keys and values are unboxed ints, stored outside of the Java heap. This has the same API and
+ * hashing as {@link IntIntMap} but the tables are direct buffers, so very large maps don't add to the heap the garbage collector
+ * has to copy and compact. No allocation is done except when growing the table size.
+ * <p>
+ * By default the memory is allocated with {@link BufferUtils#newUnsafeByteBuffer(int)}, which requires the gdx natives to be
+ * loaded, and is released by {@link #dispose()}. The map can't be used after it is disposed. If unsafe is false, the tables are
+ * allocated with {@link BufferUtils#newByteBuffer(int)} instead and old tables are released by the garbage collector.
+ * <p>
+ * The table size is limited to 2^28 entries (1GB per table), so the map can hold about 214 million entries with the default load
+ * factor. */
+public class OffHeapIntIntMap implements Iterable<IntIntMap.Entry>, Disposable {
+	static final int maxTableSize = 1 << 28;
+
+	public int size;
+
+	ByteBuffer keyBuffer, valueBuffer;
+	IntBuffer keyTable, valueTable;
+	int capacity;
+
+	int zeroValue;
+	boolean hasZeroValue;
+
+	private final float loadFactor;
+	private final boolean unsafe;
+	private int threshold;
+
+	/** @see IntIntMap#shift */
+	protected int shift;
+
+	/** @see IntIntMap#mask */
+	protected int mask;
+
+	private transient Entries entries1, entries2;
+	private transient Values values1, values2;
+	private transient Keys keys1, keys2;
+
+	/** Creates a new map with an initial capacity of 51 and a load factor of 0.8, using unsafe memory. */
+	public OffHeapIntIntMap () {
+		this(51, 0.8f, true);
+	}
+
+	/** Creates a new map with a load factor of 0.8, using unsafe memory.
+	 * @param initialCapacity The backing table size is initialCapacity / loadFactor, increased to the next power of two. */
+	public OffHeapIntIntMap (int initialCapacity) {
+		this(initialCapacity, 0.8f, true);
+	}
+
+	/** Creates a new map with the specified initial capacity and load factor. This map will hold initialCapacity items before
+	 * growing the backing table.
+	 * @param initialCapacity The backing table size is initialCapacity / loadFactor, increased to the next power of two.
+	 * @param unsafe If true, memory is allocated with {@link BufferUtils#newUnsafeByteBuffer(int)} and freed by
+	 *           {@link #dispose()}. If false, direct buffers are used and the memory is released by the garbage collector. */
+	public OffHeapIntIntMap (int initialCapacity, float loadFactor, boolean unsafe) {
+		if (loadFactor <= 0f || loadFactor >= 1f)
+			throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+		this.loadFactor = loadFactor;
+		this.unsafe = unsafe;
+		allocate(tableSize(initialCapacity, loadFactor));
+	}
+
+	/** Creates a new off-heap map containing the entries of the specified map. */
+	public OffHeapIntIntMap (IntIntMap map, boolean unsafe) {
+		this(map.size, 0.8f, unsafe);
+		putAll(map);
+	}
+
+	private void allocate (int tableSize) {
+		if (tableSize > maxTableSize) throw new IllegalArgumentException("The required table size is too large: " + tableSize);
+		// allocate before changing any fields so a failed allocation leaves the map usable
+		ByteBuffer keyBuffer = newBuffer(tableSize << 2), valueBuffer = null;
+		try {
+			valueBuffer = newBuffer(tableSize << 2);
+		} finally {
+			if (valueBuffer == null) freeBuffer(keyBuffer);
+		}
+		this.keyBuffer = keyBuffer;
+		this.valueBuffer = valueBuffer;
+		keyTable = keyBuffer.asIntBuffer();
+		valueTable = valueBuffer.asIntBuffer();
+
+		threshold = (int)(tableSize * loadFactor);
+		mask = tableSize - 1;
+		shift = Long.numberOfLeadingZeros(mask);
+		capacity = tableSize;
+	}
+
+	ByteBuffer newBuffer (int numBytes) {
+		if (!unsafe) return BufferUtils.newByteBuffer(numBytes);
+		ByteBuffer buffer = BufferUtils.newUnsafeByteBuffer(numBytes);
+		BufferUtils.clear(buffer, numBytes);
+		return buffer;
+	}
+
+	void freeBuffer (ByteBuffer buffer) {
+		if (unsafe) BufferUtils.disposeUnsafeByteBuffer(buffer);
+	}
+
+	/** @see IntIntMap#place(int) */
+	protected int place (int item) {
+		return (int)(item * 0x9E3779B97F4A7C15L >>> shift);
+	}
+
+	/** Returns the index of the key if already present, else -(index + 1) for the next empty index. */
+	private int locateKey (int key) {
+		IntBuffer keyTable = this.keyTable;
+		for (int i = place(key);; i = i + 1 & mask) {
+			int other = keyTable.get(i);
+			if (other == 0) return -(i + 1); // Empty space is available.
+			if (other == key) return i; // Same key was found.
+		}
+	}
+
+	public void put (int key, int value) {
+		if (key == 0) {
+			zeroValue = value;
+			if (!hasZeroValue) {
+				hasZeroValue = true;
+				size++;
+			}
+			return;
+		}
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			valueTable.put(i, value);
+			return;
+		}
+		i = -(i + 1); // Empty space was found.
+		keyTable.put(i, key);
+		valueTable.put(i, value);
+		if (++size >= threshold) resize(capacity << 1);
+	}
+
+	/** Returns the old value associated with the specified key, or the specified default value. */
+	public int put (int key, int value, int defaultValue) {
+		if (key == 0) {
+			int oldValue = zeroValue;
+			zeroValue = value;
+			if (!hasZeroValue) {
+				hasZeroValue = true;
+				size++;
+				return defaultValue;
+			}
+			return oldValue;
+		}
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			int oldValue = valueTable.get(i);
+			valueTable.put(i, value);
+			return oldValue;
+		}
+		i = -(i + 1); // Empty space was found.
+		keyTable.put(i, key);
+		valueTable.put(i, value);
+		if (++size >= threshold) resize(capacity << 1);
+		return defaultValue;
+	}
+
+	public void putAll (OffHeapIntIntMap map) {
+		ensureCapacity(map.size);
+		if (map.hasZeroValue) put(0, map.zeroValue);
+		IntBuffer keyTable = map.keyTable;
+		IntBuffer valueTable = map.valueTable;
+		for (int i = 0, n = map.capacity; i < n; i++) {
+			int key = keyTable.get(i);
+			if (key != 0) put(key, valueTable.get(i));
+		}
+	}
+
+	public void putAll (IntIntMap map) {
+		ensureCapacity(map.size);
+		if (map.hasZeroValue) put(0, map.zeroValue);
+		int[] keyTable = map.keyTable;
+		int[] valueTable = map.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key != 0) put(key, valueTable[i]);
+		}
+	}
+
+	/** Skips checks for existing keys, doesn't increment size, doesn't need to handle key 0. */
+	private void putResize (int key, int value) {
+		IntBuffer keyTable = this.keyTable;
+		for (int i = place(key);; i = (i + 1) & mask) {
+			if (keyTable.get(i) == 0) {
+				keyTable.put(i, key);
+				valueTable.put(i, value);
+				return;
+			}
+		}
+	}
+
+	public int get (int key, int defaultValue) {
+		if (key == 0) return hasZeroValue ? zeroValue : defaultValue;
+		int i = locateKey(key);
+		return i >= 0 ? valueTable.get(i) : defaultValue;
+	}
+
+	/** Returns the key's current value and increments the stored value. If the key is not in the map, defaultValue + increment is
+	 * put into the map and defaultValue is returned. */
+	public int getAndIncrement (int key, int defaultValue, int increment) {
+		if (key == 0) {
+			if (!hasZeroValue) {
+				hasZeroValue = true;
+				zeroValue = defaultValue + increment;
+				size++;
+				return defaultValue;
+			}
+			int oldValue = zeroValue;
+			zeroValue += increment;
+			return oldValue;
+		}
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			int oldValue = valueTable.get(i);
+			valueTable.put(i, oldValue + increment);
+			return oldValue;
+		}
+		i = -(i + 1); // Empty space was found.
+		keyTable.put(i, key);
+		valueTable.put(i, defaultValue + increment);
+		if (++size >= threshold) resize(capacity << 1);
+		return defaultValue;
+	}
+
+	/** Returns the value for the removed key, or the default value if the key is not in the map. */
+	public int remove (int key, int defaultValue) {
+		if (key == 0) {
+			if (!hasZeroValue) return defaultValue;
+			hasZeroValue = false;
+			size--;
+			return zeroValue;
+		}
+
+		int i = locateKey(key);
+		if (i < 0) return defaultValue;
+		int oldValue = valueTable.get(i);
+		removeIndex(i);
+		size--;
+		return oldValue;
+	}
+
+	/** Removes the entry at the specified index using backward shift. Returns the index that was emptied. */
+	int removeIndex (int i) {
+		IntBuffer keyTable = this.keyTable;
+		IntBuffer valueTable = this.valueTable;
+		int mask = this.mask, next = i + 1 & mask, key;
+		while ((key = keyTable.get(next)) != 0) {
+			int placement = place(key);
+			if ((next - placement & mask) > (i - placement & mask)) {
+				keyTable.put(i, key);
+				valueTable.put(i, valueTable.get(next));
+				i = next;
+			}
+			next = next + 1 & mask;
+		}
+		keyTable.put(i, 0);
+		return i;
+	}
+
+	/** Returns true if the map has one or more items. */
+	public boolean notEmpty () {
+		return size > 0;
+	}
+
+	/** Returns true if the map is empty. */
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/** Reduces the size of the backing tables to be the specified capacity / loadFactor, or less. If the capacity is already less,
+	 * nothing is done. If the map contains more items than the specified capacity, the next highest power of two capacity is used
+	 * instead. */
+	public void shrink (int maximumCapacity) {
+		if (maximumCapacity < 0) throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);
+		int tableSize = tableSize(Math.max(maximumCapacity, size), loadFactor);
+		if (capacity > tableSize) resize(tableSize);
+	}
+
+	/** Clears the map and reduces the size of the backing tables to be the specified capacity / loadFactor, if they are larger. */
+	public void clear (int maximumCapacity) {
+		int tableSize = tableSize(maximumCapacity, loadFactor);
+		if (capacity <= tableSize) {
+			clear();
+			return;
+		}
+		size = 0;
+		hasZeroValue = false;
+		resize(tableSize);
+	}
+
+	public void clear () {
+		if (size == 0) return;
+		if (unsafe)
+			BufferUtils.clear(keyBuffer, capacity << 2);
+		else {
+			IntBuffer keyTable = this.keyTable;
+			for (int i = 0, n = capacity; i < n; i++)
+				keyTable.put(i, 0);
+		}
+		size = 0;
+		hasZeroValue = false;
+	}
+
+	/** Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may
+	 * be an expensive operation. */
+	public boolean containsValue (int value) {
+		if (hasZeroValue && zeroValue == value) return true;
+		IntBuffer keyTable = this.keyTable;
+		IntBuffer valueTable = this.valueTable;
+		for (int i = capacity - 1; i >= 0; i--)
+			if (keyTable.get(i) != 0 && valueTable.get(i) == value) return true;
+		return false;
+	}
+
+	public boolean containsKey (int key) {
+		if (key == 0) return hasZeroValue;
+		return locateKey(key) >= 0;
+	}
+
+	/** Returns the key for the specified value, or notFound if it is not in the map. Note this traverses the entire map and
+	 * compares every value, which may be an expensive operation. */
+	public int findKey (int value, int notFound) {
+		if (hasZeroValue && zeroValue == value) return 0;
+		IntBuffer keyTable = this.keyTable;
+		IntBuffer valueTable = this.valueTable;
+		for (int i = capacity - 1; i >= 0; i--) {
+			int key = keyTable.get(i);
+			if (key != 0 && valueTable.get(i) == value) return key;
+		}
+		return notFound;
+	}
+
+	/** Increases the size of the backing tables to accommodate the specified number of additional items / loadFactor. Useful
+	 * before adding many items to avoid multiple backing table resizes. */
+	public void ensureCapacity (int additionalCapacity) {
+		int tableSize = tableSize(size + additionalCapacity, loadFactor);
+		if (capacity < tableSize) resize(tableSize);
+	}
+
+	private void resize (int newSize) {
+		if (keyBuffer == null) throw new GdxRuntimeException("The map has been disposed.");
+		int oldCapacity = capacity;
+		ByteBuffer oldKeyBuffer = keyBuffer, oldValueBuffer = valueBuffer;
+		IntBuffer oldKeyTable = keyTable, oldValueTable = valueTable;
+
+		allocate(newSize);
+
+		if (size > 0) {
+			for (int i = 0; i < oldCapacity; i++) {
+				int key = oldKeyTable.get(i);
+				if (key != 0) putResize(key, oldValueTable.get(i));
+			}
+		}
+		freeBuffer(oldKeyBuffer);
+		freeBuffer(oldValueBuffer);
+	}
+
+	/** Returns the number of bytes of off-heap memory used by the backing tables. */
+	public long getMemoryUsage () {
+		return keyBuffer == null ? 0 : (long)capacity << 3;
+	}
+
+	/** Releases the backing tables. The map must not be used afterward. */
+	public void dispose () {
+		if (keyBuffer == null) return;
+		freeBuffer(keyBuffer);
+		freeBuffer(valueBuffer);
+		keyBuffer = null;
+		valueBuffer = null;
+		keyTable = null;
+		valueTable = null;
+		size = 0;
+		hasZeroValue = false;
+	}
+
+	public int hashCode () {
+		int h = size;
+		if (hasZeroValue) h += zeroValue;
+		IntBuffer keyTable = this.keyTable;
+		IntBuffer valueTable = this.valueTable;
+		for (int i = 0, n = capacity; i < n; i++) {
+			int key = keyTable.get(i);
+			if (key != 0) h += key * 31 + valueTable.get(i);
+		}
+		return h;
+	}
+
+	public boolean equals (Object obj) {
+		if (obj == this) return true;
+		if (!(obj instanceof OffHeapIntIntMap)) return false;
+		OffHeapIntIntMap other = (OffHeapIntIntMap)obj;
+		if (other.size != size) return false;
+		if (other.hasZeroValue != hasZeroValue) return false;
+		if (hasZeroValue) {
+			if (other.zeroValue != zeroValue) return false;
+		}
+		IntBuffer keyTable = this.keyTable;
+		IntBuffer valueTable = this.valueTable;
+		for (int i = 0, n = capacity; i < n; i++) {
+			int key = keyTable.get(i);
+			if (key != 0) {
+				int otherValue = other.get(key, 0);
+				if (otherValue == 0 && !other.containsKey(key)) return false;
+				if (otherValue != valueTable.get(i)) return false;
+			}
+		}
+		return true;
+	}
+
+	public String toString () {
+		if (size == 0) return "[]";
+		java.lang.StringBuilder buffer = new java.lang.StringBuilder(32);
+		buffer.append('[');
+		IntBuffer keyTable = this.keyTable;
+		IntBuffer valueTable = this.valueTable;
+		int i = capacity;
+		if (hasZeroValue) {
+			buffer.append("0=");
+			buffer.append(zeroValue);
+		} else {
+			while (i-- > 0) {
+				int key = keyTable.get(i);
+				if (key == 0) continue;
+				buffer.append(key);
+				buffer.append('=');
+				buffer.append(valueTable.get(i));
+				break;
+			}
+		}
+		while (i-- > 0) {
+			int key = keyTable.get(i);
+			if (key == 0) continue;
+			buffer.append(", ");
+			buffer.append(key);
+			buffer.append('=');
+			buffer.append(valueTable.get(i));
+		}
+		buffer.append(']');
+		return buffer.toString();
+	}
+
+	public Iterator<IntIntMap.Entry> iterator () {
+		return entries();
+	}
+
+	/** Returns an iterator for the entries in the map. Remove is supported.
+	 * <p>
+	 * If {@link Collections#allocateIterators} is false, the same iterator instance is returned each time this method is called.
+	 * Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Entries entries () {
+		if (Collections.allocateIterators) return new Entries(this);
+		if (entries1 == null) {
+			entries1 = new Entries(this);
+			entries2 = new Entries(this);
+		}
+		if (!entries1.valid) {
+			entries1.reset();
+			entries1.valid = true;
+			entries2.valid = false;
+			return entries1;
+		}
+		entries2.reset();
+		entries2.valid = true;
+		entries1.valid = false;
+		return entries2;
+	}
+
+	/** Returns an iterator for the values in the map. Remove is supported.
+	 * <p>
+	 * If {@link Collections#allocateIterators} is false, the same iterator instance is returned each time this method is called.
+	 * Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Values values () {
+		if (Collections.allocateIterators) return new Values(this);
+		if (values1 == null) {
+			values1 = new Values(this);
+			values2 = new Values(this);
+		}
+		if (!values1.valid) {
+			values1.reset();
+			values1.valid = true;
+			values2.valid = false;
+			return values1;
+		}
+		values2.reset();
+		values2.valid = true;
+		values1.valid = false;
+		return values2;
+	}
+
+	/** Returns an iterator for the keys in the map. Remove is supported.
+	 * <p>
+	 * If {@link Collections#allocateIterators} is false, the same iterator instance is returned each time this method is called.
+	 * Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Keys keys () {
+		if (Collections.allocateIterators) return new Keys(this);
+		if (keys1 == null) {
+			keys1 = new Keys(this);
+			keys2 = new Keys(this);
+		}
+		if (!keys1.valid) {
+			keys1.reset();
+			keys1.valid = true;
+			keys2.valid = false;
+			return keys1;
+		}
+		keys2.reset();
+		keys2.valid = true;
+		keys1.valid = false;
+		return keys2;
+	}
+
+	static private class MapIterator {
+		static private final int INDEX_ILLEGAL = -2;
+		static final int INDEX_ZERO = -1;
+
+		public boolean hasNext;
+
+		final OffHeapIntIntMap map;
+		int nextIndex, currentIndex;
+		boolean valid = true;
+
+		public MapIterator (OffHeapIntIntMap map) {
+			this.map = map;
+			reset();
+		}
+
+		public void reset () {
+			currentIndex = INDEX_ILLEGAL;
+			nextIndex = INDEX_ZERO;
+			if (map.hasZeroValue)
+				hasNext = true;
+			else
+				findNextIndex();
+		}
+
+		void findNextIndex () {
+			IntBuffer keyTable = map.keyTable;
+			for (int n = map.capacity; ++nextIndex < n;) {
+				if (keyTable.get(nextIndex) != 0) {
+					hasNext = true;
+					return;
+				}
+			}
+			hasNext = false;
+		}
+
+		public void remove () {
+			int i = currentIndex;
+			if (i == INDEX_ZERO && map.hasZeroValue) {
+				map.hasZeroValue = false;
+			} else if (i < 0) {
+				throw new IllegalStateException("next must be called before remove.");
+			} else {
+				if (map.removeIndex(i) != currentIndex) --nextIndex;
+			}
+			currentIndex = INDEX_ILLEGAL;
+			map.size--;
+		}
+	}
+
+	static public class Entries extends MapIterator implements Iterable<IntIntMap.Entry>, Iterator<IntIntMap.Entry> {
+		private final IntIntMap.Entry entry = new IntIntMap.Entry();
+
+		public Entries (OffHeapIntIntMap map) {
+			super(map);
+		}
+
+		/** Note the same entry instance is returned each time this method is called. */
+		public IntIntMap.Entry next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			if (nextIndex == INDEX_ZERO) {
+				entry.key = 0;
+				entry.value = map.zeroValue;
+			} else {
+				entry.key = map.keyTable.get(nextIndex);
+				entry.value = map.valueTable.get(nextIndex);
+			}
+			currentIndex = nextIndex;
+			findNextIndex();
+			return entry;
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public Iterator<IntIntMap.Entry> iterator () {
+			return this;
+		}
+	}
+
+	static public class Values extends MapIterator {
+		public Values (OffHeapIntIntMap map) {
+			super(map);
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public int next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			int value = nextIndex == INDEX_ZERO ? map.zeroValue : map.valueTable.get(nextIndex);
+			currentIndex = nextIndex;
+			findNextIndex();
+			return value;
+		}
+
+		public Values iterator () {
+			return this;
+		}
+
+		/** Returns a new array containing the remaining values. */
+		public IntArray toArray () {
+			IntArray array = new IntArray(true, map.size);
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+
+		/** Adds the remaining values to the specified array. */
+		public IntArray toArray (IntArray array) {
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+	}
+
+	static public class Keys extends MapIterator {
+		public Keys (OffHeapIntIntMap map) {
+			super(map);
+		}
+
+		public int next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			int key = nextIndex == INDEX_ZERO ? 0 : map.keyTable.get(nextIndex);
+			currentIndex = nextIndex;
+			findNextIndex();
+			return key;
+		}
+
+		/** Returns a new array containing the remaining keys. */
+		public IntArray toArray () {
+			IntArray array = new IntArray(true, map.size);
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+
+		/** Adds the remaining keys to the specified array. */
+		public IntArray toArray (IntArray array) {
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+	}
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/** Sorts large object arrays using a stable merge sort that sorts ranges on multiple threads using a {@link ForkJoinPool}. Arrays
+ * smaller than {@link #threshold} are sorted on the calling thread using {@link Sort}. Sorting requires working memory and this
+ * class allows that memory to be reused to avoid allocation.
+ * <p>
+ * The comparator is called from multiple threads at once, so it must be thread safe. */
+public class ParallelSort {
+	static private ParallelSort instance;
+	static private ForkJoinPool sharedPool;
+
+	/** Ranges with this many or fewer items are sorted on a single thread. */
+	public int threshold = 8192;
+
+	private final @Null ForkJoinPool pool;
+	private final Sort sort = new Sort();
+	private Object[] buffer = new Object[0];
+
+	/** Creates a sorter that uses a pool shared by all sorters that don't specify a pool, with one thread per processor. */
+	public ParallelSort () {
+		pool = null;
+	}
+
+	public ParallelSort (ForkJoinPool pool) {
+		if (pool == null) throw new IllegalArgumentException("pool cannot be null.");
+		this.pool = pool;
+	}
+
+	public <T extends Comparable> void sort (Array<T> a) {
+		sort(((Array)a).items, (Comparator)ComparableComparator.instance, 0, a.size);
+	}
+
+	public <T> void sort (Array<T> a, Comparator<? super T> c) {
+		sort(a.items, c, 0, a.size);
+	}
+
+	public <T> void sort (T[] a, Comparator<? super T> c) {
+		sort(a, c, 0, a.length);
+	}
+
+	public <T> void sort (T[] a, Comparator<? super T> c, int fromIndex, int toIndex) {
+		int n = toIndex - fromIndex;
+		if (n <= Math.max(threshold, 32)) {
+			sort.sort(a, c, fromIndex, toIndex);
+			return;
+		}
+		if (buffer.length < n) buffer = new Object[Math.max(n, (int)(buffer.length * 1.75f))];
+		ForkJoinPool pool = this.pool != null ? this.pool : sharedPool();
+		pool.invoke(new MergeSort(a, buffer, fromIndex, (Comparator<Object>)c, fromIndex, toIndex, Math.max(threshold, 32)));
+		Arrays.fill(buffer, 0, n, null);
+	}
+
+	static private synchronized ForkJoinPool sharedPool () {
+		if (sharedPool == null) sharedPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		return sharedPool;
+	}
+
+	/** Returns a ParallelSort instance for convenience. Multiple threads must not use this instance at the same time. */
+	static public ParallelSort instance () {
+		if (instance == null) instance = new ParallelSort();
+		return instance;
+	}
+
+	static private class MergeSort extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Object[] a, buffer;
+		private final int bufferOffset, low, high, threshold;
+		private final Comparator<Object> c;
+
+		MergeSort (Object[] a, Object[] buffer, int bufferOffset, Comparator<Object> c, int low, int high, int threshold) {
+			this.a = a;
+			this.buffer = buffer;
+			this.bufferOffset = bufferOffset;
+			this.c = c;
+			this.low = low;
+			this.high = high;
+			this.threshold = threshold;
+		}
+
+		protected void compute () {
+			if (high - low <= threshold) {
+				sort(a, buffer, bufferOffset, c, low, high);
+				return;
+			}
+			int middle = (low + high) >>> 1;
+			invokeAll(new MergeSort(a, buffer, bufferOffset, c, low, middle, threshold),
+				new MergeSort(a, buffer, bufferOffset, c, middle, high, threshold));
+			merge(a, buffer, bufferOffset, c, low, middle, high);
+		}
+
+		static private void sort (Object[] a, Object[] buffer, int bufferOffset, Comparator<Object> c, int low, int high) {
+			if (high - low <= 32) {
+				for (int i = low + 1; i < high; i++) {
+					Object value = a[i];
+					int j = i - 1;
+					for (; j >= low && c.compare(a[j], value) > 0; j--)
+						a[j + 1] = a[j];
+					a[j + 1] = value;
+				}
+				return;
+			}
+			int middle = (low + high) >>> 1;
+			sort(a, buffer, bufferOffset, c, low, middle);
+			sort(a, buffer, bufferOffset, c, middle, high);
+			merge(a, buffer, bufferOffset, c, low, middle, high);
+		}
+
+		/** Merges two sorted ranges. Only the lower range is copied to the buffer, using the buffer's part for that range. */
+		static private void merge (Object[] a, Object[] buffer, int bufferOffset, Comparator<Object> c, int low, int middle,
+			int high) {
+			if (c.compare(a[middle - 1], a[middle]) <= 0) return; // Already in order.
+			int i = low - bufferOffset, iEnd = middle - bufferOffset, j = middle, k = low;
+			System.arraycopy(a, low, buffer, i, middle - low);
+			while (i < iEnd && j < high)
+				a[k++] = c.compare(a[j], buffer[i]) < 0 ? a[j++] : buffer[i++];
+			while (i < iEnd)
+				a[k++] = buffer[i++];
+		}
+	}
+
+	static private class ComparableComparator implements Comparator<Comparable> {
+		static final ComparableComparator instance = new ComparableComparator();
+
+		public int compare (Comparable a, Comparable b) {
+			return a.compareTo(b);
+		}
+	}
+}
@@ -25,11 +25,26 @@ import com.badlogic.gdx.math.MathUtils;
  * {@link #tick()} to update the values. The {@link #time} {@link FloatCounter} provides access to the minimum, maximum, average,
  * total and current time (in seconds) the task takes. Likewise for the {@link #load} value, which is the percentage of the total
  * time.
+ * <p>
+ * Each tick the time is also recorded in the {@link #histogram}, so percentiles show spikes that averages hide. If an
+ * {@link #allocationTracker} is set, the bytes allocated between {@link #start()} and {@link #stop()} are recorded in
+ * {@link #allocations}. Counters can be nested using {@link #child(String)}.
  * @author xoppa */
 public class PerformanceCounter {
 	private final static float nano2seconds = MathUtils.nanoToSec;
+
+	/** When false, {@link #start()}, {@link #stop()} and {@link #tick()} return immediately so counters can be left in production
+	 * code at almost no cost. */
+	static public boolean enabled = true;
+	/** If not null, used to count the bytes allocated by each counter. Tracking allocations has a small cost for each
+	 * {@link #start()} and {@link #stop()}.
+	 * @see ThreadAllocationTracker */
+	static public @Null AllocationTracker allocationTracker;
+
 	private long startTime = 0L;
 	private long lastTick = 0L;
+	private long allocationStart = -1L;
+	private final int windowSize;
 
 	/** The time value of this counter (seconds) */
 	public final FloatCounter time;
@@ -42,20 +57,49 @@ public class PerformanceCounter {
 	public float current = 0f;
 	/** Flag to indicate that the current value is valid, you need to set this to true if using your own timing mechanism */
 	public boolean valid = false;
+	/** The time of each tick in nanoseconds. Use {@link Histogram#reset()} to start a new measurement period. */
+	public final Histogram histogram = new Histogram();
+	/** The bytes allocated each tick, only recorded when an {@link #allocationTracker} is set. */
+	public final Histogram allocations = new Histogram();
+	/** The bytes allocated since the last tick, you can manually increase this if needed. */
+	public long allocated = 0L;
+	/** The counter this counter is a child of, or null. */
+	public final @Null PerformanceCounter parent;
+	/** The nested counters, which are ticked and reset with this counter. */
+	public final Array<PerformanceCounter> children = new Array(0);
 
 	public PerformanceCounter (final String name) {
 		this(name, 5);
 	}
 
 	public PerformanceCounter (final String name, final int windowSize) {
+		this(name, windowSize, null);
+	}
+
+	private PerformanceCounter (final String name, final int windowSize, final @Null PerformanceCounter parent) {
 		this.name = name;
+		this.windowSize = windowSize;
+		this.parent = parent;
 		this.time = new FloatCounter(windowSize);
 		this.load = new FloatCounter(1);
 	}
 
+	/** Creates a counter for a part of the task this counter measures. The child is ticked and reset with this counter. */
+	public PerformanceCounter child (final String name) {
+		PerformanceCounter child = new PerformanceCounter(name, windowSize, this);
+		children.add(child);
+		return child;
+	}
+
+	/** Returns the names of the parents and this counter, separated by "/". */
+	public String getPath () {
+		return parent == null ? name : parent.getPath() + "/" + name;
+	}
+
 	/** Updates the time and load counters and resets the time. Call {@link #start()} to begin a new count. The values are only
 	 * valid after at least two calls to this method. */
 	public void tick () {
+		if (!enabled) return;
 		final long t = TimeUtils.nanoTime();
 		if (lastTick > 0L) tick((t - lastTick) * nano2seconds);
 		lastTick = t;
@@ -64,12 +108,19 @@ public class PerformanceCounter {
 	/** Updates the time and load counters and resets the time. Call {@link #start()} to begin a new count.
 	 * @param delta The time since the last call to this method */
 	public void tick (final float delta) {
+		if (!enabled) return;
+		for (int i = 0, n = children.size; i < n; i++)
+			children.get(i).tick(delta);
+
 		if (!valid) {
 			Gdx.app.error("PerformanceCounter", "Invalid data, check if you called PerformanceCounter#stop()");
 			return;
 		}
 
 		time.put(current);
+		histogram.record((long)(current * 1000000000d));
+		if (allocationTracker != null) allocations.record(allocated);
+		allocated = 0L;
 
 		final float currentLoad = delta == 0f ? 0f : current / delta;
 		load.put((delta > 1f) ? currentLoad : delta * currentLoad + (1f - delta) * load.latest);
@@ -81,6 +132,9 @@ public class PerformanceCounter {
 	/** Start counting, call this method just before performing the task you want to keep track of. Call {@link #stop()} when
 	 * done. */
 	public void start () {
+		if (!enabled) return;
+		AllocationTracker allocationTracker = PerformanceCounter.allocationTracker;
+		if (allocationTracker != null) allocationStart = allocationTracker.getAllocatedBytes();
 		startTime = TimeUtils.nanoTime();
 		valid = false;
 	}
@@ -92,6 +146,11 @@ public class PerformanceCounter {
 			current += (TimeUtils.nanoTime() - startTime) * nano2seconds;
 			startTime = 0L;
 			valid = true;
+			if (allocationStart != -1L) {
+				AllocationTracker allocationTracker = PerformanceCounter.allocationTracker;
+				if (allocationTracker != null) allocated += Math.max(0L, allocationTracker.getAllocatedBytes() - allocationStart);
+				allocationStart = -1L;
+			}
 		}
 	}
 
@@ -99,10 +158,16 @@ public class PerformanceCounter {
 	public void reset () {
 		time.reset();
 		load.reset();
+		histogram.reset();
+		allocations.reset();
 		startTime = 0L;
 		lastTick = 0L;
+		allocationStart = -1L;
 		current = 0f;
+		allocated = 0L;
 		valid = false;
+		for (int i = 0, n = children.size; i < n; i++)
+			children.get(i).reset();
 	}
 
 	/** {@inheritDoc} */
@@ -117,4 +182,10 @@ public class PerformanceCounter {
 		sb.append(name).append(": [time: ").append(time.value).append(", load: ").append(load.value).append("]");
 		return sb;
 	}
+
+	/** Returns the number of bytes allocated so far, used to count allocations for each {@link PerformanceCounter}. */
+	static public interface AllocationTracker {
+		/** Returns the total bytes allocated by the current thread. */
+		public long getAllocatedBytes ();
+	}
 }
@@ -16,15 +16,26 @@
 
 package com.badlogic.gdx.utils;
 
+import java.io.IOException;
+import java.io.Writer;
+
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
 
-/** @author xoppa */
+/** Keeps a list of {@link PerformanceCounter} instances, ticks them together and can export their statistics to JSON or CSV,
+ * optionally at a regular interval. Times are exported in milliseconds.
+ * @author xoppa */
 public class PerformanceCounters {
 	private final static float nano2seconds = MathUtils.nanoToSec;
 
 	private long lastTick = 0L;
 	public final Array<PerformanceCounter> counters = new Array<PerformanceCounter>();
 
+	private @Null FileHandle exportFile;
+	private ExportFormat exportFormat;
+	private float exportInterval, exportTime, exportElapsed;
+
 	public PerformanceCounter add (final String name, final int windowSize) {
 		PerformanceCounter result = new PerformanceCounter(name, windowSize);
 		counters.add(result);
@@ -38,14 +49,133 @@ public class PerformanceCounters {
 	}
 
 	public void tick () {
+		if (!PerformanceCounter.enabled) return;
 		final long t = TimeUtils.nanoTime();
 		if (lastTick > 0L) tick((t - lastTick) * nano2seconds);
 		lastTick = t;
 	}
 
 	public void tick (final float deltaTime) {
+		if (!PerformanceCounter.enabled) return;
 		for (int i = 0; i < counters.size; i++)
 			counters.get(i).tick(deltaTime);
+
+		if (exportFile != null) {
+			exportTime += deltaTime;
+			exportElapsed += deltaTime;
+			if (exportTime >= exportInterval) {
+				exportTime = 0;
+				export();
+			}
+		}
+	}
+
+	/** Appends the statistics to a file at a regular interval during {@link #tick()}. Each export covers the ticks since the
+	 * previous export, as the histograms of the counters are reset after exporting. For JSON, each export is a single line.
+	 * @param file May be null to stop exporting. */
+	public void setExport (@Null FileHandle file, ExportFormat format, float intervalSeconds) {
+		if (file != null && format == null) throw new IllegalArgumentException("format cannot be null.");
+		exportFile = file;
+		exportFormat = format;
+		exportInterval = intervalSeconds;
+		exportTime = 0;
+		exportElapsed = 0;
+		if (file != null) file.delete();
+	}
+
+	private void export () {
+		Writer writer = exportFile.writer(true, "UTF-8");
+		try {
+			if (exportFormat == ExportFormat.csv)
+				toCsv(writer, exportFile.length() == 0, exportElapsed);
+			else {
+				toJson(writer, OutputType.minimal);
+				writer.write('\n');
+			}
+		} catch (IOException ex) {
+			throw new GdxRuntimeException("Error exporting performance counters: " + exportFile, ex);
+		} finally {
+			StreamUtils.closeQuietly(writer);
+		}
+		for (int i = 0; i < counters.size; i++)
+			resetHistograms(counters.get(i));
+	}
+
+	private void resetHistograms (PerformanceCounter counter) {
+		counter.histogram.reset();
+		counter.allocations.reset();
+		for (int i = 0, n = counter.children.size; i < n; i++)
+			resetHistograms(counter.children.get(i));
+	}
+
+	/** Writes the statistics of all counters and their children as a JSON object with a "counters" array. */
+	public void toJson (Writer writer, OutputType outputType) throws IOException {
+		JsonWriter json = new JsonWriter(writer);
+		json.setOutputType(outputType);
+		json.object();
+		json.array("counters");
+		for (int i = 0; i < counters.size; i++)
+			toJson(json, counters.get(i));
+		json.pop();
+		json.pop();
+		json.flush();
+	}
+
+	private void toJson (JsonWriter json, PerformanceCounter counter) throws IOException {
+		Histogram histogram = counter.histogram;
+		json.object();
+		json.set("name", counter.getPath());
+		json.set("ticks", histogram.getCount());
+		json.set("meanMs", (float)(histogram.getMean() / 1000000));
+		json.set("minMs", histogram.getMin() / 1000000f);
+		json.set("maxMs", histogram.getMax() / 1000000f);
+		json.set("p50Ms", histogram.getPercentile(50) / 1000000f);
+		json.set("p99Ms", histogram.getPercentile(99) / 1000000f);
+		json.set("p999Ms", histogram.getPercentile(99.9) / 1000000f);
+		json.set("load", counter.load.value);
+		if (counter.allocations.getCount() > 0) {
+			json.set("allocatedMean", (long)counter.allocations.getMean());
+			json.set("allocatedMax", counter.allocations.getMax());
+		}
+		json.pop();
+		for (int i = 0, n = counter.children.size; i < n; i++)
+			toJson(json, counter.children.get(i));
+	}
+
+	/** Writes the statistics of all counters and their children as CSV, one row per counter.
+	 * @param header If true, a row with the column names is written first.
+	 * @param time The value of the first column, usually the seconds since exporting began. */
+	public void toCsv (Writer writer, boolean header, float time) throws IOException {
+		if (header) writer.write("time,name,ticks,meanMs,minMs,maxMs,p50Ms,p99Ms,p999Ms,load,allocatedMean,allocatedMax\n");
+		for (int i = 0; i < counters.size; i++)
+			toCsv(writer, counters.get(i), time);
+	}
+
+	private void toCsv (Writer writer, PerformanceCounter counter, float time) throws IOException {
+		Histogram histogram = counter.histogram, allocations = counter.allocations;
+		StringBuilder buffer = new StringBuilder(128);
+		buffer.append(time).append(',');
+		String path = counter.getPath();
+		if (path.indexOf(',') != -1 || path.indexOf('"') != -1)
+			buffer.append('"').append(path.replace("\"", "\"\"")).append('"');
+		else
+			buffer.append(path);
+		buffer.append(',').append(histogram.getCount());
+		buffer.append(',').append((float)(histogram.getMean() / 1000000));
+		buffer.append(',').append(histogram.getMin() / 1000000f);
+		buffer.append(',').append(histogram.getMax() / 1000000f);
+		buffer.append(',').append(histogram.getPercentile(50) / 1000000f);
+		buffer.append(',').append(histogram.getPercentile(99) / 1000000f);
+		buffer.append(',').append(histogram.getPercentile(99.9) / 1000000f);
+		buffer.append(',').append(counter.load.value);
+		buffer.append(',');
+		if (allocations.getCount() > 0) buffer.append((long)allocations.getMean());
+		buffer.append(',');
+		if (allocations.getCount() > 0) buffer.append(allocations.getMax());
+		buffer.append('\n');
+		writer.write(buffer.toString());
+		for (int i = 0, n = counter.children.size; i < n; i++)
+			toCsv(writer, counter.children.get(i), time);
 	}
 
 	public StringBuilder toString (final StringBuilder sb) {
@@ -56,4 +186,8 @@ public class PerformanceCounters {
 		}
 		return sb;
 	}
+
+	static public enum ExportFormat {
+		json, csv
+	}
 }
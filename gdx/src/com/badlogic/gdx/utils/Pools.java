@@ -30,9 +30,14 @@ import com.badlogic.gdx.scenes.scene2d.utils.FocusListener.FocusEvent;
 import com.badlogic.gdx.utils.DefaultPool.PoolSupplier;
 
 /** Stores a map of {@link Pool}s by type for convenient static access.
+ * <p>
+ * Looking up pools is thread safe: the map is replaced rather than modified when a pool is added, so {@link #get(Class)},
+ * {@link #obtain(Class)} and {@link #free(Object)} don't lock. Pools created by {@link #get(Class)} using reflection are
+ * {@link ThreadSafePool}s. Pools registered with {@link #set(PoolSupplier)} are not thread safe, use
+ * {@link #setThreadSafe(PoolSupplier)} for types that are obtained or freed from multiple threads.
  * @author Nathan Sweet */
 public class Pools {
-	static private final ObjectMap<Class<?>, Pool<?>> typePools = new ObjectMap<>();
+	static private volatile ObjectMap<Class<?>, Pool<?>> typePools = new ObjectMap<>();
 	static public boolean WARN_ON_REFLECTION_POOL_CREATION = true;
 	static public boolean THROW_ON_REFLECTION_POOL_CREATION = false;
 
@@ -82,15 +87,20 @@ public class Pools {
 	 * if this is not the first time this pool has been requested. */
 	static public <T> Pool<T> get (Class<T> type, int max) {
 		Pool pool = typePools.get(type);
-		if (pool == null) {
+		if (pool != null) return pool;
+		synchronized (Pools.class) {
+			pool = typePools.get(type);
+			if (pool != null) return pool;
 			if (THROW_ON_REFLECTION_POOL_CREATION) throw new RuntimeException(
 				"Please manually define a Pool for " + type + " by calling Pools#set before calling Pools#get");
 			if (WARN_ON_REFLECTION_POOL_CREATION && Gdx.app != null) Gdx.app.error("Pools",
 				"Please manually define a Pool for " + type + " by calling Pools#set before calling Pools#get");
-			pool = new ReflectionPool(type, 4, max);
-			typePools.put(type, pool);
+			// Objects are created with a reflection pool, but kept in a thread safe pool.
+			ReflectionPool<T> reflectionPool = new ReflectionPool<T>(type, 0, 0);
+			pool = new ThreadSafePool<T>(reflectionPool::newObject, 4, max);
+			set(type, pool);
+			return pool;
 		}
-		return pool;
 	}
 
 	/** Returns a new or existing pool for the specified type, stored in a Class to {@link Pool} map. The max size of the pool used
@@ -101,7 +111,11 @@ public class Pools {
 
 	/** Sets an existing pool for the specified type, stored in a Class to {@link Pool} map. */
 	static public <T> void set (Class<T> type, Pool<T> pool) {
-		typePools.put(type, pool);
+		synchronized (Pools.class) {
+			ObjectMap<Class<?>, Pool<?>> typePools = new ObjectMap(Pools.typePools);
+			typePools.put(type, pool);
+			Pools.typePools = typePools;
+		}
 	}
 
 	/** Sets an existing pool for the specified type, stored in a Class to {@link Pool} map. Usage can use java 8 method
@@ -116,6 +130,18 @@ public class Pools {
 		set(poolTypeSupplier, 100);
 	}
 
+	/** Sets a {@link ThreadSafePool} for the specified type, so objects of the type can be obtained and freed from any thread.
+	 * Usage can use java 8 method references: {@code Pools.setThreadSafe(MyClass::new, max)} */
+	static public <T> void setThreadSafe (PoolSupplier<T> poolTypeSupplier, int max) {
+		set((Class<T>)poolTypeSupplier.get().getClass(), new ThreadSafePool<>(poolTypeSupplier, 4, max));
+	}
+
+	/** Sets a {@link ThreadSafePool} for the specified type, so objects of the type can be obtained and freed from any thread.
+	 * Usage can use java 8 method references: {@code Pools.setThreadSafe(MyClass::new)} */
+	static public <T> void setThreadSafe (PoolSupplier<T> poolTypeSupplier) {
+		setThreadSafe(poolTypeSupplier, 100);
+	}
+
 	/** Obtains an object from the {@link #get(Class) pool}. */
 	static public <T> T obtain (Class<T> type) {
 		return get(type).obtain();
@@ -139,6 +165,7 @@ public class Pools {
 	 * @param samePool If true, objects don't need to be from the same pool but the pool must be looked up for each object. */
 	static public void freeAll (Array objects, boolean samePool) {
 		if (objects == null) throw new IllegalArgumentException("objects cannot be null.");
+		ObjectMap<Class<?>, Pool<?>> typePools = Pools.typePools;
 		Pool pool = null;
 		for (int i = 0, n = objects.size; i < n; i++) {
 			Object object = objects.get(i);
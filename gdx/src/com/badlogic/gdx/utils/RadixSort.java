@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.Arrays;
+
+/** Sorts primitive arrays using an LSD radix sort, and object arrays by primitive keys. Sorting takes a constant number of
+ * passes over the data rather than O(n log n) comparisons, which is much faster for large arrays such as depth sorting
+ * thousands of sprites or particles each frame. Passes where all values share the same byte are skipped.
+ * <p>
+ * Sorting requires working memory and this class allows that memory to be reused to avoid allocation. Small ranges are sorted
+ * using {@link Arrays#sort(int[], int, int)}.
+ * <p>
+ * Floats are ordered as by {@link Float#compare(float, float)}: -0 is less than 0 and NaN is greater than positive infinity. NaN
+ * values with any sign or payload are sorted as {@link Float#NaN}. */
+public class RadixSort {
+	static private RadixSort instance;
+	static private final int smallSize = 64;
+
+	private final int[] counts = new int[256 * 8];
+	private int[] intKeys = new int[0], intBuffer = new int[0];
+	private long[] longKeys = new long[0], longBuffer = new long[0];
+	private Object[] itemBuffer = new Object[0];
+
+	public void sort (IntArray a) {
+		sort(a.items, 0, a.size);
+	}
+
+	public void sort (int[] a, int fromIndex, int toIndex) {
+		int n = toIndex - fromIndex;
+		if (n < smallSize) {
+			Arrays.sort(a, fromIndex, toIndex);
+			return;
+		}
+		int[] result = sort(a, fromIndex, intBuffer(n), n, 0x80);
+		if (result != a) System.arraycopy(result, 0, a, fromIndex, n);
+	}
+
+	public void sort (FloatArray a) {
+		sort(a.items, 0, a.size);
+	}
+
+	public void sort (float[] a, int fromIndex, int toIndex) {
+		int n = toIndex - fromIndex;
+		if (n < smallSize) {
+			Arrays.sort(a, fromIndex, toIndex);
+			return;
+		}
+		int[] keys = intKeys(n);
+		for (int i = 0; i < n; i++)
+			keys[i] = floatKey(a[fromIndex + i]);
+		int[] result = sort(keys, 0, intBuffer(n), n, 0);
+		for (int i = 0; i < n; i++)
+			a[fromIndex + i] = floatValue(result[i]);
+	}
+
+	public void sort (LongArray a) {
+		sort(a.items, 0, a.size);
+	}
+
+	public void sort (long[] a, int fromIndex, int toIndex) {
+		int n = toIndex - fromIndex;
+		if (n < smallSize) {
+			Arrays.sort(a, fromIndex, toIndex);
+			return;
+		}
+		long[] result = sort(a, fromIndex, longBuffer(n), n, 0, 0x80);
+		if (result != a) System.arraycopy(result, 0, a, fromIndex, n);
+	}
+
+	/** Sorts the keys and reorders the items so each item stays at the same index as its key. The sort is stable: items with
+	 * equal keys keep their relative order.
+	 * @param keys Must have the same size as the items. */
+	public <T> void sort (Array<T> items, FloatArray keys) {
+		if (items.size != keys.size)
+			throw new IllegalArgumentException("items and keys must have the same size: " + items.size + " != " + keys.size);
+		sort(items.items, keys.items, 0, items.size);
+	}
+
+	/** Sorts the keys in the range and reorders the items in the same range so each item stays at the same index as its key. The
+	 * sort is stable. */
+	public <T> void sort (T[] items, float[] keys, int fromIndex, int toIndex) {
+		int n = toIndex - fromIndex;
+		if (n < 2) return;
+		long[] pairs = longKeys(n);
+		for (int i = 0; i < n; i++)
+			pairs[i] = (long)floatKey(keys[fromIndex + i]) << 32 | i;
+		pairs = sort(pairs, 0, longBuffer(n), n, 4, 0);
+		for (int i = 0; i < n; i++)
+			keys[fromIndex + i] = floatValue((int)(pairs[i] >>> 32));
+		permute(items, pairs, fromIndex, n);
+	}
+
+	/** Sorts the keys and reorders the items so each item stays at the same index as its key. The sort is stable: items with
+	 * equal keys keep their relative order.
+	 * @param keys Must have the same size as the items. */
+	public <T> void sort (Array<T> items, IntArray keys) {
+		if (items.size != keys.size)
+			throw new IllegalArgumentException("items and keys must have the same size: " + items.size + " != " + keys.size);
+		sort(items.items, keys.items, 0, items.size);
+	}
+
+	/** Sorts the keys in the range and reorders the items in the same range so each item stays at the same index as its key. The
+	 * sort is stable. */
+	public <T> void sort (T[] items, int[] keys, int fromIndex, int toIndex) {
+		int n = toIndex - fromIndex;
+		if (n < 2) return;
+		long[] pairs = longKeys(n);
+		for (int i = 0; i < n; i++)
+			pairs[i] = (long)(keys[fromIndex + i] ^ 0x80000000) << 32 | i;
+		pairs = sort(pairs, 0, longBuffer(n), n, 4, 0);
+		for (int i = 0; i < n; i++)
+			keys[fromIndex + i] = (int)(pairs[i] >>> 32) ^ 0x80000000;
+		permute(items, pairs, fromIndex, n);
+	}
+
+	/** Moves each item to the position of its key. The low 32 bits of each pair is the item's original index. */
+	private void permute (Object[] items, long[] pairs, int fromIndex, int n) {
+		Object[] itemBuffer = this.itemBuffer;
+		if (itemBuffer.length < n) this.itemBuffer = itemBuffer = new Object[Math.max(n, (int)(itemBuffer.length * 1.75f))];
+		for (int i = 0; i < n; i++)
+			itemBuffer[i] = items[fromIndex + (int)pairs[i]];
+		System.arraycopy(itemBuffer, 0, items, fromIndex, n);
+		Arrays.fill(itemBuffer, 0, n, null);
+	}
+
+	/** Sorts n values starting at offset in the source, 8 bits per pass.
+	 * @param signFlip XORed with the most significant byte, 0x80 for signed values and 0 for unsigned.
+	 * @return The source or the buffer, whichever holds the result. The result starts at the offset if the source is returned,
+	 *         else at 0. */
+	private int[] sort (int[] source, int offset, int[] buffer, int n, int signFlip) {
+		int[] counts = this.counts;
+		Arrays.fill(counts, 0, 256 * 4, 0);
+		for (int i = offset, end = offset + n; i < end; i++) {
+			int value = source[i];
+			counts[value & 0xff]++;
+			counts[256 + (value >>> 8 & 0xff)]++;
+			counts[512 + (value >>> 16 & 0xff)]++;
+			counts[768 + ((value >>> 24) ^ signFlip)]++;
+		}
+		int[] from = source, to = buffer;
+		int fromOffset = offset, toOffset = 0;
+		for (int pass = 0; pass < 4; pass++) {
+			int c = pass << 8;
+			if (!startIndices(counts, c, n)) continue;
+			int shift = pass << 3, flip = pass == 3 ? signFlip : 0;
+			for (int i = fromOffset, end = fromOffset + n; i < end; i++) {
+				int value = from[i];
+				to[toOffset + counts[c + ((value >>> shift & 0xff) ^ flip)]++] = value;
+			}
+			int[] temp = from;
+			from = to;
+			to = temp;
+			int tempOffset = fromOffset;
+			fromOffset = toOffset;
+			toOffset = tempOffset;
+		}
+		return from;
+	}
+
+	/** Sorts n values starting at offset in the source, 8 bits per pass starting at the specified byte.
+	 * @param signFlip XORed with the most significant byte, 0x80 for signed values and 0 for unsigned.
+	 * @return The source or the buffer, whichever holds the result. The result starts at the offset if the source is returned,
+	 *         else at 0. */
+	private long[] sort (long[] source, int offset, long[] buffer, int n, int firstByte, int signFlip) {
+		int[] counts = this.counts;
+		Arrays.fill(counts, 0, 256 * 8, 0);
+		for (int i = offset, end = offset + n; i < end; i++) {
+			long value = source[i];
+			for (int b = firstByte; b < 7; b++)
+				counts[(b << 8) + (int)(value >>> (b << 3) & 0xff)]++;
+			counts[(7 << 8) + ((int)(value >>> 56) ^ signFlip)]++;
+		}
+		long[] from = source, to = buffer;
+		int fromOffset = offset, toOffset = 0;
+		for (int pass = firstByte; pass < 8; pass++) {
+			int c = pass << 8;
+			if (!startIndices(counts, c, n)) continue;
+			int shift = pass << 3, flip = pass == 7 ? signFlip : 0;
+			for (int i = fromOffset, end = fromOffset + n; i < end; i++) {
+				long value = from[i];
+				to[toOffset + counts[c + ((int)(value >>> shift & 0xff) ^ flip)]++] = value;
+			}
+			long[] temp = from;
+			from = to;
+			to = temp;
+			int tempOffset = fromOffset;
+			fromOffset = toOffset;
+			toOffset = tempOffset;
+		}
+		return from;
+	}
+
+	/** Converts the counts for one byte to the index where each bucket starts.
+	 * @return false if all values are in the same bucket, so the pass can be skipped. */
+	static private boolean startIndices (int[] counts, int offset, int n) {
+		int total = 0;
+		for (int i = offset, end = offset + 256; i < end; i++) {
+			int count = counts[i];
+			if (count == n) return false;
+			counts[i] = total;
+			total += count;
+		}
+		return true;
+	}
+
+	/** Returns bits for the float that sort as unsigned ints in the same order as {@link Float#compare(float, float)}. The bits
+	 * of NaN are canonicalized, otherwise a NaN with the sign bit set would sort before negative infinity. */
+	static private int floatKey (float value) {
+		int bits = NumberUtils.floatToIntBits(value);
+		return bits ^ (bits >> 31 | 0x80000000);
+	}
+
+	static private float floatValue (int key) {
+		return NumberUtils.intBitsToFloat(key ^ ((key >>> 31) - 1 | 0x80000000));
+	}
+
+	private int[] intKeys (int n) {
+		if (intKeys.length < n) intKeys = new int[Math.max(n, (int)(intKeys.length * 1.75f))];
+		return intKeys;
+	}
+
+	private int[] intBuffer (int n) {
+		if (intBuffer.length < n) intBuffer = new int[Math.max(n, (int)(intBuffer.length * 1.75f))];
+		return intBuffer;
+	}
+
+	private long[] longKeys (int n) {
+		if (longKeys.length < n) longKeys = new long[Math.max(n, (int)(longKeys.length * 1.75f))];
+		return longKeys;
+	}
+
+	private long[] longBuffer (int n) {
+		if (longBuffer.length < n) longBuffer = new long[Math.max(n, (int)(longBuffer.length * 1.75f))];
+		return longBuffer;
+	}
+
+	/** Returns a RadixSort instance for convenience. Multiple threads must not use this instance at the same time. */
+	static public RadixSort instance () {
+		if (instance == null) instance = new RadixSort();
+		return instance;
+	}
+}
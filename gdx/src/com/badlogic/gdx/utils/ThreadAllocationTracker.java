@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+
+import com.badlogic.gdx.utils.PerformanceCounter.AllocationTracker;
+
+/** Counts the bytes allocated by the current thread using the HotSpot thread MX bean. This is available on desktop JVMs, but
+ * not on Android, iOS or GWT. The bean is found using reflection, so core does not reference the com.sun.management classes.
+ * Each call boxes the returned count, so until the JIT removes the boxing the bytes between two calls include a few bytes
+ * allocated by the tracker itself.
+ * 
+ * <pre>
+ * if (ThreadAllocationTracker.isSupported()) PerformanceCounter.allocationTracker = new ThreadAllocationTracker();
+ * </pre>
+ */
+public class ThreadAllocationTracker implements AllocationTracker {
+	static private Object bean;
+	static private Method method;
+
+	// The boxed thread ID is reused for each call, only the result is boxed.
+	private final ThreadLocal<Object[]> threadId = new ThreadLocal<Object[]>() {
+		protected Object[] initialValue () {
+			return new Object[] {Thread.currentThread().getId()};
+		}
+	};
+
+	public ThreadAllocationTracker () {
+		if (!isSupported()) throw new GdxRuntimeException("Thread allocation tracking is not supported.");
+	}
+
+	public long getAllocatedBytes () {
+		try {
+			return (Long)method.invoke(bean, threadId.get());
+		} catch (Exception ex) {
+			throw new GdxRuntimeException(ex);
+		}
+	}
+
+	static public synchronized boolean isSupported () {
+		if (method == null) {
+			try {
+				Object bean = ManagementFactory.getThreadMXBean();
+				Method method = Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", long.class);
+				if ((Long)method.invoke(bean, Thread.currentThread().getId()) < 0) return false;
+				ThreadAllocationTracker.bean = bean;
+				ThreadAllocationTracker.method = method;
+			} catch (Throwable ex) { // Classes are missing, eg on Android.
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.utils.DefaultPool.PoolSupplier;
+
+/** A {@link Pool} that can be used from multiple threads at once. Each thread keeps its own small list of free objects, so
+ * {@link #obtain()} and {@link #free(Object)} don't need a lock in the common case. When a thread's list is empty, a batch of
+ * objects is taken from a shared list, and when it is full, half of it is moved to the shared list. Only the shared list is
+ * synchronized.
+ * <p>
+ * {@link #max} limits the number of objects in the shared list. Each thread may additionally hold up to {@link #threadMax} free
+ * objects. Objects freed on one thread can be obtained on another thread.
+ * <p>
+ * Methods that inspect or clear the pool, such as {@link #getFree()} and {@link #clear()}, only see the shared list and the
+ * calling thread's list. */
+public class ThreadSafePool<T> extends Pool<T> {
+	/** The maximum number of free objects each thread keeps before objects are moved to the shared list. */
+	public final int threadMax;
+
+	private final @Null PoolSupplier<T> supplier;
+	private final Array<T> sharedObjects;
+	private final ThreadLocal<Array<T>> threadObjects = new ThreadLocal<Array<T>>() {
+		protected Array<T> initialValue () {
+			return new Array(false, threadMax);
+		}
+	};
+
+	/** Creates a pool with an initial capacity of 16, no maximum and 32 free objects per thread. */
+	public ThreadSafePool (PoolSupplier<T> supplier) {
+		this(supplier, 16, Integer.MAX_VALUE, 32);
+	}
+
+	/** Creates a pool with 32 free objects per thread. */
+	public ThreadSafePool (PoolSupplier<T> supplier, int initialCapacity, int max) {
+		this(supplier, initialCapacity, max, 32);
+	}
+
+	/** @param supplier Creates new objects. May be null if {@link #newObject()} is overridden.
+	 * @param initialCapacity The initial size of the shared array supporting the pool.
+	 * @param max The maximum number of free objects to store in the shared list.
+	 * @param threadMax The maximum number of free objects each thread keeps without synchronization. */
+	public ThreadSafePool (@Null PoolSupplier<T> supplier, int initialCapacity, int max, int threadMax) {
+		super(0, max);
+		if (threadMax < 1) throw new IllegalArgumentException("threadMax must be > 0: " + threadMax);
+		this.supplier = supplier;
+		this.threadMax = threadMax;
+		sharedObjects = new Array(false, initialCapacity);
+	}
+
+	protected T newObject () {
+		if (supplier == null) throw new IllegalStateException("A supplier is required or newObject must be overridden.");
+		return supplier.get();
+	}
+
+	public T obtain () {
+		Array<T> threadObjects = this.threadObjects.get();
+		if (threadObjects.size == 0) {
+			synchronized (sharedObjects) {
+				Array<T> sharedObjects = this.sharedObjects;
+				int count = Math.min(sharedObjects.size, Math.max(1, threadMax >> 1));
+				if (count > 0) {
+					int start = sharedObjects.size - count;
+					threadObjects.addAll(sharedObjects, start, count);
+					sharedObjects.truncate(start);
+				}
+			}
+			if (threadObjects.size == 0) return newObject();
+		}
+		return threadObjects.pop();
+	}
+
+	/** Puts the specified object in the calling thread's free list, making it eligible to be returned by {@link #obtain()}. If the
+	 * thread's list is full, half of it is moved to the shared list. Objects that don't fit in the shared list are
+	 * {@link #discard(Object) discarded}.
+	 * <p>
+	 * The pool does not check if an object is already freed, so the same object must not be freed multiple times. */
+	public void free (T object) {
+		if (object == null) throw new IllegalArgumentException("object cannot be null.");
+		Array<T> threadObjects = this.threadObjects.get();
+		if (threadObjects.size >= threadMax) moveToShared(threadObjects, (threadMax + 1) >> 1);
+		threadObjects.add(object);
+		reset(object);
+	}
+
+	/** Moves objects from the end of the thread's list to the shared list, discarding those that exceed {@link #max}. */
+	private void moveToShared (Array<T> threadObjects, int count) {
+		int start = threadObjects.size - count;
+		T[] items = threadObjects.items;
+		int add;
+		synchronized (sharedObjects) {
+			Array<T> sharedObjects = this.sharedObjects;
+			add = Math.min(count, Math.max(0, max - sharedObjects.size));
+			if (add > 0) {
+				sharedObjects.addAll(threadObjects, start, add);
+				peak = Math.max(peak, sharedObjects.size);
+			}
+		}
+		for (int i = start + add, n = threadObjects.size; i < n; i++)
+			discard(items[i]);
+		threadObjects.truncate(start);
+	}
+
+	/** Adds the specified number of new free objects to the shared list. */
+	public void fill (int size) {
+		synchronized (sharedObjects) {
+			Array<T> sharedObjects = this.sharedObjects;
+			for (int i = 0; i < size; i++)
+				if (sharedObjects.size < max) sharedObjects.add(newObject());
+			peak = Math.max(peak, sharedObjects.size);
+		}
+	}
+
+	/** Puts the specified objects in the pool. Null objects within the array are silently ignored.
+	 * @see #free(Object) */
+	public void freeAll (Array<T> objects) {
+		if (objects == null) throw new IllegalArgumentException("objects cannot be null.");
+		for (int i = 0, n = objects.size; i < n; i++) {
+			T object = objects.get(i);
+			if (object != null) free(object);
+		}
+	}
+
+	/** Removes and discards all free objects in the shared list and the calling thread's list. Other threads' lists are not
+	 * affected. */
+	public void clear () {
+		Array<T> threadObjects = this.threadObjects.get();
+		for (int i = 0, n = threadObjects.size; i < n; i++)
+			discard(threadObjects.get(i));
+		threadObjects.clear();
+		synchronized (sharedObjects) {
+			Array<T> sharedObjects = this.sharedObjects;
+			for (int i = 0, n = sharedObjects.size; i < n; i++)
+				discard(sharedObjects.get(i));
+			sharedObjects.clear();
+		}
+	}
+
+	/** The number of objects available to be obtained by the calling thread, which is the size of the shared list plus the
+	 * calling thread's list. */
+	public int getFree () {
+		int threadFree = threadObjects.get().size;
+		synchronized (sharedObjects) {
+			return sharedObjects.size + threadFree;
+		}
+	}
+}
@@ -20,6 +20,7 @@ import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Files;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.LifecycleListener;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 /** Executes tasks in the future on the main loop thread.
  * @author Nathan Sweet */
@@ -88,7 +89,7 @@ public class Timer {
 					task.executeTimeMillis = executeTimeMillis;
 					task.intervalMillis = (long)(intervalSeconds * 1000);
 					task.repeatCount = repeatCount;
-					tasks.add(task);
+					add(task);
 				}
 			}
 			threadLock.notifyAll();
@@ -135,6 +136,16 @@ public class Timer {
 		}
 	}
 
+	/** Adds a task that was just scheduled. Called while synchronized on this timer and the task. */
+	void add (Task task) {
+		tasks.add(task);
+	}
+
+	/** Removes a task that was cancelled. Called while synchronized on this timer. */
+	void remove (Task task) {
+		tasks.removeValue(task, true);
+	}
+
 	/** Returns true if the timer has no tasks in the queue. Note that this can change at any time. Synchronize on the timer
 	 * instance to prevent tasks being added, removed, or updated. */
 	public synchronized boolean isEmpty () {
@@ -206,6 +217,10 @@ public class Timer {
 		long executeTimeMillis, intervalMillis;
 		int repeatCount;
 		volatile Timer timer;
+		// Used by TimingWheelTimer.
+		Task wheelNext, wheelPrev;
+		int wheelSlot = -1;
+		AsyncTask<Void> asyncTask;
 
 		public Task () {
 			app = Gdx.app; // Store which app to postRunnable (eg for multiple LwjglAWTCanvas).
@@ -223,7 +238,7 @@ public class Timer {
 				Timer timer = this.timer;
 				if (timer != null) {
 					synchronized (timer) {
-						timer.tasks.removeValue(this, true);
+						timer.remove(this);
 						reset();
 					}
 				} else
@@ -330,6 +345,14 @@ public class Timer {
 			}
 		}
 
+		void addPostedTasks (Array<Task> tasks) {
+			synchronized (postedTasks) {
+				if (tasks.isEmpty()) return;
+				if (postedTasks.isEmpty()) tasks.first().app.postRunnable(runPostedTasks);
+				postedTasks.addAll(tasks);
+			}
+		}
+
 		void removePostedTask (Task task) {
 			synchronized (postedTasks) {
 				Object[] items = postedTasks.items;
@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** A {@link Timer} that stores tasks in a hierarchical timing wheel rather than a list. Scheduling and cancelling a task is
+ * O(1) and each update only visits the tasks that are due, so it scales to many thousands of scheduled tasks. Tasks that are
+ * due in the same tick are posted to the application thread together.
+ * <p>
+ * Execution times are rounded up to the tick duration. Tasks due more than 2^32 ticks in the future are reinserted when they
+ * get closer, so any delay is allowed.
+ * <p>
+ * If an {@link #setExecutor(AsyncExecutor) executor} is set, tasks are run on its threads instead of the application thread.
+ * Tasks then may run concurrently with each other and with the application thread, and a repeating task may run concurrently
+ * with itself if it takes longer than its interval. Cancelling a task does not stop an execution that was already submitted. */
+public class TimingWheelTimer extends Timer {
+	static private final int slotBits = 8, slotCount = 1 << slotBits, slotMask = slotCount - 1, levels = 4;
+
+	private final int tickMillis;
+	/** The head of the linked list of tasks for each slot, level 0 first. */
+	private final Task[] slots = new Task[levels * slotCount];
+	private final Array<Task> expired = new Array(false, 16);
+	private long currentTick;
+	private int size;
+	private AsyncExecutor executor;
+
+	/** Creates a timer with a 1 millisecond tick. */
+	public TimingWheelTimer () {
+		this(1);
+	}
+
+	/** @param tickMillis The resolution of the timer. A larger tick means tasks are batched more and the wheel covers a longer
+	 *           time before tasks need to be reinserted. */
+	public TimingWheelTimer (int tickMillis) {
+		if (tickMillis < 1) throw new IllegalArgumentException("tickMillis must be > 0: " + tickMillis);
+		synchronized (threadLock) {
+			synchronized (this) {
+				long timeMillis = System.nanoTime() / 1000000;
+				long pauseTimeMillis = thread().pauseTimeMillis;
+				if (pauseTimeMillis > 0) timeMillis = pauseTimeMillis;
+				currentTick = timeMillis / tickMillis;
+				// Set last, the timer thread may call update or delay before this constructor has run.
+				this.tickMillis = tickMillis;
+			}
+		}
+	}
+
+	/** Sets the executor used to run tasks. If null, tasks are run on the application thread (the default). */
+	public synchronized void setExecutor (AsyncExecutor executor) {
+		this.executor = executor;
+	}
+
+	public synchronized AsyncExecutor getExecutor () {
+		return executor;
+	}
+
+	/** Returns the number of scheduled tasks. */
+	public synchronized int size () {
+		return size;
+	}
+
+	void add (Task task) {
+		insert(task, currentTick + 1);
+		size++;
+	}
+
+	void remove (Task task) {
+		if (task.wheelSlot == -1) return;
+		unlink(task);
+		size--;
+	}
+
+	/** @param minTick The earliest tick the task may be executed. */
+	private void insert (Task task, long minTick) {
+		long dueTick = Math.max(minTick, (task.executeTimeMillis + tickMillis - 1) / tickMillis);
+		long delta = dueTick - currentTick;
+		int level = 0;
+		while (level < levels - 1 && delta >= 1L << (slotBits * (level + 1)))
+			level++;
+		// Tasks beyond the last level are put in its furthest slot and reinserted when that slot is cascaded.
+		if (delta >= 1L << (slotBits * levels)) dueTick = currentTick + (1L << (slotBits * levels)) - 1;
+		int slot = level * slotCount + (int)(dueTick >>> (slotBits * level) & slotMask);
+		Task head = slots[slot];
+		task.wheelSlot = slot;
+		task.wheelPrev = null;
+		task.wheelNext = head;
+		if (head != null) head.wheelPrev = task;
+		slots[slot] = task;
+	}
+
+	private void unlink (Task task) {
+		Task prev = task.wheelPrev, next = task.wheelNext;
+		if (prev != null)
+			prev.wheelNext = next;
+		else
+			slots[task.wheelSlot] = next;
+		if (next != null) next.wheelPrev = prev;
+		task.wheelNext = null;
+		task.wheelPrev = null;
+		task.wheelSlot = -1;
+	}
+
+	/** Reinserts all the tasks in a slot of a higher level, moving them closer to level 0. */
+	private void cascade (int level) {
+		int slot = level * slotCount + (int)(currentTick >>> (slotBits * level) & slotMask);
+		Task task = slots[slot];
+		slots[slot] = null;
+		while (task != null) {
+			Task next = task.wheelNext;
+			insert(task, currentTick);
+			task = next;
+		}
+	}
+
+	public void clear () {
+		synchronized (threadLock) {
+			TimerThread thread = thread();
+			synchronized (this) {
+				synchronized (thread.postedTasks) {
+					for (int i = 0, n = slots.length; i < n; i++) {
+						Task task = slots[i];
+						slots[i] = null;
+						while (task != null) {
+							Task next = task.wheelNext;
+							thread.removePostedTask(task);
+							task.wheelNext = null;
+							task.wheelPrev = null;
+							task.wheelSlot = -1;
+							task.reset();
+							task = next;
+						}
+					}
+				}
+				size = 0;
+			}
+		}
+	}
+
+	public synchronized boolean isEmpty () {
+		return size == 0;
+	}
+
+	synchronized long update (TimerThread thread, long timeMillis, long waitMillis) {
+		if (tickMillis == 0) return waitMillis;
+		long targetTick = timeMillis / tickMillis;
+		if (size == 0) {
+			if (targetTick > currentTick) currentTick = targetTick;
+			return waitMillis;
+		}
+
+		while (currentTick < targetTick) {
+			currentTick++;
+			int index = (int)(currentTick & slotMask);
+			for (int level = 1; index == 0 && level < levels; level++) {
+				cascade(level);
+				index = (int)(currentTick >>> (slotBits * level) & slotMask);
+			}
+
+			Task task = slots[index = (int)(currentTick & slotMask)];
+			slots[index] = null;
+			while (task != null) {
+				Task next = task.wheelNext;
+				synchronized (task) {
+					task.wheelNext = null;
+					task.wheelPrev = null;
+					task.wheelSlot = -1;
+					if (task.repeatCount == 0) {
+						task.timer = null;
+						size--;
+					} else {
+						task.executeTimeMillis = timeMillis + task.intervalMillis;
+						if (task.repeatCount > 0) task.repeatCount--;
+						// A task is executed at most once per update, even when catching up on many ticks.
+						insert(task, targetTick + 1);
+					}
+				}
+				expired.add(task);
+				task = next;
+			}
+			if (expired.size > 0) execute(thread);
+			if (size == 0) {
+				currentTick = targetTick;
+				return waitMillis;
+			}
+		}
+
+		// Wait until the next task in level 0 or, if there is none, until level 0 wraps and the next level is cascaded.
+		long nextTick = (currentTick | slotMask) + 1;
+		for (long tick = currentTick + 1; tick < nextTick; tick++) {
+			if (slots[(int)(tick & slotMask)] != null) {
+				nextTick = tick;
+				break;
+			}
+		}
+		return Math.min(waitMillis, nextTick * tickMillis - timeMillis);
+	}
+
+	private void execute (TimerThread thread) {
+		AsyncExecutor executor = this.executor;
+		if (executor == null)
+			thread.addPostedTasks(expired);
+		else {
+			for (int i = 0, n = expired.size; i < n; i++) {
+				final Task task = expired.get(i);
+				if (task.asyncTask == null) {
+					task.asyncTask = new AsyncTask<Void>() {
+						public Void call () {
+							task.run();
+							return null;
+						}
+					};
+				}
+				executor.submit(task.asyncTask);
+			}
+		}
+		expired.clear();
+	}
+
+	public synchronized void delay (long delayMillis) {
+		if (tickMillis == 0 || size == 0) return;
+		// Only the scheduled tasks are delayed, tasks scheduled later are relative to the current time.
+		Array<Task> tasks = new Array(false, size);
+		for (int i = 0, n = slots.length; i < n; i++) {
+			Task task = slots[i];
+			slots[i] = null;
+			while (task != null) {
+				Task next = task.wheelNext;
+				tasks.add(task);
+				task = next;
+			}
+		}
+		for (int i = 0, n = tasks.size; i < n; i++) {
+			Task task = tasks.get(i);
+			synchronized (task) {
+				task.executeTimeMillis += delayMillis;
+				insert(task, currentTick + 1);
+			}
+		}
+	}
+}
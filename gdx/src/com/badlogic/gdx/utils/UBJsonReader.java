@@ -19,7 +19,10 @@ package com.badlogic.gdx.utils;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
 
 /** Lightweight UBJSON parser.<br>
  * <br>
@@ -28,6 +31,7 @@ import com.badlogic.gdx.files.FileHandle;
  * @author Xoppa */
 public class UBJsonReader implements BaseJsonReader {
 	public boolean oldFormat = true;
+	private @Null DomSkimmer skimmer;
 
 	/** Parses the UBJSON from the given stream. <br>
 	 * For best performance you should provide buffered streams to this method! */
@@ -53,6 +57,23 @@ public class UBJsonReader implements BaseJsonReader {
 		}
 	}
 
+	/** Parses the UBJSON from the buffer's position, decoding in place rather than through streams. The buffer's position and byte
+	 * order are not modified. For large files, use a buffer from {@link FileHandle#map()}. The protected parse methods are not
+	 * used, see {@link UBJsonSkimmer} for event driven parsing of a buffer. */
+	public JsonValue parse (ByteBuffer buffer) {
+		DomSkimmer skimmer = this.skimmer;
+		if (skimmer == null) this.skimmer = skimmer = new DomSkimmer();
+		skimmer.oldFormat = oldFormat;
+		try {
+			skimmer.parse(buffer);
+			return skimmer.root;
+		} finally {
+			skimmer.root = null;
+			skimmer.current = null;
+			skimmer.elements.clear();
+		}
+	}
+
 	public JsonValue parse (final DataInputStream din) throws IOException {
 		try {
 			return parse(din, din.readByte());
@@ -243,4 +264,44 @@ public class UBJsonReader implements BaseJsonReader {
 		din.readFully(data);
 		return new String(data, "UTF-8");
 	}
+
+	/** Builds the DOM from {@link UBJsonSkimmer} events. */
+	static private class DomSkimmer extends UBJsonSkimmer {
+		final Array<JsonValue> elements = new Array(8);
+		@Null JsonValue root, current;
+
+		protected void push (@Null UBJsonToken name, boolean object) {
+			JsonValue value = new JsonValue(object ? ValueType.object : ValueType.array);
+			add(name, value);
+			elements.add(value);
+			current = value;
+		}
+
+		protected void pop () {
+			root = elements.pop();
+			current = elements.size > 0 ? elements.peek() : null;
+		}
+
+		protected void value (@Null UBJsonToken name, UBJsonToken value) {
+			add(name, value.value());
+		}
+
+		private void add (@Null UBJsonToken name, JsonValue child) {
+			if (name != null) child.setName(name.toString());
+			JsonValue current = this.current;
+			if (current == null) {
+				root = child;
+				return;
+			}
+			child.parent = current;
+			if (current.last == null)
+				current.child = child;
+			else {
+				current.last.next = child;
+				child.prev = current.last;
+			}
+			current.last = child;
+			current.size++;
+		}
+	}
 }
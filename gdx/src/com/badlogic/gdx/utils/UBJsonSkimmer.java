@@ -0,0 +1,522 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+
+/** Lightweight event-based UBJSON parser that decodes in place from a {@link ByteBuffer}, such as a memory mapped file. Values
+ * are provided as tokens that point into the buffer: strings are only decoded when requested and strongly typed numeric arrays
+ * are provided as a single value that can be {@link UBJsonToken#slice() sliced} rather than decoded per element.
+ * @see UBJsonReader#parse(ByteBuffer) */
+public class UBJsonSkimmer {
+	/** See {@link UBJsonReader#oldFormat}. */
+	public boolean oldFormat = true;
+
+	final UBJsonToken name = new UBJsonToken(), value = new UBJsonToken();
+	private @Null ByteBuffer buffer;
+	protected boolean stop;
+
+	/** Memory maps the file if possible, else reads it fully. */
+	public void parse (FileHandle file) {
+		ByteBuffer buffer;
+		try {
+			buffer = file.type() == FileType.Classpath ? ByteBuffer.wrap(file.readBytes()) : file.map();
+		} catch (Exception ex) {
+			buffer = ByteBuffer.wrap(file.readBytes());
+		}
+		try {
+			parse(buffer);
+		} catch (Exception ex) {
+			throw new SerializationException("Error parsing file: " + file, ex);
+		}
+	}
+
+	/** Parses the UBJSON starting at the buffer's position. The buffer's position, limit, and byte order are not modified. */
+	public void parse (ByteBuffer input) {
+		stop = false;
+		ByteBuffer buffer = input.duplicate();
+		buffer.order(ByteOrder.BIG_ENDIAN);
+		this.buffer = buffer;
+		name.set(buffer, oldFormat);
+		value.set(buffer, oldFormat);
+		try {
+			parse(null, buffer.get());
+		} catch (BufferUnderflowException ex) {
+			throw new SerializationException("Unexpected end of UBJSON at: " + buffer.position(), ex);
+		} catch (IndexOutOfBoundsException ex) {
+			throw new SerializationException("Unexpected end of UBJSON at: " + buffer.position(), ex);
+		} finally {
+			// Don't keep a mapped buffer reachable after parsing.
+			this.buffer = null;
+			name.set(null, oldFormat);
+			value.set(null, oldFormat);
+		}
+	}
+
+	private void parse (@Null UBJsonToken name, byte type) {
+		ByteBuffer buffer = this.buffer;
+		switch (type) {
+		case '{':
+			parseContainer(name, true);
+			return;
+		case '[':
+			parseContainer(name, false);
+			return;
+		case 'a':
+		case 'A':
+			parseData(name, type);
+			return;
+		}
+		UBJsonToken value = this.value;
+		switch (type) {
+		case 'Z':
+		case 'T':
+		case 'F':
+			value.type = type;
+			value.position = buffer.position();
+			value.length = 0;
+			break;
+		case 's':
+		case 'S':
+			int length = (int)(type == 'S' ? parseSize(buffer.get(), true, -1) : buffer.get() & 0xff);
+			value.type = 'S';
+			value.position = buffer.position();
+			value.length = length;
+			skip(length);
+			break;
+		default:
+			int size = elementSize(type, oldFormat);
+			if (size == 0) throw new SerializationException("Unrecognized data type: " + (char)type);
+			value.type = type;
+			value.position = buffer.position();
+			value.length = size;
+			skip(size);
+		}
+		value(name, value);
+	}
+
+	private void parseContainer (@Null UBJsonToken name, boolean object) {
+		ByteBuffer buffer = this.buffer;
+		byte type = buffer.get(), valueType = 0;
+		if (type == '$') {
+			valueType = buffer.get();
+			type = buffer.get();
+		}
+		int size = -1;
+		if (type == '#') {
+			size = (int)parseSize(buffer.get(), false, -1); // long but more than int isn't supported
+			if (size < 0) throw new SerializationException("Unrecognized data type");
+			if (!object && valueType != 0) {
+				int elementSize = elementSize(valueType, oldFormat);
+				if (elementSize > 0) {
+					typedArray(name, valueType, size, elementSize);
+					return;
+				}
+			}
+		}
+
+		push(name, object);
+		if (stop) return;
+		UBJsonToken key = this.name;
+		if (size >= 0) {
+			for (int i = 0; i < size; i++) {
+				if (object) {
+					parseName(key, buffer.get());
+					parse(key, valueType == 0 ? buffer.get() : valueType);
+				} else
+					parse(null, valueType == 0 ? buffer.get() : valueType);
+				if (stop) return;
+			}
+		} else {
+			if (valueType != 0) throw new SerializationException("Typed container without a count.");
+			byte end = (byte)(object ? '}' : ']');
+			while (type != end && buffer.hasRemaining()) {
+				if (object) {
+					parseName(key, type);
+					parse(key, buffer.get());
+				} else
+					parse(null, type);
+				if (stop) return;
+				type = buffer.get();
+			}
+		}
+		pop();
+	}
+
+	private void parseData (@Null UBJsonToken name, byte blockType) {
+		ByteBuffer buffer = this.buffer;
+		byte dataType = buffer.get();
+		int size = blockType == 'A' ? buffer.getInt() : buffer.get() & 0xff; // long but more than int isn't supported
+		int elementSize = elementSize(dataType, oldFormat);
+		if (elementSize > 0) {
+			typedArray(name, dataType, size, elementSize);
+			return;
+		}
+		push(name, false);
+		if (stop) return;
+		for (int i = 0; i < size; i++) {
+			parse(null, dataType);
+			if (stop) return;
+		}
+		pop();
+	}
+
+	private void typedArray (@Null UBJsonToken name, byte elementType, int size, int elementSize) {
+		UBJsonToken value = this.value;
+		value.type = '[';
+		value.elementType = elementType;
+		value.position = buffer.position();
+		value.length = size;
+		skip(size * elementSize);
+		value(name, value);
+	}
+
+	private void parseName (UBJsonToken name, byte type) {
+		ByteBuffer buffer = this.buffer;
+		long length;
+		if (type == 'S')
+			length = parseSize(buffer.get(), true, -1);
+		else if (type == 's')
+			length = buffer.get() & 0xff;
+		else
+			length = parseSize(type, false, -1);
+		if (length < 0) throw new SerializationException("Unrecognized data type, string expected");
+		name.type = 'S';
+		name.position = buffer.position();
+		name.length = (int)length;
+		skip((int)length);
+	}
+
+	private long parseSize (byte type, boolean useIntOnError, long defaultValue) {
+		ByteBuffer buffer = this.buffer;
+		if (type == 'i') return buffer.get() & 0xff;
+		if (type == 'I') return buffer.getShort() & 0xffff;
+		if (type == 'l') return buffer.getInt() & 0xffffffffL;
+		if (type == 'L') return buffer.getLong();
+		if (useIntOnError) {
+			long result = (long)(type & 0xff) << 24;
+			result |= (long)(buffer.get() & 0xff) << 16;
+			result |= (long)(buffer.get() & 0xff) << 8;
+			result |= (long)(buffer.get() & 0xff);
+			return result;
+		}
+		return defaultValue;
+	}
+
+	private void skip (int count) {
+		ByteBuffer buffer = this.buffer;
+		int position = buffer.position() + count;
+		if (count < 0 || position > buffer.limit()) throw new BufferUnderflowException();
+		((Buffer)buffer).position(position);
+	}
+
+	/** Causes parsing to stop after the current or next object, array, or value. */
+	public void stop () {
+		stop = true;
+	}
+
+	public boolean isStopped () {
+		return stop;
+	}
+
+	/** Called when an object or array is encountered in the UBJSON. Strongly typed numeric arrays are instead provided to
+	 * {@link #value(UBJsonToken, UBJsonToken)}.
+	 * @param name Reused after this method returns.
+	 * @param object True when an object was encountered, else it was an array. */
+	protected void push (@Null UBJsonToken name, boolean object) {
+	}
+
+	/** Called when the end of an object or array is encountered in the UBJSON. */
+	protected void pop () {
+	}
+
+	/** Called when a value is encountered in the UBJSON.
+	 * @param name Reused after this method returns.
+	 * @param value Reused after this method returns. */
+	protected void value (@Null UBJsonToken name, UBJsonToken value) {
+	}
+
+	/** Returns the number of bytes for a numeric or char value, or 0 for other types. */
+	static int elementSize (byte type, boolean oldFormat) {
+		switch (type) {
+		case 'i':
+			return oldFormat ? 2 : 1;
+		case 'I':
+			return oldFormat ? 4 : 2;
+		case 'U':
+		case 'B':
+			return 1;
+		case 'C':
+			return 2;
+		case 'l':
+		case 'd':
+			return 4;
+		case 'L':
+		case 'D':
+			return 8;
+		}
+		return 0;
+	}
+
+	/** A name or value in the UBJSON. The data is only read from the buffer when requested, so the token is only valid during
+	 * the callback that provided it. */
+	static public class UBJsonToken {
+		@Null ByteBuffer buffer;
+		boolean oldFormat;
+		private @Null char[] chars;
+
+		/** The UBJSON type marker: 'Z' for null, 'T' or 'F' for booleans, 'S' for strings, 'i', 'U', 'B', 'I', 'l', 'L', 'd',
+		 * 'D', or 'C' for numbers, or '[' for a strongly typed numeric array. */
+		public byte type;
+		/** For strongly typed numeric arrays, the type marker of the elements. */
+		public byte elementType;
+		/** The buffer position of the value's data. */
+		public int position;
+		/** The number of bytes for strings and numbers or the number of elements for typed arrays. */
+		public int length;
+
+		UBJsonToken () {
+		}
+
+		void set (@Null ByteBuffer buffer, boolean oldFormat) {
+			this.buffer = buffer;
+			this.oldFormat = oldFormat;
+		}
+
+		public boolean isNull () {
+			return type == 'Z';
+		}
+
+		public boolean isString () {
+			return type == 'S';
+		}
+
+		public boolean isArray () {
+			return type == '[';
+		}
+
+		/** Returns true for integer and char values. */
+		public boolean isLong () {
+			switch (type) {
+			case 'i':
+			case 'U':
+			case 'B':
+			case 'I':
+			case 'l':
+			case 'L':
+			case 'C':
+				return true;
+			}
+			return false;
+		}
+
+		public boolean isDouble () {
+			return type == 'd' || type == 'D';
+		}
+
+		public boolean isBoolean () {
+			return type == 'T' || type == 'F';
+		}
+
+		public long asLong () {
+			ByteBuffer buffer = this.buffer;
+			switch (type) {
+			case 'i':
+				return oldFormat ? buffer.getShort(position) : buffer.get(position);
+			case 'U':
+			case 'B':
+				return buffer.get(position) & 0xff;
+			case 'I':
+				return oldFormat ? buffer.getInt(position) : buffer.getShort(position);
+			case 'l':
+				return buffer.getInt(position);
+			case 'L':
+				return buffer.getLong(position);
+			case 'C':
+				return buffer.getChar(position);
+			case 'd':
+				return (long)buffer.getFloat(position);
+			case 'D':
+				return (long)buffer.getDouble(position);
+			case 'T':
+				return 1;
+			case 'F':
+				return 0;
+			case 'S':
+				return Long.parseLong(toString());
+			}
+			throw new IllegalStateException("Value cannot be converted to long: " + (char)type);
+		}
+
+		public int asInt () {
+			return (int)asLong();
+		}
+
+		public double asDouble () {
+			switch (type) {
+			case 'd':
+				return buffer.getFloat(position);
+			case 'D':
+				return buffer.getDouble(position);
+			case 'S':
+				return Double.parseDouble(toString());
+			}
+			return asLong();
+		}
+
+		public float asFloat () {
+			return (float)asDouble();
+		}
+
+		public boolean asBoolean () {
+			switch (type) {
+			case 'T':
+				return true;
+			case 'F':
+				return false;
+			case 'S':
+				return toString().equalsIgnoreCase("true");
+			}
+			return asLong() != 0;
+		}
+
+		/** Returns the elements of a strongly typed numeric array without copying them. The slice is big endian, so eg
+		 * {@link ByteBuffer#asFloatBuffer()} can be used for 'd' elements. */
+		public ByteBuffer slice () {
+			if (type != '[') throw new IllegalStateException("Value is not a typed array: " + (char)type);
+			ByteBuffer slice = buffer.duplicate();
+			((Buffer)slice).limit(position + length * elementSize(elementType, oldFormat));
+			((Buffer)slice).position(position);
+			slice = slice.slice();
+			slice.order(ByteOrder.BIG_ENDIAN);
+			return slice;
+		}
+
+		/** Returns true if this is a string equal to the specified string. Allocation is avoided for ASCII strings. */
+		public boolean equalsString (String string) {
+			if (type != 'S') return false;
+			int n = length;
+			if (string.length() != n) {
+				if (string.length() > n) return false; // UTF-8 is never fewer bytes than chars.
+				return toString().equals(string);
+			}
+			ByteBuffer buffer = this.buffer;
+			for (int i = 0, p = position; i < n; i++, p++) {
+				byte b = buffer.get(p);
+				if (b < 0) return toString().equals(string);
+				if (b != string.charAt(i)) return false;
+			}
+			return true;
+		}
+
+		/** Returns a new JsonValue for this value, as {@link UBJsonReader} would. Typed arrays are returned as arrays with a child
+		 * for each element. */
+		public JsonValue value () {
+			switch (type) {
+			case 'Z':
+				return new JsonValue(ValueType.nullValue);
+			case 'T':
+				return new JsonValue(true);
+			case 'F':
+				return new JsonValue(false);
+			case 'S':
+				return new JsonValue(toString());
+			case 'd':
+			case 'D':
+				return new JsonValue(asDouble());
+			case '[':
+				JsonValue array = new JsonValue(ValueType.array);
+				byte type = this.type;
+				int position = this.position, elementSize = elementSize(elementType, oldFormat);
+				this.type = elementType;
+				try {
+					JsonValue prev = null;
+					for (int i = 0, n = length; i < n; i++, this.position += elementSize) {
+						JsonValue child = value();
+						child.parent = array;
+						if (prev != null) {
+							child.prev = prev;
+							prev.next = child;
+						} else
+							array.child = child;
+						prev = child;
+					}
+					array.last = prev;
+					array.size = length;
+				} finally {
+					this.type = type;
+					this.position = position;
+				}
+				return array;
+			}
+			return new JsonValue(asLong());
+		}
+
+		/** Allocates a string. Strings are decoded from UTF-8. */
+		public String toString () {
+			switch (type) {
+			case 'S':
+				break;
+			case 'Z':
+				return "null";
+			case 'T':
+				return "true";
+			case 'F':
+				return "false";
+			case 'd':
+			case 'D':
+				return Double.toString(asDouble());
+			case '[':
+				return "[" + (char)elementType + " x" + length + "]";
+			default:
+				return Long.toString(asLong());
+			}
+			ByteBuffer buffer = this.buffer;
+			int n = length;
+			if (buffer.hasArray()) return decode(buffer.array(), buffer.arrayOffset() + position, n);
+			char[] chars = this.chars;
+			if (chars == null || chars.length < n) this.chars = chars = new char[Math.max(n, 32)];
+			for (int i = 0, p = position; i < n; i++, p++) {
+				byte b = buffer.get(p);
+				if (b < 0) { // Not ASCII.
+					byte[] bytes = new byte[n];
+					for (int ii = 0; ii < n; ii++)
+						bytes[ii] = buffer.get(position + ii);
+					return decode(bytes, 0, n);
+				}
+				chars[i] = (char)b;
+			}
+			return new String(chars, 0, n);
+		}
+
+		static private String decode (byte[] bytes, int offset, int length) {
+			try {
+				return new String(bytes, offset, length, "UTF-8");
+			} catch (UnsupportedEncodingException ex) {
+				throw new SerializationException(ex);
+			}
+		}
+	}
+}
@@ -0,0 +1,564 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Arrays;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/** Lightweight pull parser for XML, supporting the same subset of XML as {@link XmlReader}, which builds its DOM on top of this
+ * class. Calling {@link #next()} advances to the next element start, element end, or text and the getters describe the current
+ * event. Element and attribute names are interned and attribute values and text are decoded into reused buffers, so parsing does
+ * not allocate per element unless the {@link String} getters are used for values. Input from a {@link Reader} is read through a
+ * fixed size window, so documents of any size are parsed in memory proportional to the largest single element or text.
+ * <p>
+ * Example usage:
+ * 
+ * <pre>
+ * XmlPullReader xml = new XmlPullReader();
+ * xml.setInput(file);
+ * while (xml.next() != Event.endDocument) {
+ * 	if (xml.getEvent() == Event.startElement &amp;&amp; xml.getName().equals("tile"))
+ * 		tileIds.add(xml.getIntAttribute("id", 0));
+ * }
+ * </pre>
+ */
+public class XmlPullReader {
+	static private final int nameCacheMask = 511;
+
+	private @Null Reader reader;
+	private @Null char[] window;
+	private int windowSize = 8192;
+	private char[] data;
+	private int start, position, limit, lineNumber;
+
+	private @Null Event event;
+	private String name;
+	private boolean selfClosing;
+	private final Array<String> elements = new Array<String>(true, 16);
+	private int attributeCount;
+	private String[] attributeNames = new String[8];
+	private CharArray[] attributeValues = new CharArray[8];
+	private final CharArray text = new CharArray(), nameChars = new CharArray(32), scratch = new CharArray();
+	private final String[] nameCache = new String[nameCacheMask + 1];
+	private int nameCacheSize;
+
+	/** Parses the XML from the reader, which is closed by {@link #close()} or when the end of the document is reached. */
+	public void setInput (Reader reader) {
+		close();
+		if (window == null || window.length != windowSize) window = new char[windowSize];
+		this.reader = reader;
+		reset(window, 0, 0);
+	}
+
+	public void setInput (InputStream input) {
+		try {
+			setInput(new InputStreamReader(input, "UTF-8"));
+		} catch (IOException ex) {
+			throw new SerializationException("Error reading stream.", ex);
+		}
+	}
+
+	public void setInput (FileHandle file) {
+		try {
+			setInput(file.reader("UTF-8"));
+		} catch (Exception ex) {
+			throw new SerializationException("Error reading file: " + file, ex);
+		}
+	}
+
+	public void setInput (String xml) {
+		char[] data = xml.toCharArray();
+		setInput(data, 0, data.length);
+	}
+
+	/** The data is used directly and must not be modified while parsing. */
+	public void setInput (char[] data, int offset, int length) {
+		close();
+		reset(data, offset, offset + length);
+	}
+
+	private void reset (char[] data, int start, int limit) {
+		this.data = data;
+		this.start = start;
+		position = start;
+		this.limit = limit;
+		lineNumber = 1;
+		event = null;
+		name = null;
+		selfClosing = false;
+		elements.clear();
+		attributeCount = 0;
+		text.clear();
+	}
+
+	/** Closes the reader, if any. */
+	public void close () {
+		if (reader != null) {
+			StreamUtils.closeQuietly(reader);
+			reader = null;
+		}
+	}
+
+	/** Sets the number of characters read at a time from a {@link Reader}. Default is 8192. */
+	public void setWindowSize (int windowSize) {
+		if (windowSize < 1) throw new IllegalArgumentException("windowSize must be > 0: " + windowSize);
+		this.windowSize = windowSize;
+	}
+
+	public int getWindowSize () {
+		return windowSize;
+	}
+
+	/** Advances to the next event and returns it. After {@link Event#endDocument} is returned, the reader is closed.
+	 * @throws SerializationException if the XML is malformed or cannot be read. */
+	public Event next () {
+		attributeCount = 0;
+		if (selfClosing) {
+			selfClosing = false;
+			elements.pop();
+			return event = Event.endElement;
+		}
+		while (true) {
+			int c = skipWhitespace();
+			if (c == -1) {
+				close();
+				if (elements.size != 0) throw new SerializationException("Error parsing XML, unclosed element: " + elements.peek());
+				return event = Event.endDocument;
+			}
+			if (c != '<') {
+				if (elements.size == 0) {
+					if (event == null) throw error();
+					// Text after the root element, such as padding, is ignored unless more markup follows it.
+					do {
+						c = read();
+					} while (c != -1 && c != '<');
+					if (c == -1) continue;
+					throw error();
+				}
+				readText(c);
+				return event = Event.text;
+			}
+			c = skipWhitespace();
+			switch (c) {
+			case '/':
+				c = read();
+				if (c == '>' || elements.size == 0) throw error();
+				while (c != '>') {
+					if (c == -1) throw error();
+					c = read();
+				}
+				name = elements.pop();
+				return event = Event.endElement;
+			case '!':
+			case '?':
+				if (skipSpecial(c)) return event = Event.text;
+				continue;
+			case '>':
+			case -1:
+				throw error();
+			}
+			readElement(c);
+			return event = Event.startElement;
+		}
+	}
+
+	/** When the current event is {@link Event#startElement}, advances past the matching {@link Event#endElement}. */
+	public void skip () {
+		if (event != Event.startElement) return;
+		int depth = elements.size;
+		while (true) {
+			if (next() == Event.endElement && elements.size < depth) return;
+		}
+	}
+
+	/** @return May be null before {@link #next()} is called. */
+	public @Null Event getEvent () {
+		return event;
+	}
+
+	/** Returns the name of the element for {@link Event#startElement} and {@link Event#endElement}. */
+	public String getName () {
+		return name;
+	}
+
+	/** Returns the number of open elements. For {@link Event#startElement} this includes the new element and for
+	 * {@link Event#endElement} it excludes the closed element. */
+	public int getDepth () {
+		return elements.size;
+	}
+
+	public int getLineNumber () {
+		return lineNumber;
+	}
+
+	/** Returns the text for {@link Event#text}, with entities decoded and trailing whitespace removed. CDATA is not modified.
+	 * @see #getTextChars() */
+	public String getText () {
+		return text.toString();
+	}
+
+	/** Returns the text for {@link Event#text}. The returned buffer is reused when {@link #next()} is called. */
+	public CharArray getTextChars () {
+		return text;
+	}
+
+	/** Returns the number of attributes for {@link Event#startElement}. */
+	public int getAttributeCount () {
+		return attributeCount;
+	}
+
+	public String getAttributeName (int index) {
+		if (index >= attributeCount) throw new IndexOutOfBoundsException("index can't be >= attributeCount: " + index);
+		return attributeNames[index];
+	}
+
+	/** @see #getAttributeChars(int) */
+	public String getAttributeValue (int index) {
+		return getAttributeChars(index).toString();
+	}
+
+	/** Returns the attribute value with entities decoded and trailing whitespace removed. The returned buffer is reused when
+	 * {@link #next()} is called. */
+	public CharArray getAttributeChars (int index) {
+		if (index >= attributeCount) throw new IndexOutOfBoundsException("index can't be >= attributeCount: " + index);
+		return attributeValues[index];
+	}
+
+	public boolean hasAttribute (String name) {
+		return attributeIndex(name) != -1;
+	}
+
+	/** @return May be null if the attribute is not found. */
+	public @Null String getAttribute (String name) {
+		int index = attributeIndex(name);
+		return index == -1 ? null : attributeValues[index].toString();
+	}
+
+	public String getAttribute (String name, String defaultValue) {
+		int index = attributeIndex(name);
+		return index == -1 ? defaultValue : attributeValues[index].toString();
+	}
+
+	/** @return May be null if the attribute is not found. */
+	public @Null CharArray getAttributeChars (String name) {
+		int index = attributeIndex(name);
+		return index == -1 ? null : attributeValues[index];
+	}
+
+	public int getIntAttribute (String name, int defaultValue) {
+		int index = attributeIndex(name);
+		return index == -1 ? defaultValue : parseInt(attributeValues[index]);
+	}
+
+	public float getFloatAttribute (String name, float defaultValue) {
+		int index = attributeIndex(name);
+		return index == -1 ? defaultValue : Float.parseFloat(attributeValues[index].toString());
+	}
+
+	public boolean getBooleanAttribute (String name, boolean defaultValue) {
+		int index = attributeIndex(name);
+		return index == -1 ? defaultValue : attributeValues[index].equalsIgnoreCase("true");
+	}
+
+	private int attributeIndex (String name) {
+		String[] attributeNames = this.attributeNames;
+		for (int i = 0, n = attributeCount; i < n; i++)
+			if (attributeNames[i].equals(name)) return i;
+		return -1;
+	}
+
+	/** Called to look up an entity. The default implementation handles the predefined entities and hexadecimal character
+	 * references.
+	 * @return May be null to use the name. */
+	protected @Null String entity (String name) {
+		if (name.equals("lt")) return "<";
+		if (name.equals("gt")) return ">";
+		if (name.equals("amp")) return "&";
+		if (name.equals("apos")) return "'";
+		if (name.equals("quot")) return "\"";
+		if (name.startsWith("#x")) return Character.toString((char)Integer.parseInt(name.substring(2), 16));
+		return null;
+	}
+
+	private void readElement (int c) {
+		CharArray nameChars = this.nameChars;
+		nameChars.clear();
+		do {
+			nameChars.add((char)c);
+			c = read();
+		} while (c != -1 && c != '/' && c != '>' && !isWhitespace(c));
+		name = intern(nameChars.items, 0, nameChars.size);
+		elements.add(name);
+
+		while (true) {
+			if (isWhitespace(c)) c = skipWhitespace();
+			switch (c) {
+			case '>':
+				return;
+			case '/':
+				if (skipWhitespace() != '>') throw error();
+				selfClosing = true;
+				return;
+			case '=':
+			case -1:
+				throw error();
+			}
+
+			nameChars.clear();
+			do {
+				nameChars.add((char)c);
+				c = read();
+			} while (c != -1 && c != '/' && c != '>' && c != '=' && !isWhitespace(c));
+			String attributeName = intern(nameChars.items, 0, nameChars.size);
+			if (isWhitespace(c)) c = skipWhitespace();
+			if (c != '=') throw error();
+			int quote = skipWhitespace();
+			if (quote != '"' && quote != '\'') throw error();
+
+			if (attributeCount == attributeNames.length) {
+				attributeNames = Arrays.copyOf(attributeNames, attributeCount << 1);
+				attributeValues = Arrays.copyOf(attributeValues, attributeCount << 1);
+			}
+			CharArray value = attributeValues[attributeCount];
+			if (value == null) attributeValues[attributeCount] = value = new CharArray(32);
+			attributeNames[attributeCount++] = attributeName;
+			value.clear();
+			boolean entities = false;
+			while ((c = read()) != quote) {
+				if (c == -1) throw error();
+				if (c == '&') entities = true;
+				value.add((char)c);
+			}
+			decode(value, entities);
+			c = read();
+			if (c != '/' && c != '>' && !isWhitespace(c)) throw error();
+		}
+	}
+
+	private void readText (int c) {
+		CharArray text = this.text;
+		text.clear();
+		boolean entities = false;
+		do {
+			if (c == '&') entities = true;
+			text.add((char)c);
+			c = read();
+		} while (c != -1 && c != '<');
+		if (c == '<') position--;
+		decode(text, entities);
+	}
+
+	/** Skips a comment, prolog, or doctype, or reads CDATA.
+	 * @return true if CDATA was read into the text. */
+	private boolean skipSpecial (int c) {
+		if (c == '!') {
+			c = read();
+			if (c == '-') {
+				c = read();
+				if (c == '-') {
+					int c1 = 0, c2 = 0;
+					while (true) {
+						c = read();
+						if (c == -1) throw error();
+						if (c == '>' && c1 == '-' && c2 == '-') return false;
+						c2 = c1;
+						c1 = c;
+					}
+				}
+			} else if (c == '[') {
+				String cdata = "CDATA[";
+				int i = 0;
+				for (; i < 6; i++) {
+					c = read();
+					if (c != cdata.charAt(i)) break;
+				}
+				if (i == 6) {
+					CharArray text = this.text;
+					text.clear();
+					while (true) {
+						c = read();
+						if (c == -1) throw error();
+						text.add((char)c);
+						int n = text.size;
+						if (c == '>' && n >= 3 && text.items[n - 2] == ']' && text.items[n - 3] == ']') {
+							text.size = n - 3;
+							return true;
+						}
+					}
+				}
+			}
+		}
+		while (c != '>') {
+			if (c == -1) throw error();
+			c = read();
+		}
+		return false;
+	}
+
+	/** Removes trailing whitespace and replaces entities. */
+	private void decode (CharArray chars, boolean entities) {
+		int end = chars.size;
+		char[] items = chars.items;
+		while (end != 0) {
+			switch (items[end - 1]) {
+			case ' ':
+			case '\t':
+			case '\n':
+			case '\r':
+				end--;
+				continue;
+			}
+			break;
+		}
+		chars.size = end;
+		if (!entities) return;
+
+		CharArray source = scratch;
+		source.clear();
+		source.addAll(chars);
+		chars.clear();
+		items = source.items;
+		int s = 0, current = 0;
+		while (current != end) {
+			if (items[current++] != '&') continue;
+			int entityStart = current;
+			while (current != end) {
+				if (items[current++] != ';') continue;
+				chars.append(items, s, entityStart - s - 1);
+				String name = intern(items, entityStart, current - entityStart - 1);
+				String value = entity(name);
+				chars.append(value != null ? value : name);
+				s = current;
+				break;
+			}
+		}
+		if (s < end) chars.append(items, s, end - s);
+	}
+
+	/** Returns a cached string for the characters. The cache is bounded, after which new strings are returned. */
+	private String intern (char[] chars, int offset, int length) {
+		int hash = 0;
+		for (int i = offset, n = offset + length; i < n; i++)
+			hash = 31 * hash + chars[i];
+		String[] cache = nameCache;
+		int mask = nameCacheMask;
+		for (int i = (hash ^ hash >>> 16) & mask;; i = (i + 1) & mask) {
+			String name = cache[i];
+			if (name == null) {
+				name = new String(chars, offset, length);
+				// Keep the cache at most half full so probes stay short.
+				if (nameCacheSize < (mask + 1) >> 1) {
+					cache[i] = name;
+					nameCacheSize++;
+				}
+				return name;
+			}
+			if (name.length() == length && equals(name, chars, offset)) return name;
+		}
+	}
+
+	static private boolean equals (String name, char[] chars, int offset) {
+		for (int i = 0, n = name.length(); i < n; i++)
+			if (name.charAt(i) != chars[offset + i]) return false;
+		return true;
+	}
+
+	static private int parseInt (CharArray chars) {
+		int n = chars.size;
+		if (n == 0 || n > 10) return Integer.parseInt(chars.toString());
+		char[] items = chars.items;
+		int i = 0;
+		boolean negative = items[0] == '-';
+		if (negative) {
+			if (n == 1) return Integer.parseInt(chars.toString());
+			i++;
+		}
+		int value = 0;
+		for (; i < n; i++) {
+			int digit = items[i] - '0';
+			// Let Integer report invalid characters and overflow.
+			if (digit < 0 || digit > 9 || value > 214748363) return Integer.parseInt(chars.toString());
+			value = value * 10 + digit;
+		}
+		return negative ? -value : value;
+	}
+
+	static private boolean isWhitespace (int c) {
+		switch (c) {
+		case ' ':
+		case '\t':
+		case '\n':
+		case '\r':
+		case '\f':
+		case 0x0b:
+			return true;
+		}
+		return false;
+	}
+
+	private int skipWhitespace () {
+		int c;
+		do {
+			c = read();
+		} while (isWhitespace(c));
+		return c;
+	}
+
+	private int read () {
+		if (position == limit && !fill()) return -1;
+		char c = data[position++];
+		if (c == '\n') lineNumber++;
+		return c;
+	}
+
+	private boolean fill () {
+		if (reader == null) return false;
+		try {
+			int count;
+			do {
+				count = reader.read(window, 0, window.length);
+			} while (count == 0);
+			if (count == -1) {
+				close();
+				return false;
+			}
+			data = window;
+			start = 0;
+			position = 0;
+			limit = count;
+			return true;
+		} catch (IOException ex) {
+			throw new SerializationException("Error reading input.", ex);
+		}
+	}
+
+	private SerializationException error () {
+		close();
+		int from = Math.max(start, position - 1);
+		return new SerializationException(
+			"Error parsing XML on line " + lineNumber + " near: " + new String(data, from, Math.min(32, limit - from)));
+	}
+
+	static public enum Event {
+		startElement, endElement, text, endDocument
+	}
+}
@@ -19,17 +19,23 @@ package com.badlogic.gdx.utils.async;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Null;
 
 /** Allows asynchronous execution of {@link AsyncTask} instances on a separate thread. Needs to be disposed via a call to
  * {@link #dispose()} when no longer used, in which case the executor waits for running tasks to finish. Scheduled but not yet
  * running tasks will not be executed.
  * @author badlogic */
 public class AsyncExecutor implements Disposable {
+	static private Boolean virtualThreads;
+
 	private final ExecutorService executor;
 
 	/** Creates a new AsyncExecutor with the name "AsyncExecutor-Thread". */
@@ -51,6 +57,65 @@ public class AsyncExecutor implements Disposable {
 		});
 	}
 
+	/** Creates a new AsyncExecutor that runs tasks on the specified executor service, which is shut down when this executor is
+	 * disposed. */
+	public AsyncExecutor (ExecutorService executor) {
+		if (executor == null) throw new IllegalArgumentException("executor cannot be null.");
+		this.executor = executor;
+	}
+
+	/** Creates a new AsyncExecutor backed by a work-stealing {@link ForkJoinPool}. Idle threads take queued tasks from busy
+	 * threads, which balances CPU heavy tasks across cores better than the fixed thread pool. Tasks are run in the order they were
+	 * submitted.
+	 * @param parallelism The number of threads, usually {@link Runtime#availableProcessors()}.
+	 * @param name The name of the threads. */
+	static public AsyncExecutor newWorkStealing (int parallelism, final String name) {
+		return new AsyncExecutor(new ForkJoinPool(parallelism, new ForkJoinWorkerThreadFactory() {
+			public ForkJoinWorkerThread newThread (ForkJoinPool pool) {
+				ForkJoinWorkerThread thread = new ForkJoinWorkerThread(pool) {};
+				thread.setName(name);
+				thread.setDaemon(true);
+				return thread;
+			}
+		}, null, true));
+	}
+
+	/** Creates a new AsyncExecutor that runs each task on a new virtual thread. Tasks that block on I/O do not hold a platform
+	 * thread while waiting, so many such tasks can run at once. If virtual threads are not available (Java 18 and below, Java 19
+	 * and 20 without preview features enabled, Android), a pool of daemon threads that grows as needed is used instead.
+	 * @see #isVirtualThreadsSupported() */
+	static public AsyncExecutor newVirtualThreads (final String name) {
+		ExecutorService executor = isVirtualThreadsSupported() ? newVirtualThreadExecutor() : null;
+		if (executor != null) return new AsyncExecutor(executor);
+		return new AsyncExecutor(Executors.newCachedThreadPool(new ThreadFactory() {
+			public Thread newThread (Runnable r) {
+				Thread thread = new Thread(r, name);
+				thread.setDaemon(true);
+				return thread;
+			}
+		}));
+	}
+
+	/** Returns true if the JVM supports virtual threads for {@link #newVirtualThreads(String)}. On Java 19 and 20 virtual threads
+	 * are a preview API that throws unless preview features are enabled, so a virtual thread executor is created to check. */
+	static public synchronized boolean isVirtualThreadsSupported () {
+		if (virtualThreads == null) {
+			ExecutorService executor = newVirtualThreadExecutor();
+			if (executor != null) executor.shutdown();
+			virtualThreads = executor != null;
+		}
+		return virtualThreads;
+	}
+
+	/** @return null if virtual threads are not available. */
+	static private @Null ExecutorService newVirtualThreadExecutor () {
+		try {
+			return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (Throwable ex) {
+			return null;
+		}
+	}
+
 	/** Submits a {@link Runnable} to be executed asynchronously. If maxConcurrent runnables are already running, the runnable will
 	 * be queued.
 	 * @param task the task to execute asynchronously */
@@ -58,12 +123,22 @@ public class AsyncExecutor implements Disposable {
 		if (executor.isShutdown()) {
 			throw new GdxRuntimeException("Cannot run tasks on an executor that has been shutdown (disposed)");
 		}
-		return new AsyncResult(executor.submit(new Callable<T>() {
+		AsyncResult.ResultFuture<T> future = new AsyncResult.ResultFuture(new Callable<T>() {
 			@Override
 			public T call () throws Exception {
 				return task.call();
 			}
-		}));
+		});
+		AsyncResult<T> result = new AsyncResult(future);
+		executor.execute(future);
+		return result;
+	}
+
+	void execute (Runnable runnable) {
+		if (executor.isShutdown()) {
+			throw new GdxRuntimeException("Cannot run tasks on an executor that has been shutdown (disposed)");
+		}
+		executor.execute(runnable);
 	}
 
 	/** Waits for running {@link AsyncTask} instances to finish, then destroys any resources like threads. Can not be used after
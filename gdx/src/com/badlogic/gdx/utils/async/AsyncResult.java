@@ -16,18 +16,29 @@
 
 package com.badlogic.gdx.utils.async;
 
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
-/** Returned by {@link AsyncExecutor#submit(AsyncTask)}, allows to poll for the result of the asynch workload.
+/** Returned by {@link AsyncExecutor#submit(AsyncTask)}, allows to poll for the result of the asynch workload. Results can be
+ * composed with {@link #then(AsyncExecutor, Continuation)} and {@link #allOf(AsyncResult...)} without blocking.
  * @author badlogic */
 public class AsyncResult<T> {
 	private final Future<T> future;
+	private Array<Runnable> listeners;
+	private boolean done;
 
 	AsyncResult (Future<T> future) {
 		this.future = future;
+		if (future instanceof ResultFuture)
+			((ResultFuture)future).result = this;
+		else
+			done = true; // Completion can't be observed, so listeners are run when added.
 	}
 
 	/** @return whether the {@link AsyncTask} is done */
@@ -46,4 +57,125 @@ public class AsyncResult<T> {
 			throw new GdxRuntimeException(ex.getCause());
 		}
 	}
+
+	/** Returns a result for the continuation, which is called on the executor with this result's value when it is done. If this
+	 * result fails, the continuation is not called and the returned result fails with the same exception.
+	 * @param executor May be null to call the continuation on the thread that completes this result, or immediately on the
+	 *           calling thread if this result is already done. Only short continuations should be run this way. */
+	public <R> AsyncResult<R> then (final AsyncExecutor executor, final Continuation<? super T, R> continuation) {
+		final ResultFuture<R> future = new ResultFuture(new Callable<R>() {
+			public R call () throws Exception {
+				return continuation.call(value());
+			}
+		});
+		AsyncResult<R> result = new AsyncResult(future);
+		whenDone(new Runnable() {
+			public void run () {
+				if (executor == null)
+					future.run();
+				else {
+					try {
+						executor.execute(future);
+					} catch (RuntimeException ex) {
+						future.fail(ex);
+					}
+				}
+			}
+		});
+		return result;
+	}
+
+	/** Returns a result that is done when all the specified results are done. Its value has the values of the results in the same
+	 * order. If any result fails, the returned result fails with the exception of the first result that failed. */
+	static public <T> AsyncResult<Array<T>> allOf (final AsyncResult<? extends T>... results) {
+		final ResultFuture<Array<T>> future = new ResultFuture(new Callable<Array<T>>() {
+			public Array<T> call () throws Exception {
+				Array<T> values = new Array(true, results.length);
+				for (AsyncResult<? extends T> result : results)
+					values.add(result.value());
+				return values;
+			}
+		});
+		AsyncResult<Array<T>> result = new AsyncResult(future);
+		if (results.length == 0) {
+			future.run();
+			return result;
+		}
+		final AtomicInteger remaining = new AtomicInteger(results.length);
+		Runnable listener = new Runnable() {
+			public void run () {
+				if (remaining.decrementAndGet() == 0) future.run();
+			}
+		};
+		for (AsyncResult<? extends T> r : results)
+			r.whenDone(listener);
+		return result;
+	}
+
+	/** @see #allOf(AsyncResult...) */
+	static public <T> AsyncResult<Array<T>> allOf (Array<? extends AsyncResult<? extends T>> results) {
+		AsyncResult<? extends T>[] array = new AsyncResult[results.size];
+		for (int i = 0, n = results.size; i < n; i++)
+			array[i] = results.get(i);
+		return allOf(array);
+	}
+
+	/** Runs the listener once this result is done, immediately if it is already done. */
+	void whenDone (Runnable listener) {
+		synchronized (this) {
+			if (!done) {
+				if (listeners == null) listeners = new Array(false, 2);
+				listeners.add(listener);
+				return;
+			}
+		}
+		listener.run();
+	}
+
+	void complete () {
+		Array<Runnable> listeners;
+		synchronized (this) {
+			done = true;
+			listeners = this.listeners;
+			this.listeners = null;
+		}
+		if (listeners != null) {
+			for (int i = 0, n = listeners.size; i < n; i++)
+				listeners.get(i).run();
+		}
+	}
+
+	/** Returns the value, blocking if necessary, or throws the exception the task failed with. */
+	T value () throws Exception {
+		try {
+			return future.get();
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof Exception) throw (Exception)cause;
+			throw new GdxRuntimeException(cause);
+		}
+	}
+
+	/** Computes a value from the value of a completed {@link AsyncResult}.
+	 * @see AsyncResult#then(AsyncExecutor, Continuation) */
+	static public interface Continuation<T, R> {
+		public R call (T value) throws Exception;
+	}
+
+	/** A future that notifies its {@link AsyncResult} when done. */
+	static class ResultFuture<T> extends FutureTask<T> {
+		AsyncResult<T> result;
+
+		ResultFuture (Callable<T> callable) {
+			super(callable);
+		}
+
+		protected void done () {
+			result.complete();
+		}
+
+		void fail (Throwable ex) {
+			setException(ex);
+		}
+	}
 }
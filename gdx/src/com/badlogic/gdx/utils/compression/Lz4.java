@@ -0,0 +1,347 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.compression;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Compresses and decompresses data in the LZ4 block format. Compression is much faster than {@link Lzma}, but the compressed
+ * data is larger. It is suited to data that is compressed often, such as save games and network snapshots.
+ * <p>
+ * An instance holds the match table used for compression, so compressing does not allocate. An instance is not thread safe.
+ * Decompression is static and does not allocate. See {@link Lz4OutputStream} and {@link Lz4InputStream} for streaming. */
+public class Lz4 {
+	static private final int minMatch = 4, lastLiterals = 5, matchFindLimit = 12, maxOffset = 0xffff;
+	static private final int hashLog = 12, skipStrength = 6;
+
+	private final int[] table = new int[1 << hashLog];
+
+	/** Returns the largest size {@link #compress(byte[], int, int, byte[], int, int) compressed} data can be for the specified
+	 * number of bytes. */
+	static public int maxCompressedLength (int length) {
+		return length + length / 255 + 16;
+	}
+
+	/** Compresses the source bytes to the destination.
+	 * @param maxDestLength Compression fails if more bytes are needed, see {@link #maxCompressedLength(int)}.
+	 * @return The number of bytes written to the destination.
+	 * @throws GdxRuntimeException if the destination is too small. */
+	public int compress (byte[] src, int srcOffset, int srcLength, byte[] dest, int destOffset, int maxDestLength) {
+		int srcEnd = srcOffset + srcLength, destEnd = destOffset + maxDestLength;
+		int anchor = srcOffset, d = destOffset;
+		if (srcLength >= matchFindLimit + 1) {
+			int[] table = this.table;
+			Arrays.fill(table, -1);
+			int matchLimit = srcEnd - lastLiterals, findLimit = srcEnd - matchFindLimit;
+			table[hash(readInt(src, srcOffset))] = srcOffset;
+			int i = srcOffset + 1, searches = 1 << skipStrength;
+			while (i < findLimit) {
+				int sequence = readInt(src, i), h = hash(sequence);
+				int ref = table[h];
+				table[h] = i;
+				if (ref == -1 || i - ref > maxOffset || readInt(src, ref) != sequence) {
+					i += searches++ >>> skipStrength;
+					continue;
+				}
+				searches = 1 << skipStrength;
+
+				// Extend the match backward over literals, then forward.
+				while (i > anchor && ref > srcOffset && src[i - 1] == src[ref - 1]) {
+					i--;
+					ref--;
+				}
+				int matchLength = minMatch;
+				while (i + matchLength < matchLimit && src[i + matchLength] == src[ref + matchLength])
+					matchLength++;
+
+				d = writeSequence(src, anchor, i - anchor, i - ref, matchLength, dest, d, destEnd);
+				i += matchLength;
+				anchor = i;
+				if (i < findLimit) table[hash(readInt(src, i - 2))] = i - 2;
+			}
+		}
+		return writeSequence(src, anchor, srcEnd - anchor, 0, 0, dest, d, destEnd) - destOffset;
+	}
+
+	/** Compresses the bytes from the source buffer's position to its limit, writing them to the destination buffer starting at
+	 * its position. The position of the source buffer is set to its limit and the position of the destination buffer is advanced
+	 * by the number of bytes written. Buffers backed by arrays are compressed using the arrays, direct buffers are accessed
+	 * without copying.
+	 * @return The number of bytes written to the destination.
+	 * @throws GdxRuntimeException if the destination has too few bytes remaining. */
+	public int compress (ByteBuffer src, ByteBuffer dest) {
+		int srcOffset = src.position(), srcLength = src.remaining();
+		int destOffset = dest.position(), maxDestLength = dest.remaining();
+		int length;
+		if (src.hasArray() && dest.hasArray()) {
+			length = compress(src.array(), src.arrayOffset() + srcOffset, srcLength, dest.array(), dest.arrayOffset() + destOffset,
+				maxDestLength);
+		} else
+			length = compressBuffer(src, srcOffset, srcLength, dest, destOffset, maxDestLength);
+		src.position(srcOffset + srcLength);
+		dest.position(destOffset + length);
+		return length;
+	}
+
+	private int compressBuffer (ByteBuffer src, int srcOffset, int srcLength, ByteBuffer dest, int destOffset, int maxDestLength) {
+		int srcEnd = srcOffset + srcLength, destEnd = destOffset + maxDestLength;
+		int anchor = srcOffset, d = destOffset;
+		if (srcLength >= matchFindLimit + 1) {
+			int[] table = this.table;
+			Arrays.fill(table, -1);
+			int matchLimit = srcEnd - lastLiterals, findLimit = srcEnd - matchFindLimit;
+			// Reads are little endian so the output matches compressing arrays.
+			boolean swap = src.order() == ByteOrder.BIG_ENDIAN;
+			table[hash(readInt(src, srcOffset, swap))] = srcOffset;
+			int i = srcOffset + 1, searches = 1 << skipStrength;
+			while (i < findLimit) {
+				int sequence = readInt(src, i, swap), h = hash(sequence);
+				int ref = table[h];
+				table[h] = i;
+				if (ref == -1 || i - ref > maxOffset || src.getInt(ref) != src.getInt(i)) {
+					i += searches++ >>> skipStrength;
+					continue;
+				}
+				searches = 1 << skipStrength;
+
+				while (i > anchor && ref > srcOffset && src.get(i - 1) == src.get(ref - 1)) {
+					i--;
+					ref--;
+				}
+				int matchLength = minMatch;
+				while (i + matchLength < matchLimit && src.get(i + matchLength) == src.get(ref + matchLength))
+					matchLength++;
+
+				d = writeSequence(src, anchor, i - anchor, i - ref, matchLength, dest, d, destEnd);
+				i += matchLength;
+				anchor = i;
+				if (i < findLimit) table[hash(readInt(src, i - 2, swap))] = i - 2;
+			}
+		}
+		return writeSequence(src, anchor, srcEnd - anchor, 0, 0, dest, d, destEnd) - destOffset;
+	}
+
+	/** Writes literals followed by a match. The last sequence has a match length of 0 and no match is written.
+	 * @return The destination index after the sequence. */
+	static private int writeSequence (byte[] src, int literals, int literalLength, int offset, int matchLength, byte[] dest, int d,
+		int destEnd) {
+		if (d + 1 + literalLength + literalLength / 255 + 1 + 2 + matchLength / 255 + 1 > destEnd)
+			throw new GdxRuntimeException("Destination is too small.");
+		int tokenIndex = d++;
+		int token;
+		if (literalLength >= 15) {
+			token = 15 << 4;
+			d = writeLength(dest, d, literalLength - 15);
+		} else
+			token = literalLength << 4;
+		System.arraycopy(src, literals, dest, d, literalLength);
+		d += literalLength;
+		if (matchLength != 0) {
+			dest[d++] = (byte)offset;
+			dest[d++] = (byte)(offset >>> 8);
+			matchLength -= minMatch;
+			if (matchLength >= 15) {
+				token |= 15;
+				d = writeLength(dest, d, matchLength - 15);
+			} else
+				token |= matchLength;
+		}
+		dest[tokenIndex] = (byte)token;
+		return d;
+	}
+
+	static private int writeLength (byte[] dest, int d, int length) {
+		while (length >= 255) {
+			dest[d++] = (byte)255;
+			length -= 255;
+		}
+		dest[d++] = (byte)length;
+		return d;
+	}
+
+	static private int writeSequence (ByteBuffer src, int literals, int literalLength, int offset, int matchLength,
+		ByteBuffer dest, int d, int destEnd) {
+		if (d + 1 + literalLength + literalLength / 255 + 1 + 2 + matchLength / 255 + 1 > destEnd)
+			throw new GdxRuntimeException("Destination is too small.");
+		int tokenIndex = d++;
+		int token;
+		if (literalLength >= 15) {
+			token = 15 << 4;
+			d = writeLength(dest, d, literalLength - 15);
+		} else
+			token = literalLength << 4;
+		for (int i = 0; i < literalLength; i++)
+			dest.put(d++, src.get(literals + i));
+		if (matchLength != 0) {
+			dest.put(d++, (byte)offset);
+			dest.put(d++, (byte)(offset >>> 8));
+			matchLength -= minMatch;
+			if (matchLength >= 15) {
+				token |= 15;
+				d = writeLength(dest, d, matchLength - 15);
+			} else
+				token |= matchLength;
+		}
+		dest.put(tokenIndex, (byte)token);
+		return d;
+	}
+
+	static private int writeLength (ByteBuffer dest, int d, int length) {
+		while (length >= 255) {
+			dest.put(d++, (byte)255);
+			length -= 255;
+		}
+		dest.put(d++, (byte)length);
+		return d;
+	}
+
+	/** Decompresses the source bytes to the destination.
+	 * @param maxDestLength Decompression fails if more bytes are needed.
+	 * @return The number of bytes written to the destination.
+	 * @throws GdxRuntimeException if the source is malformed or the destination is too small. */
+	static public int decompress (byte[] src, int srcOffset, int srcLength, byte[] dest, int destOffset, int maxDestLength) {
+		int s = srcOffset, srcEnd = srcOffset + srcLength;
+		int d = destOffset, destEnd = destOffset + maxDestLength;
+		while (s < srcEnd) {
+			int token = src[s++] & 0xff;
+			int literalLength = token >>> 4;
+			if (literalLength == 15) {
+				int b;
+				do {
+					if (s == srcEnd) throw malformed();
+					b = src[s++] & 0xff;
+					literalLength += b;
+				} while (b == 255);
+			}
+			if (literalLength > srcEnd - s) throw malformed();
+			if (literalLength > destEnd - d) throw new GdxRuntimeException("Destination is too small.");
+			System.arraycopy(src, s, dest, d, literalLength);
+			s += literalLength;
+			d += literalLength;
+			if (s == srcEnd) return d - destOffset; // The last sequence has no match.
+
+			if (srcEnd - s < 2) throw malformed();
+			int offset = (src[s++] & 0xff) | (src[s++] & 0xff) << 8;
+			if (offset == 0 || offset > d - destOffset) throw malformed();
+			int matchLength = token & 15;
+			if (matchLength == 15) {
+				int b;
+				do {
+					if (s == srcEnd) throw malformed();
+					b = src[s++] & 0xff;
+					matchLength += b;
+				} while (b == 255);
+			}
+			matchLength += minMatch;
+			if (matchLength > destEnd - d) throw new GdxRuntimeException("Destination is too small.");
+			int ref = d - offset;
+			if (offset >= matchLength)
+				System.arraycopy(dest, ref, dest, d, matchLength);
+			else {
+				// Overlapping matches repeat the bytes being written.
+				for (int i = 0; i < matchLength; i++)
+					dest[d + i] = dest[ref + i];
+			}
+			d += matchLength;
+		}
+		throw malformed();
+	}
+
+	/** Decompresses the bytes from the source buffer's position to its limit, writing them to the destination buffer starting at
+	 * its position. The position of the source buffer is set to its limit and the position of the destination buffer is advanced
+	 * by the number of bytes written.
+	 * @return The number of bytes written to the destination.
+	 * @throws GdxRuntimeException if the source is malformed or the destination has too few bytes remaining. */
+	static public int decompress (ByteBuffer src, ByteBuffer dest) {
+		int srcOffset = src.position(), srcLength = src.remaining();
+		int destOffset = dest.position(), maxDestLength = dest.remaining();
+		int length;
+		if (src.hasArray() && dest.hasArray()) {
+			length = decompress(src.array(), src.arrayOffset() + srcOffset, srcLength, dest.array(), dest.arrayOffset() + destOffset,
+				maxDestLength);
+		} else
+			length = decompressBuffer(src, srcOffset, srcLength, dest, destOffset, maxDestLength);
+		src.position(srcOffset + srcLength);
+		dest.position(destOffset + length);
+		return length;
+	}
+
+	static private int decompressBuffer (ByteBuffer src, int srcOffset, int srcLength, ByteBuffer dest, int destOffset,
+		int maxDestLength) {
+		int s = srcOffset, srcEnd = srcOffset + srcLength;
+		int d = destOffset, destEnd = destOffset + maxDestLength;
+		while (s < srcEnd) {
+			int token = src.get(s++) & 0xff;
+			int literalLength = token >>> 4;
+			if (literalLength == 15) {
+				int b;
+				do {
+					if (s == srcEnd) throw malformed();
+					b = src.get(s++) & 0xff;
+					literalLength += b;
+				} while (b == 255);
+			}
+			if (literalLength > srcEnd - s) throw malformed();
+			if (literalLength > destEnd - d) throw new GdxRuntimeException("Destination is too small.");
+			for (int i = 0; i < literalLength; i++)
+				dest.put(d + i, src.get(s + i));
+			s += literalLength;
+			d += literalLength;
+			if (s == srcEnd) return d - destOffset;
+
+			if (srcEnd - s < 2) throw malformed();
+			int offset = (src.get(s++) & 0xff) | (src.get(s++) & 0xff) << 8;
+			if (offset == 0 || offset > d - destOffset) throw malformed();
+			int matchLength = token & 15;
+			if (matchLength == 15) {
+				int b;
+				do {
+					if (s == srcEnd) throw malformed();
+					b = src.get(s++) & 0xff;
+					matchLength += b;
+				} while (b == 255);
+			}
+			matchLength += minMatch;
+			if (matchLength > destEnd - d) throw new GdxRuntimeException("Destination is too small.");
+			int ref = d - offset;
+			for (int i = 0; i < matchLength; i++)
+				dest.put(d + i, dest.get(ref + i));
+			d += matchLength;
+		}
+		throw malformed();
+	}
+
+	static private GdxRuntimeException malformed () {
+		return new GdxRuntimeException("Malformed LZ4 data.");
+	}
+
+	static private int readInt (byte[] bytes, int i) {
+		return (bytes[i] & 0xff) | (bytes[i + 1] & 0xff) << 8 | (bytes[i + 2] & 0xff) << 16 | bytes[i + 3] << 24;
+	}
+
+	static private int readInt (ByteBuffer buffer, int i, boolean swap) {
+		int value = buffer.getInt(i);
+		return swap ? Integer.reverseBytes(value) : value;
+	}
+
+	static private int hash (int sequence) {
+		return (sequence * -1640531535) >>> (32 - hashLog);
+	}
+}
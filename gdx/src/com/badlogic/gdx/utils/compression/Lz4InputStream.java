@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.compression;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Decompresses data written by {@link Lz4OutputStream}. Buffers are allocated once per stream, reading does not allocate. */
+public class Lz4InputStream extends InputStream {
+	private final InputStream in;
+	private final byte[] block, compressed, header = new byte[4];
+	private int position, limit;
+	private boolean end;
+
+	public Lz4InputStream (InputStream in) throws IOException {
+		this.in = in;
+		if (readInt() != Lz4OutputStream.magic) throw new IOException("Not LZ4 stream data.");
+		int blockSize = readInt();
+		if (blockSize < 1 || blockSize > Lz4OutputStream.maxBlockSize) throw new IOException("Invalid block size: " + blockSize);
+		block = new byte[blockSize];
+		compressed = new byte[Lz4.maxCompressedLength(blockSize)];
+	}
+
+	public int read () throws IOException {
+		if (position == limit && !readBlock()) return -1;
+		return block[position++] & 0xff;
+	}
+
+	public int read (byte[] bytes, int offset, int length) throws IOException {
+		if (length == 0) return 0;
+		int total = 0;
+		while (length > 0) {
+			if (position == limit) {
+				// Only block when nothing has been read yet.
+				if (total > 0 && in.available() == 0) break;
+				if (!readBlock()) break;
+			}
+			int count = Math.min(length, limit - position);
+			System.arraycopy(block, position, bytes, offset, count);
+			position += count;
+			offset += count;
+			length -= count;
+			total += count;
+		}
+		return total == 0 ? -1 : total;
+	}
+
+	public long skip (long n) throws IOException {
+		long total = 0;
+		while (n > 0) {
+			if (position == limit && !readBlock()) break;
+			int count = (int)Math.min(n, limit - position);
+			position += count;
+			n -= count;
+			total += count;
+		}
+		return total;
+	}
+
+	public int available () throws IOException {
+		return limit - position;
+	}
+
+	public void close () throws IOException {
+		in.close();
+	}
+
+	private boolean readBlock () throws IOException {
+		if (end) return false;
+		int length = readInt();
+		if (length == 0) {
+			end = true;
+			return false;
+		}
+		if ((length & Lz4OutputStream.uncompressed) != 0) {
+			length &= ~Lz4OutputStream.uncompressed;
+			if (length > block.length) throw new IOException("Invalid block length: " + length);
+			readFully(block, length);
+			limit = length;
+		} else {
+			if (length > compressed.length) throw new IOException("Invalid block length: " + length);
+			readFully(compressed, length);
+			try {
+				limit = Lz4.decompress(compressed, 0, length, block, 0, block.length);
+			} catch (GdxRuntimeException ex) {
+				throw new IOException(ex.getMessage(), ex);
+			}
+		}
+		position = 0;
+		return true;
+	}
+
+	private int readInt () throws IOException {
+		readFully(header, 4);
+		byte[] header = this.header;
+		return (header[0] & 0xff) | (header[1] & 0xff) << 8 | (header[2] & 0xff) << 16 | header[3] << 24;
+	}
+
+	private void readFully (byte[] bytes, int length) throws IOException {
+		int offset = 0;
+		while (offset < length) {
+			int count = in.read(bytes, offset, length - offset);
+			if (count == -1) throw new EOFException();
+			offset += count;
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** Compresses bytes written to it with {@link Lz4} and writes them to another stream. The data is split into blocks which are
+ * compressed independently, or stored uncompressed if compression would make them larger. {@link Lz4InputStream} reads the
+ * data. Buffers are allocated once per stream, writing does not allocate.
+ * <p>
+ * {@link #flush()} compresses a partial block, so it should be used sparingly. {@link #finish()} or {@link #close()} must be
+ * called to write the end of the data. */
+public class Lz4OutputStream extends OutputStream {
+	static final int magic = 0x4c5a3447; // "LZ4G"
+	static final int defaultBlockSize = 64 * 1024, maxBlockSize = 1 << 26;
+	static final int uncompressed = 0x80000000;
+
+	private final OutputStream out;
+	private final Lz4 lz4 = new Lz4();
+	private final byte[] block, compressed, header = new byte[4];
+	private int position;
+	private boolean finished;
+
+	/** Creates a stream with a 64KB block size. */
+	public Lz4OutputStream (OutputStream out) throws IOException {
+		this(out, defaultBlockSize);
+	}
+
+	/** @param blockSize The number of bytes compressed at once. Larger blocks can compress better but use more memory. */
+	public Lz4OutputStream (OutputStream out, int blockSize) throws IOException {
+		if (blockSize < 1 || blockSize > maxBlockSize)
+			throw new IllegalArgumentException("blockSize must be > 0 and <= " + maxBlockSize + ": " + blockSize);
+		this.out = out;
+		block = new byte[blockSize];
+		compressed = new byte[Lz4.maxCompressedLength(blockSize)];
+		writeInt(magic);
+		writeInt(blockSize);
+	}
+
+	public void write (int b) throws IOException {
+		if (finished) throw new IOException("Stream is finished.");
+		block[position++] = (byte)b;
+		if (position == block.length) writeBlock();
+	}
+
+	public void write (byte[] bytes, int offset, int length) throws IOException {
+		if (finished) throw new IOException("Stream is finished.");
+		while (length > 0) {
+			int count = Math.min(length, block.length - position);
+			System.arraycopy(bytes, offset, block, position, count);
+			position += count;
+			offset += count;
+			length -= count;
+			if (position == block.length) writeBlock();
+		}
+	}
+
+	/** Compresses and writes any buffered bytes, then flushes the underlying stream. */
+	public void flush () throws IOException {
+		writeBlock();
+		out.flush();
+	}
+
+	/** Compresses and writes any buffered bytes and the end of the data, without closing the underlying stream. */
+	public void finish () throws IOException {
+		if (finished) return;
+		writeBlock();
+		writeInt(0);
+		finished = true;
+		out.flush();
+	}
+
+	public void close () throws IOException {
+		try {
+			finish();
+		} finally {
+			out.close();
+		}
+	}
+
+	private void writeBlock () throws IOException {
+		if (position == 0) return;
+		int length = lz4.compress(block, 0, position, compressed, 0, compressed.length);
+		if (length >= position) {
+			writeInt(position | uncompressed);
+			out.write(block, 0, position);
+		} else {
+			writeInt(length);
+			out.write(compressed, 0, length);
+		}
+		position = 0;
+	}
+
+	private void writeInt (int value) throws IOException {
+		byte[] header = this.header;
+		header[0] = (byte)value;
+		header[1] = (byte)(value >>> 8);
+		header[2] = (byte)(value >>> 16);
+		header[3] = (byte)(value >>> 24);
+		out.write(header, 0, 4);
+	}
+}
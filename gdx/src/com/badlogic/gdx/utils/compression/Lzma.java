@@ -16,16 +16,30 @@
 
 package com.badlogic.gdx.utils.compression;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Queue;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
 /** Adapted from LZMA SDK version 9.22.
  * 
  * This was modified to be used directly on streams, rather than via the command line as in the LZMA SDK.
  * 
  * We only currently allow the default LZMA options to be used, as we know it works on for our target usage. */
 public class Lzma {
+	/** "LZMB", the first and last 4 bytes of the block container written by {@link #compress(InputStream, OutputStream, int, int)}. */
+	static final int blockMagic = 0x4C5A4D42;
+	static final byte blockVersion = 1;
+
 	static class CommandLine {
 		public static final int kEncode = 0;
 		public static final int kDecode = 1;
@@ -59,12 +73,16 @@ public class Lzma {
 	 * @param out the {@link OutputStream} to compress to
 	 * @throws IOException */
 	static public void compress (InputStream in, OutputStream out) throws IOException {
+		compress(in, out, new CommandLine().DictionarySize);
+	}
+
+	static private void compress (InputStream in, OutputStream out, int dictionarySize) throws IOException {
 		CommandLine params = new CommandLine();
 		boolean eos = false;
 		if (params.Eos) eos = true;
 		com.badlogic.gdx.utils.compression.lzma.Encoder encoder = new com.badlogic.gdx.utils.compression.lzma.Encoder();
 		if (!encoder.SetAlgorithm(params.Algorithm)) throw new RuntimeException("Incorrect compression mode");
-		if (!encoder.SetDictionarySize(params.DictionarySize)) throw new RuntimeException("Incorrect dictionary size");
+		if (!encoder.SetDictionarySize(dictionarySize)) throw new RuntimeException("Incorrect dictionary size");
 		if (!encoder.SetNumFastBytes(params.Fb)) throw new RuntimeException("Incorrect -fb value");
 		if (!encoder.SetMatchFinder(params.MatchFinder)) throw new RuntimeException("Incorrect -mf value");
 		if (!encoder.SetLcLpPb(params.Lc, params.Lp, params.Pb)) throw new RuntimeException("Incorrect -lc or -lp or -pb value");
@@ -84,7 +102,75 @@ public class Lzma {
 		encoder.Code(in, out, -1, -1, null);
 	}
 
-	/** Decompresses the given {@link InputStream} into the given {@link OutputStream}.
+	/** Compresses the given {@link InputStream} into the given {@link OutputStream} as blocks which are compressed
+	 * independently on multiple threads. Only a few blocks per thread are held in memory at once. The blocks are written in a
+	 * container that {@link #decompress(InputStream, OutputStream)} can decompress as a stream and {@link LzmaBlockReader} can
+	 * decompress individual blocks of, without decompressing the blocks before them.
+	 * 
+	 * @param in the {@link InputStream} to compress
+	 * @param out the {@link OutputStream} to compress to
+	 * @param blockSize the number of uncompressed bytes per block. Larger blocks compress better, 1MB or more is reasonable.
+	 * @param threads the number of threads to compress with
+	 * @throws IOException */
+	static public void compress (InputStream in, OutputStream out, int blockSize, int threads) throws IOException {
+		if (blockSize < 1) throw new IllegalArgumentException("blockSize must be > 0: " + blockSize);
+		if (threads < 1) throw new IllegalArgumentException("threads must be > 0: " + threads);
+		final int dictionarySize = Math.max(1 << 12,
+			Math.min(new CommandLine().DictionarySize, MathUtils.nextPowerOfTwo(Math.min(blockSize, 1 << 30))));
+		DataOutputStream output = new DataOutputStream(out);
+		output.writeInt(blockMagic);
+		output.writeByte(blockVersion);
+		output.writeInt(blockSize);
+		long offset = 9;
+
+		IntArray compressedLengths = new IntArray(), lengths = new IntArray();
+		Queue<AsyncResult<byte[]>> pending = new Queue();
+		AsyncExecutor executor = new AsyncExecutor(threads, "Lzma");
+		try {
+			while (true) {
+				final byte[] block = new byte[blockSize];
+				final int length = readFully(in, block, 0, blockSize);
+				if (length > 0) {
+					lengths.add(length);
+					pending.addLast(executor.submit(new AsyncTask<byte[]>() {
+						public byte[] call () throws Exception {
+							ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2 + 64);
+							compress(new ByteArrayInputStream(block, 0, length), compressed, dictionarySize);
+							return compressed.toByteArray();
+						}
+					}));
+				}
+				// Write finished blocks in order, waiting when too many are pending.
+				boolean done = length < blockSize;
+				while (pending.size > 0 && (done || pending.size > threads * 2 || pending.first().isDone())) {
+					byte[] compressed = pending.removeFirst().get();
+					output.writeInt(compressed.length);
+					output.writeInt(lengths.get(compressedLengths.size));
+					output.write(compressed);
+					compressedLengths.add(compressed.length);
+					offset += 8 + compressed.length;
+				}
+				if (done) break;
+			}
+		} finally {
+			executor.dispose();
+		}
+		output.writeInt(0);
+		offset += 4;
+
+		// The index at the end allows seeking to any block.
+		output.writeInt(compressedLengths.size);
+		for (int i = 0; i < compressedLengths.size; i++) {
+			output.writeInt(compressedLengths.get(i));
+			output.writeInt(lengths.get(i));
+		}
+		output.writeLong(offset);
+		output.writeInt(blockMagic);
+		output.flush();
+	}
+
+	/** Decompresses the given {@link InputStream} into the given {@link OutputStream}. The data may be a single stream from
+	 * {@link #compress(InputStream, OutputStream)} or blocks from {@link #compress(InputStream, OutputStream, int, int)}.
 	 * 
 	 * @param in the {@link InputStream} to decompress
 	 * @param out the {@link OutputStream} to decompress to
@@ -92,7 +178,12 @@ public class Lzma {
 	static public void decompress (InputStream in, OutputStream out) throws IOException {
 		int propertiesSize = 5;
 		byte[] properties = new byte[propertiesSize];
-		if (in.read(properties, 0, propertiesSize) != propertiesSize) throw new RuntimeException("input .lzma file is too short");
+		if (readFully(in, properties, 0, 4) != 4) throw new RuntimeException("input .lzma file is too short");
+		if (readInt(properties) == blockMagic) {
+			decompressBlocks(in, out);
+			return;
+		}
+		if (readFully(in, properties, 4, 1) != 1) throw new RuntimeException("input .lzma file is too short");
 		com.badlogic.gdx.utils.compression.lzma.Decoder decoder = new com.badlogic.gdx.utils.compression.lzma.Decoder();
 		if (!decoder.SetDecoderProperties(properties)) throw new RuntimeException("Incorrect stream properties");
 		long outSize = 0;
@@ -107,4 +198,36 @@ public class Lzma {
 			throw new RuntimeException("Error in data stream");
 		}
 	}
+
+	static private void decompressBlocks (InputStream in, OutputStream out) throws IOException {
+		byte[] header = new byte[5];
+		if (readFully(in, header, 0, 5) != 5) throw new RuntimeException("input .lzma file is too short");
+		if (header[0] != blockVersion) throw new RuntimeException("Unsupported block version: " + header[0]);
+		byte[] compressed = new byte[0];
+		while (true) {
+			if (readFully(in, header, 0, 4) != 4) throw new RuntimeException("Can't read block size");
+			int compressedLength = readInt(header);
+			if (compressedLength == 0) break;
+			if (readFully(in, header, 0, 4) != 4) throw new RuntimeException("Can't read block size");
+			if (compressed.length < compressedLength) compressed = new byte[compressedLength];
+			if (readFully(in, compressed, 0, compressedLength) != compressedLength)
+				throw new RuntimeException("Can't read block data");
+			decompress(new ByteArrayInputStream(compressed, 0, compressedLength), out);
+		}
+	}
+
+	/** @return The number of bytes read, which is less than length only if the end of the stream was reached. */
+	static int readFully (InputStream in, byte[] bytes, int offset, int length) throws IOException {
+		int total = 0;
+		while (total < length) {
+			int count = in.read(bytes, offset + total, length - total);
+			if (count == -1) break;
+			total += count;
+		}
+		return total;
+	}
+
+	static int readInt (byte[] bytes) {
+		return (bytes[0] & 0xff) << 24 | (bytes[1] & 0xff) << 16 | (bytes[2] & 0xff) << 8 | bytes[3] & 0xff;
+	}
 }
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/** Provides random access to the uncompressed bytes of a file written by
+ * {@link Lzma#compress(java.io.InputStream, OutputStream, int, int)}. Only the blocks containing the requested bytes are
+ * decompressed. The most recently decompressed block is kept so sequential reads within a block don't decompress it again. */
+public class LzmaBlockReader implements Closeable {
+	private final RandomAccessFile file;
+	private final int blockSize;
+	private final long[] offsets;
+	private final int[] compressedLengths, lengths;
+	private final long length;
+	private byte[] compressed = new byte[0], block;
+	private final BlockOutputStream output = new BlockOutputStream();
+	private int cachedIndex = -1;
+
+	public LzmaBlockReader (FileHandle file) {
+		this(file.file());
+	}
+
+	public LzmaBlockReader (File file) {
+		try {
+			this.file = new RandomAccessFile(file, "r");
+		} catch (IOException ex) {
+			throw new GdxRuntimeException("Error opening file: " + file, ex);
+		}
+		try {
+			RandomAccessFile raf = this.file;
+			if (raf.length() < 21 || raf.readInt() != Lzma.blockMagic)
+				throw new GdxRuntimeException("File was not written with block compression: " + file);
+			int version = raf.readByte();
+			if (version != Lzma.blockVersion) throw new GdxRuntimeException("Unsupported block version: " + version);
+			blockSize = raf.readInt();
+
+			raf.seek(raf.length() - 12);
+			long indexOffset = raf.readLong();
+			if (raf.readInt() != Lzma.blockMagic) throw new GdxRuntimeException("Block index is missing: " + file);
+			raf.seek(indexOffset);
+			int count = raf.readInt();
+			offsets = new long[count];
+			compressedLengths = new int[count];
+			lengths = new int[count];
+			long offset = 9, length = 0;
+			for (int i = 0; i < count; i++) {
+				compressedLengths[i] = raf.readInt();
+				lengths[i] = raf.readInt();
+				offsets[i] = offset + 8;
+				offset += 8 + compressedLengths[i];
+				length += lengths[i];
+			}
+			this.length = length;
+		} catch (IOException ex) {
+			StreamUtils.closeQuietly(this.file);
+			throw new GdxRuntimeException("Error reading block index: " + file, ex);
+		} catch (RuntimeException ex) {
+			StreamUtils.closeQuietly(this.file);
+			throw ex;
+		}
+	}
+
+	public int getBlockCount () {
+		return offsets.length;
+	}
+
+	/** @return The number of uncompressed bytes in each block, except the last block which may have fewer. */
+	public int getBlockSize () {
+		return blockSize;
+	}
+
+	/** @return The number of uncompressed bytes in the block. */
+	public int getBlockLength (int index) {
+		return lengths[index];
+	}
+
+	/** @return The total number of uncompressed bytes. */
+	public long getLength () {
+		return length;
+	}
+
+	/** Decompresses a single block.
+	 * @param bytes Must have at least {@link #getBlockLength(int)} bytes.
+	 * @return The number of bytes written to the array. */
+	public int readBlock (int index, byte[] bytes) throws IOException {
+		if (index < 0 || index >= offsets.length)
+			throw new IndexOutOfBoundsException("index can't be >= " + offsets.length + ": " + index);
+		int compressedLength = compressedLengths[index];
+		if (compressed.length < compressedLength) compressed = new byte[compressedLength];
+		file.seek(offsets[index]);
+		file.readFully(compressed, 0, compressedLength);
+		output.bytes = bytes;
+		output.position = 0;
+		try {
+			Lzma.decompress(new ByteArrayInputStream(compressed, 0, compressedLength), output);
+		} finally {
+			output.bytes = null;
+		}
+		if (output.position != lengths[index]) throw new IOException("Block " + index + " is corrupt.");
+		return output.position;
+	}
+
+	/** Reads uncompressed bytes starting at the specified position, decompressing only the blocks they span.
+	 * @return The number of bytes read, which is less than length only if the end of the data was reached. */
+	public int read (long position, byte[] bytes, int offset, int length) throws IOException {
+		if (position < 0) throw new IllegalArgumentException("position must be >= 0: " + position);
+		if (blockSize == 0 || position >= this.length) return 0;
+		int total = 0;
+		int index = (int)(position / blockSize), start = (int)(position % blockSize);
+		while (total < length && index < offsets.length) {
+			if (cachedIndex != index) {
+				if (block == null) block = new byte[blockSize];
+				cachedIndex = -1;
+				readBlock(index, block);
+				cachedIndex = index;
+			}
+			int count = Math.min(length - total, lengths[index] - start);
+			System.arraycopy(block, start, bytes, offset + total, count);
+			total += count;
+			start = 0;
+			index++;
+		}
+		return total;
+	}
+
+	public void close () throws IOException {
+		file.close();
+	}
+
+	/** Writes to an array without growing it. */
+	static private class BlockOutputStream extends OutputStream {
+		byte[] bytes;
+		int position;
+
+		public void write (int b) throws IOException {
+			if (position >= bytes.length) throw new IOException("Block exceeds the block size.");
+			bytes[position++] = (byte)b;
+		}
+
+		public void write (byte[] b, int off, int len) throws IOException {
+			if (position + len > bytes.length) throw new IOException("Block exceeds the block size.");
+			System.arraycopy(b, off, bytes, position, len);
+			position += len;
+		}
+	}
+}
@@ -21,11 +21,15 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 
+import com.badlogic.gdx.utils.Null;
+
 /** Provides information about, and access to, a single field of a class or interface.
  * @author nexsoftware */
 public final class Field {
+	static private boolean handlesUnavailable;
 
 	private final java.lang.reflect.Field field;
+	private @Null FieldHandles handles;
 
 	Field (java.lang.reflect.Field field) {
 		this.field = field;
@@ -151,9 +155,25 @@ public final class Field {
 		return null;
 	}
 
+	/** Uses method handles for subsequent gets and sets, if the platform supports them. Creating the handles takes time, so this
+	 * is only worthwhile for fields that are accessed many times, such as during serialization. Has no effect for static fields.
+	 * @return true if method handles are used. */
+	public boolean optimizeAccess () {
+		if (handles != null) return true;
+		if (handlesUnavailable || isStatic()) return false;
+		try {
+			handles = new FieldHandles(field);
+		} catch (LinkageError ex) {
+			handlesUnavailable = true; // No java.lang.invoke, eg Android < 8.0.
+		} catch (Exception ignored) { // Access denied or method handles not supported.
+		}
+		return handles != null;
+	}
+
 	/** Returns the value of the field on the supplied object. */
 	public Object get (Object obj) throws ReflectionException {
 		try {
+			if (handles != null) return handles.get(obj);
 			return field.get(obj);
 		} catch (IllegalArgumentException e) {
 			throw new ReflectionException("Object is not an instance of " + getDeclaringClass(), e);
@@ -165,7 +185,37 @@ public final class Field {
 	/** Sets the value of the field on the supplied object. */
 	public void set (Object obj, Object value) throws ReflectionException {
 		try {
-			field.set(obj, value);
+			if (handles != null)
+				handles.set(obj, value);
+			else
+				field.set(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Returns the value of a {@code int} field, or a field convertible to {@code int}, without boxing. */
+	public int getInt (Object obj) throws ReflectionException {
+		try {
+			if (handles != null) return handles.getInt(obj);
+			return field.getInt(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException(
+				"Object is not an instance of " + getDeclaringClass() + " or field is not int: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a {@code int} field, or a field {@code int} can be converted to, without boxing. */
+	public void setInt (Object obj, int value) throws ReflectionException {
+		try {
+			if (handles != null)
+				handles.setInt(obj, value);
+			else
+				field.setInt(obj, value);
 		} catch (IllegalArgumentException e) {
 			throw new ReflectionException("Argument not valid for field: " + getName(), e);
 		} catch (IllegalAccessException e) {
@@ -173,4 +223,111 @@ public final class Field {
 		}
 	}
 
+	/** Returns the value of a {@code long} field, or a field convertible to {@code long}, without boxing. */
+	public long getLong (Object obj) throws ReflectionException {
+		try {
+			if (handles != null) return handles.getLong(obj);
+			return field.getLong(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException(
+				"Object is not an instance of " + getDeclaringClass() + " or field is not long: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a {@code long} field, or a field {@code long} can be converted to, without boxing. */
+	public void setLong (Object obj, long value) throws ReflectionException {
+		try {
+			if (handles != null)
+				handles.setLong(obj, value);
+			else
+				field.setLong(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Returns the value of a {@code float} field, or a field convertible to {@code float}, without boxing. */
+	public float getFloat (Object obj) throws ReflectionException {
+		try {
+			if (handles != null) return handles.getFloat(obj);
+			return field.getFloat(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException(
+				"Object is not an instance of " + getDeclaringClass() + " or field is not float: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a {@code float} field, or a field {@code float} can be converted to, without boxing. */
+	public void setFloat (Object obj, float value) throws ReflectionException {
+		try {
+			if (handles != null)
+				handles.setFloat(obj, value);
+			else
+				field.setFloat(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Returns the value of a {@code double} field, or a field convertible to {@code double}, without boxing. */
+	public double getDouble (Object obj) throws ReflectionException {
+		try {
+			if (handles != null) return handles.getDouble(obj);
+			return field.getDouble(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException(
+				"Object is not an instance of " + getDeclaringClass() + " or field is not double: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a {@code double} field, or a field {@code double} can be converted to, without boxing. */
+	public void setDouble (Object obj, double value) throws ReflectionException {
+		try {
+			if (handles != null)
+				handles.setDouble(obj, value);
+			else
+				field.setDouble(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Returns the value of a {@code boolean} field, or a field convertible to {@code boolean}, without boxing. */
+	public boolean getBoolean (Object obj) throws ReflectionException {
+		try {
+			if (handles != null) return handles.getBoolean(obj);
+			return field.getBoolean(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException(
+				"Object is not an instance of " + getDeclaringClass() + " or field is not boolean: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a {@code boolean} field, or a field {@code boolean} can be converted to, without boxing. */
+	public void setBoolean (Object obj, boolean value) throws ReflectionException {
+		try {
+			if (handles != null)
+				handles.setBoolean(obj, value);
+			else
+				field.setBoolean(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
 }
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/** Accesses an instance field using method handles. This class is only loaded by {@link Field#optimizeAccess()}, so platforms
+ * without java.lang.invoke never see it. */
+final class FieldHandles {
+	private final java.lang.reflect.Field field;
+	private final Class type;
+	private final MethodHandle getter, setter, typedGetter, typedSetter;
+
+	FieldHandles (java.lang.reflect.Field field) throws IllegalAccessException {
+		this.field = field;
+		type = field.getType();
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		MethodHandle getter = lookup.unreflectGetter(field), setter = lookup.unreflectSetter(field);
+		this.getter = getter.asType(MethodType.methodType(Object.class, Object.class));
+		this.setter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+		if (type.isPrimitive()) {
+			typedGetter = getter.asType(MethodType.methodType(type, Object.class));
+			typedSetter = setter.asType(MethodType.methodType(void.class, Object.class, type));
+		} else {
+			typedGetter = null;
+			typedSetter = null;
+		}
+	}
+
+	Object get (Object object) throws IllegalAccessException {
+		try {
+			return (Object)getter.invokeExact(object);
+		} catch (Throwable ex) {
+			throw rethrow(ex);
+		}
+	}
+
+	void set (Object object, Object value) throws IllegalAccessException {
+		if (value == null && type.isPrimitive()) throw new IllegalArgumentException("Primitive field cannot be set to null.");
+		try {
+			setter.invokeExact(object, value);
+		} catch (Throwable ex) {
+			throw rethrow(ex);
+		}
+	}
+
+	int getInt (Object object) throws IllegalAccessException {
+		if (type != int.class) return field.getInt(object);
+		try {
+			return (int)typedGetter.invokeExact(object);
+		} catch (Throwable ex) {
+			throw rethrow(ex);
+		}
+	}
+
+	void setInt (Object object, int value) throws IllegalAccessException {
+		if (type != int.class) {
+			field.setInt(object, value);
+			return;
+		}
+		try {
+			typedSetter.invokeExact(object, value);
+		} catch (Throwable ex) {
+			throw rethrow(ex);
+		}
+	}
+
+	long getLong (Object object) throws IllegalAccessException {
+		if (type != long.class) return field.getLong(object);
+		try {
+			return (long)typedGetter.invokeExact(object);
+		} catch (Throwable ex) {
+			throw rethrow(ex);
+		}
+	}
+
+	void setLong (Object object, long value) throws IllegalAccessException {
+		if (type != long.class) {
+			field.setLong(object, value);
+			return;
+		}
+		try {
+			typedSetter.invokeExact(object, value);
+		} catch (Throwable ex) {
+			throw rethrow(ex);
+		}
+	}
+
+	float getFloat (Object object) throws IllegalAccessException {
+		if (type != float.class) return field.getFloat(object);
+		try {
+			return (float)typedGetter.invokeExact(object);
+		} catch (Throwable ex) {
+			throw rethrow(ex);
+		}
+	}
+
+	void setFloat (Object object, float value) throws IllegalAccessException {
+		if (type != float.class) {
+			field.setFloat(object, value);
+			return;
+		}
+		try {
+			typedSetter.invokeExact(object, value);
+		} catch (Throwable ex) {
+			throw rethrow(ex);
+		}
+	}
+
+	double getDouble (Object object) throws IllegalAccessException {
+		if (type != double.class) return field.getDouble(object);
+		try {
+			return (double)typedGetter.invokeExact(object);
+		} catch (Throwable ex) {
+			throw rethrow(ex);
+		}
+	}
+
+	void setDouble (Object object, double value) throws IllegalAccessException {
+		if (type != double.class) {
+			field.setDouble(object, value);
+			return;
+		}
+		try {
+			typedSetter.invokeExact(object, value);
+		} catch (Throwable ex) {
+			throw rethrow(ex);
+		}
+	}
+
+	boolean getBoolean (Object object) throws IllegalAccessException {
+		if (type != boolean.class) return field.getBoolean(object);
+		try {
+			return (boolean)typedGetter.invokeExact(object);
+		} catch (Throwable ex) {
+			throw rethrow(ex);
+		}
+	}
+
+	void setBoolean (Object object, boolean value) throws IllegalAccessException {
+		if (type != boolean.class) {
+			field.setBoolean(object, value);
+			return;
+		}
+		try {
+			typedSetter.invokeExact(object, value);
+		} catch (Throwable ex) {
+			throw rethrow(ex);
+		}
+	}
+
+	/** Converts a wrong object type to the exception reflection would throw. Method handles on fields don't throw checked
+	 * exceptions. */
+	static private RuntimeException rethrow (Throwable ex) {
+		if (ex instanceof ClassCastException) return new IllegalArgumentException(ex);
+		if (ex instanceof RuntimeException) return (RuntimeException)ex;
+		if (ex instanceof Error) throw (Error)ex;
+		return new RuntimeException(ex);
+	}
+}
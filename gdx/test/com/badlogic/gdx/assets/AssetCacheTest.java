@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.assets;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+
+public class AssetCacheTest {
+	static private final String atlas = "page.png\nsize: 64, 32\nfilter: Linear, Linear\nrepeat: x\npma: true\n" //
+		+ "first\nbounds: 2, 4, 10, 12\noffsets: 1, 2, 14, 16\nindex: 3\nsplit: 1, 2, 3, 4\n" //
+		+ "second\nbounds: 20, 4, 8, 8\nrotate: 90\n";
+	static private final String font = "info face=\"Test\" size=16 padding=1,2,3,4 spacing=1,1\n" //
+		+ "common lineHeight=18 base=14 scaleW=64 scaleH=64 pages=1 packed=0\n" //
+		+ "page id=0 file=\"font.png\"\n" //
+		+ "chars count=2\n" //
+		+ "char id=65 x=1 y=2 width=8 height=10 xoffset=0 yoffset=3 xadvance=9 page=0 chnl=0\n" //
+		+ "char id=120 x=10 y=2 width=7 height=7 xoffset=0 yoffset=6 xadvance=8 page=0 chnl=0\n" //
+		+ "kernings count=1\n" //
+		+ "kerning first=65 second=120 amount=-1\n";
+
+	FileHandle dir;
+	AssetCache cache;
+
+	@Before
+	public void setUp () throws IOException {
+		File file = File.createTempFile("gdx-asset-cache", "");
+		file.delete();
+		dir = new FileHandle(file);
+		cache = new AssetCache(dir.child("cache"));
+	}
+
+	@After
+	public void tearDown () {
+		dir.deleteDirectory();
+	}
+
+	@Test
+	public void atlasData () {
+		FileHandle packFile = dir.child("test.atlas");
+		packFile.writeString(atlas, false);
+		TextureAtlasData parsed = cache.atlasData(packFile, dir, false);
+
+		// The cache is used while the source file's length and last modified time are unchanged.
+		long lastModified = packFile.lastModified();
+		packFile.writeString(atlas.replace("first", "third"), false);
+		packFile.file().setLastModified(lastModified);
+		TextureAtlasData cached = cache.atlasData(packFile, dir, false);
+		assertAtlasEquals(parsed, cached);
+		assertEquals("first", cached.getRegions().get(0).name);
+
+		packFile.file().setLastModified(lastModified + 2000);
+		assertEquals("third", cache.atlasData(packFile, dir, false).getRegions().get(0).name);
+
+		// Flipped data is cached separately.
+		assertTrue(cache.atlasData(packFile, dir, true).getRegions().get(0).flip);
+		assertFalse(cache.atlasData(packFile, dir, false).getRegions().get(0).flip);
+	}
+
+	@Test
+	public void fontData () {
+		FileHandle fontFile = dir.child("test.fnt");
+		fontFile.writeString(font, false);
+		BitmapFontData parsed = cache.fontData(fontFile, false);
+
+		long lastModified = fontFile.lastModified();
+		fontFile.writeString(font.replace("amount=-1", "amount=-2"), false);
+		fontFile.file().setLastModified(lastModified);
+		BitmapFontData cached = cache.fontData(fontFile, false);
+		assertEquals(-1, cached.getGlyph('A').getKerning('x'));
+
+		assertEquals(parsed.name, cached.name);
+		assertArrayEquals(parsed.imagePaths, cached.imagePaths);
+		assertSame(fontFile, cached.fontFile);
+		assertEquals(parsed.padTop, cached.padTop, 0);
+		assertEquals(parsed.padLeft, cached.padLeft, 0);
+		assertEquals(parsed.lineHeight, cached.lineHeight, 0);
+		assertEquals(parsed.capHeight, cached.capHeight, 0);
+		assertEquals(parsed.ascent, cached.ascent, 0);
+		assertEquals(parsed.descent, cached.descent, 0);
+		assertEquals(parsed.down, cached.down, 0);
+		assertEquals(parsed.spaceXadvance, cached.spaceXadvance, 0);
+		assertEquals(parsed.xHeight, cached.xHeight, 0);
+		assertArrayEquals(parsed.xChars, cached.xChars);
+		assertNull(cached.breakChars);
+		for (char c : new char[] {'A', 'x', ' '}) {
+			Glyph expected = parsed.getGlyph(c), actual = cached.getGlyph(c);
+			assertEquals(expected.id, actual.id);
+			assertEquals(expected.srcX, actual.srcX);
+			assertEquals(expected.srcY, actual.srcY);
+			assertEquals(expected.width, actual.width);
+			assertEquals(expected.height, actual.height);
+			assertEquals(expected.xoffset, actual.xoffset);
+			assertEquals(expected.yoffset, actual.yoffset);
+			assertEquals(expected.xadvance, actual.xadvance);
+			assertEquals(expected.page, actual.page);
+		}
+		assertNull(cached.getGlyph('B'));
+
+		fontFile.file().setLastModified(lastModified + 2000);
+		assertEquals(-2, cache.fontData(fontFile, false).getGlyph('A').getKerning('x'));
+	}
+
+	@Test
+	public void invalidCacheFile () {
+		FileHandle packFile = dir.child("test.atlas");
+		packFile.writeString(atlas, false);
+		cache.atlasData(packFile, dir, false);
+		for (FileHandle cacheFile : cache.getDirectory().list())
+			cacheFile.writeBytes(new byte[] {1, 2, 3}, false);
+		assertEquals(2, cache.atlasData(packFile, dir, false).getRegions().size);
+		assertEquals(2, cache.atlasData(packFile, dir, false).getRegions().size);
+	}
+
+	private void assertAtlasEquals (TextureAtlasData expected, TextureAtlasData actual) {
+		assertEquals(expected.getPages().size, actual.getPages().size);
+		for (int i = 0; i < expected.getPages().size; i++) {
+			Page expectedPage = expected.getPages().get(i), actualPage = actual.getPages().get(i);
+			assertEquals(expectedPage.name, actualPage.name);
+			assertEquals(expectedPage.textureFile, actualPage.textureFile);
+			assertEquals(expectedPage.width, actualPage.width, 0);
+			assertEquals(expectedPage.height, actualPage.height, 0);
+			assertEquals(expectedPage.format, actualPage.format);
+			assertEquals(TextureFilter.Linear, actualPage.minFilter);
+			assertEquals(expectedPage.uWrap, actualPage.uWrap);
+			assertEquals(expectedPage.vWrap, actualPage.vWrap);
+			assertTrue(actualPage.pma);
+		}
+		assertEquals(expected.getRegions().size, actual.getRegions().size);
+		for (int i = 0; i < expected.getRegions().size; i++) {
+			Region expectedRegion = expected.getRegions().get(i), actualRegion = actual.getRegions().get(i);
+			assertSame(actual.getPages().get(expected.getPages().indexOf(expectedRegion.page, true)), actualRegion.page);
+			assertEquals(expectedRegion.name, actualRegion.name);
+			assertEquals(expectedRegion.left, actualRegion.left);
+			assertEquals(expectedRegion.top, actualRegion.top);
+			assertEquals(expectedRegion.width, actualRegion.width);
+			assertEquals(expectedRegion.height, actualRegion.height);
+			assertEquals(expectedRegion.offsetX, actualRegion.offsetX, 0);
+			assertEquals(expectedRegion.offsetY, actualRegion.offsetY, 0);
+			assertEquals(expectedRegion.originalWidth, actualRegion.originalWidth);
+			assertEquals(expectedRegion.originalHeight, actualRegion.originalHeight);
+			assertEquals(expectedRegion.degrees, actualRegion.degrees);
+			assertEquals(expectedRegion.rotate, actualRegion.rotate);
+			assertEquals(expectedRegion.index, actualRegion.index);
+			assertArrayEquals(expectedRegion.names, actualRegion.names);
+			if (expectedRegion.values != null) {
+				for (int ii = 0; ii < expectedRegion.values.length; ii++)
+					assertArrayEquals(expectedRegion.values[ii], actualRegion.values[ii]);
+			}
+		}
+	}
+}
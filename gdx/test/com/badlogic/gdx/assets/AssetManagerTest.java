@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.assets;
+
+import static org.junit.Assert.*;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+
+public class AssetManagerTest {
+	static private final FileHandleResolver resolver = new FileHandleResolver() {
+		public FileHandle resolve (String fileName) {
+			return new FileHandle(fileName);
+		}
+	};
+
+	@Test
+	public void parallelLoading () {
+		AssetManager manager = new AssetManager(resolver, false, 4);
+		TestLoader loader = new TestLoader(true);
+		manager.setLoader(TestAsset.class, loader);
+		for (int i = 0; i < 8; i++)
+			manager.load("asset" + i, TestAsset.class);
+		manager.finishLoading();
+
+		assertTrue(loader.maxRunning.get() > 1);
+		for (int i = 0; i < 8; i++)
+			assertEquals("asset" + i, manager.get("asset" + i, TestAsset.class).fileName);
+		manager.dispose();
+	}
+
+	@Test
+	public void nonConcurrentLoaderIsSerialized () {
+		AssetManager manager = new AssetManager(resolver, false, 4);
+		TestLoader loader = new TestLoader(false);
+		manager.setLoader(TestAsset.class, loader);
+		for (int i = 0; i < 6; i++)
+			manager.load("asset" + i, TestAsset.class);
+		manager.finishLoading();
+
+		assertEquals(1, loader.maxRunning.get());
+		assertEquals(6, manager.getLoadedAssets());
+		manager.dispose();
+	}
+
+	@Test
+	public void crossLoaderDependencies () {
+		AssetManager manager = new AssetManager(resolver, false, 2);
+		TestLoader loader = new TestLoader(false), otherLoader = new TestLoader(false);
+		manager.setLoader(TestAsset.class, loader);
+		manager.setLoader((Class)OtherAsset.class, otherLoader);
+		// Each asset depends on an asset that uses the other non-concurrent loader.
+		manager.load("a1+other2", TestAsset.class);
+		manager.load("other1+a2", OtherAsset.class);
+		long end = System.currentTimeMillis() + 5000;
+		while (!manager.update())
+			assertTrue("Deadlock", System.currentTimeMillis() < end);
+
+		assertEquals(4, manager.getLoadedAssets());
+		assertEquals(1, loader.maxRunning.get());
+		assertEquals(1, otherLoader.maxRunning.get());
+		assertTrue(manager.get("a1+other2", TestAsset.class).dependencyLoaded);
+		assertTrue(manager.get("other1+a2", OtherAsset.class).dependencyLoaded);
+		assertEquals(1f, manager.getProgress(), 0);
+		manager.dispose();
+	}
+
+	@Test
+	public void sharedDependencies () {
+		for (int threads = 1; threads <= 4; threads += 3) {
+			AssetManager manager = new AssetManager(resolver, false, threads);
+			TestLoader loader = new TestLoader(true);
+			manager.setLoader(TestAsset.class, loader);
+			// Each parent depends on the same shared asset.
+			for (int i = 0; i < 6; i++)
+				manager.load("parent" + i + "+shared", TestAsset.class);
+			manager.finishLoading();
+
+			assertEquals(7, manager.getLoadedAssets());
+			assertEquals(6, manager.getReferenceCount("shared"));
+			assertEquals(7, loader.loaded.get());
+			for (int i = 0; i < 6; i++)
+				assertTrue(manager.get("parent" + i + "+shared", TestAsset.class).dependencyLoaded);
+			assertEquals(1f, manager.getProgress(), 0);
+
+			for (int i = 0; i < 6; i++)
+				manager.unload("parent" + i + "+shared");
+			assertFalse(manager.isLoaded("shared"));
+			manager.dispose();
+		}
+	}
+
+	@Test
+	public void priorities () {
+		AssetManager manager = new AssetManager(resolver, false);
+		TestLoader loader = new TestLoader(true);
+		manager.setLoader(TestAsset.class, loader);
+		AssetLoaderParameters<TestAsset> high = new AssetLoaderParameters();
+		high.priority = 5;
+		manager.load("a", TestAsset.class);
+		manager.load("b", TestAsset.class, high);
+		manager.load("c", TestAsset.class, null, 1);
+		manager.load("d", TestAsset.class);
+		assertTrue(manager.setPriority("d", 3));
+		assertFalse(manager.setPriority("missing", 3));
+		manager.finishLoading();
+		assertEquals("[b, d, c, a]", loader.order.toString());
+		manager.dispose();
+	}
+
+	@Test
+	public void higherPriorityStartsNext () {
+		AssetManager manager = new AssetManager(resolver, false);
+		TestLoader loader = new TestLoader(true);
+		manager.setLoader(TestAsset.class, loader);
+		manager.load("low+dependency", TestAsset.class);
+		manager.load("normal", TestAsset.class);
+		while (loader.running.get() == 0)
+			manager.update();
+		// The urgent asset is loaded after the asset that is loading but before the queued asset, without exceeding the threads.
+		manager.load("urgent", TestAsset.class, null, 10);
+		manager.finishLoading();
+		assertEquals("[dependency, low+dependency, urgent, normal]", loader.order.toString());
+		assertEquals(1, loader.maxRunning.get());
+		manager.dispose();
+	}
+
+	@Test
+	public void cancelLoadingTasks () {
+		AssetManager manager = new AssetManager(resolver, false);
+		TestLoader loader = new TestLoader(true);
+		manager.setLoader(TestAsset.class, loader);
+		manager.load("parent+slow", TestAsset.class);
+		// Wait for the dependency to start loading, then unload the parent.
+		while (loader.running.get() == 0)
+			manager.update();
+		assertFalse(manager.isCancelled("slow"));
+		manager.unload("parent+slow");
+		assertTrue(manager.isCancelled("slow"));
+		manager.finishLoading();
+
+		assertEquals(0, loader.loaded.get());
+		assertEquals(0, manager.getLoadedAssets());
+		assertNull(manager.getDependencies("parent+slow"));
+		manager.dispose();
+		assertTrue(loader.stoppedEarly);
+	}
+
+	@Test
+	public void cancelSharedDependency () {
+		AssetManager manager = new AssetManager(resolver, false, 2);
+		TestLoader loader = new TestLoader(true);
+		manager.setLoader(TestAsset.class, loader);
+		manager.load("slow", TestAsset.class);
+		manager.load("parent+slow", TestAsset.class);
+		// The parent's stack waits for the other stack to load the shared dependency. The parent is unloaded after loadAsync and
+		// before loadSync of the dependency.
+		while (manager.getDependencies("parent+slow") == null)
+			manager.update();
+		while (!loader.asyncLoaded.contains("slow"))
+			Thread.yield();
+		manager.unload("parent+slow");
+		long end = System.currentTimeMillis() + 5000;
+		while (!manager.update())
+			assertTrue("Shared dependency was unloaded", System.currentTimeMillis() < end);
+
+		assertEquals(1, loader.loaded.get());
+		assertEquals(1, manager.getReferenceCount("slow"));
+		assertFalse(manager.isLoaded("parent+slow"));
+		manager.dispose();
+	}
+
+	@Test
+	public void profiler () {
+		AssetManager manager = new AssetManager(resolver, false);
+		manager.setLoader(TestAsset.class, new TestLoader(true));
+		AssetLoadProfiler profiler = new AssetLoadProfiler();
+		manager.setProfiler(profiler);
+		manager.load("parent+dependency", TestAsset.class);
+		manager.load("other", TestAsset.class);
+		manager.finishLoading();
+
+		assertEquals(3, profiler.getRecords().size);
+		AssetLoadProfiler.Record parent = profiler.getRecord("parent+dependency");
+		AssetLoadProfiler.Record dependency = profiler.getRecord("dependency");
+		AssetLoadProfiler.Record other = profiler.getRecord("other");
+		assertTrue(dependency.dependency);
+		assertFalse(parent.dependency);
+		assertTrue(dependency.asyncTime >= 20000000);
+		assertTrue(dependency.syncTime < dependency.asyncTime);
+		assertTrue(parent.dependencyTime >= dependency.asyncTime);
+		assertTrue(parent.totalTime >= parent.dependencyTime + parent.asyncTime);
+		assertTrue(other.queueTime >= parent.totalTime);
+		assertEquals(-1, other.memory);
+
+		AssetLoadProfiler.Record total = profiler.getLoaderTotals().get(TestLoader.class);
+		assertEquals(3, total.count);
+		assertEquals(parent.asyncTime + dependency.asyncTime + other.asyncTime, total.asyncTime);
+
+		JsonValue json = new JsonReader().parse(profiler.toJson(OutputType.json));
+		assertEquals(3, json.get("assets").size);
+		assertEquals("dependency", json.get("assets").get(0).getString("fileName"));
+		assertEquals("TestLoader", json.get("loaders").get(0).getString("loader"));
+		assertEquals(3, json.get("loaders").get(0).getInt("count"));
+		manager.dispose();
+	}
+
+	static class TestAsset {
+		String fileName;
+		boolean dependencyLoaded;
+	}
+
+	static class OtherAsset extends TestAsset {
+	}
+
+	/** Sleeps in loadAsync, or until cancelled for file names starting with "slow". Like the texture and pixmap loaders, the state
+	 * created by loadAsync is removed by unloadAsync and loadSync fails without it. File names containing "+" depend on the asset
+	 * named after the "+". File names starting with "other" are {@link OtherAsset}s. */
+	static class TestLoader extends AsynchronousAssetLoader<TestAsset, AssetLoaderParameters<TestAsset>> {
+		final boolean concurrent;
+		final AtomicInteger running = new AtomicInteger(), maxRunning = new AtomicInteger(), loaded = new AtomicInteger();
+		final Thread thread = Thread.currentThread();
+		final Array<String> order = new Array();
+		final Set<String> asyncLoaded = ConcurrentHashMap.newKeySet();
+		volatile boolean stoppedEarly;
+
+		TestLoader (boolean concurrent) {
+			super(resolver);
+			this.concurrent = concurrent;
+		}
+
+		public Array<AssetDescriptor> getDependencies (String fileName, FileHandle file,
+			AssetLoaderParameters<TestAsset> parameter) {
+			int index = fileName.indexOf('+');
+			if (index == -1) return null;
+			Array<AssetDescriptor> dependencies = new Array();
+			String dependency = fileName.substring(index + 1);
+			dependencies.add(new AssetDescriptor(dependency, dependency.startsWith("other") ? OtherAsset.class : TestAsset.class));
+			return dependencies;
+		}
+
+		public void loadAsync (AssetManager manager, String fileName, FileHandle file, AssetLoaderParameters<TestAsset> parameter) {
+			int count = running.incrementAndGet();
+			while (true) {
+				int max = maxRunning.get();
+				if (count <= max || maxRunning.compareAndSet(max, count)) break;
+			}
+			try {
+				if (fileName.startsWith("slow")) {
+					for (int i = 0; i < 50; i++) {
+						if (manager.isCancelled(fileName)) {
+							stoppedEarly = true;
+							break;
+						}
+						Thread.sleep(10);
+					}
+				} else
+					Thread.sleep(20);
+			} catch (InterruptedException ignored) {
+			}
+			asyncLoaded.add(fileName);
+			running.decrementAndGet();
+		}
+
+		public void unloadAsync (AssetManager manager, String fileName, FileHandle file, AssetLoaderParameters<TestAsset> parameter) {
+			asyncLoaded.remove(fileName);
+		}
+
+		public TestAsset loadSync (AssetManager manager, String fileName, FileHandle file,
+			AssetLoaderParameters<TestAsset> parameter) {
+			assertSame(thread, Thread.currentThread());
+			if (!asyncLoaded.remove(fileName)) return null;
+			TestAsset asset = fileName.startsWith("other") ? new OtherAsset() : new TestAsset();
+			asset.fileName = fileName;
+			int index = fileName.indexOf('+');
+			if (index != -1) asset.dependencyLoaded = manager.isLoaded(fileName.substring(index + 1));
+			loaded.incrementAndGet();
+			order.add(fileName);
+			return asset;
+		}
+
+		public boolean isConcurrent () {
+			return concurrent;
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.files;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.utils.ByteBufferPool;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+
+public class FileHandleTest {
+	FileHandle file;
+	byte[] bytes;
+
+	@Before
+	public void setUp () throws IOException {
+		file = new FileHandle(File.createTempFile("gdx-file-handle", ".bin"));
+		bytes = new byte[3000];
+		for (int i = 0; i < bytes.length; i++)
+			bytes[i] = (byte)(i * 31);
+		file.writeBytes(bytes, false);
+	}
+
+	@After
+	public void tearDown () {
+		file.delete();
+	}
+
+	@Test
+	public void readBytesIntoBuffer () {
+		for (ByteBuffer buffer : new ByteBuffer[] {ByteBuffer.allocate(4000), ByteBuffer.allocateDirect(4000)}) {
+			buffer.position(10);
+			assertEquals(bytes.length, file.readBytes(buffer));
+			assertEquals(10 + bytes.length, buffer.position());
+			assertArrayEquals(bytes, copy(buffer, 10, bytes.length));
+
+			// Stops at the limit.
+			buffer.clear().limit(100);
+			assertEquals(100, file.readBytes(buffer));
+			assertArrayEquals(Arrays.copyOf(bytes, 100), copy(buffer, 0, 100));
+		}
+	}
+
+	@Test
+	public void readBytesFromPool () {
+		ByteBufferPool pool = new ByteBufferPool();
+		ByteBuffer buffer = file.readBytes(pool);
+		assertEquals(0, buffer.position());
+		assertEquals(bytes.length, buffer.limit());
+		assertArrayEquals(bytes, copy(buffer, 0, bytes.length));
+		pool.free(buffer);
+		assertSame(buffer, file.readBytes(pool));
+
+		// A classpath file's length is not known up front.
+		FileHandle classpath = new FileHandle("com/badlogic/gdx/files/FileHandle.class", FileType.Classpath);
+		byte[] expected = classpath.readBytes();
+		assertTrue(expected.length > 512);
+		buffer = classpath.readBytes(pool);
+		assertArrayEquals(expected, copy(buffer, 0, buffer.limit()));
+	}
+
+	@Test
+	public void readBytesAsync () throws Exception {
+		AsyncExecutor executor = new AsyncExecutor(2);
+		ByteBufferPool pool = new ByteBufferPool(true, 8);
+		AsyncResult<ByteBuffer> pooled = file.readBytesAsync(executor, pool);
+		AsyncResult<ByteBuffer> supplied = file.readBytesAsync(executor, ByteBuffer.allocate(bytes.length));
+		assertArrayEquals(bytes, copy(pooled.get(), 0, bytes.length));
+		assertTrue(pooled.get().isDirect());
+		assertArrayEquals(bytes, copy(supplied.get(), 0, bytes.length));
+		executor.dispose();
+	}
+
+	static private byte[] copy (ByteBuffer buffer, int offset, int length) {
+		byte[] result = new byte[length];
+		ByteBuffer duplicate = buffer.duplicate();
+		duplicate.position(offset);
+		duplicate.get(result);
+		return result;
+	}
+}
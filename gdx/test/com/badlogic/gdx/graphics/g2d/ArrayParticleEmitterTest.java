@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter.SpawnShape;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+public class ArrayParticleEmitterTest {
+	private String effect;
+
+	@Before
+	public void setUp () throws IOException {
+		ParticleEmitter emitter = new ParticleEmitter();
+		emitter.setName("test");
+		emitter.setMaxParticleCount(500);
+		emitter.setContinuous(true);
+		emitter.getDuration().setLow(1000);
+		emitter.getEmission().setHigh(400);
+		emitter.getLife().setHigh(500, 1500);
+		emitter.getXScale().setHigh(8, 16);
+		emitter.getXScale().setTimeline(new float[] {0, 1});
+		emitter.getXScale().setScaling(new float[] {1, 0.25f});
+		emitter.getVelocity().setActive(true);
+		emitter.getVelocity().setHigh(50, 100);
+		emitter.getAngle().setActive(true);
+		emitter.getAngle().setHigh(0, 360);
+		emitter.getAngle().setTimeline(new float[] {0, 1});
+		emitter.getAngle().setScaling(new float[] {0, 1});
+		emitter.getRotation().setActive(true);
+		emitter.getRotation().setHigh(0, 90);
+		emitter.getGravity().setActive(true);
+		emitter.getGravity().setHigh(-20);
+		emitter.getTransparency().setHigh(1);
+		emitter.getTransparency().setTimeline(new float[] {0, 1});
+		emitter.getTransparency().setScaling(new float[] {1, 0});
+		emitter.getSpawnShape().setShape(SpawnShape.ellipse);
+		emitter.getSpawnWidth().setHigh(40);
+		emitter.getSpawnHeight().setHigh(20);
+		emitter.getImagePaths().add("particle.png");
+		effect = save(emitter);
+	}
+
+	private String save (ParticleEmitter emitter) throws IOException {
+		StringWriter writer = new StringWriter();
+		emitter.save(writer);
+		return writer.toString();
+	}
+
+	private <T extends ParticleEmitter> T start (T emitter) {
+		Sprite sprite = new Sprite();
+		sprite.setSize(16, 16);
+		sprite.setOrigin(8, 8);
+		emitter.setSprites(Array.with(sprite));
+		emitter.setPosition(100, 50);
+		MathUtils.random.setSeed(42);
+		emitter.start();
+		return emitter;
+	}
+
+	private void update (ParticleEmitter emitter, int frames) {
+		for (int i = 0; i < frames; i++)
+			emitter.update(1 / 60f);
+	}
+
+	@Test
+	public void loadsUnchanged () throws IOException {
+		ArrayParticleEmitter emitter = new ArrayParticleEmitter(new BufferedReader(new StringReader(effect)));
+		assertEquals(effect, save(emitter));
+		assertEquals(effect, save(new ArrayParticleEmitter(emitter)));
+		assertEquals(0, emitter.getParticles().length);
+	}
+
+	@Test
+	public void matchesParticleEmitter () throws IOException {
+		ParticleEmitter expected = start(new ParticleEmitter(new BufferedReader(new StringReader(effect))));
+		ArrayParticleEmitter actual = start(new ArrayParticleEmitter(new BufferedReader(new StringReader(effect))));
+		for (int i = 0; i < 10; i++) {
+			MathUtils.random.setSeed(i);
+			update(expected, 6);
+			MathUtils.random.setSeed(i);
+			update(actual, 6);
+			assertEquals(expected.getActiveCount(), actual.getActiveCount());
+			assertBounds(expected.getBoundingBox(), actual.getBoundingBox(), 0.05f);
+		}
+		assertTrue(actual.getActiveCount() > 100);
+	}
+
+	@Test
+	public void parallelUpdate () throws IOException {
+		ArrayParticleEmitter expected = start(new ArrayParticleEmitter(new BufferedReader(new StringReader(effect))));
+		ArrayParticleEmitter actual = start(new ArrayParticleEmitter(new BufferedReader(new StringReader(effect))));
+		AsyncExecutor executor = new AsyncExecutor(4, "particles");
+		try {
+			actual.setExecutor(executor, 16);
+			for (int i = 0; i < 10; i++) {
+				MathUtils.random.setSeed(i);
+				update(expected, 6);
+				MathUtils.random.setSeed(i);
+				update(actual, 6);
+				assertEquals(expected.getActiveCount(), actual.getActiveCount());
+				assertBounds(expected.getBoundingBox(), actual.getBoundingBox(), 0);
+			}
+		} finally {
+			executor.dispose();
+		}
+	}
+
+	@Test
+	public void failedChunkWaitsForOtherChunks () throws IOException {
+		ArrayParticleEmitter emitter = start(new ArrayParticleEmitter(new BufferedReader(new StringReader(effect))));
+		update(emitter, 30);
+		final AtomicBoolean failNext = new AtomicBoolean(true);
+		final Array<Future> futures = new Array();
+		// Cancels the first chunk so its result fails, and runs the other chunks slowly.
+		AsyncExecutor executor = new AsyncExecutor(new ThreadPoolExecutor(4, 4, 0, TimeUnit.SECONDS, new LinkedBlockingQueue()) {
+			public void execute (final Runnable task) {
+				futures.add((Future)task);
+				if (failNext.getAndSet(false)) {
+					((Future)task).cancel(false);
+					return;
+				}
+				super.execute(new Runnable() {
+					public void run () {
+						try {
+							Thread.sleep(20);
+						} catch (InterruptedException ignored) {
+						}
+						task.run();
+					}
+				});
+			}
+		});
+		try {
+			emitter.setExecutor(executor, 16);
+			try {
+				// Longer than the maximum life, so every particle except those in the cancelled chunk dies.
+				emitter.update(2);
+				fail();
+			} catch (CancellationException expected) {
+			}
+			assertTrue(futures.size > 2);
+			for (Future future : futures)
+				assertTrue(future.isDone());
+			// The particles that died were removed even though the update failed.
+			assertEquals(16, emitter.getActiveCount());
+
+			// The failed result is not kept for the next updates, which use multiple chunks again.
+			update(emitter, 30);
+			assertTrue(emitter.getActiveCount() > 32);
+		} finally {
+			executor.dispose();
+		}
+	}
+
+	@Test
+	public void copyKeepsEmitterType () throws IOException {
+		ParticleEffect effect = new ParticleEffect();
+		effect.getEmitters().add(new ArrayParticleEmitter(new BufferedReader(new StringReader(this.effect))));
+		effect.getEmitters().add(new ParticleEmitter(new BufferedReader(new StringReader(this.effect))));
+		ParticleEffect copy = new ParticleEffect(effect);
+		assertSame(ArrayParticleEmitter.class, copy.getEmitters().get(0).getClass());
+		assertSame(ParticleEmitter.class, copy.getEmitters().get(1).getClass());
+	}
+
+	private void assertBounds (BoundingBox expected, BoundingBox actual, float epsilon) {
+		assertEquals(expected.min.x, actual.min.x, epsilon);
+		assertEquals(expected.min.y, actual.min.y, epsilon);
+		assertEquals(expected.max.x, actual.max.x, epsilon);
+		assertEquals(expected.max.y, actual.max.y, epsilon);
+	}
+}
@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import static org.junit.Assert.*;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.CharArray;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.ThreadAllocationTracker;
+
+public class BitmapFontCacheTest {
+	private BitmapFont font;
+
+	@Before
+	public void setUp () {
+		font = TestFonts.newFont();
+	}
+
+	@Test
+	public void drawTextMatchesCachedText () {
+		String text = "Time left: 12.5 seconds, keep going until the end";
+		BitmapFontCache cache = font.newFontCache();
+		cache.setColor(Color.ORANGE);
+		TestBatch cached = new TestBatch(), streamed = new TestBatch();
+
+		cache.setText(text, 15, 30, 120, Align.center, true);
+		cache.draw(cached);
+		int cachedVertices = cache.getVertexCount(0);
+		cache.drawText(streamed, text, 15, 30, 120, Align.center, true);
+
+		assertTrue(cached.vertices.size > 0);
+		assertArrayEquals(cached.vertices.toArray(), streamed.vertices.toArray(), 0);
+		// Drawing directly doesn't change the cached glyphs.
+		assertEquals(cachedVertices, cache.getVertexCount(0));
+	}
+
+	@Test
+	public void drawTextAllocatesNothingAfterWarmUp () {
+		Assume.assumeTrue("Thread allocation tracking is not supported.", ThreadAllocationTracker.isSupported());
+		ThreadAllocationTracker tracker = new ThreadAllocationTracker();
+		BitmapFontCache cache = font.newFontCache();
+		TestBatch batch = new TestBatch();
+		CharArray text = new CharArray();
+
+		// Warm up with the same text as the measured frames, so arrays and pools have grown to their final size.
+		for (int i = 1000; i < 3000; i++)
+			frame(cache, batch, text, i);
+		// The tracker can allocate a little itself, measure that too after it has warmed up.
+		long trackerBytes = 0;
+		for (int i = 0; i < 100; i++) {
+			long start = tracker.getAllocatedBytes();
+			trackerBytes = tracker.getAllocatedBytes() - start;
+		}
+		long before = tracker.getAllocatedBytes();
+		for (int i = 1000; i < 3000; i++)
+			frame(cache, batch, text, i);
+		long allocated = tracker.getAllocatedBytes() - before - trackerBytes;
+
+		// Even one object per frame would be at least 32000 bytes. The JVM rarely allocates a few bytes itself, eg when compiling.
+		assertTrue("Bytes allocated in 2000 frames: " + allocated, allocated < 1000);
+		assertTrue(batch.draws > 0);
+	}
+
+	private void frame (BitmapFontCache cache, TestBatch batch, CharArray text, int frame) {
+		batch.vertices.clear();
+		text.clear();
+		text.append("frame ").append(frame).append(" score ").append(frame * 31 % 1000);
+		cache.drawText(batch, text, 10, 20);
+		cache.drawText(batch, text, 10, 40, 0, text.size, 60, Align.right, true, null);
+		cache.drawText(batch, text, 10, 60, 0, text.size, 50, Align.left, false, "...");
+	}
+
+	/** Records the vertices drawn with {@link #draw(Texture, float[], int, int)}. */
+	static class TestBatch implements Batch {
+		final FloatArray vertices = new FloatArray(2048);
+		final Color color = new Color(1, 1, 1, 1);
+		final Matrix4 matrix = new Matrix4();
+		int draws;
+
+		public void begin () {
+		}
+
+		public void end () {
+		}
+
+		public void setColor (Color tint) {
+		}
+
+		public void setColor (float r, float g, float b, float a) {
+		}
+
+		public Color getColor () {
+			return color;
+		}
+
+		public void setPackedColor (float packedColor) {
+		}
+
+		public float getPackedColor () {
+			return 0;
+		}
+
+		public void draw (Texture texture, float x, float y, float originX, float originY, float width, float height,
+			float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX,
+			boolean flipY) {
+		}
+
+		public void draw (Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth,
+			int srcHeight, boolean flipX, boolean flipY) {
+		}
+
+		public void draw (Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+		}
+
+		public void draw (Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+		}
+
+		public void draw (Texture texture, float x, float y) {
+		}
+
+		public void draw (Texture texture, float x, float y, float width, float height) {
+		}
+
+		public void draw (Texture texture, float[] spriteVertices, int offset, int count) {
+			draws++;
+			vertices.addAll(spriteVertices, offset, count);
+		}
+
+		public void draw (TextureRegion region, float x, float y) {
+		}
+
+		public void draw (TextureRegion region, float x, float y, float width, float height) {
+		}
+
+		public void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+			float scaleX, float scaleY, float rotation) {
+		}
+
+		public void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+			float scaleX, float scaleY, float rotation, boolean clockwise) {
+		}
+
+		public void draw (TextureRegion region, float width, float height, Affine2 transform) {
+		}
+
+		public void flush () {
+		}
+
+		public void disableBlending () {
+		}
+
+		public void enableBlending () {
+		}
+
+		public void setBlendFunction (int srcFunc, int dstFunc) {
+		}
+
+		public void setBlendFunctionSeparate (int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {
+		}
+
+		public int getBlendSrcFunc () {
+			return 0;
+		}
+
+		public int getBlendDstFunc () {
+			return 0;
+		}
+
+		public int getBlendSrcFuncAlpha () {
+			return 0;
+		}
+
+		public int getBlendDstFuncAlpha () {
+			return 0;
+		}
+
+		public Matrix4 getProjectionMatrix () {
+			return matrix;
+		}
+
+		public Matrix4 getTransformMatrix () {
+			return matrix;
+		}
+
+		public void setProjectionMatrix (Matrix4 projection) {
+		}
+
+		public void setTransformMatrix (Matrix4 transform) {
+		}
+
+		public void setShader (ShaderProgram shader) {
+		}
+
+		public ShaderProgram getShader () {
+			return null;
+		}
+
+		public boolean isBlendingEnabled () {
+			return false;
+		}
+
+		public boolean isDrawing () {
+			return true;
+		}
+
+		public void dispose () {
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Align;
+
+public class GlyphLayoutCacheTest {
+	private BitmapFont font;
+
+	@Before
+	public void setUp () {
+		font = TestFonts.newFont();
+	}
+
+	@Test
+	public void hitsAndMisses () {
+		GlyphLayoutCache cache = new GlyphLayoutCache(10);
+		GlyphLayout layout = cache.get(font, "hello world");
+		assertSame(layout, cache.get(font, "hello world"));
+		assertSame(layout, cache.get(font, new StringBuilder("hello world")));
+		assertEquals(2, cache.hits);
+		assertEquals(1, cache.misses);
+
+		GlyphLayout expected = new GlyphLayout(font, "hello world");
+		assertEquals(expected.width, layout.width, 0);
+		assertEquals(expected.height, layout.height, 0);
+		assertEquals(expected.glyphCount, layout.glyphCount);
+
+		// Part of a longer string matches the same text.
+		assertSame(layout, cache.get(font, "[hello world]", 1, 12, font.getColor(), 0, Align.left, false, null));
+
+		// Anything that changes the layout is part of the key.
+		assertNotSame(layout, cache.get(font, "hello worlds"));
+		assertNotSame(layout, cache.get(font, "hello world", Color.RED, 0, Align.left, false));
+		assertNotSame(layout, cache.get(font, "hello world", font.getColor(), 30, Align.left, true));
+		font.getData().setScale(2);
+		GlyphLayout scaled = cache.get(font, "hello world");
+		assertNotSame(layout, scaled);
+		assertEquals(expected.width * 2, scaled.width, 0.001f);
+		font.getData().setScale(1);
+		assertSame(layout, cache.get(font, "hello world"));
+		assertEquals(5, cache.getSize());
+		assertEquals(5, cache.misses);
+	}
+
+	@Test
+	public void leastRecentlyUsedIsEvicted () {
+		GlyphLayoutCache cache = new GlyphLayoutCache(2);
+		GlyphLayout a = cache.get(font, "a");
+		GlyphLayout b = cache.get(font, "b");
+		cache.get(font, "a");
+		cache.get(font, "c");
+		assertEquals(1, cache.evictions);
+		assertEquals(2, cache.getSize());
+		assertSame(a, cache.get(font, "a"));
+		assertNotSame(b, cache.get(font, "b"));
+		assertEquals(2, cache.evictions);
+		// Evicted layouts are not reset.
+		assertEquals(1, b.glyphCount);
+	}
+
+	@Test
+	public void fontCacheReusesLayouts () {
+		GlyphLayoutCache layoutCache = new GlyphLayoutCache(10);
+		BitmapFontCache fontCache = font.newFontCache();
+		fontCache.setLayoutCache(layoutCache);
+		GlyphLayout layout = fontCache.setText("score 100", 0, 0);
+		int vertexCount = fontCache.getVertexCount(0);
+		assertEquals(9 * 20, vertexCount);
+		assertSame(layout, fontCache.setText("score 100", 10, 10));
+		assertEquals(vertexCount, fontCache.getVertexCount(0));
+		assertEquals(1, layoutCache.hits);
+		fontCache.clear();
+		assertEquals(9, layout.glyphCount);
+	}
+}
@@ -0,0 +1,360 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.TextureData.TextureDataType;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.InstanceBufferObject;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+
+public class InstancedSpriteBatchTest {
+	static private final String[] attributes = {"a_corner", ShaderProgram.POSITION_ATTRIBUTE, "a_axes", "a_region",
+		ShaderProgram.COLOR_ATTRIBUTE};
+
+	private final MockGL gl = new MockGL();
+	private boolean pedantic;
+
+	@BeforeClass
+	public static void loadNatives () {
+		com.badlogic.gdx.utils.GdxNativesLoader.load();
+	}
+
+	@Before
+	public void setUp () {
+		Gdx.app = proxy(Application.class, null);
+		Gdx.graphics = proxy(Graphics.class, null);
+		Gdx.gl = Gdx.gl20 = Gdx.gl30 = proxy(GL30.class, gl);
+		pedantic = ShaderProgram.pedantic;
+		ShaderProgram.pedantic = false;
+	}
+
+	@After
+	public void tearDown () {
+		ShaderProgram.pedantic = pedantic;
+		Gdx.app = null;
+		Gdx.graphics = null;
+		Gdx.gl = Gdx.gl20 = Gdx.gl30 = null;
+	}
+
+	@Test
+	public void oneInstancedDrawPerFlush () {
+		InstancedSpriteBatch batch = new InstancedSpriteBatch(100);
+		Texture texture = texture(64, 32);
+		gl.reset();
+
+		batch.begin();
+		for (int i = 0; i < 50; i++)
+			batch.draw(texture, i, i, 16, 16);
+		batch.end();
+
+		assertEquals(1, gl.count("glDrawElementsInstanced"));
+		assertEquals(50, gl.instanceCounts.get(0));
+		assertEquals(0, gl.count("glDrawElements"));
+		// Each sprite is one 44 byte instance rather than 4 vertices of 20 bytes.
+		assertEquals(50 * 44, gl.subDataBytes);
+		assertEquals(50 * 44, batch.bytesUploaded);
+		assertEquals(1, batch.renderCalls);
+		batch.dispose();
+	}
+
+	@Test
+	public void ringBufferOrphansOnlyWhenWrapping () {
+		InstancedSpriteBatch batch = new InstancedSpriteBatch(10);
+		Texture texture1 = texture(64, 64), texture2 = texture(64, 64);
+		gl.reset();
+
+		batch.begin();
+		for (int i = 0; i < 4; i++) {
+			Texture texture = i % 2 == 0 ? texture1 : texture2;
+			for (int ii = 0; ii < 10; ii++)
+				batch.draw(texture, ii, 0, 8, 8);
+		}
+		batch.end();
+
+		// The ring holds 30 instances: the first flush allocates storage, the fourth wraps around and orphans it.
+		assertEquals(4, gl.count("glDrawElementsInstanced"));
+		assertEquals(2, gl.storageAllocations);
+		assertEquals(4, gl.count("glBufferSubData"));
+		assertEquals(4 * 10 * 44, gl.subDataBytes);
+		assertEquals(0, gl.subDataOffsets.get(0));
+		assertEquals(440, gl.subDataOffsets.get(1));
+		assertEquals(880, gl.subDataOffsets.get(2));
+		assertEquals(0, gl.subDataOffsets.get(3));
+		// The first instance attribute, a_position, points at the instances written for each flush.
+		assertEquals(16, gl.pointerOffsets.size);
+		assertEquals(0, gl.pointerOffsets.get(0));
+		assertEquals(440, gl.pointerOffsets.get(4));
+		assertEquals(880, gl.pointerOffsets.get(8));
+		assertEquals(0, gl.pointerOffsets.get(12));
+		batch.dispose();
+	}
+
+	@Test
+	public void streamsAfterInvalidate () {
+		InstancedSpriteBatch batch = new InstancedSpriteBatch(10);
+		Texture texture1 = texture(64, 64), texture2 = texture(64, 64);
+		batch.begin();
+		batch.draw(texture1, 0, 0, 8, 8);
+		batch.end();
+		int buffer = gl.subDataBuffer;
+
+		// After a context loss the instances are streamed to a new buffer, the first bind must not discard them.
+		Mesh.invalidateAllMeshes(Gdx.app);
+		gl.reset();
+		batch.begin();
+		for (int i = 0; i < 2; i++) {
+			batch.draw(texture1, 0, 0, 8, 8);
+			batch.draw(texture2, 0, 0, 8, 8);
+		}
+		batch.end();
+
+		assertNotEquals(buffer, gl.subDataBuffer);
+		assertEquals(4, gl.count("glDrawElementsInstanced"));
+		assertEquals(1, gl.storageAllocations);
+		assertEquals(4, gl.count("glBufferSubData"));
+		assertEquals(0, gl.subDataOverflows);
+		batch.dispose();
+	}
+
+	@Test
+	public void setInstanceDataAfterStreaming () {
+		InstanceBufferObject instances = new InstanceBufferObject(false, 10,
+			new VertexAttribute(Usage.Generic, 2, ShaderProgram.POSITION_ATTRIBUTE));
+		int[] locations = {-1};
+		instances.streamInstanceData(0, new float[] {1, 2, 3, 4}, 0, 4, false);
+		int buffer = gl.subDataBuffer;
+		instances.bind(null, locations, 0);
+		instances.unbind(null, locations);
+		gl.reset();
+
+		// Data set without streaming must be uploaded by the next bind.
+		instances.setInstanceData(new float[] {5, 6, 7, 8, 9, 10}, 0, 6);
+		instances.bind(null, locations, 0);
+		instances.unbind(null, locations);
+		assertEquals(1, gl.count("glBufferData"));
+		assertEquals(0, gl.storageAllocations);
+		assertEquals(24, gl.bufferSizes.get(buffer, 0));
+
+		// Streaming again allocates storage for the whole buffer.
+		gl.reset();
+		instances.streamInstanceData(3, new float[] {11, 12}, 0, 2, false);
+		assertEquals(1, gl.storageAllocations);
+		assertEquals(0, gl.subDataOverflows);
+		instances.dispose();
+	}
+
+	@Test
+	public void instanceMatchesSpriteBatchCorners () {
+		InstancedSpriteBatch batch = new InstancedSpriteBatch(10);
+		Texture texture = texture(100, 50);
+		TextureRegion region = new TextureRegion(texture, 10, 5, 20, 10);
+		gl.reset();
+
+		batch.begin();
+		batch.draw(region, 100, 200, 5, 2, 20, 10, 2, 3, 30);
+		batch.draw(region, 100, 200, 5, 2, 20, 10, 1, 1, 45, true);
+		Sprite sprite = new Sprite(region);
+		sprite.setPosition(7, 9);
+		sprite.setRotation(60);
+		sprite.setColor(0.5f, 0.25f, 1, 1);
+		sprite.draw(batch);
+		batch.end();
+
+		float[] data = gl.subData.toArray();
+		assertEquals(3 * InstancedSpriteBatch.INSTANCE_SIZE, data.length);
+
+		// Compare each instance's corners and texture coordinates with the vertices SpriteBatch computes.
+
+		SpriteBatchVertices vertices = new SpriteBatchVertices();
+		vertices.draw(region, 100, 200, 5, 2, 20, 10, 2, 3, 30);
+		assertInstance(vertices.vertices, data, 0);
+		vertices.draw(region, 100, 200, 5, 2, 20, 10, 1, 1, 45, true);
+		assertInstance(vertices.vertices, data, InstancedSpriteBatch.INSTANCE_SIZE);
+		assertInstance(sprite.getVertices(), data, InstancedSpriteBatch.INSTANCE_SIZE * 2);
+		assertEquals(sprite.getVertices()[Batch.C1], data[InstancedSpriteBatch.INSTANCE_SIZE * 3 - 1], 0);
+		batch.dispose();
+	}
+
+	/** Evaluates the instance at the 4 quad corners the way the default shader does and compares with the sprite vertices. */
+	private void assertInstance (float[] vertices, float[] data, int i) {
+		float[][] corners = {{0, 0}, {0, 1}, {1, 1}, {1, 0}};
+		for (float[] corner : corners) {
+			float x = data[i] + corner[0] * data[i + 2] + corner[1] * data[i + 4];
+			float y = data[i + 1] + corner[0] * data[i + 3] + corner[1] * data[i + 5];
+			float u = data[i + 6] + (data[i + 8] - data[i + 6]) * corner[0];
+			float v = data[i + 7] + (data[i + 9] - data[i + 7]) * corner[1];
+			boolean found = false;
+			for (int ii = 0; ii < 20; ii += 5) {
+				if (Math.abs(vertices[ii] - x) < 0.001f && Math.abs(vertices[ii + 1] - y) < 0.001f) {
+					assertEquals("u at " + x + "," + y, vertices[ii + 3], u, 0.0001f);
+					assertEquals("v at " + x + "," + y, vertices[ii + 4], v, 0.0001f);
+					found = true;
+				}
+			}
+			assertTrue("No vertex at " + x + "," + y, found);
+		}
+	}
+
+	private Texture texture (final int width, final int height) {
+		return new Texture(proxy(TextureData.class, new InvocationHandler() {
+			public Object invoke (Object proxy, Method method, Object[] args) {
+				String name = method.getName();
+				if (name.equals("getType")) return TextureDataType.Custom;
+				if (name.equals("isPrepared")) return true;
+				if (name.equals("getWidth")) return width;
+				if (name.equals("getHeight")) return height;
+				return defaultValue(method.getReturnType());
+			}
+		}));
+	}
+
+	static private <T> T proxy (Class<T> type, InvocationHandler handler) {
+		if (handler == null) handler = new InvocationHandler() {
+			public Object invoke (Object proxy, Method method, Object[] args) {
+				return defaultValue(method.getReturnType());
+			}
+		};
+		return (T)Proxy.newProxyInstance(InstancedSpriteBatchTest.class.getClassLoader(), new Class[] {type}, handler);
+	}
+
+	static Object defaultValue (Class type) {
+		if (type == boolean.class) return false;
+		if (type == int.class) return 0;
+		if (type == long.class) return 0L;
+		if (type == float.class) return 0f;
+		if (type == String.class) return "";
+		return null;
+	}
+
+	/** Captures the vertices SpriteBatch would compute, without needing a mesh. */
+	static class SpriteBatchVertices {
+		final float[] vertices = new float[20];
+
+		void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX,
+			float scaleY, float rotation) {
+			Sprite sprite = new Sprite(region);
+			sprite.setBounds(x, y, width, height);
+			sprite.setOrigin(originX, originY);
+			sprite.setScale(scaleX, scaleY);
+			sprite.setRotation(rotation);
+			System.arraycopy(sprite.getVertices(), 0, vertices, 0, 20);
+		}
+
+		void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX,
+			float scaleY, float rotation, boolean clockwise) {
+			draw(region, x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+			// Same texture coordinates as SpriteBatch for a region rotated 90 degrees.
+			float[] uv = clockwise ? new float[] {region.u2, region.v2, region.u, region.v2, region.u, region.v, region.u2, region.v}
+				: new float[] {region.u, region.v, region.u2, region.v, region.u2, region.v2, region.u, region.v2};
+			for (int i = 0; i < 4; i++) {
+				vertices[i * 5 + 3] = uv[i * 2];
+				vertices[i * 5 + 4] = uv[i * 2 + 1];
+			}
+		}
+	}
+
+	/** Counts GL calls and records the instance data uploaded with glBufferSubData. */
+	static class MockGL implements InvocationHandler {
+		final IntIntMap counts = new IntIntMap();
+		final IntArray instanceCounts = new IntArray(), subDataOffsets = new IntArray(), pointerOffsets = new IntArray();
+		final FloatArray subData = new FloatArray();
+		final IntIntMap bufferSizes = new IntIntMap();
+		int subDataBytes, storageAllocations, handles, boundBuffer, subDataBuffer, subDataOverflows;
+		String[] names = new String[0];
+
+		void reset () {
+			counts.clear();
+			instanceCounts.clear();
+			subDataOffsets.clear();
+			pointerOffsets.clear();
+			subData.clear();
+			subDataBytes = 0;
+			storageAllocations = 0;
+			subDataOverflows = 0;
+		}
+
+		int count (String name) {
+			return counts.get(name.hashCode(), 0);
+		}
+
+		public Object invoke (Object proxy, Method method, Object[] args) {
+			String name = method.getName();
+			counts.getAndIncrement(name.hashCode(), 0, 1);
+			if (name.equals("glGenBuffer") || name.equals("glGenTexture") || name.equals("glCreateShader")
+				|| name.equals("glCreateProgram")) return ++handles;
+			if (name.equals("glGenVertexArrays")) ((IntBuffer)args[1]).put(0, ++handles);
+			if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+				int value = 1;
+				if ((Integer)args[1] == GL20.GL_ACTIVE_ATTRIBUTES) value = attributes.length;
+				if ((Integer)args[1] == GL20.GL_ACTIVE_UNIFORMS) value = 0;
+				((IntBuffer)args[2]).put(0, value);
+			}
+			if (name.equals("glGetActiveAttrib")) return attributes[(Integer)args[1]];
+			if (name.equals("glGetAttribLocation")) {
+				for (int i = 0; i < attributes.length; i++)
+					if (attributes[i].equals(args[1])) return i;
+				return -1;
+			}
+			if (name.equals("glVertexAttribPointer") && args[5] instanceof Integer && (Integer)args[0] > 0)
+				pointerOffsets.add((Integer)args[5]);
+			if (name.equals("glDrawElementsInstanced")) instanceCounts.add((Integer)args[4]);
+			if (name.equals("glBindBuffer") && (Integer)args[0] == GL20.GL_ARRAY_BUFFER) boundBuffer = (Integer)args[1];
+			if (name.equals("glBufferData")) {
+				bufferSizes.put(boundBuffer, (Integer)args[1]);
+				if (args[2] == null) storageAllocations++;
+			}
+			if (name.equals("glBufferSubData")) {
+				subDataOffsets.add((Integer)args[1]);
+				subDataBytes += (Integer)args[2];
+				subDataBuffer = boundBuffer;
+				if ((Integer)args[1] + (Integer)args[2] > bufferSizes.get(boundBuffer, 0)) subDataOverflows++;
+				ByteBuffer bytes = ((ByteBuffer)args[3]).duplicate().order(ByteOrder.nativeOrder());
+				FloatBuffer floats = bytes.slice().order(ByteOrder.nativeOrder()).asFloatBuffer();
+				for (int i = 0, n = (Integer)args[2] / 4; i < n; i++)
+					subData.add(floats.get(i));
+			}
+			return defaultValue(method.getReturnType());
+		}
+	}
+}
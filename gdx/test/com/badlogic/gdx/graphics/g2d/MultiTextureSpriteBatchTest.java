@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.TextureData.TextureDataType;
+import com.badlogic.gdx.graphics.g2d.MultiTextureSpriteBatch.FlushReason;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntIntMap;
+
+public class MultiTextureSpriteBatchTest {
+	static private final String[] attributes = {ShaderProgram.POSITION_ATTRIBUTE, ShaderProgram.COLOR_ATTRIBUTE,
+		ShaderProgram.TEXCOORD_ATTRIBUTE + "0", MultiTextureSpriteBatch.TEXTURE_INDEX_ATTRIBUTE};
+
+	private final MockGL gl = new MockGL();
+	private boolean pedantic;
+
+	@BeforeClass
+	public static void loadNatives () {
+		com.badlogic.gdx.utils.GdxNativesLoader.load();
+	}
+
+	@Before
+	public void setUp () {
+		Gdx.app = proxy(Application.class, null);
+		Gdx.graphics = proxy(Graphics.class, null);
+		Gdx.gl = Gdx.gl20 = proxy(GL20.class, gl);
+		pedantic = ShaderProgram.pedantic;
+		ShaderProgram.pedantic = false;
+	}
+
+	@After
+	public void tearDown () {
+		ShaderProgram.pedantic = pedantic;
+		Gdx.app = null;
+		Gdx.graphics = null;
+		Gdx.gl = Gdx.gl20 = null;
+	}
+
+	@Test
+	public void assignsTextureSlots () {
+		MultiTextureSpriteBatch batch = new MultiTextureSpriteBatch(10, 4);
+		assertEquals(1, gl.count("glGetIntegerv"));
+		assertEquals(4, batch.getMaxTextures());
+		assertTrue(batch.isMultiTexture());
+		Texture texture1 = texture(), texture2 = texture(), texture3 = texture();
+		gl.reset();
+
+		batch.begin();
+		batch.draw(texture1, 0, 0, 8, 8);
+		batch.draw(texture2, 0, 0, 8, 8);
+		batch.draw(texture1, 0, 0, 8, 8);
+		batch.draw(texture3, 0, 0, 8, 8);
+		batch.end();
+
+		// Texture switches within the texture limit don't flush, a texture used again keeps its slot.
+		assertEquals(1, gl.count("glDrawElements"));
+		assertEquals(1, batch.renderCalls);
+		assertEquals(1, gl.slots.size);
+		assertSlots(gl.slots.get(0), 0, 1, 0, 2);
+		assertEquals(texture1.getTextureObjectHandle(), gl.boundTextures.get(0, 0));
+		assertEquals(texture2.getTextureObjectHandle(), gl.boundTextures.get(1, 0));
+		assertEquals(texture3.getTextureObjectHandle(), gl.boundTextures.get(2, 0));
+		assertEquals(1, batch.getFlushCount(FlushReason.end));
+		assertEquals(0, batch.getFlushCount(FlushReason.textureLimit));
+		assertEquals(0, batch.getFlushCount(FlushReason.textureSwitch));
+
+		// Slots are assigned from the first slot again for the next batch.
+		gl.reset();
+		batch.begin();
+		batch.draw(texture3, 0, 0, 8, 8);
+		batch.draw(texture2, 0, 0, 8, 8);
+		batch.end();
+		assertSlots(gl.slots.get(0), 0, 1);
+		assertEquals(texture3.getTextureObjectHandle(), gl.boundTextures.get(0, 0));
+		assertEquals(1, batch.getFlushCount(FlushReason.end));
+		batch.dispose();
+	}
+
+	@Test
+	public void flushesWhenSlotsRunOut () {
+		MultiTextureSpriteBatch batch = new MultiTextureSpriteBatch(10, 2);
+		assertEquals(2, batch.getMaxTextures());
+		Texture texture1 = texture(), texture2 = texture(), texture3 = texture();
+		gl.reset();
+
+		batch.begin();
+		batch.draw(texture1, 0, 0, 8, 8);
+		batch.draw(texture2, 0, 0, 8, 8);
+		batch.draw(texture3, 0, 0, 8, 8);
+		batch.draw(texture3, 0, 0, 8, 8);
+		batch.draw(texture2, 0, 0, 8, 8);
+		batch.end();
+
+		// The slots start over after the flush.
+		assertEquals(2, gl.count("glDrawElements"));
+		assertSlots(gl.slots.get(0), 0, 1);
+		assertSlots(gl.slots.get(1), 0, 0, 1);
+		assertEquals(texture3.getTextureObjectHandle(), gl.boundTextures.get(0, 0));
+		assertEquals(texture2.getTextureObjectHandle(), gl.boundTextures.get(1, 0));
+		assertEquals(1, batch.getFlushCount(FlushReason.textureLimit));
+		assertEquals(1, batch.getFlushCount(FlushReason.end));
+
+		// A flush without a texture switch keeps the current texture in the first slot for the sprites drawn next.
+		gl.reset();
+		batch.begin();
+		batch.draw(texture1, 0, 0, 8, 8);
+		batch.draw(texture2, 0, 0, 8, 8);
+		batch.flush();
+		batch.draw(texture2, 0, 0, 8, 8);
+		batch.draw(texture1, 0, 0, 8, 8);
+		batch.end();
+		assertSlots(gl.slots.get(1), 0, 1);
+		assertEquals(texture2.getTextureObjectHandle(), gl.boundTextures.get(0, 0));
+		assertEquals(texture1.getTextureObjectHandle(), gl.boundTextures.get(1, 0));
+		batch.dispose();
+	}
+
+	@Test
+	public void countsFlushReasons () {
+		MultiTextureSpriteBatch batch = new MultiTextureSpriteBatch(2, 4);
+		Texture texture = texture();
+
+		batch.begin();
+		for (int i = 0; i < 3; i++)
+			batch.draw(texture, 0, 0, 8, 8);
+		batch.disableBlending();
+		batch.draw(texture, 0, 0, 8, 8);
+		batch.setProjectionMatrix(new Matrix4());
+		batch.draw(texture, 0, 0, 8, 8);
+		batch.flush();
+		batch.flush();
+		batch.end();
+		assertEquals(1, batch.getFlushCount(FlushReason.bufferFull));
+		assertEquals(1, batch.getFlushCount(FlushReason.blending));
+		assertEquals(1, batch.getFlushCount(FlushReason.matrix));
+		// Flushing an empty batch is not counted.
+		assertEquals(1, batch.getFlushCount(FlushReason.other));
+		assertEquals(0, batch.getFlushCount(FlushReason.end));
+
+		// The counts are reset by begin.
+		batch.begin();
+		batch.draw(texture, 0, 0, 8, 8);
+		batch.end();
+		assertEquals(0, batch.getFlushCount(FlushReason.bufferFull));
+		assertEquals(1, batch.getFlushCount(FlushReason.end));
+		batch.dispose();
+	}
+
+	@Test
+	public void singleTextureUnit () {
+		gl.textureUnits = 1;
+		MultiTextureSpriteBatch batch = new MultiTextureSpriteBatch(10, 4);
+		assertEquals(1, batch.getMaxTextures());
+		assertFalse(batch.isMultiTexture());
+		Texture texture1 = texture(), texture2 = texture();
+		gl.reset();
+
+		batch.begin();
+		batch.draw(texture1, 0, 0, 8, 8);
+		batch.draw(texture2, 0, 0, 8, 8);
+		batch.draw(texture1, 0, 0, 8, 8);
+		batch.end();
+
+		assertEquals(3, gl.count("glDrawElements"));
+		assertEquals(2, batch.getFlushCount(FlushReason.textureSwitch));
+		assertEquals(1, batch.getFlushCount(FlushReason.end));
+		for (int i = 0; i < 3; i++)
+			assertSlots(gl.slots.get(i), 0);
+		batch.dispose();
+	}
+
+	/** Checks the texture slot of each sprite's 4 vertices. */
+	private void assertSlots (FloatArray slots, int... expected) {
+		assertEquals(expected.length * 4, slots.size);
+		for (int i = 0; i < slots.size; i++)
+			assertEquals("vertex " + i, expected[i / 4], slots.get(i), 0);
+	}
+
+	private Texture texture () {
+		return new Texture(proxy(TextureData.class, new InvocationHandler() {
+			public Object invoke (Object proxy, Method method, Object[] args) {
+				String name = method.getName();
+				if (name.equals("getType")) return TextureDataType.Custom;
+				if (name.equals("isPrepared")) return true;
+				if (name.equals("getWidth") || name.equals("getHeight")) return 64;
+				return defaultValue(method.getReturnType());
+			}
+		}));
+	}
+
+	static private <T> T proxy (Class<T> type, InvocationHandler handler) {
+		if (handler == null) handler = new InvocationHandler() {
+			public Object invoke (Object proxy, Method method, Object[] args) {
+				return defaultValue(method.getReturnType());
+			}
+		};
+		return (T)Proxy.newProxyInstance(MultiTextureSpriteBatchTest.class.getClassLoader(), new Class[] {type}, handler);
+	}
+
+	static Object defaultValue (Class type) {
+		if (type == boolean.class) return false;
+		if (type == int.class) return 0;
+		if (type == long.class) return 0L;
+		if (type == float.class) return 0f;
+		if (type == String.class) return "";
+		return null;
+	}
+
+	/** Counts GL calls, records the textures bound to each unit and the texture slot of each vertex uploaded with
+	 * glBufferData. */
+	static class MockGL implements InvocationHandler {
+		final IntIntMap counts = new IntIntMap();
+		final IntIntMap boundTextures = new IntIntMap();
+		final Array<FloatArray> slots = new Array();
+		int handles, activeUnit, textureUnits = 16;
+
+		void reset () {
+			counts.clear();
+			boundTextures.clear();
+			slots.clear();
+		}
+
+		int count (String name) {
+			return counts.get(name.hashCode(), 0);
+		}
+
+		public Object invoke (Object proxy, Method method, Object[] args) {
+			String name = method.getName();
+			counts.getAndIncrement(name.hashCode(), 0, 1);
+			if (name.equals("glGenBuffer") || name.equals("glGenTexture") || name.equals("glCreateShader")
+				|| name.equals("glCreateProgram")) return ++handles;
+			if (name.equals("glGetIntegerv") && (Integer)args[0] == GL20.GL_MAX_TEXTURE_IMAGE_UNITS)
+				((IntBuffer)args[1]).put(0, textureUnits);
+			if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+				int value = 1;
+				if ((Integer)args[1] == GL20.GL_ACTIVE_ATTRIBUTES) value = attributes.length;
+				if ((Integer)args[1] == GL20.GL_ACTIVE_UNIFORMS) value = 0;
+				((IntBuffer)args[2]).put(0, value);
+			}
+			if (name.equals("glGetActiveAttrib")) return attributes[(Integer)args[1]];
+			if (name.equals("glGetAttribLocation")) {
+				for (int i = 0; i < attributes.length; i++)
+					if (attributes[i].equals(args[1])) return i;
+				return -1;
+			}
+			if (name.equals("glActiveTexture")) activeUnit = (Integer)args[0] - GL20.GL_TEXTURE0;
+			if (name.equals("glBindTexture")) boundTextures.put(activeUnit, (Integer)args[1]);
+			if (name.equals("glBufferData") && (Integer)args[0] == GL20.GL_ARRAY_BUFFER && args[2] != null) {
+				// Each vertex is 6 floats, the last is the texture slot.
+				FloatBuffer floats = ((ByteBuffer)args[2]).duplicate().order(ByteOrder.nativeOrder()).asFloatBuffer();
+				FloatArray vertexSlots = new FloatArray();
+				for (int i = 5, n = (Integer)args[1] / 4; i < n; i += 6)
+					vertexSlots.add(floats.get(i));
+				slots.add(vertexSlots);
+			}
+			return defaultValue(method.getReturnType());
+		}
+	}
+}
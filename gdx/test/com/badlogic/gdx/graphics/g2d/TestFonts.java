@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.utils.Array;
+
+/** Creates fonts for tests that lay out or cache text without a GL context. */
+public class TestFonts {
+	/** Returns a monospaced font with glyphs for ' ' to 'z', each with its own texture coordinates. */
+	static public BitmapFont newFont () {
+		// Glyphs are added after the font is created, so no texture is needed for their regions.
+		BitmapFontData data = new BitmapFontData();
+		BitmapFont font = new BitmapFont(data, Array.with(new TextureRegion()), false);
+		data.down = -10;
+		data.capHeight = 8;
+		data.spaceXadvance = 4;
+		for (char c = ' '; c <= 'z'; c++) {
+			Glyph glyph = new Glyph();
+			glyph.id = c;
+			glyph.width = c == ' ' ? 0 : 5;
+			glyph.height = 8;
+			glyph.xadvance = c == ' ' ? 4 : 6;
+			glyph.u = c / 128f;
+			glyph.u2 = (c + 1) / 128f;
+			glyph.v2 = 1;
+			data.setGlyph(c, glyph);
+		}
+		return font;
+	}
+}
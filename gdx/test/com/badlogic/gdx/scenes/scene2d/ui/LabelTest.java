@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.scenes.scene2d.ui;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.GlyphLayoutCache;
+import com.badlogic.gdx.graphics.g2d.TestFonts;
+import com.badlogic.gdx.scenes.scene2d.ui.Label.LabelStyle;
+import com.badlogic.gdx.utils.Align;
+
+public class LabelTest {
+	private BitmapFont font;
+	private LabelStyle style;
+
+	@Before
+	public void setUp () {
+		font = TestFonts.newFont();
+		style = new LabelStyle(font, Color.WHITE);
+	}
+
+	@Test
+	public void sharedLayoutCache () {
+		GlyphLayoutCache cache = new GlyphLayoutCache(10);
+		Label label = new Label("hello world", style), other = new Label("hello world", style);
+		label.setLayoutCache(cache);
+		other.setLayoutCache(cache);
+
+		assertEquals(new GlyphLayout(font, "hello world").width, label.getPrefWidth(), 0);
+		assertEquals(label.getPrefWidth(), other.getPrefWidth(), 0);
+
+		label.validate();
+		other.validate();
+		// Both labels use the same cached layout.
+		assertSame(label.getGlyphLayout(), other.getGlyphLayout());
+		assertTrue(cache.hits > 0);
+
+		// Without the cache, the label has its own layout again.
+		other.setLayoutCache(null);
+		other.validate();
+		assertNotSame(label.getGlyphLayout(), other.getGlyphLayout());
+		assertEquals(label.getGlyphLayout().width, other.getGlyphLayout().width, 0);
+	}
+
+	@Test
+	public void wrappedWithLayoutCache () {
+		String text = "the quick brown fox jumps over the lazy dog";
+		Label expected = new Label(text, style), label = new Label(text, style);
+		label.setLayoutCache(new GlyphLayoutCache(10));
+		for (Label each : new Label[] {expected, label}) {
+			each.setWrap(true);
+			each.setAlignment(Align.center);
+			each.setWidth(60);
+			each.validate();
+		}
+
+		assertEquals(expected.getPrefWidth(), label.getPrefWidth(), 0);
+		assertEquals(expected.getPrefHeight(), label.getPrefHeight(), 0);
+		assertTrue(label.getPrefHeight() > font.getLineHeight());
+		GlyphLayout layout = label.getGlyphLayout();
+		assertEquals(expected.getGlyphLayout().width, layout.width, 0);
+		assertEquals(expected.getGlyphLayout().runs.size, layout.runs.size);
+	}
+}
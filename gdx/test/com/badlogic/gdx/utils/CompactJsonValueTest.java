@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+
+public class CompactJsonValueTest {
+	static private final String json = "{name: test, count: 3, scale: 1.5, on: true, off: null, empty: [], nested: {a: [1, 2, 3]},"
+		+ " items: [{name: a, x: 1}, {name: b, x: 2.5}, {name: a, x: -3}], text: \"quoted \\\"value\\\"\"}";
+
+	@Test
+	public void matchesJsonValue () {
+		JsonValue expected = new JsonReader().parse(json);
+		CompactJsonReader reader = new CompactJsonReader();
+		assertEquals(expected.toJson(OutputType.json), reader.parse(json).toJson(OutputType.json));
+		assertEquals(expected.toJson(OutputType.json), reader.compact(expected).toJson(OutputType.json));
+	}
+
+	@Test
+	public void navigation () {
+		CompactJsonValue root = new CompactJsonReader().parse(json);
+		assertTrue(root.isObject());
+		assertEquals(9, root.size());
+		assertEquals("test", root.getString("name"));
+		assertEquals(3, root.getInt("count"));
+		assertEquals(1.5f, root.getFloat("scale"), 0);
+		assertTrue(root.getBoolean("on"));
+		assertTrue(root.get("off").isNull());
+		assertEquals("fallback", root.getString("off", "fallback"));
+		assertEquals(7, root.getInt("missing", 7));
+		assertTrue(root.get("empty").isEmpty());
+		assertNull(root.get("empty").child());
+		assertArrayEquals(new int[] {1, 2, 3}, root.get("nested").get("a").asIntArray());
+		assertEquals("quoted \"value\"", root.getString("text"));
+		assertNotNull(root.getIgnoreCase("NAME"));
+
+		CompactJsonValue items = root.get("items");
+		assertEquals(3, items.size());
+		assertEquals(2.5, items.get(1).getDouble("x"), 0);
+		assertEquals(-3, items.require(2).getLong("x"));
+		assertEquals(items.get(2), items.last());
+		assertEquals(items.get(1), items.get(2).prev());
+		assertEquals(items, items.child().parent());
+		assertEquals("items", items.name());
+
+		int count = 0;
+		for (CompactJsonValue item : items) {
+			assertEquals(items.get(count), item);
+			count++;
+		}
+		assertEquals(3, count);
+
+		try {
+			root.getString("missing");
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			root.get("nested").asFloat();
+			fail();
+		} catch (IllegalStateException expected) {
+		}
+	}
+
+	@Test
+	public void parseErrors () {
+		CompactJsonReader reader = new CompactJsonReader();
+		assertNull(reader.parse(""));
+		try {
+			reader.parse("{a: [1, 2}");
+			fail();
+		} catch (SerializationException expected) {
+		}
+		try {
+			reader.parse("{a: 1");
+			fail();
+		} catch (SerializationException expected) {
+		}
+		assertEquals(1, reader.parse("{a: 1}").getInt("a"));
+		assertEquals("single", reader.parse("single").asString());
+	}
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ConcurrentMapTest {
+	static final int threads = 8, perThread = 20000;
+
+	static void run (final Runnable runnable) throws InterruptedException {
+		final CountDownLatch start = new CountDownLatch(1);
+		Thread[] workers = new Thread[threads];
+		for (int i = 0; i < threads; i++) {
+			workers[i] = new Thread(new Runnable() {
+				public void run () {
+					try {
+						start.await();
+					} catch (InterruptedException ex) {
+						throw new RuntimeException(ex);
+					}
+					runnable.run();
+				}
+			});
+			workers[i].start();
+		}
+		start.countDown();
+		for (Thread worker : workers)
+			worker.join();
+	}
+
+	@Test
+	public void objectMapConcurrentPutRemove () throws InterruptedException {
+		final ConcurrentObjectMap<String, Integer> map = new ConcurrentObjectMap<>();
+		final AtomicInteger nextThread = new AtomicInteger();
+		run(new Runnable() {
+			public void run () {
+				int thread = nextThread.getAndIncrement();
+				for (int i = 0; i < perThread; i++)
+					map.put(thread + ":" + i, i);
+				for (int i = 0; i < perThread; i += 2)
+					assertEquals(Integer.valueOf(i), map.remove(thread + ":" + i));
+			}
+		});
+		assertEquals(threads * perThread / 2, map.size());
+		for (int thread = 0; thread < threads; thread++) {
+			for (int i = 0; i < perThread; i++) {
+				if (i % 2 == 0)
+					assertFalse(map.containsKey(thread + ":" + i));
+				else
+					assertEquals(Integer.valueOf(i), map.get(thread + ":" + i));
+			}
+		}
+		assertEquals(map.size(), map.copyTo(new ObjectMap<String, Integer>()).size);
+		assertEquals(map.size(), map.keys(new Array<String>()).size);
+		map.clear();
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void intMapPutIfAbsentHasOneWinner () throws InterruptedException {
+		final ConcurrentIntMap<Integer> map = new ConcurrentIntMap<>(16, 0.8f, 4);
+		final AtomicInteger winners = new AtomicInteger(), nextThread = new AtomicInteger();
+		run(new Runnable() {
+			public void run () {
+				Integer thread = nextThread.getAndIncrement();
+				for (int i = 0; i < perThread; i++)
+					if (map.putIfAbsent(i, thread) == null) winners.incrementAndGet();
+			}
+		});
+		assertEquals(perThread, winners.get());
+		assertEquals(perThread, map.size());
+		assertTrue(map.containsKey(0));
+		IntArray keys = map.keys(new IntArray());
+		keys.sort();
+		for (int i = 0; i < perThread; i++)
+			assertEquals(i, keys.get(i));
+
+		Integer value = map.get(5);
+		assertFalse(map.replace(5, -1, 7, false));
+		assertTrue(map.replace(5, value, 7, true));
+		assertEquals(Integer.valueOf(7), map.get(5));
+		assertTrue(map.remove(5, 7, false));
+		assertNull(map.get(5));
+	}
+}
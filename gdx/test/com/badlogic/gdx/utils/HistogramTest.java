@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+
+public class HistogramTest {
+	@Test
+	public void percentiles () {
+		Histogram histogram = new Histogram();
+		assertEquals(0, histogram.getPercentile(50));
+		for (int i = 1; i <= 1000; i++)
+			histogram.record(i * 1000L);
+		assertEquals(1000, histogram.getCount());
+		assertEquals(1000, histogram.getMin());
+		assertEquals(1000000, histogram.getMax());
+		assertEquals(500500, histogram.getMean(), 0.001);
+		assertEquals(500000, histogram.getPercentile(50), 500000 * 0.07);
+		assertEquals(990000, histogram.getPercentile(99), 990000 * 0.07);
+		assertEquals(1000000, histogram.getPercentile(100));
+
+		// Small values are exact.
+		histogram.reset();
+		for (int i = 0; i < 16; i++)
+			histogram.record(i);
+		assertEquals(7, histogram.getPercentile(50));
+		assertEquals(15, histogram.getPercentile(99.9));
+	}
+
+	@Test
+	public void buckets () {
+		Random random = new Random(1);
+		for (int i = 0; i < 10000; i++) {
+			long value = (random.nextLong() & Long.MAX_VALUE) >>> random.nextInt(64);
+			int bucket = Histogram.bucket(value);
+			assertTrue(Histogram.highestValue(bucket) >= value);
+			if (bucket > 0) assertTrue(Histogram.highestValue(bucket - 1) < value);
+		}
+		assertEquals(Long.MAX_VALUE, Histogram.highestValue(Histogram.bucket(Long.MAX_VALUE)));
+	}
+
+	@Test
+	public void export () throws IOException {
+		PerformanceCounters counters = new PerformanceCounters();
+		PerformanceCounter update = counters.add("update");
+		PerformanceCounter physics = update.child("physics");
+		for (int i = 0; i < 100; i++) {
+			update.current = i == 99 ? 0.05f : 0.002f;
+			update.valid = true;
+			physics.current = 0.001f;
+			physics.valid = true;
+			counters.tick(0.016f);
+		}
+		assertEquals(100, physics.histogram.getCount());
+		assertEquals(2, update.histogram.getPercentile(50) / 1000000f, 0.15f);
+		assertEquals(50, update.histogram.getPercentile(100) / 1000000f, 0.001f);
+
+		StringWriter csv = new StringWriter();
+		counters.toCsv(csv, true, 1);
+		String[] lines = csv.toString().split("\n");
+		assertEquals(3, lines.length);
+		assertTrue(lines[2].startsWith("1.0,update/physics,100,"));
+
+		StringWriter json = new StringWriter();
+		counters.toJson(json, OutputType.json);
+		JsonValue root = new JsonReader().parse(json.toString());
+		assertEquals("update/physics", root.get("counters").get(1).getString("name"));
+		assertEquals(50, root.get("counters").get(0).getFloat("maxMs"), 0.001f);
+	}
+}
@@ -4,6 +4,7 @@ package com.badlogic.gdx.utils;
 import static org.junit.Assert.*;
 
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.stream.Collectors;
@@ -1258,6 +1259,37 @@ public class JsonMatcherTests {
 		assertEquals("d", parents2.get(5));
 	}
 
+	@Test
+	public void streaming () {
+		StringBuilder buffer = new StringBuilder("{items:[\n");
+		for (int i = 0; i < 5000; i++)
+			buffer.append("{id:").append(i).append(",\"name\":\"item ").append(i).append("\" /* comment */},\n");
+		buffer.append("],last:\"").append(new String(new char[500]).replace('\0', 'x')).append("\"}");
+		String json = buffer.toString();
+
+		Array<String> paths = new Array();
+		IntArray ids = new IntArray();
+		JsonMatcher matcher = new JsonMatcher();
+		matcher.addPattern("items/*@/(id)", value -> {
+			ids.add(value.asInt());
+			if (paths.isEmpty()) paths.add(matcher.path());
+		});
+		matcher.addPattern("(last)", value -> assertEquals(500, value.asString().length()));
+		matcher.setWindowSize(64);
+		matcher.parse(new TrickleReader(json, 7));
+
+		assertEquals(5000, ids.size);
+		assertEquals(4999, ids.peek());
+		assertEquals("{}/items/{}", paths.first());
+
+		try {
+			new JsonMatcher("").parse(new TrickleReader(json.replace("{id:4000,", "{id:4000,,:"), 7));
+			fail();
+		} catch (SerializationException ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().contains("line 4002 "));
+		}
+	}
+
 	@Test
 	public void dataTypes () {
 		JsonMatcher matcher = new JsonMatcher();
@@ -1441,6 +1473,13 @@ public class JsonMatcherTests {
 	}
 
 	static void test (@Null String notParsedValue, String json, String[] patterns, String... expected) {
+		test(notParsedValue, json, 0, patterns, expected);
+		test(notParsedValue, json, 2, patterns, expected); // Streamed, refilling for every char.
+		test(notParsedValue, json, 5, patterns, expected);
+	}
+
+	/** @param windowSize If > 0, the JSON is streamed from a reader that provides at most 3 chars per read. */
+	static void test (@Null String notParsedValue, String json, int windowSize, String[] patterns, String... expected) {
 		Array<JsonValue> values = new Array();
 		boolean[] ended = new boolean[1];
 		JsonMatcher matcher = new JsonMatcher() {
@@ -1460,7 +1499,12 @@ public class JsonMatcherTests {
 		matcher.setProcessor(value -> copy(value, values));
 		for (String pattern : patterns)
 			matcher.addPattern(pattern);
-		matcher.parse(json);
+		if (windowSize == 0)
+			matcher.parse(json);
+		else {
+			matcher.setWindowSize(windowSize);
+			matcher.parse(new TrickleReader(json, 3));
+		}
 		try {
 			assertValueCount(expected.length, values);
 			for (int i = 0, n = expected.length; i < n; i++) {
@@ -1469,6 +1513,7 @@ public class JsonMatcherTests {
 			}
 			if (notParsedValue != null && !ended[0]) fail("Should have ended but did not");
 		} catch (AssertionError ex) {
+			if (windowSize > 0) System.out.println("  Window: " + windowSize);
 			printResults(matcher, values, json, patterns, expected);
 			throw ex;
 		}
@@ -1513,6 +1558,29 @@ public class JsonMatcherTests {
 		values.add(new JsonValue(value));
 	}
 
+	/** Provides at most the specified number of chars per read, to exercise parsing across window refills. */
+	static class TrickleReader extends Reader {
+		final String json;
+		final int max;
+		int index;
+
+		TrickleReader (String json, int max) {
+			this.json = json;
+			this.max = max;
+		}
+
+		public int read (char[] chars, int offset, int length) {
+			if (index == json.length()) return -1;
+			int count = Math.min(Math.min(length, max), json.length() - index);
+			json.getChars(index, index + count, chars, offset);
+			index += count;
+			return count;
+		}
+
+		public void close () {
+		}
+	}
+
 	static private final String json = // @off
 		"[{\n"
 		+ "type: ENCHARGE,\n"
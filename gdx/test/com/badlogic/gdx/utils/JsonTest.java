@@ -37,4 +37,47 @@ public class JsonTest {
 		value = json.fromJson(null, JsonValue.class, "{\"key2\":\"value2\"}");
 		assertEquals("value2", value.getString("key2"));
 	}
+
+	@Test
+	public void testPrimitiveFields () {
+		Json json = new Json();
+		json.setOutputType(JsonWriter.OutputType.minimal);
+		Primitives primitives = new Primitives();
+		primitives.i = -5;
+		primitives.l = Long.MAX_VALUE;
+		primitives.f = 2;
+		primitives.d = 0.25;
+		primitives.b = true;
+		primitives.s = 7;
+		String text = json.toJson(primitives);
+		assertEquals("{i:-5,l:9223372036854775807,f:2,d:0.25,b:true,s:7}", text);
+		assertEquals("{}", json.toJson(new Primitives()));
+
+		Primitives read = json.fromJson(Primitives.class, text);
+		assertEquals(-5, read.i);
+		assertEquals(Long.MAX_VALUE, read.l);
+		assertEquals(2, read.f, 0);
+		assertEquals(0.25, read.d, 0);
+		assertTrue(read.b);
+		assertEquals(7, read.s);
+
+		// Values that need conversion use the general path.
+		read = json.fromJson(Primitives.class, "{i:\"3\",f:\"1.5\",b:\"true\"}");
+		assertEquals(3, read.i);
+		assertEquals(1.5f, read.f, 0);
+		assertTrue(read.b);
+
+		json.setQuoteLongValues(true);
+		json.setOutputType(JsonWriter.OutputType.json);
+		assertEquals("{\"i\":-5,\"l\":\"9223372036854775807\",\"f\":2,\"d\":\"0.25\",\"b\":true,\"s\":7}", json.toJson(primitives));
+	}
+
+	static public class Primitives {
+		public int i;
+		public long l;
+		public float f;
+		public double d;
+		public boolean b;
+		public short s;
+	}
 }
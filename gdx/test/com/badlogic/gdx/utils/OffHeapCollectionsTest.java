@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class OffHeapCollectionsTest {
+	@Test
+	public void intIntMapMatchesHeapMap () {
+		Random random = new Random(42);
+		IntIntMap expected = new IntIntMap();
+		OffHeapIntIntMap map = new OffHeapIntIntMap(4, 0.8f, false);
+		for (int i = 0; i < 20000; i++) {
+			int key = random.nextInt(5000) - 2500, value = random.nextInt();
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(key, -1), map.remove(key, -1));
+			} else {
+				expected.put(key, value);
+				map.put(key, value);
+			}
+			assertEquals(expected.size, map.size);
+		}
+		for (IntIntMap.Entry entry : expected)
+			assertEquals(entry.value, map.get(entry.key, entry.value + 1));
+		assertEquals(expected.getAndIncrement(7, 3, 2), map.getAndIncrement(7, 3, 2));
+		assertEquals(expected.get(7, 0), map.get(7, 0));
+
+		int count = 0;
+		for (IntIntMap.Entry entry : map.entries()) {
+			assertEquals(expected.get(entry.key, 0), entry.value);
+			count++;
+		}
+		assertEquals(map.size, count);
+
+		OffHeapIntIntMap.Keys keys = map.keys();
+		while (keys.hasNext)
+			if (keys.next() % 2 == 0) keys.remove();
+		for (IntIntMap.Entry entry : expected) {
+			if (entry.key % 2 == 0)
+				assertFalse(map.containsKey(entry.key));
+			else
+				assertEquals(entry.value, map.get(entry.key, 0));
+		}
+
+		map.clear();
+		assertEquals(0, map.size);
+		assertFalse(map.containsKey(7));
+		map.dispose();
+		assertEquals(0, map.getMemoryUsage());
+	}
+
+	@Test
+	public void intFloatMap () {
+		OffHeapIntFloatMap map = new OffHeapIntFloatMap(4, 0.8f, false);
+		for (int i = 0; i < 1000; i++)
+			map.put(i, i * 0.5f);
+		assertEquals(1000, map.size);
+		assertEquals(0f, map.get(0, -1f), 0);
+		assertEquals(499.5f, map.get(999, -1f), 0);
+		assertEquals(-1f, map.get(1000, -1f), 0);
+		assertTrue(map.containsValue(250.01f, 0.1f));
+		assertEquals(500, map.findKey(250f, -1));
+		assertEquals(10f, map.getAndIncrement(20, 0, 1.5f), 0);
+		assertEquals(11.5f, map.remove(20, 0), 0);
+		assertEquals(999, map.size);
+
+		IntFloatMap heap = new IntFloatMap();
+		for (IntFloatMap.Entry entry : map)
+			heap.put(entry.key, entry.value);
+		assertEquals(999, heap.size);
+		map.shrink(0);
+		for (int i = 0; i < 1000; i++)
+			if (i != 20) assertEquals(i * 0.5f, map.get(i, -1f), 0);
+		map.dispose();
+	}
+
+	@Test
+	public void longLongMap () {
+		OffHeapLongLongMap map = new OffHeapLongLongMap(4, 0.8f, false);
+		long base = 1L << 40;
+		for (long i = 0; i < 1000; i++)
+			map.put(base + i, -i);
+		map.put(0, 5);
+		assertEquals(1001, map.size);
+		assertEquals(-999, map.get(base + 999, 1));
+		assertEquals(5, map.get(0, 1));
+		assertEquals(-10, map.remove(base + 10, 1));
+		assertFalse(map.containsKey(base + 10));
+		assertEquals(base + 11, map.findKey(-11, 0));
+		long sum = 0;
+		for (OffHeapLongLongMap.Entry entry : map)
+			sum += entry.value;
+		assertEquals(5 - 999 * 1000 / 2 + 10, sum);
+		map.dispose();
+	}
+
+	@Test
+	public void failedResizeKeepsMaps () {
+		final FailingAllocation intIntFailure = new FailingAllocation();
+		OffHeapIntIntMap intIntMap = new OffHeapIntIntMap(4, 0.8f, false) {
+			ByteBuffer newBuffer (int numBytes) {
+				return intIntFailure.allocated(super.newBuffer(numBytes));
+			}
+
+			void freeBuffer (ByteBuffer buffer) {
+				intIntFailure.freed(buffer);
+			}
+		};
+		intIntMap.put(1, 2);
+		intIntFailure.fail = true;
+		try {
+			intIntMap.ensureCapacity(100);
+			fail();
+		} catch (OutOfMemoryError expected) {
+		}
+		assertTrue(intIntFailure.firstFreed);
+		assertEquals(8, intIntMap.capacity);
+		assertEquals(2, intIntMap.get(1, 0));
+		intIntMap.put(3, 4);
+		assertEquals(4, intIntMap.get(3, 0));
+
+		final FailingAllocation intFloatFailure = new FailingAllocation();
+		OffHeapIntFloatMap intFloatMap = new OffHeapIntFloatMap(4, 0.8f, false) {
+			ByteBuffer newBuffer (int numBytes) {
+				return intFloatFailure.allocated(super.newBuffer(numBytes));
+			}
+
+			void freeBuffer (ByteBuffer buffer) {
+				intFloatFailure.freed(buffer);
+			}
+		};
+		intFloatMap.put(1, 2f);
+		intFloatFailure.fail = true;
+		try {
+			intFloatMap.ensureCapacity(100);
+			fail();
+		} catch (OutOfMemoryError expected) {
+		}
+		assertTrue(intFloatFailure.firstFreed);
+		assertEquals(8, intFloatMap.capacity);
+		assertEquals(2f, intFloatMap.get(1, 0), 0);
+		intFloatMap.put(3, 4f);
+		assertEquals(4f, intFloatMap.get(3, 0), 0);
+
+		final FailingAllocation longLongFailure = new FailingAllocation();
+		OffHeapLongLongMap longLongMap = new OffHeapLongLongMap(4, 0.8f, false) {
+			ByteBuffer newBuffer (int numBytes) {
+				return longLongFailure.allocated(super.newBuffer(numBytes));
+			}
+
+			void freeBuffer (ByteBuffer buffer) {
+				longLongFailure.freed(buffer);
+			}
+		};
+		longLongMap.put(1, 2);
+		longLongFailure.fail = true;
+		try {
+			longLongMap.ensureCapacity(100);
+			fail();
+		} catch (OutOfMemoryError expected) {
+		}
+		assertTrue(longLongFailure.firstFreed);
+		assertEquals(8, longLongMap.capacity);
+		assertEquals(2, longLongMap.get(1, 0));
+		longLongMap.put(3, 4);
+		assertEquals(4, longLongMap.get(3, 0));
+	}
+
+	@Test
+	public void intArrayMatchesHeapArray () {
+		Random random = new Random(7);
+		IntArray expected = new IntArray();
+		OffHeapIntArray array = new OffHeapIntArray(true, 0, false);
+		for (int i = 0; i < 2000; i++) {
+			int value = random.nextInt(100);
+			switch (random.nextInt(5)) {
+			case 0:
+				if (expected.size > 0) {
+					int index = random.nextInt(expected.size);
+					assertEquals(expected.removeIndex(index), array.removeIndex(index));
+				}
+				break;
+			case 1:
+				int index = random.nextInt(expected.size + 1);
+				expected.insert(index, value);
+				array.insert(index, value);
+				break;
+			case 2:
+				expected.addAll(value, value + 1, value + 2);
+				array.addAll(value, value + 1, value + 2);
+				break;
+			default:
+				expected.add(value);
+				array.add(value);
+			}
+			assertEquals(expected.size, array.size);
+		}
+		assertArrayEquals(expected.toArray(), array.toArray());
+		assertEquals(expected.indexOf(50), array.indexOf(50));
+		assertEquals(expected.lastIndexOf(50), array.lastIndexOf(50));
+		expected.removeRange(10, 20);
+		array.removeRange(10, 20);
+		expected.reverse();
+		array.reverse();
+		assertArrayEquals(expected.toArray(), array.toArray());
+		assertEquals(expected.hashCode(), array.hashCode());
+
+		array.shrink();
+		assertEquals((long)array.size << 2, array.getMemoryUsage());
+		array.dispose();
+	}
+
+	@Test
+	public void floatArrayUnordered () {
+		OffHeapFloatArray array = new OffHeapFloatArray(false, 4, false);
+		array.addAll(1f, 2f, 3f, 4f, 5f);
+		assertEquals(1f, array.removeIndex(0), 0);
+		assertEquals(5f, array.first(), 0);
+		array.incr(0.5f);
+		array.mul(2);
+		assertArrayEquals(new float[] {11f, 5f, 7f, 9f}, array.toArray(), 0);
+		assertTrue(array.contains(7f));
+		assertEquals(9f, array.pop(), 0);
+		array.dispose();
+	}
+
+	/** Fails the second buffer allocation after {@link #fail} is set. */
+	static class FailingAllocation {
+		boolean fail, firstFreed;
+		ByteBuffer first;
+
+		ByteBuffer allocated (ByteBuffer buffer) {
+			if (!fail) return buffer;
+			if (first != null) throw new OutOfMemoryError();
+			first = buffer;
+			return buffer;
+		}
+
+		void freed (ByteBuffer buffer) {
+			if (buffer == first) firstFreed = true;
+		}
+	}
+}
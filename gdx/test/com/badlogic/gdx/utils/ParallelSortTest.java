@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Comparator;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+public class ParallelSortTest {
+	static class Item {
+		final int key, order;
+
+		Item (int key, int order) {
+			this.key = key;
+			this.order = order;
+		}
+	}
+
+	@Test
+	public void sortIsStable () {
+		RandomXS128 random = new RandomXS128(7);
+		ParallelSort sort = new ParallelSort();
+		sort.threshold = 100;
+		for (int size : new int[] {50, 1000, 30001}) {
+			Item[] items = new Item[size];
+			for (int i = 0; i < size; i++)
+				items[i] = new Item(random.nextInt(200), i);
+			sort.sort(items, new Comparator<Item>() {
+				public int compare (Item a, Item b) {
+					return Integer.compare(a.key, b.key);
+				}
+			});
+			for (int i = 1; i < size; i++) {
+				assertTrue(items[i - 1].key <= items[i].key);
+				if (items[i - 1].key == items[i].key) assertTrue(items[i - 1].order < items[i].order);
+			}
+		}
+	}
+
+	@Test
+	public void sortComparable () {
+		Array<Integer> array = new Array();
+		for (int i = 20000; i > 0; i--)
+			array.add(i);
+		ParallelSort sort = new ParallelSort();
+		sort.threshold = 1000;
+		sort.sort(array);
+		for (int i = 0; i < array.size; i++)
+			assertEquals(i + 1, (int)array.get(i));
+	}
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+public class RadixSortTest {
+	private final RadixSort sort = new RadixSort();
+	private final RandomXS128 random = new RandomXS128(42);
+
+	@Test
+	public void sortInts () {
+		for (int size : new int[] {0, 1, 10, 100, 5000}) {
+			int[] values = new int[size + 10];
+			for (int i = 0; i < values.length; i++)
+				values[i] = i % 3 == 0 ? random.nextInt(100) - 50 : random.nextInt();
+			int[] expected = values.clone();
+			Arrays.sort(expected, 5, size + 5);
+			sort.sort(values, 5, size + 5);
+			assertArrayEquals(expected, values);
+		}
+		IntArray array = new IntArray(new int[] {5, -1, 3, Integer.MIN_VALUE, Integer.MAX_VALUE, 0});
+		for (int i = 0; i < 100; i++)
+			array.add(7);
+		sort.sort(array);
+		assertEquals(Integer.MIN_VALUE, array.first());
+		assertEquals(Integer.MAX_VALUE, array.peek());
+	}
+
+	@Test
+	public void sortFloats () {
+		for (int size : new int[] {10, 100, 5000}) {
+			float[] values = new float[size];
+			for (int i = 0; i < size; i++)
+				values[i] = random.nextFloat() * 2000 - 1000;
+			values[0] = -0f;
+			values[1] = 0f;
+			values[2] = Float.NEGATIVE_INFINITY;
+			values[3] = Float.POSITIVE_INFINITY;
+			values[4] = Float.NaN;
+			values[5] = Float.intBitsToFloat(0xffc00001); // NaN with the sign bit set.
+			float[] expected = values.clone();
+			Arrays.sort(expected);
+			sort.sort(values, 0, size);
+			assertArrayEquals(expected, values, 0);
+			for (int i = 0; i < size; i++)
+				assertEquals(Float.floatToIntBits(expected[i]), Float.floatToIntBits(values[i]));
+		}
+	}
+
+	@Test
+	public void sortLongs () {
+		long[] values = new long[5000];
+		for (int i = 0; i < values.length; i++)
+			values[i] = i % 2 == 0 ? random.nextLong() : random.nextInt(1000) - 500;
+		long[] expected = values.clone();
+		Arrays.sort(expected);
+		LongArray array = new LongArray(values);
+		sort.sort(array);
+		for (int i = 0; i < values.length; i++)
+			assertEquals(expected[i], array.get(i));
+	}
+
+	@Test
+	public void sortByKeys () {
+		int size = 1000;
+		Array<Integer> items = new Array(size);
+		FloatArray floatKeys = new FloatArray(size);
+		IntArray intKeys = new IntArray(size);
+		for (int i = 0; i < size; i++) {
+			items.add(i);
+			floatKeys.add(random.nextInt(50) - 25.5f);
+		}
+		float[] original = floatKeys.toArray();
+		sort.sort(items, floatKeys);
+		for (int i = 0; i < size; i++) {
+			assertEquals(original[items.get(i)], floatKeys.get(i), 0);
+			if (i > 0) {
+				assertTrue(floatKeys.get(i - 1) <= floatKeys.get(i));
+				// Stable: equal keys keep their original order.
+				if (floatKeys.get(i - 1) == floatKeys.get(i)) assertTrue(items.get(i - 1) < items.get(i));
+			}
+		}
+
+		items.sort();
+		for (int i = 0; i < size; i++)
+			intKeys.add(size - i);
+		sort.sort(items, intKeys);
+		for (int i = 0; i < size; i++) {
+			assertEquals(i + 1, intKeys.get(i));
+			assertEquals(size - 1 - i, (int)items.get(i));
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.Pool.Poolable;
+
+public class ThreadSafePoolTest {
+	static final int threads = 8, perThread = 20000;
+
+	static final AtomicInteger created = new AtomicInteger();
+
+	static class Item implements Poolable {
+		final AtomicInteger owners = new AtomicInteger();
+		boolean reset;
+
+		Item () {
+			created.incrementAndGet();
+		}
+
+		public void reset () {
+			reset = true;
+		}
+	}
+
+	@Test
+	public void reusesObjectsAcrossThreads () throws InterruptedException {
+		final ThreadSafePool<Item> pool = new ThreadSafePool<>(Item::new, 16, 1000, 8);
+		final AtomicInteger failures = new AtomicInteger();
+		final CountDownLatch start = new CountDownLatch(1);
+		Thread[] workers = new Thread[threads];
+		for (int i = 0; i < threads; i++) {
+			workers[i] = new Thread(new Runnable() {
+				public void run () {
+					try {
+						start.await();
+					} catch (InterruptedException ex) {
+						throw new RuntimeException(ex);
+					}
+					Item[] held = new Item[12];
+					for (int i = 0; i < perThread; i++) {
+						int count = 1 + i % held.length;
+						for (int ii = 0; ii < count; ii++) {
+							Item item = pool.obtain();
+							// An object must never be handed out to two callers at once.
+							if (item.owners.incrementAndGet() != 1) failures.incrementAndGet();
+							item.reset = false;
+							held[ii] = item;
+						}
+						for (int ii = 0; ii < count; ii++) {
+							held[ii].owners.decrementAndGet();
+							pool.free(held[ii]);
+							if (!held[ii].reset) failures.incrementAndGet();
+						}
+					}
+				}
+			});
+			workers[i].start();
+		}
+		start.countDown();
+		for (Thread worker : workers)
+			worker.join();
+		assertEquals(0, failures.get());
+		// Without pooling this would create millions of objects.
+		assertTrue(created.get() < threads * 100);
+		assertTrue(pool.peak <= pool.max);
+	}
+
+	@Test
+	public void sharedList () {
+		ThreadSafePool<Item> pool = new ThreadSafePool<>(Item::new, 4, 4, 2);
+		pool.fill(10);
+		assertEquals(4, pool.getFree());
+
+		Item a = pool.obtain();
+		assertEquals(3, pool.getFree());
+		pool.free(a);
+		pool.free(new Item());
+		pool.free(new Item());
+		assertEquals(6, pool.getFree());
+
+		pool.clear();
+		assertEquals(0, pool.getFree());
+	}
+
+	@Test
+	public void poolsSetThreadSafe () {
+		Pools.setThreadSafe(Item::new, 10);
+		assertTrue(Pools.get(Item.class) instanceof ThreadSafePool);
+		Item item = Pools.obtain(Item.class);
+		Pools.free(item);
+		assertSame(item, Pools.obtain(Item.class));
+	}
+
+	@Test
+	public void poolsReflectionIsThreadSafe () {
+		Pool<ReflectedItem> pool = Pools.get(ReflectedItem.class);
+		assertTrue(pool instanceof ThreadSafePool);
+		ReflectedItem item = Pools.obtain(ReflectedItem.class);
+		Pools.free(item);
+		assertSame(item, Pools.obtain(ReflectedItem.class));
+		try {
+			Pools.get(Poolable.class);
+			fail();
+		} catch (RuntimeException expected) {
+		}
+	}
+
+	static class ReflectedItem {
+	}
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Timer.Task;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+public class TimingWheelTimerTest {
+	private final ExecutorService appThread = Executors.newSingleThreadExecutor();
+	private TimingWheelTimer timer;
+
+	@Before
+	public void setUp () {
+		// Runs posted runnables on a separate thread, standing in for the application thread.
+		Gdx.app = (Application)Proxy.newProxyInstance(getClass().getClassLoader(), new Class[] {Application.class},
+			new InvocationHandler() {
+				public Object invoke (Object proxy, Method method, Object[] args) {
+					if (method.getName().equals("postRunnable")) appThread.execute((Runnable)args[0]);
+					return null;
+				}
+			});
+		timer = new TimingWheelTimer();
+	}
+
+	@After
+	public void tearDown () {
+		timer.clear();
+		timer.stop();
+		Gdx.app = null;
+		appThread.shutdown();
+	}
+
+	@Test
+	public void scheduleAndCancel () throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(200);
+		final AtomicInteger cancelledRuns = new AtomicInteger();
+		Array<Task> cancelled = new Array();
+		for (int i = 0; i < 200; i++) {
+			timer.scheduleTask(new Task() {
+				public void run () {
+					latch.countDown();
+				}
+			}, i % 50 / 1000f);
+			// Far enough ahead that a slow machine can't run them before they are cancelled.
+			cancelled.add(timer.scheduleTask(new Task() {
+				public void run () {
+					cancelledRuns.incrementAndGet();
+				}
+			}, 60 + i / 10f));
+		}
+		for (Task task : cancelled)
+			task.cancel();
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		Thread.sleep(100);
+		assertEquals(0, cancelledRuns.get());
+		assertTrue(timer.isEmpty());
+	}
+
+	@Test
+	public void repeat () throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(4);
+		Task task = timer.scheduleTask(new Task() {
+			public void run () {
+				latch.countDown();
+			}
+		}, 0.01f, 0.3f, 3);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertFalse(task.isScheduled());
+		assertTrue(timer.isEmpty());
+	}
+
+	@Test
+	public void longDelay () {
+		Task task = timer.scheduleTask(new Task() {
+			public void run () {
+			}
+		}, 60 * 60 * 24 * 100);
+		assertTrue(task.isScheduled());
+		assertEquals(1, timer.size());
+		task.cancel();
+		assertTrue(timer.isEmpty());
+	}
+
+	@Test
+	public void delay () throws InterruptedException {
+		final CountDownLatch delayed = new CountDownLatch(1), later = new CountDownLatch(1);
+		Task task = timer.scheduleTask(new Task() {
+			public void run () {
+				delayed.countDown();
+			}
+		}, 0.05f);
+		long executeTimeMillis = task.getExecuteTimeMillis();
+		timer.delay(60 * 1000);
+		assertEquals(executeTimeMillis + 60 * 1000, task.getExecuteTimeMillis());
+		// Tasks scheduled after the delay are not delayed.
+		timer.scheduleTask(new Task() {
+			public void run () {
+				later.countDown();
+			}
+		}, 0.05f);
+		assertTrue(later.await(5, TimeUnit.SECONDS));
+		assertFalse(delayed.await(100, TimeUnit.MILLISECONDS));
+		assertTrue(task.isScheduled());
+	}
+
+	@Test
+	public void executor () throws InterruptedException {
+		AsyncExecutor executor = new AsyncExecutor(2, "Timer");
+		try {
+			timer.setExecutor(executor);
+			final CountDownLatch latch = new CountDownLatch(1);
+			final Thread[] thread = new Thread[1];
+			timer.scheduleTask(new Task() {
+				public void run () {
+					thread[0] = Thread.currentThread();
+					latch.countDown();
+				}
+			}, 0.01f);
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+			assertEquals("Timer", thread[0].getName());
+		} finally {
+			executor.dispose();
+		}
+	}
+}
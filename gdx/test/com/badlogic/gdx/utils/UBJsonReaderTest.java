@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+import com.badlogic.gdx.utils.UBJsonSkimmer.UBJsonToken;
+
+public class UBJsonReaderTest {
+	@Test
+	public void bufferMatchesStream () throws IOException {
+		byte[] bytes = write();
+		UBJsonReader reader = new UBJsonReader();
+		reader.oldFormat = false;
+		String expected = reader.parse(new ByteArrayInputStream(bytes)).toJson(OutputType.json);
+
+		assertEquals(expected, reader.parse(ByteBuffer.wrap(bytes)).toJson(OutputType.json));
+
+		// Direct buffer with native order and an offset.
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 3).order(ByteOrder.LITTLE_ENDIAN);
+		direct.position(3);
+		direct.put(bytes);
+		direct.position(3);
+		assertEquals(expected, reader.parse(direct).toJson(OutputType.json));
+		assertEquals(3, direct.position());
+		assertEquals(ByteOrder.LITTLE_ENDIAN, direct.order());
+	}
+
+	@Test
+	public void skimmer () throws IOException {
+		byte[] bytes = write();
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+		direct.put(bytes).flip();
+
+		Array<String> events = new Array();
+		float[] floats = new float[3];
+		UBJsonSkimmer skimmer = new UBJsonSkimmer() {
+			protected void push (UBJsonToken name, boolean object) {
+				events.add("push " + name);
+			}
+
+			protected void pop () {
+				events.add("pop");
+			}
+
+			protected void value (UBJsonToken name, UBJsonToken value) {
+				if (name != null && name.equalsString("floats")) {
+					assertTrue(value.isArray());
+					FloatBuffer slice = value.slice().asFloatBuffer();
+					assertEquals(3, slice.remaining());
+					slice.get(floats);
+				}
+				if (name != null && name.equalsString("stop")) stop();
+				events.add(name + "=" + value);
+			}
+		};
+		skimmer.oldFormat = false;
+		skimmer.parse(direct);
+
+		assertArrayEquals(new float[] {1.5f, -2, 3.25f}, floats, 0);
+		assertEquals("[push null, name=ubjson, unicode=héllo 世界, int=123456, long=-9876543210, byte=-7, short=1234, "
+			+ "float=0.5, double=0.25, true=true, null=null, floats=[d x3], ints=[l x2], push empty, pop, push strings, "
+			+ "null=a, null=bc, pop, push nested, push values, null=1, pop, pop, stop=true]", events.toString());
+	}
+
+	private byte[] write () throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		UBJsonWriter writer = new UBJsonWriter(bytes);
+		writer.object();
+		writer.set("name", "ubjson");
+		writer.set("unicode", "héllo 世界");
+		writer.set("int", 123456);
+		writer.set("long", -9876543210L);
+		writer.set("byte", (byte)-7);
+		writer.set("short", (short)1234);
+		writer.set("float", 0.5f);
+		writer.set("double", 0.25);
+		writer.set("true", true);
+		writer.set("null");
+		writer.set("floats", new float[] {1.5f, -2, 3.25f});
+		writer.set("ints", new int[] {7, -8});
+		writer.array("empty").pop();
+		writer.set("strings", new String[] {"a", "bc"});
+		writer.object("nested").array("values").value(1).pop().pop();
+		writer.set("stop", true);
+		writer.set("after", 1);
+		writer.pop();
+		writer.close();
+		return bytes.toByteArray();
+	}
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.JsonMatcherTests.TrickleReader;
+import com.badlogic.gdx.utils.XmlPullReader.Event;
+
+public class XmlPullReaderTest {
+	static private final String xml = "<?xml version=\"1.0\"?>\n<!DOCTYPE map>\n<map a='1' b = \"two &amp; three  \">"
+		+ "<!-- comment -->\n  <layer name=\"x\" id=\"-42\"/>text &lt;here&gt; &unknown; & x  <![CDATA[ raw <b>&amp; ]]>\n"
+		+ "<x><y/></x>tail</map>";
+
+	@Test
+	public void events () {
+		XmlPullReader reader = new XmlPullReader();
+		reader.setInput(xml);
+		assertEquals(Event.startElement, reader.next());
+		assertEquals("map", reader.getName());
+		assertEquals(2, reader.getAttributeCount());
+		assertEquals("1", reader.getAttribute("a"));
+		assertEquals("two & three", reader.getAttribute("b"));
+
+		assertEquals(Event.startElement, reader.next());
+		assertEquals("layer", reader.getName());
+		assertEquals(2, reader.getDepth());
+		assertEquals(-42, reader.getIntAttribute("id", 0));
+		assertEquals(7, reader.getIntAttribute("missing", 7));
+		assertTrue(reader.getAttributeChars("name").equalsString("x"));
+		assertEquals(Event.endElement, reader.next());
+		assertEquals("layer", reader.getName());
+		assertEquals(1, reader.getDepth());
+
+		assertEquals(Event.text, reader.next());
+		assertEquals("text <here> unknown & x", reader.getText());
+		assertEquals(Event.text, reader.next());
+		assertEquals(" raw <b>&amp; ", reader.getText());
+
+		assertEquals(Event.startElement, reader.next());
+		assertEquals("x", reader.getName());
+		reader.skip();
+		assertEquals(Event.text, reader.next());
+		assertEquals("tail", reader.getText());
+		assertEquals(Event.endElement, reader.next());
+		assertEquals("map", reader.getName());
+		assertEquals(Event.endDocument, reader.next());
+	}
+
+	@Test
+	public void namesAreInterned () {
+		XmlPullReader reader = new XmlPullReader();
+		reader.setInput("<a><item id='1'/><item id='2'/></a>");
+		reader.next();
+		reader.next();
+		String name = reader.getName(), attribute = reader.getAttributeName(0);
+		reader.next();
+		reader.next();
+		assertSame(name, reader.getName());
+		assertSame(attribute, reader.getAttributeName(0));
+	}
+
+	@Test
+	public void streamingMatchesDom () {
+		String expected = new XmlReader().parse(xml).toString();
+		for (int max = 1; max <= 5; max++) {
+			assertEquals(expected, new XmlReader().parse(new TrickleReader(xml, max)).toString());
+
+			XmlPullReader reader = new XmlPullReader();
+			reader.setWindowSize(max);
+			reader.setInput(new StringReader(xml));
+			int events = 0;
+			while (reader.next() != Event.endDocument)
+				events++;
+			assertEquals(11, events);
+		}
+	}
+
+	@Test
+	public void largeInput () {
+		final int count = 100000;
+		Reader input = new Reader() {
+			int element = -1, index;
+			String current = "<root>";
+
+			public int read (char[] chars, int offset, int length) {
+				if (index == current.length()) {
+					if (element == count) return -1;
+					element++;
+					current = element == count ? "</root>" : "\n<tile id=\"" + element + "\" gid=\"7\"/>";
+					index = 0;
+				}
+				int n = Math.min(length, current.length() - index);
+				current.getChars(index, index + n, chars, offset);
+				index += n;
+				return n;
+			}
+
+			public void close () {
+			}
+		};
+		XmlPullReader reader = new XmlPullReader();
+		reader.setWindowSize(64);
+		reader.setInput(input);
+		long sum = 0;
+		int tiles = 0;
+		while (reader.next() != Event.endDocument) {
+			if (reader.getEvent() == Event.startElement && reader.getName().equals("tile")) {
+				sum += reader.getIntAttribute("id", 0);
+				tiles++;
+			}
+		}
+		assertEquals(count, tiles);
+		assertEquals((long)count * (count - 1) / 2, sum);
+		assertEquals(count + 1, reader.getLineNumber());
+	}
+
+	@Test
+	public void errors () {
+		XmlPullReader reader = new XmlPullReader();
+		try {
+			reader.setInput("<a><b></b>");
+			while (reader.next() != Event.endDocument) {
+			}
+			fail();
+		} catch (SerializationException ex) {
+			assertTrue(ex.getMessage().contains("unclosed element: a"));
+		}
+		try {
+			reader.setInput("<a>\n<b x=1/></a>");
+			while (reader.next() != Event.endDocument) {
+			}
+			fail();
+		} catch (SerializationException ex) {
+			assertTrue(ex.getMessage().startsWith("Error parsing XML on line 2 "));
+		}
+		// Attributes must be separated by whitespace.
+		assertParseError("<a x=\"1\"x2=\"2\"/>");
+		// Unlike the Ragel parser, these report a parse error instead of failing with a NullPointerException or empty Array.
+		assertParseError("<a></a></b>");
+		assertParseError("<a></a>text<b/>");
+	}
+
+	@Test
+	public void trailingText () {
+		// Text after the root element is ignored, as by the Ragel parser, as long as no markup follows it.
+		assertEquals("<a>\n\tx\n</a>", new XmlReader().parse("<a>x</a>trailing").toString());
+		assertEquals("<a>\n\tx\n</a>", new XmlReader().parse("<a>x</a>\0\0").toString());
+		assertEquals("<a/>", new XmlReader().parse("<a/><!-- comment --> trailing &amp;").toString());
+	}
+
+	private void assertParseError (String xml) {
+		XmlPullReader reader = new XmlPullReader();
+		reader.setInput(xml);
+		try {
+			while (reader.next() != Event.endDocument) {
+			}
+			fail(xml);
+		} catch (SerializationException ex) {
+			assertTrue(ex.getMessage().startsWith("Error parsing XML on line 1 "));
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.async;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.async.AsyncResult.Continuation;
+
+public class AsyncExecutorTest {
+	@Test
+	public void modes () {
+		for (AsyncExecutor executor : new AsyncExecutor[] {new AsyncExecutor(2, "Fixed"),
+			AsyncExecutor.newWorkStealing(2, "Stealing"), AsyncExecutor.newVirtualThreads("Virtual")}) {
+			try {
+				Array<AsyncResult<Integer>> results = new Array();
+				for (int i = 0; i < 100; i++) {
+					final int value = i;
+					results.add(executor.submit(new AsyncTask<Integer>() {
+						public Integer call () {
+							return value * 2;
+						}
+					}));
+				}
+				Array<Integer> values = AsyncResult.<Integer> allOf(results).get();
+				assertEquals(100, values.size);
+				for (int i = 0; i < 100; i++)
+					assertEquals(i * 2, values.get(i).intValue());
+			} finally {
+				executor.dispose();
+			}
+		}
+	}
+
+	@Test
+	public void then () throws InterruptedException {
+		AsyncExecutor executor = AsyncExecutor.newWorkStealing(2, "Stealing");
+		try {
+			final CountDownLatch started = new CountDownLatch(1);
+			AsyncResult<String> result = executor.submit(new AsyncTask<Integer>() {
+				public Integer call () throws Exception {
+					started.await();
+					return 21;
+				}
+			}).then(executor, new Continuation<Integer, Integer>() {
+				public Integer call (Integer value) {
+					return value * 2;
+				}
+			}).then(null, new Continuation<Integer, String>() {
+				public String call (Integer value) {
+					return "value: " + value;
+				}
+			});
+			assertFalse(result.isDone());
+			started.countDown();
+			assertEquals("value: 42", result.get());
+
+			// Continuations added after completion run immediately.
+			assertEquals("value: 42!", result.then(null, new Continuation<String, String>() {
+				public String call (String value) {
+					return value + "!";
+				}
+			}).get());
+		} finally {
+			executor.dispose();
+		}
+	}
+
+	@Test
+	public void failure () {
+		AsyncExecutor executor = new AsyncExecutor(1);
+		try {
+			final boolean[] called = new boolean[1];
+			AsyncResult<Integer> failed = executor.submit(new AsyncTask<Integer>() {
+				public Integer call () {
+					throw new IllegalStateException("failed");
+				}
+			});
+			AsyncResult<Integer> result = failed.then(executor, new Continuation<Integer, Integer>() {
+				public Integer call (Integer value) {
+					called[0] = true;
+					return value;
+				}
+			});
+			try {
+				result.get();
+				fail();
+			} catch (GdxRuntimeException ex) {
+				assertTrue(ex.getCause() instanceof IllegalStateException);
+			}
+			assertFalse(called[0]);
+			try {
+				AsyncResult.allOf(failed, result).get();
+				fail();
+			} catch (GdxRuntimeException ex) {
+				assertTrue(ex.getCause() instanceof IllegalStateException);
+			}
+		} finally {
+			executor.dispose();
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.compression;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+public class Lz4Test {
+	final Lz4 lz4 = new Lz4();
+
+	@Test
+	public void roundTrip () {
+		Random random = new Random(1);
+		for (int length : new int[] {0, 1, 12, 13, 100, 1000, 70000}) {
+			for (int kind = 0; kind < 3; kind++) {
+				byte[] data = data(random, length, kind);
+				byte[] compressed = new byte[Lz4.maxCompressedLength(length) + 3];
+				int compressedLength = lz4.compress(data, 0, length, compressed, 3, compressed.length - 3);
+				if (kind == 1 && length >= 1000) assertTrue(compressedLength < length / 10);
+
+				byte[] decompressed = new byte[length + 2];
+				assertEquals(length, Lz4.decompress(compressed, 3, compressedLength, decompressed, 2, length));
+				assertArrayEquals(data, Arrays.copyOfRange(decompressed, 2, length + 2));
+			}
+		}
+	}
+
+	@Test
+	public void byteBuffers () {
+		byte[] data = data(new Random(2), 50000, 2);
+		byte[] compressed = new byte[Lz4.maxCompressedLength(data.length)];
+		int compressedLength = lz4.compress(data, 0, data.length, compressed, 0, compressed.length);
+
+		for (boolean direct : new boolean[] {false, true}) {
+			ByteBuffer src = allocate(data.length + 10, direct), dest = allocate(compressed.length, direct);
+			src.position(10);
+			src.put(data);
+			src.position(10);
+			assertEquals(compressedLength, lz4.compress(src, dest));
+			assertEquals(src.limit(), src.position());
+			assertEquals(compressedLength, dest.position());
+			dest.flip();
+			byte[] bytes = new byte[compressedLength];
+			dest.duplicate().get(bytes);
+			assertArrayEquals(Arrays.copyOf(compressed, compressedLength), bytes);
+
+			ByteBuffer decompressed = allocate(data.length, direct);
+			assertEquals(data.length, Lz4.decompress(dest, decompressed));
+			decompressed.flip();
+			bytes = new byte[data.length];
+			decompressed.get(bytes);
+			assertArrayEquals(data, bytes);
+		}
+	}
+
+	@Test
+	public void blockFormat () {
+		// One literal and an overlapping match of 5 bytes at offset 1, then 5 literals.
+		byte[] block = {0x11, 'a', 1, 0, 0x50, 'b', 'c', 'd', 'e', 'f'};
+		byte[] dest = new byte[11];
+		assertEquals(11, Lz4.decompress(block, 0, block.length, dest, 0, dest.length));
+		assertEquals("aaaaaabcdef", new String(dest));
+	}
+
+	@Test
+	public void errors () {
+		byte[] data = data(new Random(3), 1000, 1);
+		byte[] compressed = new byte[Lz4.maxCompressedLength(data.length)];
+		int compressedLength = lz4.compress(data, 0, data.length, compressed, 0, compressed.length);
+		try {
+			Lz4.decompress(compressed, 0, compressedLength, new byte[data.length - 1], 0, data.length - 1);
+			fail();
+		} catch (GdxRuntimeException expected) {
+		}
+		try {
+			Lz4.decompress(compressed, 0, compressedLength - 1, new byte[data.length], 0, data.length);
+			fail();
+		} catch (GdxRuntimeException expected) {
+		}
+		try {
+			lz4.compress(data, 0, data.length, new byte[10], 0, 10);
+			fail();
+		} catch (GdxRuntimeException expected) {
+		}
+	}
+
+	@Test
+	public void streams () throws IOException {
+		byte[] data = data(new Random(4), 100000, 2);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		Lz4OutputStream output = new Lz4OutputStream(bytes, 4096);
+		output.write(data, 0, 5000);
+		output.flush();
+		output.write(data[5000]);
+		output.write(data, 5001, data.length - 5001);
+		output.close();
+		assertTrue(bytes.size() < data.length);
+
+		Lz4InputStream input = new Lz4InputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		byte[] read = new byte[data.length];
+		assertEquals(data[0], (byte)input.read());
+		int offset = 1;
+		while (true) {
+			int count = input.read(read, offset, Math.min(3000, read.length - offset));
+			if (count <= 0) break;
+			offset += count;
+		}
+		read[0] = data[0];
+		assertEquals(data.length, offset);
+		assertArrayEquals(data, read);
+		assertEquals(-1, input.read());
+		input.close();
+	}
+
+	/** @param kind 0 is random, 1 is a repeated pattern, 2 is text and numbers similar to game data. */
+	static byte[] data (Random random, int length, int kind) {
+		byte[] data = new byte[length];
+		if (kind == 0)
+			random.nextBytes(data);
+		else if (kind == 1) {
+			for (int i = 0; i < length; i++)
+				data[i] = (byte)(i % 7);
+		} else {
+			StringBuilder buffer = new StringBuilder();
+			while (buffer.length() < length)
+				buffer.append("{\"id\":").append(random.nextInt(1000)).append(",\"x\":").append(random.nextInt(100)).append('}');
+			System.arraycopy(buffer.toString().getBytes(), 0, data, 0, length);
+		}
+		return data;
+	}
+
+	static private ByteBuffer allocate (int capacity, boolean direct) {
+		return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+	}
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.compression;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LzmaTest {
+	@Test
+	public void singleStream () throws IOException {
+		byte[] data = data(20000);
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		Lzma.compress(new ByteArrayInputStream(data), compressed);
+		assertArrayEquals(data, decompress(compressed.toByteArray()));
+	}
+
+	@Test
+	public void blocks () throws IOException {
+		for (int length : new int[] {0, 1, 4096, 10000}) {
+			byte[] data = data(length);
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+			Lzma.compress(new ByteArrayInputStream(data), compressed, 4096, 3);
+			assertArrayEquals(data, decompress(compressed.toByteArray()));
+		}
+	}
+
+	@Test
+	public void blockReader () throws IOException {
+		byte[] data = data(50000);
+		File file = File.createTempFile("lzma", ".bin");
+		file.deleteOnExit();
+		FileOutputStream output = new FileOutputStream(file);
+		Lzma.compress(new ByteArrayInputStream(data), output, 4096, 4);
+		output.close();
+
+		LzmaBlockReader reader = new LzmaBlockReader(file);
+		try {
+			assertEquals(13, reader.getBlockCount());
+			assertEquals(data.length, reader.getLength());
+			byte[] block = new byte[4096];
+			assertEquals(50000 - 12 * 4096, reader.readBlock(12, block));
+			assertArrayEquals(Arrays.copyOfRange(data, 12 * 4096, 50000), Arrays.copyOf(block, 50000 - 12 * 4096));
+
+			byte[] bytes = new byte[10000];
+			assertEquals(10000, reader.read(30000, bytes, 0, 10000));
+			assertArrayEquals(Arrays.copyOfRange(data, 30000, 40000), bytes);
+			assertEquals(1000, reader.read(49000, bytes, 0, 10000));
+			assertArrayEquals(Arrays.copyOfRange(data, 49000, 50000), Arrays.copyOf(bytes, 1000));
+			assertEquals(0, reader.read(50000, bytes, 0, 10));
+		} finally {
+			reader.close();
+		}
+	}
+
+	private byte[] decompress (byte[] compressed) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		Lzma.decompress(new ByteArrayInputStream(compressed), output);
+		return output.toByteArray();
+	}
+
+	private byte[] data (int length) {
+		Random random = new Random(length);
+		byte[] data = new byte[length];
+		for (int i = 0; i < length; i++)
+			data[i] = (byte)(i % 251 < 100 ? i % 7 : random.nextInt(16));
+		return data;
+	}
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks.math;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
+
+/** Measures the {@link Matrix4}, vector and {@link MathUtils} operations used per object per frame. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathBenchmark {
+	final Matrix4 a = new Matrix4(), b = new Matrix4(), result = new Matrix4();
+	final Vector3 translation = new Vector3(), scale = new Vector3(), vector3 = new Vector3();
+	final Vector2 vector2 = new Vector2(), other2 = new Vector2();
+	final Quaternion rotation = new Quaternion();
+	float angle, x, y;
+
+	@Setup
+	public void setup () {
+		RandomXS128 random = new RandomXS128(1234);
+		translation.set(random.nextFloat(), random.nextFloat(), random.nextFloat());
+		scale.set(1 + random.nextFloat(), 1 + random.nextFloat(), 1 + random.nextFloat());
+		rotation.setEulerAngles(random.nextFloat() * 360, random.nextFloat() * 360, random.nextFloat() * 360);
+		a.set(translation, rotation, scale);
+		b.setToLookAt(new Vector3(1, 2, 3), new Vector3(0, 1, 0)).translate(4, 5, 6);
+		vector3.set(random.nextFloat(), random.nextFloat(), random.nextFloat());
+		vector2.set(random.nextFloat(), random.nextFloat());
+		other2.set(random.nextFloat(), random.nextFloat());
+		angle = random.nextFloat() * MathUtils.PI2;
+		x = random.nextFloat() - 0.5f;
+		y = random.nextFloat() - 0.5f;
+	}
+
+	@Benchmark
+	public Matrix4 matrix4Mul () {
+		return result.set(a).mul(b);
+	}
+
+	@Benchmark
+	public Matrix4 matrix4Inv () {
+		return result.set(a).inv();
+	}
+
+	@Benchmark
+	public Matrix4 matrix4SetTRS () {
+		return result.set(translation, rotation, scale);
+	}
+
+	@Benchmark
+	public Vector3 matrix4Transform () {
+		return vector3.mul(a);
+	}
+
+	@Benchmark
+	public Vector3 matrix4Project () {
+		return vector3.prj(b);
+	}
+
+	@Benchmark
+	public Vector2 vector2RotateNor () {
+		return vector2.rotateRad(angle).nor();
+	}
+
+	@Benchmark
+	public float vector2AngleBetween () {
+		return vector2.angleRad(other2);
+	}
+
+	@Benchmark
+	public float mathUtilsSinCos () {
+		return MathUtils.sin(angle) + MathUtils.cos(angle);
+	}
+
+	@Benchmark
+	public float mathUtilsAtan2 () {
+		return MathUtils.atan2(y, x);
+	}
+
+	@Benchmark
+	public float mathAtan2 () {
+		return (float)Math.atan2(y, x);
+	}
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.SnapshotArray;
+
+/** Measures the common {@link Array} operations and {@link SnapshotArray} iteration while the array is modified. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayBenchmark {
+	@Param({"1000", "100000"}) public int size;
+
+	Vector2[] items;
+	Array<Vector2> array;
+	SnapshotArray<Vector2> snapshotArray;
+	int[] indices;
+
+	@Setup
+	public void setup () {
+		RandomXS128 random = new RandomXS128(1234);
+		items = new Vector2[size];
+		indices = new int[size];
+		for (int i = 0; i < size; i++) {
+			items[i] = new Vector2(random.nextFloat(), random.nextFloat());
+			indices[i] = random.nextInt(size);
+		}
+		array = new Array<>(items);
+		snapshotArray = new SnapshotArray<>(items);
+	}
+
+	@Benchmark
+	public Array<Vector2> add () {
+		Array<Vector2> array = new Array<>();
+		for (Vector2 item : items)
+			array.add(item);
+		return array;
+	}
+
+	@Benchmark
+	public float getRandom () {
+		Array<Vector2> array = this.array;
+		float sum = 0;
+		for (int index : indices)
+			sum += array.get(index).x;
+		return sum;
+	}
+
+	@Benchmark
+	public float iterateItems () {
+		Vector2[] items = array.items;
+		float sum = 0;
+		for (int i = 0, n = array.size; i < n; i++)
+			sum += items[i].x;
+		return sum;
+	}
+
+	@Benchmark
+	public float iterateIterator () {
+		float sum = 0;
+		for (Vector2 item : array)
+			sum += item.x;
+		return sum;
+	}
+
+	@Benchmark
+	public boolean indexOfLast () {
+		return array.indexOf(items[items.length - 1], true) != -1;
+	}
+
+	@Benchmark
+	public Array<Vector2> removeAddLast () {
+		Array<Vector2> array = this.array;
+		for (int i = 0, n = Math.min(size, 1000); i < n; i++)
+			array.add(array.removeIndex(indices[i]));
+		return array;
+	}
+
+	@Benchmark
+	public void snapshotIterateUnmodified (Blackhole bh) {
+		SnapshotArray<Vector2> array = snapshotArray;
+		Vector2[] snapshot = array.begin();
+		for (int i = 0, n = array.size; i < n; i++)
+			bh.consume(snapshot[i]);
+		array.end();
+	}
+
+	@Benchmark
+	public void snapshotIterateModified (Blackhole bh) {
+		SnapshotArray<Vector2> array = snapshotArray;
+		Vector2[] snapshot = array.begin();
+		for (int i = 0, n = array.size; i < n; i++)
+			bh.consume(snapshot[i]);
+		// Modifying during iteration forces a copy of the snapshot.
+		array.swap(0, array.size - 1);
+		array.end();
+	}
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.compression.Lz4;
+import com.badlogic.gdx.utils.compression.Lzma;
+
+/** Compares compressing and decompressing 64KB of game data with {@link Lz4} and {@link Lzma}. The "save" data is JSON like a
+ * save game, the "snapshot" data is binary entity state like a network snapshot. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+	@Param({"save", "snapshot"}) public String data;
+
+	byte[] bytes, lz4Compressed, lzmaCompressed, decompressed;
+	int lz4Length;
+	Lz4 lz4 = new Lz4();
+	ByteArrayOutputStream output = new ByteArrayOutputStream(64 * 1024);
+
+	@Setup
+	public void setup () throws IOException {
+		Random random = new Random(1);
+		if (data.equals("save")) {
+			StringBuilder buffer = new StringBuilder();
+			while (buffer.length() < 64 * 1024) {
+				buffer.append("{\"type\":\"").append(random.nextBoolean() ? "enemy" : "crate").append("\",\"x\":")
+					.append(random.nextInt(2000)).append(",\"y\":").append(random.nextInt(2000)).append(",\"health\":")
+					.append(random.nextInt(100)).append(",\"items\":[\"sword\",\"potion\"]},\n");
+			}
+			bytes = buffer.substring(0, 64 * 1024).getBytes("UTF-8");
+		} else {
+			ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+			for (int id = 0; buffer.remaining() >= 24; id++) {
+				buffer.putInt(id);
+				buffer.putShort((short)random.nextInt(4));
+				buffer.putShort((short)0);
+				buffer.putFloat(random.nextInt(256) * 0.5f);
+				buffer.putFloat(random.nextInt(256) * 0.5f);
+				buffer.putFloat(random.nextBoolean() ? 0 : 1);
+				buffer.putFloat(100);
+			}
+			bytes = buffer.array();
+		}
+		lz4Compressed = new byte[Lz4.maxCompressedLength(bytes.length)];
+		lz4Length = lz4.compress(bytes, 0, bytes.length, lz4Compressed, 0, lz4Compressed.length);
+		decompressed = new byte[bytes.length];
+		lzmaCompress();
+		lzmaCompressed = output.toByteArray();
+	}
+
+	@Benchmark
+	public int lz4Compress () {
+		return lz4.compress(bytes, 0, bytes.length, lz4Compressed, 0, lz4Compressed.length);
+	}
+
+	@Benchmark
+	public int lz4Decompress () {
+		return Lz4.decompress(lz4Compressed, 0, lz4Length, decompressed, 0, decompressed.length);
+	}
+
+	@Benchmark
+	public int lzmaCompress () throws IOException {
+		output.reset();
+		Lzma.compress(new ByteArrayInputStream(bytes), output);
+		return output.size();
+	}
+
+	@Benchmark
+	public int lzmaDecompress () throws IOException {
+		output.reset();
+		Lzma.decompress(new ByteArrayInputStream(lzmaCompressed), output);
+		return output.size();
+	}
+}
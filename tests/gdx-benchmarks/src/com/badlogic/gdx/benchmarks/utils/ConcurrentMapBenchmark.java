@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.ConcurrentIntMap;
+import com.badlogic.gdx.utils.ConcurrentObjectMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Measures contended access to a map shared by 8 threads: a synchronized {@link ObjectMap} or {@link IntMap}, the striped
+ * {@link ConcurrentObjectMap} and {@link ConcurrentIntMap}, and {@link ConcurrentHashMap} for reference. The readWrite group
+ * has 6 reading and 2 writing threads, the write group has 8 writing threads. */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentMapBenchmark {
+	static final int keyCount = 1 << 16, keyMask = keyCount - 1;
+
+	@Param({"synchronized", "striped", "jdk"}) public String impl;
+
+	String[] keys;
+	ObjectMap<String, Integer> objectMap;
+	IntMap<Integer> intMap;
+	ConcurrentObjectMap<String, Integer> concurrentObjectMap;
+	ConcurrentIntMap<Integer> concurrentIntMap;
+	ConcurrentHashMap<String, Integer> jdkMap;
+	ConcurrentHashMap<Integer, Integer> jdkIntMap;
+	final Integer value = 1;
+
+	@State(Scope.Thread)
+	static public class Cursor {
+		int index = new RandomXS128().nextInt(keyCount);
+
+		int next () {
+			return index = index + 0x9E3779B9 & keyMask;
+		}
+	}
+
+	@Setup
+	public void setup () {
+		keys = new String[keyCount];
+		for (int i = 0; i < keyCount; i++)
+			keys[i] = "key" + i;
+		objectMap = new ObjectMap<>();
+		intMap = new IntMap<>();
+		concurrentObjectMap = new ConcurrentObjectMap<>(keyCount, 0.8f, 64);
+		concurrentIntMap = new ConcurrentIntMap<>(keyCount, 0.8f, 64);
+		jdkMap = new ConcurrentHashMap<>();
+		jdkIntMap = new ConcurrentHashMap<>();
+		for (int i = 0; i < keyCount; i += 2) {
+			objectMap.put(keys[i], value);
+			intMap.put(i, value);
+			concurrentObjectMap.put(keys[i], value);
+			concurrentIntMap.put(i, value);
+			jdkMap.put(keys[i], value);
+			jdkIntMap.put(i, value);
+		}
+	}
+
+	Integer get (Cursor cursor) {
+		int index = cursor.next();
+		switch (impl) {
+		case "synchronized":
+			synchronized (objectMap) {
+				return objectMap.get(keys[index]);
+			}
+		case "striped":
+			return concurrentObjectMap.get(keys[index]);
+		default:
+			return jdkMap.get(keys[index]);
+		}
+	}
+
+	Integer put (Cursor cursor) {
+		int index = cursor.next();
+		switch (impl) {
+		case "synchronized":
+			synchronized (objectMap) {
+				return objectMap.put(keys[index], value);
+			}
+		case "striped":
+			return concurrentObjectMap.put(keys[index], value);
+		default:
+			return jdkMap.put(keys[index], value);
+		}
+	}
+
+	Integer getInt (Cursor cursor) {
+		int index = cursor.next();
+		switch (impl) {
+		case "synchronized":
+			synchronized (intMap) {
+				return intMap.get(index);
+			}
+		case "striped":
+			return concurrentIntMap.get(index);
+		default:
+			return jdkIntMap.get(index);
+		}
+	}
+
+	Integer putInt (Cursor cursor) {
+		int index = cursor.next();
+		switch (impl) {
+		case "synchronized":
+			synchronized (intMap) {
+				return intMap.put(index, value);
+			}
+		case "striped":
+			return concurrentIntMap.put(index, value);
+		default:
+			return jdkIntMap.put(index, value);
+		}
+	}
+
+	@Benchmark
+	@Group("readWrite")
+	@GroupThreads(6)
+	public Integer readWriteGet (Cursor cursor) {
+		return get(cursor);
+	}
+
+	@Benchmark
+	@Group("readWrite")
+	@GroupThreads(2)
+	public Integer readWritePut (Cursor cursor) {
+		return put(cursor);
+	}
+
+	@Benchmark
+	@Group("write")
+	@GroupThreads(8)
+	public Integer writePut (Cursor cursor) {
+		return put(cursor);
+	}
+
+	@Benchmark
+	@Group("intReadWrite")
+	@GroupThreads(6)
+	public Integer intReadWriteGet (Cursor cursor) {
+		return getInt(cursor);
+	}
+
+	@Benchmark
+	@Group("intReadWrite")
+	@GroupThreads(2)
+	public Integer intReadWritePut (Cursor cursor) {
+		return putInt(cursor);
+	}
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.CompactJsonReader;
+import com.badlogic.gdx.utils.CompactJsonValue;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+import com.badlogic.gdx.utils.UBJsonReader;
+import com.badlogic.gdx.utils.UBJsonWriter;
+
+/** Measures parsing with {@link JsonReader}, {@link CompactJsonReader} and {@link UBJsonReader} (from a stream and from a direct
+ * buffer), and object mapping with {@link Json}. The readFields and writeFields benchmarks exclude parsing, so they mostly
+ * measure field access. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+	@Param({"100", "10000"}) public int entities;
+
+	static public class Level {
+		public String name;
+		public Array<Entity> entities = new Array<>();
+	}
+
+	static public class Entity {
+		public String type;
+		public int id;
+		public float x, y, rotation;
+		public boolean active;
+		public long flags;
+		public float[] path;
+	}
+
+	String json;
+	byte[] ubjson;
+	ByteBuffer ubjsonBuffer;
+	Json mapper;
+	Level level;
+	JsonValue root;
+	JsonReader jsonReader = new JsonReader();
+	CompactJsonReader compactReader = new CompactJsonReader();
+	UBJsonReader ubjsonReader = new UBJsonReader();
+
+	@Setup
+	public void setup () throws IOException {
+		RandomXS128 random = new RandomXS128(1234);
+		Level level = new Level();
+		level.name = "benchmark";
+		for (int i = 0; i < entities; i++) {
+			Entity entity = new Entity();
+			entity.type = "type" + random.nextInt(20);
+			entity.id = i;
+			entity.x = random.nextFloat() * 1000;
+			entity.y = random.nextFloat() * 1000;
+			entity.rotation = random.nextFloat() * 360;
+			entity.active = random.nextBoolean();
+			entity.flags = random.nextLong();
+			entity.path = new float[] {random.nextFloat(), random.nextFloat(), random.nextFloat(), random.nextFloat()};
+			level.entities.add(entity);
+		}
+
+		mapper = new Json(OutputType.minimal);
+		mapper.setElementType(Level.class, "entities", Entity.class);
+		json = mapper.toJson(level);
+		this.level = level;
+		root = jsonReader.parse(json);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		UBJsonWriter writer = new UBJsonWriter(bytes);
+		writeValue(writer, jsonReader.parse(json), null);
+		writer.close();
+		ubjson = bytes.toByteArray();
+		ubjsonBuffer = ByteBuffer.allocateDirect(ubjson.length);
+		ubjsonBuffer.put(ubjson);
+		((Buffer)ubjsonBuffer).flip();
+	}
+
+	static private void writeValue (UBJsonWriter writer, JsonValue value, String name) throws IOException {
+		if (name != null) writer.name(name);
+		if (value.isObject()) {
+			writer.object();
+			for (JsonValue child = value.child; child != null; child = child.next)
+				writeValue(writer, child, child.name);
+			writer.pop();
+		} else if (value.isArray()) {
+			writer.array();
+			for (JsonValue child = value.child; child != null; child = child.next)
+				writeValue(writer, child, null);
+			writer.pop();
+		} else if (value.isLong())
+			writer.value(value.asLong());
+		else if (value.isDouble())
+			writer.value(value.asFloat());
+		else if (value.isBoolean())
+			writer.value(value.asBoolean());
+		else if (value.isNull())
+			writer.value((String)null);
+		else
+			writer.value(value.asString());
+	}
+
+	@Benchmark
+	public JsonValue jsonReaderParse () {
+		return jsonReader.parse(json);
+	}
+
+	@Benchmark
+	public CompactJsonValue compactJsonReaderParse () {
+		return compactReader.parse(json);
+	}
+
+	@Benchmark
+	public Level jsonFromJson () {
+		return mapper.fromJson(Level.class, json);
+	}
+
+	@Benchmark
+	public String jsonToJson () {
+		return mapper.toJson(mapper.fromJson(Level.class, json));
+	}
+
+	@Benchmark
+	public Level jsonReadFields () {
+		return mapper.readValue(Level.class, root);
+	}
+
+	@Benchmark
+	public String jsonWriteFields () {
+		return mapper.toJson(level);
+	}
+
+	@Benchmark
+	public JsonValue ubjsonReaderParse () {
+		return ubjsonReader.parse(new ByteArrayInputStream(ubjson));
+	}
+
+	@Benchmark
+	public JsonValue ubjsonReaderParseBuffer () {
+		return ubjsonReader.parse(ubjsonBuffer);
+	}
+}
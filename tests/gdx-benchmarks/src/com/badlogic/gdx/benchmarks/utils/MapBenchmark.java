@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Measures put, get and remove on the linear probing maps. Keys are random so the probe lengths are representative. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark {
+	@Param({"1000", "100000"}) public int size;
+
+	int[] intKeys, missingIntKeys;
+	String[] stringKeys, missingStringKeys;
+	ObjectMap<String, Integer> objectMap;
+	IntMap<Integer> intMap;
+	IntIntMap intIntMap;
+	Integer value = 1;
+
+	@Setup
+	public void setup () {
+		RandomXS128 random = new RandomXS128(1234);
+		intKeys = new int[size];
+		missingIntKeys = new int[size];
+		stringKeys = new String[size];
+		missingStringKeys = new String[size];
+		for (int i = 0; i < size; i++) {
+			intKeys[i] = random.nextInt();
+			missingIntKeys[i] = random.nextInt();
+			stringKeys[i] = "key" + intKeys[i];
+			missingStringKeys[i] = "missing" + missingIntKeys[i];
+		}
+		objectMap = new ObjectMap<>();
+		intMap = new IntMap<>();
+		intIntMap = new IntIntMap();
+		for (int i = 0; i < size; i++) {
+			objectMap.put(stringKeys[i], value);
+			intMap.put(intKeys[i], value);
+			intIntMap.put(intKeys[i], i);
+		}
+	}
+
+	@Benchmark
+	public ObjectMap<String, Integer> objectMapPut () {
+		ObjectMap<String, Integer> map = new ObjectMap<>();
+		for (String key : stringKeys)
+			map.put(key, value);
+		return map;
+	}
+
+	@Benchmark
+	public void objectMapGet (Blackhole bh) {
+		ObjectMap<String, Integer> map = objectMap;
+		for (String key : stringKeys)
+			bh.consume(map.get(key));
+	}
+
+	@Benchmark
+	public void objectMapGetMissing (Blackhole bh) {
+		ObjectMap<String, Integer> map = objectMap;
+		for (String key : missingStringKeys)
+			bh.consume(map.get(key));
+	}
+
+	@Benchmark
+	public ObjectMap<String, Integer> objectMapRemovePut () {
+		ObjectMap<String, Integer> map = objectMap;
+		for (String key : stringKeys) {
+			map.remove(key);
+			map.put(key, value);
+		}
+		return map;
+	}
+
+	@Benchmark
+	public void objectMapIterate (Blackhole bh) {
+		for (ObjectMap.Entry<String, Integer> entry : objectMap)
+			bh.consume(entry.value);
+	}
+
+	@Benchmark
+	public IntMap<Integer> intMapPut () {
+		IntMap<Integer> map = new IntMap<>();
+		for (int key : intKeys)
+			map.put(key, value);
+		return map;
+	}
+
+	@Benchmark
+	public void intMapGet (Blackhole bh) {
+		IntMap<Integer> map = intMap;
+		for (int key : intKeys)
+			bh.consume(map.get(key));
+	}
+
+	@Benchmark
+	public void intMapGetMissing (Blackhole bh) {
+		IntMap<Integer> map = intMap;
+		for (int key : missingIntKeys)
+			bh.consume(map.get(key));
+	}
+
+	@Benchmark
+	public IntIntMap intIntMapPut () {
+		IntIntMap map = new IntIntMap();
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			map.put(intKeys[i], i);
+		return map;
+	}
+
+	@Benchmark
+	public int intIntMapGet () {
+		IntIntMap map = intIntMap;
+		int sum = 0;
+		for (int key : intKeys)
+			sum += map.get(key, 0);
+		return sum;
+	}
+
+	@Benchmark
+	public IntIntMap intIntMapRemovePut () {
+		IntIntMap map = intIntMap;
+		for (int i = 0, n = intKeys.length; i < n; i++) {
+			map.remove(intKeys[i], 0);
+			map.put(intKeys[i], i);
+		}
+		return map;
+	}
+}
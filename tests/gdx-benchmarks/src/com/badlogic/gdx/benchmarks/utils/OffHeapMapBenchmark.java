@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.OffHeapIntIntMap;
+
+/** Compares {@link IntIntMap} with {@link OffHeapIntIntMap}. The fullGc benchmark measures a full collection while the map is
+ * live, which is where large heap tables cost the most. The heap footprint of the map is printed during setup. Run with
+ * {@code -prof gc} to also see the allocation rate of put, which includes the table resizes. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class OffHeapMapBenchmark {
+	@Param({"1000000", "10000000"}) public int size;
+	@Param({"heap", "offHeap"}) public String impl;
+
+	int[] keys;
+	IntIntMap heapMap;
+	OffHeapIntIntMap offHeapMap;
+
+	@Setup
+	public void setup () {
+		GdxNativesLoader.load();
+		RandomXS128 random = new RandomXS128(1234);
+		keys = new int[size];
+		for (int i = 0; i < size; i++)
+			keys[i] = random.nextInt();
+
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		System.gc();
+		long before = memory.getHeapMemoryUsage().getUsed();
+		if (impl.equals("heap")) {
+			heapMap = new IntIntMap();
+			for (int i = 0; i < size; i++)
+				heapMap.put(keys[i], i);
+		} else {
+			offHeapMap = new OffHeapIntIntMap();
+			for (int i = 0; i < size; i++)
+				offHeapMap.put(keys[i], i);
+		}
+		System.gc();
+		long heapBytes = memory.getHeapMemoryUsage().getUsed() - before;
+		long offHeapBytes = offHeapMap == null ? 0 : offHeapMap.getMemoryUsage();
+		System.out.println(impl + " footprint, heap: " + (heapBytes >> 10) + " KB, off-heap: " + (offHeapBytes >> 10) + " KB");
+	}
+
+	@TearDown
+	public void tearDown () {
+		if (offHeapMap != null) offHeapMap.dispose();
+	}
+
+	@Benchmark
+	public int get () {
+		int[] keys = this.keys;
+		int sum = 0;
+		if (heapMap != null) {
+			for (int key : keys)
+				sum += heapMap.get(key, 0);
+		} else {
+			for (int key : keys)
+				sum += offHeapMap.get(key, 0);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int put () {
+		int[] keys = this.keys;
+		if (heapMap != null) {
+			IntIntMap map = new IntIntMap();
+			for (int i = 0, n = keys.length; i < n; i++)
+				map.put(keys[i], i);
+			return map.size;
+		}
+		OffHeapIntIntMap map = new OffHeapIntIntMap();
+		for (int i = 0, n = keys.length; i < n; i++)
+			map.put(keys[i], i);
+		int size = map.size;
+		map.dispose();
+		return size;
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 2)
+	@Measurement(iterations = 10)
+	public void fullGc () {
+		System.gc();
+	}
+}
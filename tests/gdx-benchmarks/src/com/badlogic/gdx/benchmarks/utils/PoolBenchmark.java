@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.DefaultPool;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.Pools;
+
+/** Measures obtain/free through a {@link Pool} directly and through the static {@link Pools} lookup, compared to allocating. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PoolBenchmark {
+	static final int batch = 64;
+
+	Pool<Vector3> pool;
+	Array<Vector3> obtained = new Array<>(false, batch, Vector3.class);
+
+	@Setup
+	public void setup () {
+		pool = new DefaultPool<>(Vector3::new, batch, batch);
+		pool.fill(batch);
+		Pools.set(Vector3::new, batch);
+		Pools.get(Vector3.class).fill(batch);
+	}
+
+	@Benchmark
+	public Vector3 obtainFree () {
+		Vector3 vector = pool.obtain();
+		pool.free(vector);
+		return vector;
+	}
+
+	@Benchmark
+	public Vector3 poolsObtainFree () {
+		Vector3 vector = Pools.obtain(Vector3.class);
+		Pools.free(vector);
+		return vector;
+	}
+
+	@Benchmark
+	public Array<Vector3> obtainFreeAll () {
+		Array<Vector3> obtained = this.obtained;
+		for (int i = 0; i < batch; i++)
+			obtained.add(pool.obtain());
+		pool.freeAll(obtained);
+		obtained.clear();
+		return obtained;
+	}
+
+	@Benchmark
+	public Vector3 allocate () {
+		return new Vector3();
+	}
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks.utils;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.ParallelSort;
+import com.badlogic.gdx.utils.RadixSort;
+import com.badlogic.gdx.utils.Sort;
+
+/** Measures {@link Sort} on object arrays and the primitive array sorts, compared to {@link RadixSort} and {@link ParallelSort}.
+ * Each invocation sorts a fresh copy of random data. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortBenchmark {
+	@Param({"1000", "100000"}) public int size;
+
+	static public class Sprite implements Comparable<Sprite> {
+		public float depth;
+
+		public int compareTo (Sprite other) {
+			return Float.compare(depth, other.depth);
+		}
+	}
+
+	static final Comparator<Sprite> depthComparator = new Comparator<Sprite>() {
+		public int compare (Sprite a, Sprite b) {
+			return Float.compare(a.depth, b.depth);
+		}
+	};
+
+	Sprite[] sprites;
+	int[] ints;
+	float[] floats;
+	long[] longs;
+	Array<Sprite> spriteArray;
+	IntArray intArray;
+	FloatArray floatArray;
+	LongArray longArray;
+	FloatArray depthKeys;
+	Sort sort = new Sort();
+	RadixSort radixSort = new RadixSort();
+	ParallelSort parallelSort = new ParallelSort();
+
+	@Setup
+	public void setup () {
+		RandomXS128 random = new RandomXS128(1234);
+		sprites = new Sprite[size];
+		ints = new int[size];
+		floats = new float[size];
+		longs = new long[size];
+		for (int i = 0; i < size; i++) {
+			sprites[i] = new Sprite();
+			sprites[i].depth = random.nextFloat();
+			ints[i] = random.nextInt();
+			floats[i] = random.nextFloat() * 2000 - 1000;
+			longs[i] = random.nextLong();
+		}
+		spriteArray = new Array<>(true, size, Sprite.class);
+		intArray = new IntArray(size);
+		floatArray = new FloatArray(size);
+		longArray = new LongArray(size);
+		depthKeys = new FloatArray(size);
+	}
+
+	@Setup(Level.Invocation)
+	public void shuffle () {
+		spriteArray.clear();
+		spriteArray.addAll(sprites);
+		intArray.clear();
+		intArray.addAll(ints);
+		floatArray.clear();
+		floatArray.addAll(floats);
+		longArray.clear();
+		longArray.addAll(longs);
+		depthKeys.clear();
+		for (int i = 0; i < size; i++)
+			depthKeys.add(sprites[i].depth);
+	}
+
+	@Benchmark
+	public Array<Sprite> sortComparator () {
+		sort.sort(spriteArray, depthComparator);
+		return spriteArray;
+	}
+
+	@Benchmark
+	public Array<Sprite> sortComparable () {
+		sort.sort(spriteArray);
+		return spriteArray;
+	}
+
+	@Benchmark
+	public IntArray sortIntArray () {
+		intArray.sort();
+		return intArray;
+	}
+
+	@Benchmark
+	public FloatArray sortFloatArray () {
+		floatArray.sort();
+		return floatArray;
+	}
+
+	@Benchmark
+	public LongArray sortLongArray () {
+		longArray.sort();
+		return longArray;
+	}
+
+	@Benchmark
+	public IntArray radixSortIntArray () {
+		radixSort.sort(intArray);
+		return intArray;
+	}
+
+	@Benchmark
+	public FloatArray radixSortFloatArray () {
+		radixSort.sort(floatArray);
+		return floatArray;
+	}
+
+	@Benchmark
+	public LongArray radixSortLongArray () {
+		radixSort.sort(longArray);
+		return longArray;
+	}
+
+	/** Depth sorts the sprites by a parallel array of keys, the radix sort equivalent of {@link #sortComparator()}. */
+	@Benchmark
+	public Array<Sprite> radixSortByKeys () {
+		radixSort.sort(spriteArray, depthKeys);
+		return spriteArray;
+	}
+
+	@Benchmark
+	public Array<Sprite> parallelSortComparator () {
+		parallelSort.sort(spriteArray, depthComparator);
+		return spriteArray;
+	}
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.DefaultPool;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.ThreadSafePool;
+
+/** Measures obtain/free from several threads sharing one pool: a {@link DefaultPool} guarded by a global lock, a
+ * {@link ThreadSafePool}, and allocating without a pool. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ThreadSafePoolBenchmark {
+	static final int batch = 8;
+
+	@Param({"synchronized", "threadSafe"}) public String impl;
+
+	Pool<Vector3> pool;
+
+	@Setup
+	public void setup () {
+		if (impl.equals("synchronized"))
+			pool = new DefaultPool<>(Vector3::new, 256, 256);
+		else
+			pool = new ThreadSafePool<>(Vector3::new, 256, 256);
+		pool.fill(256);
+	}
+
+	@Benchmark
+	public Vector3 obtainFree () {
+		Pool<Vector3> pool = this.pool;
+		if (pool instanceof ThreadSafePool) {
+			Vector3 vector = pool.obtain();
+			pool.free(vector);
+			return vector;
+		}
+		Vector3 vector;
+		synchronized (pool) {
+			vector = pool.obtain();
+		}
+		synchronized (pool) {
+			pool.free(vector);
+		}
+		return vector;
+	}
+
+	/** Obtains several objects before freeing them, so the thread's free list is drained and refilled. */
+	@Benchmark
+	public Vector3 obtainFreeBatch (Local local) {
+		Pool<Vector3> pool = this.pool;
+		boolean lock = !(pool instanceof ThreadSafePool);
+		Vector3[] vectors = local.vectors;
+		for (int i = 0; i < batch; i++) {
+			if (lock) {
+				synchronized (pool) {
+					vectors[i] = pool.obtain();
+				}
+			} else
+				vectors[i] = pool.obtain();
+		}
+		for (int i = 0; i < batch; i++) {
+			if (lock) {
+				synchronized (pool) {
+					pool.free(vectors[i]);
+				}
+			} else
+				pool.free(vectors[i]);
+		}
+		return vectors[0];
+	}
+
+	@Benchmark
+	public Vector3 allocate () {
+		return new Vector3();
+	}
+
+	@State(Scope.Thread)
+	public static class Local {
+		final Vector3[] vectors = new Vector3[batch];
+	}
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.XmlPullReader;
+import com.badlogic.gdx.utils.XmlPullReader.Event;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+
+/** Measures reading one attribute per element of a TMX-like document with the {@link XmlReader} DOM and with
+ * {@link XmlPullReader}. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlBenchmark {
+	@Param({"100", "10000"}) public int tiles;
+
+	char[] xml;
+	XmlReader xmlReader = new XmlReader();
+	XmlPullReader pullReader = new XmlPullReader();
+
+	@Setup
+	public void setup () {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<tileset name=\"benchmark\" tilewidth=\"32\">\n");
+		for (int i = 0; i < tiles; i++) {
+			buffer.append(" <tile id=\"").append(i).append("\" type=\"wall\">\n");
+			buffer.append("  <properties>\n   <property name=\"solid\" type=\"bool\" value=\"true\"/>\n  </properties>\n");
+			buffer.append(" </tile>\n");
+		}
+		buffer.append("</tileset>\n");
+		xml = buffer.toString().toCharArray();
+	}
+
+	@Benchmark
+	public long xmlReaderDom () {
+		long sum = 0;
+		for (Element tile : xmlReader.parse(xml, 0, xml.length).getChildrenByName("tile"))
+			sum += tile.getIntAttribute("id");
+		return sum;
+	}
+
+	@Benchmark
+	public long xmlPullReader () {
+		XmlPullReader pullReader = this.pullReader;
+		pullReader.setInput(xml, 0, xml.length);
+		long sum = 0;
+		while (pullReader.next() != Event.endDocument)
+			if (pullReader.getEvent() == Event.startElement && pullReader.getName().equals("tile"))
+				sum += pullReader.getIntAttribute("id", 0);
+		return sum;
+	}
+}
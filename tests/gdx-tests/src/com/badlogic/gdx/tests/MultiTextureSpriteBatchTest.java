@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.MultiTextureSpriteBatch;
+import com.badlogic.gdx.graphics.g2d.MultiTextureSpriteBatch.FlushReason;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/** Draws sprites alternating between several textures. Touch to switch between SpriteBatch and MultiTextureSpriteBatch and
+ * compare the render calls. */
+public class MultiTextureSpriteBatchTest extends GdxTest {
+	private Texture[] textures;
+	private SpriteBatch spriteBatch, uiBatch;
+	private MultiTextureSpriteBatch multiBatch;
+	private BitmapFont font;
+	private boolean multi = true;
+	private final StringBuilder text = new StringBuilder();
+
+	public void create () {
+		textures = new Texture[] {new Texture("data/badlogic.jpg"), new Texture("data/egg.png"),
+			new Texture("data/particle-star.png"), new Texture("data/planet_earth.png")};
+		spriteBatch = new SpriteBatch(2000);
+		multiBatch = new MultiTextureSpriteBatch(2000, 8);
+		uiBatch = new SpriteBatch();
+		font = new BitmapFont();
+	}
+
+	public void render () {
+		if (Gdx.input.justTouched()) multi = !multi;
+		ScreenUtils.clear(0.2f, 0.2f, 0.2f, 1);
+
+		SpriteBatch batch = multi ? multiBatch : spriteBatch;
+		batch.begin();
+		float time = (System.currentTimeMillis() % 10000) / 10000f;
+		int width = Gdx.graphics.getWidth(), height = Gdx.graphics.getHeight();
+		for (int i = 0; i < 1500; i++) {
+			float x = (i * 37 + time * width) % width, y = (i * 53) % height;
+			batch.draw(textures[i % textures.length], x, y, 24, 24);
+		}
+		batch.end();
+
+		text.setLength(0);
+		text.append(multi ? "MultiTextureSpriteBatch" : "SpriteBatch").append(", touch to switch\n");
+		text.append("render calls: ").append(batch.renderCalls).append('\n');
+		if (multi) {
+			text.append("max textures: ").append(multiBatch.getMaxTextures()).append('\n');
+			for (FlushReason reason : FlushReason.values)
+				text.append(reason).append(": ").append(multiBatch.getFlushCount(reason)).append('\n');
+		}
+		uiBatch.begin();
+		font.draw(uiBatch, text, 10, height - 10);
+		uiBatch.end();
+	}
+
+	public void dispose () {
+		for (Texture texture : textures)
+			texture.dispose();
+		spriteBatch.dispose();
+		multiBatch.dispose();
+		uiBatch.dispose();
+		font.dispose();
+	}
+}
@@ -223,6 +223,7 @@ public class GdxTests {
 		ModelInstancedRenderingTest.class,
 		MoveSpriteExample.class,
 		MultipleRenderTargetTest.class,
+		MultiTextureSpriteBatchTest.class,
 		MultitouchTest.class,
 		MusicTest.class,
 		NetAPITest.class,